@@ -38,11 +38,16 @@ import org.eclipse.leshan.client.observer.LwM2mClientObserverDispatcher;
 import org.eclipse.leshan.client.request.DefaultDownlinkReceiver;
 import org.eclipse.leshan.client.request.DefaultUplinkRequestSender;
 import org.eclipse.leshan.client.request.DownlinkRequestReceiver;
+import org.eclipse.leshan.client.request.ObservationTokenProvider;
 import org.eclipse.leshan.client.request.UplinkRequestSender;
+import org.eclipse.leshan.client.resource.BaseObjectEnabler;
 import org.eclipse.leshan.client.resource.LwM2mObjectEnabler;
 import org.eclipse.leshan.client.resource.LwM2mObjectTree;
 import org.eclipse.leshan.client.resource.LwM2mRootEnabler;
+import org.eclipse.leshan.client.resource.NotificationScheduler;
+import org.eclipse.leshan.client.resource.ObservationRegistry;
 import org.eclipse.leshan.client.resource.RootEnabler;
+import org.eclipse.leshan.client.resource.listener.ObservationListener;
 import org.eclipse.leshan.client.send.DataSender;
 import org.eclipse.leshan.client.send.DataSenderManager;
 import org.eclipse.leshan.client.send.SendService;
@@ -79,13 +84,15 @@ public class LeshanClient implements LwM2mClient {
     private final RegistrationEngine engine;
     private final LwM2mClientObserverDispatcher observers;
     private final DataSenderManager dataSenderManager;
+    private final ObservationRegistry observationRegistry;
 
     public LeshanClient(String endpoint, List<? extends LwM2mObjectEnabler> objectEnablers,
                         List<DataSender> dataSenders, List<Certificate> trustStore, RegistrationEngineFactory engineFactory,
                         BootstrapConsistencyChecker checker, Map<String, String> additionalAttributes,
                         Map<String, String> bsAdditionalAttributes, LwM2mEncoder encoder, LwM2mDecoder decoder,
                         ScheduledExecutorService sharedExecutor, LinkSerializer linkSerializer,
-                        LwM2mAttributeParser attributeParser, LwM2mClientEndpointsProvider endpointsProvider) {
+                        LwM2mAttributeParser attributeParser, LwM2mClientEndpointsProvider endpointsProvider,
+                        ObservationTokenProvider observationTokenProvider) {
 
         Validate.notNull(endpoint);
         Validate.notEmpty(objectEnablers);
@@ -113,8 +120,9 @@ public class LeshanClient implements LwM2mClient {
                 bootstrapHandler, observers, additionalAttributes, bsAdditionalAttributes,
                 getSupportedContentFormat(decoder, encoder), sharedExecutor);
 
+        observationRegistry = createObservationRegistry(objectTree);
         DownlinkRequestReceiver requestReceiver = createRequestReceiver(bootstrapHandler, rootEnabler, objectTree,
-                engine);
+                engine, observationRegistry, observationTokenProvider);
         createRegistrationUpdateHandler(engine, endpointsManager, bootstrapHandler, objectTree);
 
         endpointsProvider.init(objectTree, requestReceiver, toolbox);
@@ -137,6 +145,42 @@ public class LeshanClient implements LwM2mClient {
         return new DataSenderManager(dataSenderMap, rootEnabler, requestSender);
     }
 
+    protected ObservationRegistry createObservationRegistry(final LwM2mObjectTree objectTree) {
+        final ObservationRegistry registry = new ObservationRegistry();
+        // notification attributes of a path are no more applied once it is not observed anymore
+        registry.addListener(new ObservationListener() {
+            @Override
+            public void observationStarted(ServerIdentity server, List<LwM2mPath> paths) {
+            }
+
+            @Override
+            public void observationCancelled(ServerIdentity server, List<LwM2mPath> paths) {
+                for (LwM2mPath path : paths) {
+                    if (registry.getObservationCount(path) > 0)
+                        continue;
+                    LwM2mObjectEnabler objectEnabler = objectTree.getObjectEnabler(path.getObjectId());
+                    if (objectEnabler instanceof BaseObjectEnabler) {
+                        NotificationScheduler scheduler = ((BaseObjectEnabler) objectEnabler)
+                                .getNotificationScheduler();
+                        if (scheduler != null)
+                            scheduler.observationCancelled(path);
+                    }
+                }
+            }
+        });
+        // timers of observations dropped by the transport stop once the registry forgot them
+        for (LwM2mObjectEnabler objectEnabler : objectTree.getObjectEnablers().values()) {
+            if (objectEnabler instanceof BaseObjectEnabler) {
+                NotificationScheduler scheduler = ((BaseObjectEnabler) objectEnabler).getNotificationScheduler();
+                if (scheduler != null)
+                    scheduler.setObservationRegistry(registry);
+            }
+        }
+        // observations are removed by the server when the client registers again or deregisters
+        observers.addObserver(registry.createClientObserver());
+        return registry;
+    }
+
     protected LwM2mClientObserverDispatcher createClientObserverDispatcher() {
         LwM2mClientObserverDispatcher observer = new LwM2mClientObserverDispatcher();
         observer.addObserver(new LwM2mClientObserverAdapter() {
@@ -153,8 +197,11 @@ public class LeshanClient implements LwM2mClient {
     }
 
     protected DownlinkRequestReceiver createRequestReceiver(BootstrapHandler bootstrapHandler,
-                                                            LwM2mRootEnabler rootEnabler, LwM2mObjectTree objectTree, RegistrationEngine registrationEngine) {
-        return new DefaultDownlinkReceiver(bootstrapHandler, rootEnabler, objectTree, registrationEngine);
+                                                            LwM2mRootEnabler rootEnabler, LwM2mObjectTree objectTree, RegistrationEngine registrationEngine,
+                                                            ObservationRegistry observationRegistry,
+                                                            ObservationTokenProvider observationTokenProvider) {
+        return new DefaultDownlinkReceiver(bootstrapHandler, rootEnabler, objectTree, registrationEngine,
+                observationRegistry, observationTokenProvider);
     }
 
     protected EndpointsManager createEndpointsManager(LwM2mClientEndpointsProvider endpointProvider,
@@ -200,6 +247,7 @@ public class LeshanClient implements LwM2mClient {
         engine.stop(deregister);
         endpointsManager.stop();
         objectTree.stop();
+        observationRegistry.clear();
 
         LOG.info("Leshan client stopped.");
     }
@@ -212,6 +260,7 @@ public class LeshanClient implements LwM2mClient {
         endpointsManager.destroy();
         endpointsProvider.destroy();
         objectTree.destroy();
+        observationRegistry.clear();
 
         LOG.info("Leshan client destroyed.");
     }
@@ -221,6 +270,11 @@ public class LeshanClient implements LwM2mClient {
         return objectTree;
     }
 
+    @Override
+    public ObservationRegistry getObservationRegistry() {
+        return observationRegistry;
+    }
+
     @Override
     public void triggerRegistrationUpdate() {
         engine.triggerRegistrationUpdate();
@@ -33,6 +33,7 @@ import org.eclipse.leshan.client.engine.RegistrationEngineFactory;
 import org.eclipse.leshan.client.object.Device;
 import org.eclipse.leshan.client.object.Security;
 import org.eclipse.leshan.client.object.Server;
+import org.eclipse.leshan.client.request.ObservationTokenProvider;
 import org.eclipse.leshan.client.resource.LwM2mObjectEnabler;
 import org.eclipse.leshan.client.resource.ObjectsInitializer;
 import org.eclipse.leshan.client.send.DataSender;
@@ -79,6 +80,7 @@ public class LeshanClientBuilder {
     private ScheduledExecutorService executor;
 
     private LwM2mClientEndpointsProvider endpointsProvider;
+    private ObservationTokenProvider observationTokenProvider;
 
     /**
      * Creates a new instance for setting the configuration options for a
@@ -283,6 +285,17 @@ public class LeshanClientBuilder {
         return this;
     }
 
+    /**
+     * Set the {@link ObservationTokenProvider} matching the transport of the endpoints provider. It is used to
+     * identify observations by token, without it observations are identified by their paths.
+     *
+     * @return the builder for fluent client creation.
+     */
+    public LeshanClientBuilder setObservationTokenProvider(ObservationTokenProvider observationTokenProvider) {
+        this.observationTokenProvider = observationTokenProvider;
+        return this;
+    }
+
     /**
      * Creates an instance of {@link LeshanClient} based on the properties set on
      * this builder.
@@ -316,7 +329,7 @@ public class LeshanClientBuilder {
 
         return createLeshanClient(endpoint, objectEnablers, dataSenders, this.trustStore, engineFactory,
                 bootstrapConsistencyChecker, additionalAttributes, bsAdditionalAttributes, encoder, decoder, executor,
-                linkSerializer, attributeParser, endpointsProvider);
+                linkSerializer, attributeParser, endpointsProvider, observationTokenProvider);
     }
 
     /**
@@ -348,6 +361,8 @@ public class LeshanClientBuilder {
      * @param attributeParser        a {@link LwM2mAttributeParser} used to parse
      *                               {@link LwM2mAttribute} from
      *                               {@link WriteAttributesRequest}.
+     * @param observationTokenProvider an optional {@link ObservationTokenProvider}
+     *                               used to identify observations by token.
      * @return the new {@link LeshanClient}
      */
     protected LeshanClient createLeshanClient(String endpoint, List<? extends LwM2mObjectEnabler> objectEnablers,
@@ -355,9 +370,10 @@ public class LeshanClientBuilder {
             BootstrapConsistencyChecker checker, Map<String, String> additionalAttributes,
             Map<String, String> bsAdditionalAttributes, LwM2mEncoder encoder, LwM2mDecoder decoder,
             ScheduledExecutorService sharedExecutor, LinkSerializer linkSerializer,
-            LwM2mAttributeParser attributeParser, LwM2mClientEndpointsProvider endpointsProvider) {
+            LwM2mAttributeParser attributeParser, LwM2mClientEndpointsProvider endpointsProvider,
+            ObservationTokenProvider observationTokenProvider) {
         return new LeshanClient(endpoint, objectEnablers, dataSenders, trustStore, engineFactory, checker,
                 additionalAttributes, bsAdditionalAttributes, encoder, decoder, sharedExecutor, linkSerializer,
-                attributeParser, endpointsProvider);
+                attributeParser, endpointsProvider, observationTokenProvider);
     }
 }
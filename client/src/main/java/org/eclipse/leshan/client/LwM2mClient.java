@@ -16,6 +16,7 @@
 package org.eclipse.leshan.client;
 
 import org.eclipse.leshan.client.resource.LwM2mObjectTree;
+import org.eclipse.leshan.client.resource.ObservationRegistry;
 import org.eclipse.leshan.client.send.SendService;
 import org.eclipse.leshan.client.servers.ServerIdentity;
 
@@ -71,4 +72,9 @@ public interface LwM2mClient {
      * @return the {@link LwM2mObjectTree} containing all the object implemented by this client.
      */
     LwM2mObjectTree getObjectTree();
+
+    /**
+     * @return the {@link ObservationRegistry} of the observations currently accepted by this client.
+     */
+    ObservationRegistry getObservationRegistry();
 }
@@ -24,26 +24,47 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.californium.elements.config.Configuration;
 import org.eclipse.leshan.client.californium.endpoint.CaliforniumClientEndpointsProvider;
 import org.eclipse.leshan.client.engine.DefaultRegistrationEngineFactory;
+import org.eclipse.leshan.client.engine.RetryBudget;
+import org.eclipse.leshan.client.engine.RetryPolicy;
+import org.eclipse.leshan.client.engine.RetryPolicyType;
+import org.eclipse.leshan.client.engine.UpdateSpreadPolicy;
+import org.eclipse.leshan.client.engine.UpdateSpreadType;
+import org.eclipse.leshan.client.fleet.DeviceClass;
+import org.eclipse.leshan.client.fleet.SharedLinkSerializer;
+import org.eclipse.leshan.client.metrics.ClientMetrics;
+import org.eclipse.leshan.client.metrics.GraphiteReporter;
+import org.eclipse.leshan.client.metrics.MetricsClientObserver;
+import org.eclipse.leshan.client.model.ModelRepositoryCache;
 import org.eclipse.leshan.client.object.*;
 import org.eclipse.leshan.core.util.NamedThreadFactory;
 
 import static org.eclipse.leshan.client.object.Security.noSec;
 
+import org.eclipse.leshan.client.ramp.ArrivalProfile;
+import org.eclipse.leshan.client.ramp.ArrivalProfileType;
+import org.eclipse.leshan.client.ramp.RampUp;
 import org.eclipse.leshan.client.resource.LwM2mObjectEnabler;
 import org.eclipse.leshan.client.resource.ObjectsInitializer;
 import org.eclipse.leshan.client.resource.listener.ObjectsListenerAdapter;
+import org.eclipse.leshan.client.scheduler.FleetScheduler;
+import org.eclipse.leshan.client.scheduler.TimingWheel;
 import org.eclipse.leshan.client.send.ManualDataSender;
+import org.eclipse.leshan.client.transport.CoapObservationTokenProvider;
+import org.eclipse.leshan.client.transport.SharedUdpEndpointsProvider;
+import org.eclipse.leshan.client.transport.SharedUdpTransport;
+import org.eclipse.leshan.client.values.DeviceValues;
+import org.eclipse.leshan.client.values.ValueModels;
 import org.eclipse.leshan.core.LwM2mId;
 import org.eclipse.leshan.core.model.InvalidDDFFileException;
 import org.eclipse.leshan.core.model.InvalidModelException;
 import org.eclipse.leshan.core.model.LwM2mModelRepository;
-import org.eclipse.leshan.core.model.ObjectLoader;
-import org.eclipse.leshan.core.model.ObjectModel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -70,6 +91,46 @@ public class Main {
     private boolean bootstrap = false;
     private boolean reconnectOnUpdate = false;
     private boolean resumeOnConnect = true;
+    // Could be null to use registration engine default
+    private Long requestTimeoutInMs;
+    // Could be null to use registration engine default
+    private Integer retryWaitingTimeInMs;
+    // Could be null if all devices use the options above
+    private List<String> deviceClassSpecs;
+    // models of simulated resource values overriding the default ones, could be null
+    private List<String> valueModelSpecs;
+    // TRUE if clients should use the non-blocking registration engine
+    private boolean asyncEngine = false;
+    // TRUE if registration engine tasks should run on virtual threads (java 21+)
+    private boolean virtualThreads = false;
+    // maximum number of threads running the tasks of the blocking registration engine
+    private int blockingThreads = FleetScheduler.DEFAULT_BLOCKING_POOL_SIZE;
+    // TRUE if clients should share a small pool of UDP selector threads instead of owning their UDP threads
+    private boolean multiplexedUdp = false;
+    // TRUE if object enablers should allow concurrent reads
+    private boolean concurrentReads = false;
+    // TRUE if clients should accept write attributes and apply pmin, pmax, gt, lt and st to notifications
+    private boolean notificationAttributes = false;
+    // how long host information read by object instances (e.g. IP address) is used before being collected again
+    private long hostInfoTimeToLiveInSec = HostInfoCache.DEFAULT_TIME_TO_LIVE_IN_SEC;
+    // how client starts are spread over timeToStartAllClientInS
+    private ArrivalProfileType arrivalProfile = ArrivalProfileType.CONSTANT;
+    private int nbSteps = ArrivalProfileType.DEFAULT_NB_STEPS;
+    private long seed = 0;
+    // how the wait before a bootstrap/registration retry evolves, and the optional retry budget of the fleet
+    private RetryPolicyType retryPolicy = RetryPolicyType.FIXED;
+    private long retryMaxWaitInMs = RetryPolicyType.DEFAULT_MAX_DELAY_IN_MS;
+    private Double retryBudget;
+    private int retryBurst = 1;
+    // how registration updates are spread over the communication period
+    private UpdateSpreadType updateSpread = UpdateSpreadType.NONE;
+    private double updateSpreadRatio = UpdateSpreadType.DEFAULT_RATIO;
+    // time during which triggered registration updates are merged, 0 to disable
+    private long updateCoalescingWindowInMs = 0;
+    // TRUE if clients should be created just before their start instead of all at once by createClients()
+    private boolean lazyClients = false;
+    // optional binary snapshot of the object models, created from DDF files if it does not exist or is outdated
+    private File modelSnapshot;
     // LWM2M bootstrap server or LWM2M server URL
     private String serverURI;
     private InetSocketAddress graphiteServerAddress;
@@ -82,61 +143,111 @@ public class Main {
     private CountDownLatch testEnd = new CountDownLatch(1);
     private ScheduledExecutorService executor = Executors
             .newSingleThreadScheduledExecutor(new NamedThreadFactory("Clients Launcher"));
-    private ScheduledExecutorService executorForClients = Executors.newScheduledThreadPool(400,
-            new NamedThreadFactory("coap+dtls connector"));
+    // Registration engine tasks of all clients run on this shared scheduler
+    private FleetScheduler scheduler;
+    // periodic and one-shot tasks of object instances (e.g. current time notification) of all clients
+    private TimingWheel timingWheel;
+    // host information shared by object instances of all clients
+    private HostInfoCache hostInfo;
+    private RampUp rampUp;
+    // metrics of all clients, only collected when a graphite server is configured
+    private ClientMetrics metrics;
+    private GraphiteReporter graphiteReporter;
+    // selector threads polling the sockets of all clients when multiplexedUdp is used, each client keeps its socket
+    private SharedUdpTransport transport;
 
     // Internal state
-    private List<LeshanClient> clients;
+    private LwM2mModelRepository repository;
+    private final List<DeviceClass> deviceClasses = new ArrayList<>();
+    private final Map<DeviceClass, DefaultRegistrationEngineFactory> engineFactories = new HashMap<>();
+    private Configuration coapConfig;
+    // devices of a fleet register with the same links, serialize them once
+    private final SharedLinkSerializer linkSerializer = new SharedLinkSerializer();
+    // models of simulated resource values, each device gets its own instances
+    private ValueModels valueModels;
+    // startup time breakdown, see createClients()
+    private long modelLoadNanos;
+    private long configNanos;
+    private long objectCreationNanos;
+    private long endpointCreationNanos;
+    // started clients by index
+    private final Map<Integer, LeshanClient> clients = new ConcurrentHashMap<>();
     private int currentClientIndex = 0;
 
     private Map<String, String> additionalAttributes;
 
-    private static LwM2mModelRepository createModel()
-            throws IOException, InvalidModelException, InvalidDDFFileException {
-        List<ObjectModel> models = new ArrayList<ObjectModel>();
-        try {
-            models.addAll(ObjectLoader.loadDdfResources("/models/", modelPaths));
-        } catch (Error e) {
-            System.out.println(e);
+    private LwM2mModelRepository createModel() throws IOException, InvalidModelException, InvalidDDFFileException {
+        // the repository is immutable, all clients share the same instance
+        return ModelRepositoryCache.get("/models/", modelPaths, modelSnapshot);
+    }
+
+    private Configuration createCoapConfiguration() {
+        // loaded once and shared by all endpoints, it must not be modified after this
+        Configuration clientCoapConfig = new CaliforniumClientEndpointsProvider.Builder().createDefaultConfiguration();
+        File configFile = new File(CF_CONFIGURATION_FILENAME);
+        if (configFile.isFile()) {
+            clientCoapConfig.load(configFile);
+        } else {
+            clientCoapConfig.store(configFile, CF_CONFIGURATION_HEADER);
         }
-        return new LwM2mModelRepository(models);
+        return clientCoapConfig;
     }
 
     public LeshanClient createLeshanClient(LwM2mModelRepository repository, String serverURI, int i) {
+        long objectStart = System.nanoTime();
         String endpoint = String.format(endpointPattern, i);
+        DeviceClass deviceClass = DeviceClass.select(deviceClasses, i - 1);
         final ObjectsInitializer initializer = new ObjectsInitializer(repository.getLwM2mModel());
+        DeviceValues values = valueModels.createDeviceValues(i);
+        initializer.setReadWriteLocking(concurrentReads);
+        if (notificationAttributes)
+            initializer.setNotificationTimer(timingWheel);
 
         initializer.setInstancesForObject(LwM2mId.SECURITY, noSec(serverURI, i));
-        initializer.setInstancesForObject(LwM2mId.SERVER, new MyServer(i, 300));
-        initializer.setInstancesForObject(LwM2mId.DEVICE, new MyDevice(i));
-        initializer.setInstancesForObject(LwM2mId.CONNECTIVITY_MONITORING, new ConnectivityMonitoring());
-        initializer.setInstancesForObject(12, new MyWlanConnectivity());
+        initializer.setInstancesForObject(LwM2mId.SERVER, new MyServer(i, deviceClass.getLifetimeInSec()));
+        initializer.setInstancesForObject(LwM2mId.DEVICE,
+                new MyDevice(i, timingWheel, scheduler.getBlockingExecutor(), values));
+        initializer.setInstancesForObject(LwM2mId.CONNECTIVITY_MONITORING,
+                new ConnectivityMonitoring(hostInfo, values));
+        initializer.setInstancesForObject(12,
+                new MyWlanConnectivity(timingWheel, scheduler.getBlockingExecutor(), hostInfo, values));
 
         List<LwM2mObjectEnabler> objectEnablers = initializer.createAll();
+        objectCreationNanos += System.nanoTime() - objectStart;
 
-        DefaultRegistrationEngineFactory engineFactory = new DefaultRegistrationEngineFactory();
-
-        CaliforniumClientEndpointsProvider.Builder endpointsBuilder = new CaliforniumClientEndpointsProvider.Builder();
-        Configuration clientCoapConfig = endpointsBuilder.createDefaultConfiguration();
-        File configFile = new File(CF_CONFIGURATION_FILENAME);
-        if (configFile.isFile()) {
-            clientCoapConfig.load(configFile);
-        } else {
-            clientCoapConfig.store(configFile, CF_CONFIGURATION_HEADER);
-        }
-
-        endpointsBuilder.setConfiguration(clientCoapConfig);
-        endpointsBuilder.setClientAddress(new InetSocketAddress(0).getAddress());
+        DefaultRegistrationEngineFactory engineFactory = engineFactories.get(deviceClass);
 
+        long endpointStart = System.nanoTime();
         LeshanClientBuilder builder = new LeshanClientBuilder(endpoint);
 
         builder.setObjects(objectEnablers);
-        builder.setEndpointsProvider(endpointsBuilder.build());
-        builder.setDataSenders(new ManualDataSender());
+        if (multiplexedUdp) {
+            builder.setEndpointsProvider(new SharedUdpEndpointsProvider(transport, coapConfig,
+                    new InetSocketAddress(0).getAddress()));
+        } else {
+            CaliforniumClientEndpointsProvider.Builder endpointsBuilder = new CaliforniumClientEndpointsProvider
+                    .Builder();
+            endpointsBuilder.setConfiguration(coapConfig);
+            endpointsBuilder.setClientAddress(new InetSocketAddress(0).getAddress());
+            builder.setEndpointsProvider(endpointsBuilder.build());
+        }
+        builder.setObservationTokenProvider(new CoapObservationTokenProvider());
+        ManualDataSender dataSender = new ManualDataSender();
+        builder.setDataSenders(dataSender);
+        builder.setLinkSerializer(linkSerializer);
 
         builder.setRegistrationEngineFactory(engineFactory);
+        // the blocking engine waits for responses, it must not hold threads of the shared timers
+        builder.setSharedExecutor(asyncEngine ? scheduler.newClientExecutor() : scheduler.newBlockingClientExecutor());
 
         final LeshanClient client = builder.build();
+        endpointCreationNanos += System.nanoTime() - endpointStart;
+        if (metrics != null) {
+            MetricsClientObserver metricsObserver = new MetricsClientObserver(metrics);
+            client.addObserver(metricsObserver);
+            client.getObservationRegistry().addListener(metricsObserver);
+            dataSender.setObserver(metricsObserver);
+        }
         client.getObjectTree().addListener(new ObjectsListenerAdapter() {
 
             @Override
@@ -183,6 +294,87 @@ public class Main {
         this.resumeOnConnect = resumeOnConnect;
     }
 
+    public void setRequestTimeout(Long requestTimeoutInMs) {
+        this.requestTimeoutInMs = requestTimeoutInMs;
+    }
+
+    public void setRetryWaitingTime(Integer retryWaitingTimeInMs) {
+        this.retryWaitingTimeInMs = retryWaitingTimeInMs;
+    }
+
+    /**
+     * @param deviceClassSpecs device classes of the fleet, see {@link DeviceClass#parse(String, DeviceClass)}
+     */
+    public void setDeviceClasses(List<String> deviceClassSpecs) {
+        this.deviceClassSpecs = deviceClassSpecs;
+    }
+
+    /**
+     * @param valueModelSpecs models of simulated resource values, see {@link ValueModels#set(String)}
+     */
+    public void setValueModels(List<String> valueModelSpecs) {
+        this.valueModelSpecs = valueModelSpecs;
+    }
+
+    public void setAsyncEngine(boolean asyncEngine) {
+        this.asyncEngine = asyncEngine;
+    }
+
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    public void setBlockingThreads(int blockingThreads) {
+        this.blockingThreads = blockingThreads;
+    }
+
+    public void setMultiplexedUdp(boolean multiplexedUdp) {
+        this.multiplexedUdp = multiplexedUdp;
+    }
+
+    public void setArrivalProfile(ArrivalProfileType arrivalProfile, int nbSteps, long seed) {
+        this.arrivalProfile = arrivalProfile;
+        this.nbSteps = nbSteps;
+        this.seed = seed;
+    }
+
+    public void setRetryPolicy(RetryPolicyType retryPolicy, long retryMaxWaitInMs, Double retryBudget,
+            int retryBurst) {
+        this.retryPolicy = retryPolicy;
+        this.retryMaxWaitInMs = retryMaxWaitInMs;
+        this.retryBudget = retryBudget;
+        this.retryBurst = retryBurst;
+    }
+
+    public void setUpdateSpread(UpdateSpreadType updateSpread, double updateSpreadRatio) {
+        this.updateSpread = updateSpread;
+        this.updateSpreadRatio = updateSpreadRatio;
+    }
+
+    public void setUpdateCoalescingWindow(long updateCoalescingWindowInMs) {
+        this.updateCoalescingWindowInMs = updateCoalescingWindowInMs;
+    }
+
+    public void setConcurrentReads(boolean concurrentReads) {
+        this.concurrentReads = concurrentReads;
+    }
+
+    public void setNotificationAttributes(boolean notificationAttributes) {
+        this.notificationAttributes = notificationAttributes;
+    }
+
+    public void setHostInfoTimeToLive(long hostInfoTimeToLiveInSec) {
+        this.hostInfoTimeToLiveInSec = hostInfoTimeToLiveInSec;
+    }
+
+    public void setLazyClients(boolean lazyClients) {
+        this.lazyClients = lazyClients;
+    }
+
+    public void setModelSnapshot(File modelSnapshot) {
+        this.modelSnapshot = modelSnapshot;
+    }
+
     public void setBootstrap(boolean bootstrap) {
         this.bootstrap = bootstrap;
     }
@@ -215,62 +407,172 @@ public class Main {
         this.additionalAttributes = additionalAttributes;
     }
 
-    public LeshanClient createClient(int i) throws IOException, InvalidModelException, InvalidDDFFileException {
-        LwM2mModelRepository repository = createModel();
+    private DeviceClass createDefaultDeviceClass() {
+        Integer communicationPeriod = communicationPeriodInSeconds;
+        if (communicationPeriod == null && nbUpdatesByMinutes != null) {
+            // spread the requested number of updates over the whole fleet
+            communicationPeriod = Math.max(1, nbclients * 60 / nbUpdatesByMinutes);
+        }
+        return new DeviceClass("default", 1, communicationPeriod, reconnectOnUpdate, resumeOnConnect,
+                requestTimeoutInMs, retryWaitingTimeInMs);
+    }
+
+    private void loadSharedResources() throws IOException, InvalidModelException, InvalidDDFFileException {
+        if (deviceClasses.isEmpty()) {
+            DeviceClass defaultClass = createDefaultDeviceClass();
+            if (deviceClassSpecs == null || deviceClassSpecs.isEmpty()) {
+                deviceClasses.add(defaultClass);
+            } else {
+                for (String spec : deviceClassSpecs) {
+                    deviceClasses.add(DeviceClass.parse(spec, defaultClass));
+                }
+            }
+            UpdateSpreadPolicy updateSpreadPolicy = updateSpread.create(updateSpreadRatio);
+            LOG.info("Using {} update spread", updateSpreadPolicy);
+            // the budget is shared by all device classes, it bounds the retry rate of the whole fleet
+            RetryBudget budget = retryBudget == null ? null : new RetryBudget(retryBudget, retryBurst);
+            for (DeviceClass deviceClass : deviceClasses) {
+                LOG.info("Using {}", deviceClass);
+                // engine factories only hold configuration, all devices of a class share the same one
+                DefaultRegistrationEngineFactory engineFactory = deviceClass.createEngineFactory(asyncEngine);
+                engineFactory.setUpdateSpread(updateSpreadPolicy);
+                engineFactory.setUpdateCoalescingWindowInMs(updateCoalescingWindowInMs);
+                RetryPolicy deviceClassRetryPolicy = retryPolicy.create(engineFactory.getRetryWaitingTimeInMs(),
+                        retryMaxWaitInMs, budget);
+                LOG.info("Using {} retry policy for {} devices", deviceClassRetryPolicy, deviceClass.getName());
+                engineFactory.setRetryPolicy(deviceClassRetryPolicy);
+                engineFactories.put(deviceClass, engineFactory);
+            }
+        }
+        if (valueModels == null) {
+            // the seed of the arrival profile also makes simulated values reproducible
+            valueModels = new ValueModels(seed);
+            if (valueModelSpecs != null) {
+                for (String spec : valueModelSpecs) {
+                    valueModels.set(spec);
+                }
+            }
+        }
+        if (repository == null) {
+            long start = System.nanoTime();
+            repository = createModel();
+            modelLoadNanos += System.nanoTime() - start;
+        }
+        if (coapConfig == null) {
+            long start = System.nanoTime();
+            coapConfig = createCoapConfiguration();
+            configNanos += System.nanoTime() - start;
+        }
+    }
 
+    public LeshanClient createClient(int i) throws IOException, InvalidModelException, InvalidDDFFileException {
+        loadSharedResources();
         LeshanClient client = createLeshanClient(repository, serverURI, i);
         return client;
     }
 
     public void createClients() throws IOException, InvalidModelException, InvalidDDFFileException {
-        clients = new ArrayList<>(nbclients);
-        for (int i = 1; i <= nbclients; i++) {
-            clients.add(createClient(i));
+        scheduler = virtualThreads ? FleetScheduler.withVirtualThreads()
+                : new FleetScheduler(Runtime.getRuntime().availableProcessors(), blockingThreads);
+        timingWheel = new TimingWheel(scheduler.getExecutor());
+        // refreshing forks a process and resolves the local host, it must not run on the timer pool
+        hostInfo = new HostInfoCache(scheduler.getBlockingExecutor(), hostInfoTimeToLiveInSec, TimeUnit.SECONDS);
+        // collected once before clients start, then refreshed in background when it expires
+        hostInfo.refresh();
+        if (multiplexedUdp)
+            transport = new SharedUdpTransport();
+        if (graphiteServerAddress != null) {
+            metrics = new ClientMetrics();
+            graphiteReporter = new GraphiteReporter(metrics, graphiteServerAddress);
+            graphiteReporter.start(graphitePollingPeriodInSec, TimeUnit.SECONDS);
+        }
+        long start = System.nanoTime();
+        if (lazyClients) {
+            // only load what is shared, clients are created when they are started
+            loadSharedResources();
+            LOG.info("Shared resources loaded in {}ms (model load: {}ms, configuration: {}ms), {} clients will be "
+                    + "created on start", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                    TimeUnit.NANOSECONDS.toMillis(modelLoadNanos), TimeUnit.NANOSECONDS.toMillis(configNanos),
+                    nbclients);
+        } else {
+            for (int i = 1; i <= nbclients; i++) {
+                clients.put(i, createClient(i));
+            }
+            LOG.info("{} clients created in {}ms (model load: {}ms, configuration: {}ms, objects: {}ms, "
+                    + "endpoints: {}ms)", clients.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                    TimeUnit.NANOSECONDS.toMillis(modelLoadNanos), TimeUnit.NANOSECONDS.toMillis(configNanos),
+                    TimeUnit.NANOSECONDS.toMillis(objectCreationNanos),
+                    TimeUnit.NANOSECONDS.toMillis(endpointCreationNanos));
         }
     }
 
-    public void start() {
-        clients.get(0).start();
-        if (nbclients > 1) {
-            executor.submit(new Runnable() {
-
-                @Override
-                public void run() {
-                    int timeBetweenLaunch = timeToStartAllClientInS / (nbclients - 1);
-                    boolean interrupted = false;
-                    for (int i = 1; i < nbclients && !interrupted; i++) {
-                        try {
-                            Thread.sleep(timeBetweenLaunch * 1000);
-                        } catch (InterruptedException e) {
-                            interrupted = true;
-                        }
-                        clients.get(i).start();
-                    }
-                }
-            });
+    /**
+     * Start the client with the given index, creating it if needed.
+     */
+    public LeshanClient startClient(int i) throws IOException, InvalidModelException, InvalidDDFFileException {
+        LeshanClient client = clients.get(i);
+        if (client == null) {
+            client = createClient(i);
+            clients.put(i, client);
+        }
+        client.start();
+        return client;
+    }
+
+    private void startClientQuietly(int i) {
+        try {
+            startClient(i);
+        } catch (IOException | InvalidModelException | InvalidDDFFileException | RuntimeException e) {
+            LOG.error("Unable to start client {}", i, e);
         }
     }
 
+    public void start() {
+        ArrivalProfile profile = arrivalProfile.create(nbclients, TimeUnit.SECONDS.toNanos(timeToStartAllClientInS),
+                nbSteps, seed);
+        LOG.info("Starting {} clients in {}s with {} arrival profile", nbclients, timeToStartAllClientInS,
+                arrivalProfile);
+        rampUp = new RampUp(executor, profile, nbclients, new RampUp.ClientStarter() {
+            @Override
+            public void start(int index) {
+                startClientQuietly(index + 1);
+            }
+        });
+        rampUp.start();
+    }
+
     public void waitToEnd() throws InterruptedException {
         testEnd.await();
     }
 
     public boolean waitToEnd(long timeoutInSec) throws InterruptedException {
         if (testEnd.await(timeoutInSec, TimeUnit.SECONDS)) {
-            for (int i = 0; i < nbclients; i++) {
-                clients.get(i).destroy(true);
-            }
+            destroyClients(true);
             return true;
         } else {
             return false;
         }
     }
 
-    public void destroy(boolean deregister) {
-        for (LeshanClient client : clients) {
+    private void destroyClients(boolean deregister) {
+        for (LeshanClient client : clients.values()) {
             client.destroy(deregister);
         }
-        executorForClients.shutdown();
+        clients.clear();
+    }
+
+    public void destroy(boolean deregister) {
+        if (rampUp != null)
+            rampUp.cancel();
+        destroyClients(deregister);
+        if (timingWheel != null)
+            timingWheel.destroy();
+        if (scheduler != null)
+            scheduler.destroy();
+        if (transport != null)
+            transport.destroy();
+        if (graphiteReporter != null)
+            graphiteReporter.destroy();
         executor.shutdown();
     }
 }
@@ -1,9 +1,17 @@
 package org.eclipse.leshan.client;
 
+import java.io.File;
 import java.net.InetSocketAddress;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
 
+import org.eclipse.leshan.client.engine.RetryPolicyType;
+import org.eclipse.leshan.client.engine.UpdateSpreadType;
+import org.eclipse.leshan.client.object.HostInfoCache;
+import org.eclipse.leshan.client.ramp.ArrivalProfileType;
+import org.eclipse.leshan.client.scheduler.FleetScheduler;
+import org.eclipse.leshan.client.scheduler.VirtualThreadExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,12 +48,81 @@ public class MainCLI implements Callable<Integer> {
     @Option(names = { "-c",
             "--communication-period" }, description = "Number of time between 2 update requests in seconds.\nDefault: ${DEFAULT-VALUE} seconds.")
     private int communicationPeriodInSeconds = 60;
+    @Option(names = { "-p",
+            "--arrival-profile" }, description = "How client starts are spread over the start time: ${COMPLETION-CANDIDATES}.\nOUTAGE simulates devices coming back after a power outage.\nDefault: ${DEFAULT-VALUE}.")
+    private ArrivalProfileType arrivalProfile = ArrivalProfileType.CONSTANT;
+    @Option(names = {
+            "--steps" }, description = "Number of bursts for the STEP arrival profile.\nDefault: ${DEFAULT-VALUE}.")
+    private int nbSteps = ArrivalProfileType.DEFAULT_NB_STEPS;
+    @Option(names = {
+            "--seed" }, description = "Seed of the POISSON arrival profile and of simulated resource values, use the same seed to get the same arrivals and values.\nDefault: ${DEFAULT-VALUE}.")
+    private long seed = 0;
+    @Option(names = {
+            "--update-spread" }, description = "How registration updates are spread over the communication period: ${COMPLETION-CANDIDATES}.\nJITTER sends each update after a random delay in [(1-ratio)*period, period], FRACTION after (1-ratio)*period, PHASE shifts the first update of each device by a fixed phase in [0, ratio*period].\nDefault: ${DEFAULT-VALUE}.")
+    private UpdateSpreadType updateSpread = UpdateSpreadType.NONE;
+    @Option(names = {
+            "--update-spread-ratio" }, description = "Part of the communication period used by --update-spread.\nDefault: ${DEFAULT-VALUE}.")
+    private double updateSpreadRatio = UpdateSpreadType.DEFAULT_RATIO;
+    @Option(names = {
+            "--update-coalescing-window" }, description = "Time in milliseconds during which registration updates triggered by object tree changes (e.g. instances created by a bootstrap write) are merged into a single update request, 0 to send one request per change.\nDefault: ${DEFAULT-VALUE}.")
+    private long updateCoalescingWindowInMs = 0;
     @Option(names = { "-b", "--bootstrap" }, description = "Use this option to bootstrap instead of register.")
     private boolean bootstrap = false;
     @Option(names = { "-r", "--reconnect-on-update" }, description = "Reconnect/rehandshake on update.")
     private boolean reconnectOnUpdate = false;
     @Option(names = { "-f", "--no-resume" }, description = "Force reconnect/rehandshake on update.")
     private boolean noSessionResumption = false;
+    @Option(names = {
+            "--request-timeout" }, description = "Timeout of bootstrap, register and update requests in milliseconds.\nDefault: registration engine default (2 minutes).")
+    private Long requestTimeoutInMs;
+    @Option(names = {
+            "--retry-wait" }, description = "Time to wait before retrying after a registration failure in milliseconds.\nDefault: registration engine default (10 minutes).")
+    private Integer retryWaitingTimeInMs;
+    @Option(names = {
+            "--retry-policy" }, description = "How the wait before a bootstrap or registration retry evolves with consecutive failures: ${COMPLETION-CANDIDATES}.\nFIXED always waits --retry-wait, so devices which failed together retry together. EXPONENTIAL doubles the wait at each failure. DECORRELATED_JITTER draws each wait in [retry-wait, 3*previous wait].\nDefault: ${DEFAULT-VALUE}.")
+    private RetryPolicyType retryPolicy = RetryPolicyType.FIXED;
+    @Option(names = {
+            "--retry-max-wait" }, description = "Longest wait between 2 retries in milliseconds, for EXPONENTIAL and DECORRELATED_JITTER retry policies.\nDefault: ${DEFAULT-VALUE}.")
+    private long retryMaxWaitInMs = RetryPolicyType.DEFAULT_MAX_DELAY_IN_MS;
+    @Option(names = {
+            "--retry-budget" }, description = "Maximum number of retries by second for the whole fleet (token bucket). Retries above the budget are delayed.\nDefault: no limit.")
+    private Double retryBudget;
+    @Option(names = {
+            "--retry-burst" }, description = "Number of retries of the fleet allowed at the same time when --retry-budget is used.\nDefault: ${DEFAULT-VALUE}.")
+    private int retryBurst = 1;
+    @Option(names = {
+            "--device-class" }, description = "A class of devices with its own registration behavior, can be used several times. Format: name[:share][,period=<s>][,timeout=<ms>][,retry=<ms>][,reconnect=<bool>][,resume=<bool>], e.g: meter:70,period=900. Missing values are taken from the options above.\nDefault: all devices use the options above.")
+    private List<String> deviceClasses;
+    @Option(names = {
+            "--value-model" }, description = "How a simulated resource value evolves, can be used several times. Format: objectId/resourceId=type[:param=value,...] with type in constant (value), walk (initial, min, max, step, drift, period), diurnal (mean, amplitude, period, phase, noise, noisePeriod) or step (initial, min, max, increment, interval), durations in ms, e.g: 3/9=walk:min=20,max=100,drift=-0.1.\nDefault: battery, memory, signal strength, link quality and WLAN channel have their own models.")
+    private List<String> valueModels;
+    @Option(names = { "-x",
+            "--async-engine" }, description = "Use the non-blocking registration engine: requests are sent asynchronously and no thread waits for a response.")
+    private boolean asyncEngine = false;
+    @Option(names = { "-t",
+            "--virtual-threads" }, description = "Run registration engine tasks on virtual threads instead of a fixed thread pool. Needs java 21 or later.")
+    private boolean virtualThreads = false;
+    @Option(names = {
+            "--blocking-threads" }, description = "Maximum number of threads running the tasks of the blocking registration engine, each one waiting for a response. Registrations and updates of other devices wait until a thread is free. Not used with --async-engine or --virtual-threads.\nDefault: ${DEFAULT-VALUE}.")
+    private int blockingThreads = FleetScheduler.DEFAULT_BLOCKING_POOL_SIZE;
+    @Option(names = { "-m",
+            "--multiplexed-udp" }, description = "Poll the UDP sockets of all clients with a few shared selector threads instead of receiver/sender threads by client. Each client still opens its own socket and Californium still starts its protocol threads by client. Only for CoAP (not CoAPs).")
+    private boolean multiplexedUdp = false;
+    @Option(names = { "-l",
+            "--lazy-clients" }, description = "Create each client just before its start instead of creating all clients before the first start.")
+    private boolean lazyClients = false;
+    @Option(names = {
+            "--concurrent-reads" }, description = "Let reads, observes and discovers of a client object run concurrently (read/write lock) instead of serializing all operations of the object.")
+    private boolean concurrentReads = false;
+    @Option(names = {
+            "--notification-attributes" }, description = "Accept write attributes requests and apply pmin, pmax, gt, lt and st to notifications, instead of notifying each change.")
+    private boolean notificationAttributes = false;
+    @Option(names = {
+            "--host-info-ttl" }, description = "Time in seconds during which host information read by clients (WLAN interface, IP address) is reused before being collected again in background.\nDefault: ${DEFAULT-VALUE}.")
+    private long hostInfoTimeToLiveInSec = HostInfoCache.DEFAULT_TIME_TO_LIVE_IN_SEC;
+    @Option(names = {
+            "--model-snapshot" }, description = "Binary snapshot of the object models. Loaded instead of parsing DDF files if it exists and DDF files did not change since it was created, else created again from them.")
+    private File modelSnapshot;
     @Option(names = { "-d", "--duration" }, description = "Duration of the simulation in seconds.\nDefault: no limit.")
     private Integer durationInSeconds;
     @Option(names = { "-e",
@@ -57,6 +134,12 @@ public class MainCLI implements Callable<Integer> {
     @Option(names = { "-k",
             "--pskkey-pattern" }, description = "A String.format pattern used to create the psk identity from this index number. Value must be an Hexadecimal String.\nDefault ${DEFAULT-VALUE}")
     private String pskKeyPattern = "1234567890ABCDEF%08X";
+    @Option(names = { "-g",
+            "--graphite-report" }, description = "Report metrics (counters, latency percentiles and rate by request type) to this Graphite server, e.g: localhost:2003.")
+    private InetSocketAddress graphiteAddress;
+    @Option(names = {
+            "--graphite-polling-period" }, description = "Period between 2 Graphite reports in seconds.\nDefault: ${DEFAULT-VALUE} seconds.")
+    private int graphitePollingPeriodInSeconds = 5;
     @Option(names = { "-a", "--additional-attributes" }, description = "Additional attribute use at registration.")
     private Map<String, String> additionalAttributes;
 
@@ -78,21 +161,55 @@ public class MainCLI implements Callable<Integer> {
 
     @Override
     public Integer call() throws Exception {
+        if (virtualThreads && !VirtualThreadExecutor.isSupported()) {
+            LOG.error("--virtual-threads needs java 21 or later, current java version is {}.",
+                    System.getProperty("java.version"));
+            return 1;
+        }
+        if (blockingThreads <= 0) {
+            LOG.error("--blocking-threads must be positive, got {}.", blockingThreads);
+            return 1;
+        }
+        // the backoff of these policies grows from the retry wait, a zero wait would retry immediately forever
+        if (retryPolicy != RetryPolicyType.FIXED && retryWaitingTimeInMs != null && retryWaitingTimeInMs <= 0) {
+            LOG.error("--retry-wait must be positive with {} retry policy, got {}.", retryPolicy,
+                    retryWaitingTimeInMs);
+            return 1;
+        }
         Main launcher = new Main();
 
         launcher.setServerURI(serverURL);
         launcher.setNbClients(nbClients);
         startTime = startTime == null ? nbClients * 3 : startTime;
         launcher.setTimeToStart(startTime);
+        launcher.setArrivalProfile(arrivalProfile, nbSteps, seed);
         launcher.setCommunicationPeriod(communicationPeriodInSeconds);
+        launcher.setUpdateSpread(updateSpread, updateSpreadRatio);
+        launcher.setUpdateCoalescingWindow(updateCoalescingWindowInMs);
         launcher.setBootstrap(bootstrap);
         launcher.setResumeOnConnect(!noSessionResumption);
         launcher.setReconnectOnUpdate(reconnectOnUpdate);
+        launcher.setRequestTimeout(requestTimeoutInMs);
+        launcher.setRetryWaitingTime(retryWaitingTimeInMs);
+        launcher.setRetryPolicy(retryPolicy, retryMaxWaitInMs, retryBudget, retryBurst);
+        launcher.setDeviceClasses(deviceClasses);
+        launcher.setValueModels(valueModels);
+        launcher.setAsyncEngine(asyncEngine);
+        launcher.setVirtualThreads(virtualThreads);
+        launcher.setBlockingThreads(blockingThreads);
+        launcher.setMultiplexedUdp(multiplexedUdp);
+        launcher.setModelSnapshot(modelSnapshot);
+        launcher.setLazyClients(lazyClients);
+        launcher.setConcurrentReads(concurrentReads);
+        launcher.setNotificationAttributes(notificationAttributes);
+        launcher.setHostInfoTimeToLive(hostInfoTimeToLiveInSec);
         launcher.setEndpointPattern(endpointPattern);
         pskIdPattern = pskIdPattern == null ? endpointPattern : pskIdPattern;
         launcher.setPskIdPattern(pskIdPattern);
         launcher.setPskKeyPattern(pskKeyPattern);
         launcher.setAdditionalAttributes(additionalAttributes);
+        launcher.setGraphiteServerAddress(graphiteAddress);
+        launcher.setGraphitePollingPeriod(graphitePollingPeriodInSeconds);
 
         launcher.createClients();
         launcher.start();
@@ -17,6 +17,7 @@
 package org.eclipse.leshan.client;
 
 import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.Map;
 
 import org.eclipse.leshan.core.link.Link;
@@ -66,6 +67,33 @@ public class RegistrationUpdate {
         this(null, null, null, null, additionalAttributes);
     }
 
+    /**
+     * Merge a more recent registration update into this one.
+     * <p>
+     * Fields set in the newer update replace the ones of this update, additional attributes are combined.
+     *
+     * @param newer the registration update triggered after this one
+     * @return a new registration update carrying the fields of both updates
+     */
+    public RegistrationUpdate merge(RegistrationUpdate newer) {
+        if (newer == null)
+            return this;
+
+        Map<String, String> attributes = additionalAttributes;
+        if (newer.additionalAttributes != null) {
+            if (attributes == null) {
+                attributes = newer.additionalAttributes;
+            } else {
+                attributes = new HashMap<>(additionalAttributes);
+                attributes.putAll(newer.additionalAttributes);
+            }
+        }
+        return new RegistrationUpdate(newer.lifeTimeInSec != null ? newer.lifeTimeInSec : lifeTimeInSec,
+                newer.smsNumber != null ? newer.smsNumber : smsNumber,
+                newer.bindingMode != null ? newer.bindingMode : bindingMode,
+                newer.objectLinks != null ? newer.objectLinks : objectLinks, attributes);
+    }
+
     public Long getLifeTimeInSec() {
         return lifeTimeInSec;
     }
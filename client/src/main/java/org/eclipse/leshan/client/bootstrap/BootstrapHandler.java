@@ -42,6 +42,8 @@ public class BootstrapHandler {
 
     private boolean bootstrapping = false;
     private CountDownLatch bootstrappingLatch = new CountDownLatch(1);
+    // optional callback called when bootstrap session is finished (non blocking alternative to the latch)
+    private Runnable finishedCallback = null;
     // last session state (null means no error)
     private volatile List<String> lastConsistencyError = null;
 
@@ -61,10 +63,15 @@ public class BootstrapHandler {
                 return new SendableResponse<>(BootstrapFinishResponse.badRequest("not from a bootstrap server"));
             }
 
+            final CountDownLatch latch = bootstrappingLatch;
+            final Runnable callback = finishedCallback;
             Runnable whenSent = new Runnable() {
                 @Override
                 public void run() {
-                    bootstrappingLatch.countDown();
+                    latch.countDown();
+                    if (callback != null) {
+                        callback.run();
+                    }
                 }
             };
 
@@ -119,16 +126,36 @@ public class BootstrapHandler {
     public boolean waitBootstrapFinished(long timeInSeconds) throws InterruptedException, InvalidStateException {
         boolean finished = bootstrappingLatch.await(timeInSeconds, TimeUnit.SECONDS);
         if (finished) {
-            if (lastConsistencyError != null) {
-                throw new InvalidStateException(
-                        String.format("Invalid Bootstrap state : %s", lastConsistencyError.toString()));
-            }
+            checkBootstrapState();
         }
         return finished;
     }
 
+    /**
+     * Set a callback called once the current bootstrap session is finished, meaning the response to the Bootstrap
+     * Finish request was sent. This is the non blocking alternative to {@link #waitBootstrapFinished(long)}, the
+     * callback should then use {@link #checkBootstrapState()}.
+     * <p>
+     * The callback must be set after {@link #tryToInitSession()} and before the Bootstrap Request is sent. It is
+     * removed on {@link #closeSession()}.
+     */
+    public synchronized void setSessionFinishedCallback(Runnable callback) {
+        this.finishedCallback = callback;
+    }
+
+    /**
+     * @throws InvalidStateException if the last finished bootstrap session left the client in an inconsistent state.
+     */
+    public void checkBootstrapState() throws InvalidStateException {
+        List<String> consistencyError = lastConsistencyError;
+        if (consistencyError != null) {
+            throw new InvalidStateException(String.format("Invalid Bootstrap state : %s", consistencyError.toString()));
+        }
+    }
+
     public synchronized void closeSession() {
         bootstrappingLatch = null;
+        finishedCallback = null;
         bootstrapping = false;
     }
 
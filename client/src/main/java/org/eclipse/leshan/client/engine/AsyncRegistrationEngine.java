@@ -0,0 +1,1179 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.engine;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.leshan.client.EndpointsManager;
+import org.eclipse.leshan.client.RegistrationUpdate;
+import org.eclipse.leshan.client.bootstrap.BootstrapHandler;
+import org.eclipse.leshan.client.bootstrap.InvalidStateException;
+import org.eclipse.leshan.client.observer.LwM2mClientObserver;
+import org.eclipse.leshan.client.request.UplinkRequestSender;
+import org.eclipse.leshan.client.resource.LwM2mObjectEnabler;
+import org.eclipse.leshan.client.resource.LwM2mObjectTree;
+import org.eclipse.leshan.client.servers.DmServerInfo;
+import org.eclipse.leshan.client.servers.ServerIdentity;
+import org.eclipse.leshan.client.servers.ServerInfo;
+import org.eclipse.leshan.client.servers.ServersInfo;
+import org.eclipse.leshan.client.servers.ServersInfoExtractor;
+import org.eclipse.leshan.core.LwM2m.LwM2mVersion;
+import org.eclipse.leshan.core.LwM2mId;
+import org.eclipse.leshan.core.ResponseCode;
+import org.eclipse.leshan.core.link.Link;
+import org.eclipse.leshan.core.request.BindingMode;
+import org.eclipse.leshan.core.request.BootstrapRequest;
+import org.eclipse.leshan.core.request.ContentFormat;
+import org.eclipse.leshan.core.request.DeregisterRequest;
+import org.eclipse.leshan.core.request.RegisterRequest;
+import org.eclipse.leshan.core.request.UpdateRequest;
+import org.eclipse.leshan.core.request.exception.SendFailedException;
+import org.eclipse.leshan.core.request.exception.TimeoutException;
+import org.eclipse.leshan.core.response.BootstrapResponse;
+import org.eclipse.leshan.core.response.DeregisterResponse;
+import org.eclipse.leshan.core.response.ErrorCallback;
+import org.eclipse.leshan.core.response.LwM2mResponse;
+import org.eclipse.leshan.core.response.RegisterResponse;
+import org.eclipse.leshan.core.response.ResponseCallback;
+import org.eclipse.leshan.core.response.UpdateResponse;
+import org.eclipse.leshan.core.util.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link RegistrationEngine} which never blocks a thread waiting for a response.
+ * <p>
+ * It follows the same life-cycle as {@link DefaultRegistrationEngine} but requests are sent using the asynchronous
+ * {@link UplinkRequestSender} API and each step (bootstrap, register, update, retry with reconnection, fallback to
+ * bootstrap) is an explicit state transition executed on the engine executor when the response, the error or the timer
+ * is received. So a small thread pool can drive a lot of concurrent registrations.
+ * <p>
+ * De-registration done on {@link #stop(boolean)} or {@link #destroy(boolean)} is still synchronous, as the transport
+ * layer is destroyed just after.
+ * <br>
+ * <b>For now support only one device management server.</b>
+ */
+public class AsyncRegistrationEngine implements RegistrationEngine {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncRegistrationEngine.class);
+
+    private static final long NOW = 0;
+    private static final ServerIdentity ALL = new ServerIdentity(null, null, null);
+
+    /**
+     * The states of the registration life-cycle.
+     */
+    public enum State {
+        STOPPED, BOOTSTRAPPING, WAITING_BOOTSTRAP_FINISHED, REGISTERING, REGISTERED, UPDATING, DEREGISTERING,
+        WAITING_RETRY
+    }
+
+    // Timeout for bootstrap/register/update request
+    private final long requestTimeoutInMs;
+    // de-registration is only used on stop/destroy for now.
+    private final long deregistrationTimeoutInMs;
+    // Bootstrap session timeout
+    private final int bootstrapSessionTimeoutInSec;
+    // Time to wait before retrying a failed bootstrap or registration
+    private final RetryPolicy retryPolicy;
+    // Time between 2 update requests (used only if it is smaller than the lifetime)
+    private final Integer communicationPeriodInMs;
+    // How updates are spread over the communication period
+    private final UpdateSpreadPolicy updateSpread;
+    // Time during which triggered registration updates are merged into a single request (0 to disable)
+    private final long updateCoalescingWindowInMs;
+    // True if client should re-initiate a connection (DTLS) on registration update
+    private final boolean reconnectOnUpdate;
+    // True if client should try to resume connection if possible.
+    private final boolean resumeOnConnect;
+    // True if client use queueMode : for now this just add Q parameter on register request.
+    private final boolean queueMode;
+
+    // device state
+    private final String endpoint;
+    private final ContentFormat preferredContentFormat; // used for bootstrap
+    private final Set<ContentFormat> supportedContentFormats;
+    private final Map<String, String> additionalAttributes;
+    private final Map<String, String> bsAdditionalAttributes;
+    private final LwM2mObjectTree objectTree;
+    private final Map<Integer /* objectId */, LwM2mObjectEnabler> objectEnablers;
+    private final Map<String /* registrationId */, ServerIdentity> registeredServers;
+    private final List<ServerIdentity> registeringServers;
+    private final AtomicReference<ServerIdentity> currentBootstrapServer;
+
+    // helpers
+    private final UplinkRequestSender sender;
+    private final BootstrapHandler bootstrapHandler;
+    private final EndpointsManager endpointsManager;
+    private final LwM2mClientObserver observer;
+
+    // state machine stuff (guarded by this)
+    private boolean started = false;
+    private State state = State.STOPPED;
+    // incremented on each transition, callbacks of a previous transition are ignored
+    private long transitionId = 0;
+    // the timer currently armed (next update, retry or bootstrap session timeout)
+    private Future<?> timer;
+    // registration update triggered while a request was in progress or during the coalescing window, sent as soon as
+    // possible
+    private RegistrationUpdate pendingUpdate;
+    // consecutive bootstrap/registration failures and the last retry delay, reset once registered
+    private int retryAttempt = 0;
+    private long retryDelayInMs = 0;
+    private final ScheduledExecutorService schedExecutor;
+    private final boolean attachedExecutor;
+
+    public AsyncRegistrationEngine(String endpoint, LwM2mObjectTree objectTree, EndpointsManager endpointsManager,
+            UplinkRequestSender requestSender, BootstrapHandler bootstrapState, LwM2mClientObserver observer,
+            Map<String, String> additionalAttributes, Map<String, String> bsAdditionalAttributes,
+            ScheduledExecutorService executor, long requestTimeoutInMs, long deregistrationTimeoutInMs,
+            int bootstrapSessionTimeoutInSec, RetryPolicy retryPolicy, Integer communicationPeriodInMs,
+            UpdateSpreadPolicy updateSpread, long updateCoalescingWindowInMs, boolean reconnectOnUpdate,
+            boolean resumeOnConnect, boolean useQueueMode, ContentFormat preferredContentFormat,
+            Set<ContentFormat> supportedContentFormats) {
+        this.endpoint = endpoint;
+        this.objectTree = objectTree;
+        this.objectEnablers = objectTree.getObjectEnablers();
+        this.bootstrapHandler = bootstrapState;
+        this.endpointsManager = endpointsManager;
+        this.observer = observer;
+        this.additionalAttributes = additionalAttributes;
+        this.bsAdditionalAttributes = bsAdditionalAttributes;
+        this.registeredServers = new ConcurrentHashMap<>();
+        this.registeringServers = new CopyOnWriteArrayList<>();
+        this.currentBootstrapServer = new AtomicReference<>();
+        this.requestTimeoutInMs = requestTimeoutInMs;
+        this.deregistrationTimeoutInMs = deregistrationTimeoutInMs;
+        this.bootstrapSessionTimeoutInSec = bootstrapSessionTimeoutInSec;
+        this.retryPolicy = retryPolicy;
+        this.communicationPeriodInMs = communicationPeriodInMs;
+        this.updateSpread = updateSpread == null ? UpdateSpreadPolicy.NONE : updateSpread;
+        this.updateCoalescingWindowInMs = updateCoalescingWindowInMs;
+        this.reconnectOnUpdate = reconnectOnUpdate;
+        this.resumeOnConnect = resumeOnConnect;
+        this.queueMode = useQueueMode;
+        this.preferredContentFormat = preferredContentFormat;
+        this.supportedContentFormats = supportedContentFormats;
+
+        if (executor == null) {
+            schedExecutor = createScheduledExecutor();
+            attachedExecutor = true;
+        } else {
+            schedExecutor = executor;
+            attachedExecutor = false;
+        }
+
+        sender = requestSender;
+    }
+
+    protected ScheduledExecutorService createScheduledExecutor() {
+        return Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("AsyncRegistrationEngine#%d"));
+    }
+
+    /**
+     * @return the current state of the registration life-cycle.
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    @Override
+    public void start() {
+        stop(false); // Stop without de-register
+        synchronized (this) {
+            started = true;
+            resetRetryDelay();
+            // Try factory bootstrap
+            // TODO support multi server
+            ServerIdentity dmServer = factoryBootstrap();
+
+            if (dmServer == null) {
+                // If it failed try client initiated bootstrap
+                if (!scheduleBootstrap(NOW))
+                    throw new IllegalStateException("Unable to start client : No valid server available!");
+            } else {
+                scheduleRegistration(dmServer, NOW, true);
+            }
+        }
+    }
+
+    private ServerIdentity factoryBootstrap() {
+        ServerInfo serverInfo = selectServer(objectTree.getServersInfo().deviceManagements);
+        if (serverInfo != null) {
+            return endpointsManager.createEndpoint(serverInfo, isClientInitiatedOnly());
+        }
+        return null;
+    }
+
+    private boolean isClientInitiatedOnly() {
+        return queueMode;
+    }
+
+    // ------------------------------------------------------------------------------------------------------------
+    // Transitions helpers
+    // ------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Enter a new state, cancelling the armed timer and invalidating callbacks of the previous transition.
+     *
+     * @return the id of the new transition.
+     */
+    private long enter(State newState) {
+        cancelTimer();
+        if (newState != State.REGISTERING && newState != State.UPDATING && newState != State.REGISTERED) {
+            pendingUpdate = null;
+        }
+        state = newState;
+        return ++transitionId;
+    }
+
+    private boolean isCurrent(long id) {
+        return started && transitionId == id;
+    }
+
+    private void cancelTimer() {
+        if (timer != null) {
+            timer.cancel(false);
+            timer = null;
+        }
+    }
+
+    private void arm(long id, long timeInMs, Runnable action) {
+        Runnable guarded = guard(id, action);
+        try {
+            if (timeInMs > 0) {
+                timer = schedExecutor.schedule(guarded, timeInMs, TimeUnit.MILLISECONDS);
+            } else {
+                timer = schedExecutor.submit(guarded);
+            }
+        } catch (RejectedExecutionException e) {
+            LOG.debug("Unable to schedule registration task, engine is destroyed.");
+        }
+    }
+
+    /**
+     * @return a {@link Runnable} which executes the given action on the engine executor only if the transition is
+     *         still the current one.
+     */
+    private Runnable guard(long id, Runnable action) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                synchronized (AsyncRegistrationEngine.this) {
+                    if (!isCurrent(id))
+                        return;
+                    try {
+                        action.run();
+                    } catch (RuntimeException e) {
+                        LOG.error("Unexpected exception during registration life-cycle", e);
+                        if (observer != null) {
+                            observer.onUnexpectedError(e);
+                        }
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * @return a {@link Runnable} which executes the given guarded action on the engine executor, this is used to
+     *         leave transport layer threads as soon as a response or an error is received.
+     */
+    private Runnable dispatch(long id, Runnable action) {
+        Runnable guarded = guard(id, action);
+        return new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    schedExecutor.execute(guarded);
+                } catch (RejectedExecutionException e) {
+                    LOG.debug("Response ignored, engine is destroyed.");
+                }
+            }
+        };
+    }
+
+    private <T extends LwM2mResponse> ResponseCallback<T> onResponse(long id, final ResponseHandler<T> handler) {
+        return new ResponseCallback<T>() {
+            @Override
+            public void onResponse(T response) {
+                dispatch(id, new Runnable() {
+                    @Override
+                    public void run() {
+                        handler.handle(response);
+                    }
+                }).run();
+            }
+        };
+    }
+
+    private ErrorCallback onError(long id, final ErrorHandler handler) {
+        return new ErrorCallback() {
+            @Override
+            public void onError(Exception e) {
+                dispatch(id, new Runnable() {
+                    @Override
+                    public void run() {
+                        handler.handle(e);
+                    }
+                }).run();
+            }
+        };
+    }
+
+    private interface ResponseHandler<T> {
+        void handle(T response);
+    }
+
+    private interface ErrorHandler {
+        void handle(Exception e);
+    }
+
+    // ------------------------------------------------------------------------------------------------------------
+    // Bootstrap
+    // ------------------------------------------------------------------------------------------------------------
+
+    private synchronized boolean scheduleBootstrap(long timeInMs) {
+        if (!started)
+            return false;
+
+        ServerInfo bootstrapServerInfo = getBootstrapServerInfo();
+        if (bootstrapServerInfo == null) {
+            // It seems we have no bootstrap server available in this case we can't schedule a new bootstraps
+            return false;
+        }
+
+        // Schedule a client initiated bootstrap only if there is not already one in execution
+        if (state != State.BOOTSTRAPPING && state != State.WAITING_BOOTSTRAP_FINISHED) {
+            if (timeInMs > 0) {
+                LOG.info("Try to initiated bootstarp in {}s...", timeInMs / 1000);
+            }
+            long id = enter(timeInMs > 0 ? State.WAITING_RETRY : State.BOOTSTRAPPING);
+            arm(id, timeInMs, new Runnable() {
+                @Override
+                public void run() {
+                    bootstrap();
+                }
+            });
+        }
+        // We succeed to schedule a bootstrap or there is already one schedule so it's ok.
+        return true;
+    }
+
+    private void bootstrap() {
+        ServerInfo bootstrapServerInfo = getBootstrapServerInfo();
+        if (bootstrapServerInfo == null) {
+            LOG.error("Trying to bootstrap device but there is no bootstrap server config.");
+            bootstrapFailed();
+            return;
+        }
+
+        if (!bootstrapHandler.tryToInitSession()) {
+            LOG.warn("Bootstrap sequence already started.");
+            bootstrapFailed();
+            return;
+        }
+        LOG.info("Trying to start bootstrap session to {} ...", bootstrapServerInfo.getFullUri());
+
+        // Clear all registered server and recreate all endpoints
+        registeredServers.clear();
+        final long id = enter(State.BOOTSTRAPPING);
+        final ServerIdentity bootstrapServer = endpointsManager.createEndpoint(bootstrapServerInfo, true);
+        if (bootstrapServer != null) {
+            currentBootstrapServer.set(bootstrapServer);
+        }
+
+        final BootstrapRequest request;
+        try {
+            request = new BootstrapRequest(endpoint, preferredContentFormat, bsAdditionalAttributes);
+        } catch (RuntimeException e) {
+            logExceptionOnSendRequest("Unable to create Bootstrap request", e);
+            if (observer != null) {
+                observer.onBootstrapFailure(bootstrapServer, null, null, null, e);
+            }
+            endBootstrapSession();
+            bootstrapFailed();
+            return;
+        }
+
+        // callback must be set before sending the request as Bootstrap Finish could be received before we handle the
+        // bootstrap response.
+        bootstrapHandler.setSessionFinishedCallback(dispatch(id, new Runnable() {
+            @Override
+            public void run() {
+                onBootstrapFinished(bootstrapServer, request);
+            }
+        }));
+
+        if (observer != null) {
+            observer.onBootstrapStarted(bootstrapServer, request);
+        }
+        try {
+            sender.send(bootstrapServer, request, requestTimeoutInMs,
+                    onResponse(id, new ResponseHandler<BootstrapResponse>() {
+                        @Override
+                        public void handle(BootstrapResponse response) {
+                            onBootstrapResponse(bootstrapServer, request, response);
+                        }
+                    }), onError(id, new ErrorHandler() {
+                        @Override
+                        public void handle(Exception e) {
+                            onBootstrapError(bootstrapServer, request, e);
+                        }
+                    }));
+        } catch (RuntimeException e) {
+            onBootstrapError(bootstrapServer, request, e);
+        }
+    }
+
+    private void onBootstrapResponse(ServerIdentity bootstrapServer, BootstrapRequest request,
+            BootstrapResponse response) {
+        if (response.isSuccess()) {
+            LOG.info("Bootstrap started");
+            // Wait until it is finished (or too late)
+            if (state == State.BOOTSTRAPPING) {
+                state = State.WAITING_BOOTSTRAP_FINISHED;
+                arm(transitionId, bootstrapSessionTimeoutInSec * 1000l, new Runnable() {
+                    @Override
+                    public void run() {
+                        LOG.info("Bootstrap sequence aborted: Timeout.");
+                        if (observer != null) {
+                            observer.onBootstrapTimeout(bootstrapServer, request);
+                        }
+                        endBootstrapSession();
+                        bootstrapFailed();
+                    }
+                });
+            }
+        } else {
+            LOG.info("Bootstrap failed: {} {}.", response.getCode(), response.getErrorMessage());
+            if (observer != null) {
+                observer.onBootstrapFailure(bootstrapServer, request, response.getCode(), response.getErrorMessage(),
+                        null);
+            }
+            endBootstrapSession();
+            bootstrapFailed();
+        }
+    }
+
+    private void onBootstrapError(ServerIdentity bootstrapServer, BootstrapRequest request, Exception e) {
+        if (e instanceof TimeoutException) {
+            LOG.info("Unable to start bootstrap session: Timeout.");
+            if (observer != null) {
+                observer.onBootstrapTimeout(bootstrapServer, request);
+            }
+        } else {
+            logExceptionOnSendRequest("Unable to send Bootstrap request", e);
+            if (observer != null) {
+                observer.onBootstrapFailure(bootstrapServer, request, null, null, e);
+            }
+        }
+        endBootstrapSession();
+        bootstrapFailed();
+    }
+
+    private void onBootstrapFinished(ServerIdentity bootstrapServer, BootstrapRequest request) {
+        cancelTimer();
+        try {
+            bootstrapHandler.checkBootstrapState();
+        } catch (InvalidStateException e) {
+            LOG.info("Bootstrap finished with failure because of consistency check failure.", e);
+            if (observer != null) {
+                observer.onBootstrapFailure(bootstrapServer, request, null, null, e);
+            }
+            endBootstrapSession();
+            bootstrapFailed();
+            return;
+        }
+
+        LOG.info("Bootstrap finished {}.", bootstrapServer.getUri());
+        ServerInfo serverInfo = selectServer(objectTree.getServersInfo().deviceManagements);
+        ServerIdentity dmServer = null;
+        if (serverInfo != null) {
+            dmServer = endpointsManager.createEndpoint(serverInfo, isClientInitiatedOnly());
+        }
+        if (observer != null) {
+            observer.onBootstrapSuccess(bootstrapServer, request);
+        }
+        endBootstrapSession();
+
+        if (dmServer == null) {
+            bootstrapFailed();
+        } else {
+            // after a bootstrap, registration failure leads to a registration retry (not a new bootstrap)
+            register(dmServer, true, false);
+        }
+    }
+
+    private void endBootstrapSession() {
+        currentBootstrapServer.set(null);
+        bootstrapHandler.closeSession();
+    }
+
+    private void abortBootstrapSession() {
+        if (state == State.BOOTSTRAPPING || state == State.WAITING_BOOTSTRAP_FINISHED) {
+            endBootstrapSession();
+        }
+    }
+
+    private void bootstrapFailed() {
+        // leave BOOTSTRAPPING state so a new bootstrap can be scheduled
+        enter(State.WAITING_RETRY);
+        scheduleBootstrap(nextRetryDelay());
+    }
+
+    // ------------------------------------------------------------------------------------------------------------
+    // Registration
+    // ------------------------------------------------------------------------------------------------------------
+
+    private synchronized void scheduleRegistration(ServerIdentity dmServer, long timeInMs,
+            boolean fallbackToBootstrap) {
+        if (!started)
+            return;
+
+        if (timeInMs > 0) {
+            LOG.info("Try to register to {} again in {}s...", dmServer.getUri(), timeInMs / 1000);
+        }
+        long id = enter(timeInMs > 0 ? State.WAITING_RETRY : State.REGISTERING);
+        arm(id, timeInMs, new Runnable() {
+            @Override
+            public void run() {
+                register(dmServer, true, fallbackToBootstrap);
+            }
+        });
+    }
+
+    /**
+     * Send a register request.
+     *
+     * @param retryOnTimeout True if a new connection should be initiated and the request sent again on timeout.
+     * @param fallbackToBootstrap True if a bootstrap should be initiated if registration failed.
+     */
+    private void register(ServerIdentity server, boolean retryOnTimeout, boolean fallbackToBootstrap) {
+        DmServerInfo dmInfo = getDMServerInfo(server.getId());
+        if (dmInfo == null) {
+            LOG.info("Trying to register device but there is no LWM2M server config.");
+            registrationFailed(server, fallbackToBootstrap);
+            return;
+        }
+
+        // Send register request
+        LOG.info("Trying to register to {} ...", server.getUri());
+        final long id = enter(State.REGISTERING);
+        RegisterRequest request = null;
+        try {
+            LwM2mVersion lwM2mVersion = LwM2mVersion.lastSupported();
+            EnumSet<BindingMode> supportedBindingMode = ServersInfoExtractor
+                    .getDeviceSupportedBindingMode(objectEnablers.get(LwM2mId.DEVICE), 0);
+            Link[] links = objectTree.getClientDescription(
+                    ContentFormat.getOptionalContentFormatForClient(supportedContentFormats, lwM2mVersion));
+
+            request = new RegisterRequest(endpoint, dmInfo.lifetime, lwM2mVersion.toString(), supportedBindingMode,
+                    queueMode, null, links, additionalAttributes);
+            if (observer != null) {
+                observer.onRegistrationStarted(server, request);
+            }
+            registeringServers.add(server);
+
+            final RegisterRequest sentRequest = request;
+            sender.send(server, request, requestTimeoutInMs, onResponse(id, new ResponseHandler<RegisterResponse>() {
+                @Override
+                public void handle(RegisterResponse response) {
+                    onRegisterResponse(server, dmInfo, sentRequest, response, fallbackToBootstrap);
+                }
+            }), onError(id, new ErrorHandler() {
+                @Override
+                public void handle(Exception e) {
+                    onRegisterError(server, sentRequest, e, retryOnTimeout, fallbackToBootstrap);
+                }
+            }));
+        } catch (RuntimeException e) {
+            onRegisterError(server, request, e, false, fallbackToBootstrap);
+        }
+    }
+
+    private void onRegisterResponse(ServerIdentity server, DmServerInfo dmInfo, RegisterRequest request,
+            RegisterResponse response, boolean fallbackToBootstrap) {
+        registeringServers.remove(server);
+        if (response.isSuccess()) {
+            // Add server to registered one
+            String registrationID = response.getRegistrationID();
+            registeredServers.put(registrationID, server);
+            LOG.info("Registered with location '{}'.", registrationID);
+            resetRetryDelay();
+
+            // Update every lifetime period
+            long delay = calculateNextUpdate(server, dmInfo.lifetime, true);
+            scheduleUpdate(server, registrationID, new RegistrationUpdate(), delay);
+
+            if (observer != null) {
+                observer.onRegistrationSuccess(server, request, registrationID);
+            }
+        } else {
+            LOG.info("Registration failed: {} {}.", response.getCode(), response.getErrorMessage());
+            if (observer != null) {
+                observer.onRegistrationFailure(server, request, response.getCode(), response.getErrorMessage(), null);
+            }
+            registrationFailed(server, fallbackToBootstrap);
+        }
+    }
+
+    private void onRegisterError(ServerIdentity server, RegisterRequest request, Exception e, boolean retryOnTimeout,
+            boolean fallbackToBootstrap) {
+        registeringServers.remove(server);
+        if (e instanceof TimeoutException) {
+            LOG.info("Registration failed: Timeout.");
+            if (observer != null) {
+                observer.onRegistrationTimeout(server, request);
+            }
+            if (retryOnTimeout) {
+                // if register timeout maybe server lost the session,
+                // so we reconnect (new handshake) and retry
+                endpointsManager.forceReconnection(server, resumeOnConnect);
+                register(server, false, fallbackToBootstrap);
+                return;
+            }
+        } else {
+            logExceptionOnSendRequest("Unable to send register request", e);
+            if (observer != null) {
+                observer.onRegistrationFailure(server, request, null, null, e);
+            }
+        }
+        registrationFailed(server, fallbackToBootstrap);
+    }
+
+    private void registrationFailed(ServerIdentity server, boolean fallbackToBootstrap) {
+        enter(State.WAITING_RETRY);
+        if (!fallbackToBootstrap || !scheduleBootstrap(NOW)) {
+            scheduleRegistration(server, nextRetryDelay(), fallbackToBootstrap);
+        }
+    }
+
+    // ------------------------------------------------------------------------------------------------------------
+    // Registration Update
+    // ------------------------------------------------------------------------------------------------------------
+
+    private synchronized long nextRetryDelay() {
+        retryAttempt++;
+        // keep the delay of the policy for next attempt, not the time really waited
+        retryDelayInMs = retryPolicy.getRetryDelay(retryAttempt, retryDelayInMs);
+        return retryPolicy.getWaitingTime(retryDelayInMs);
+    }
+
+    private synchronized void resetRetryDelay() {
+        retryAttempt = 0;
+        retryDelayInMs = 0;
+    }
+
+    private long calculateNextUpdate(ServerIdentity server, long lifetimeInSeconds, boolean firstUpdate) {
+        long maxComminucationPeriod = endpointsManager.getMaxCommunicationPeriodFor(server, lifetimeInSeconds * 1000);
+        long period;
+        if (communicationPeriodInMs != null) {
+            period = Math.min(communicationPeriodInMs, maxComminucationPeriod);
+        } else {
+            period = maxComminucationPeriod;
+        }
+        return updateSpread.getUpdateDelay(endpoint, period, firstUpdate);
+    }
+
+    private synchronized void scheduleUpdate(ServerIdentity server, String registrationId,
+            RegistrationUpdate registrationUpdate, long timeInMs) {
+        if (!started)
+            return;
+
+        RegistrationUpdate update = registrationUpdate;
+        long delay = timeInMs;
+        if (pendingUpdate != null) {
+            // an update was triggered while previous request was in progress, send it now.
+            update = pendingUpdate;
+            delay = NOW;
+            pendingUpdate = null;
+        }
+
+        if (delay > 0) {
+            LOG.info("Next registration update to {} in {}s...", server.getUri(), delay / 1000);
+        }
+        long id = enter(delay > 0 ? State.REGISTERED : State.UPDATING);
+        final RegistrationUpdate updateToSend = update;
+        arm(id, delay, new Runnable() {
+            @Override
+            public void run() {
+                update(server, registrationId, updateToSend, true);
+            }
+        });
+    }
+
+    private void update(ServerIdentity server, String registrationID, RegistrationUpdate registrationUpdate,
+            boolean retryOnTimeout) {
+        DmServerInfo dmInfo = getDMServerInfo(server.getId());
+        if (dmInfo == null) {
+            LOG.info("Trying to update registration but there is no LWM2M server config.");
+            updateFailed(server);
+            return;
+        }
+
+        // Send update
+        LOG.info("Trying to update registration to {} (response timeout {}ms)...", server.getUri(), requestTimeoutInMs);
+        final long id = enter(State.UPDATING);
+        UpdateRequest request = null;
+        try {
+            request = new UpdateRequest(registrationID, registrationUpdate.getLifeTimeInSec(),
+                    registrationUpdate.getSmsNumber(), registrationUpdate.getBindingMode(),
+                    registrationUpdate.getObjectLinks(), registrationUpdate.getAdditionalAttributes());
+            if (observer != null) {
+                observer.onUpdateStarted(server, request);
+            }
+            if (reconnectOnUpdate) {
+                endpointsManager.forceReconnection(server, resumeOnConnect);
+            }
+
+            final UpdateRequest sentRequest = request;
+            sender.send(server, request, requestTimeoutInMs, onResponse(id, new ResponseHandler<UpdateResponse>() {
+                @Override
+                public void handle(UpdateResponse response) {
+                    onUpdateResponse(server, dmInfo, registrationID, sentRequest, response);
+                }
+            }), onError(id, new ErrorHandler() {
+                @Override
+                public void handle(Exception e) {
+                    onUpdateError(server, registrationID, registrationUpdate, sentRequest, e, retryOnTimeout);
+                }
+            }));
+        } catch (RuntimeException e) {
+            onUpdateError(server, registrationID, registrationUpdate, request, e, false);
+        }
+    }
+
+    private void onUpdateResponse(ServerIdentity server, DmServerInfo dmInfo, String registrationID,
+            UpdateRequest request, UpdateResponse response) {
+        if (response.getCode() == ResponseCode.CHANGED) {
+            // Update successful, so we reschedule new update
+            LOG.info("Registration update succeed.");
+            long delay = calculateNextUpdate(server, dmInfo.lifetime, false);
+            scheduleUpdate(server, registrationID, new RegistrationUpdate(), delay);
+            if (observer != null) {
+                observer.onUpdateSuccess(server, request);
+            }
+        } else {
+            LOG.info("Registration update failed: {} {}.", response.getCode(), response.getErrorMessage());
+            if (observer != null) {
+                observer.onUpdateFailure(server, request, response.getCode(), response.getErrorMessage(), null);
+            }
+            registeredServers.remove(registrationID);
+            updateFailed(server);
+        }
+    }
+
+    private void onUpdateError(ServerIdentity server, String registrationID, RegistrationUpdate registrationUpdate,
+            UpdateRequest request, Exception e, boolean retryOnTimeout) {
+        if (e instanceof TimeoutException) {
+            LOG.info("Registration update failed: Timeout.");
+            if (observer != null) {
+                observer.onUpdateTimeout(server, request);
+            }
+            if (retryOnTimeout) {
+                // if update timeout maybe server lost the session,
+                // so we reconnect (new handshake) and retry
+                endpointsManager.forceReconnection(server, resumeOnConnect);
+                update(server, registrationID, registrationUpdate, false);
+                return;
+            }
+        } else {
+            logExceptionOnSendRequest("Unable to send update request", e);
+            if (observer != null) {
+                observer.onUpdateFailure(server, request, null, null, e);
+            }
+        }
+        updateFailed(server);
+    }
+
+    private void updateFailed(ServerIdentity server) {
+        // if update failed, try to register again
+        register(server, true, true);
+    }
+
+    // ------------------------------------------------------------------------------------------------------------
+    // De-registration
+    // ------------------------------------------------------------------------------------------------------------
+
+    private boolean deregister(ServerIdentity server, String registrationID) throws InterruptedException {
+        if (registrationID == null)
+            return true;
+
+        // Send deregister request
+        LOG.info("Trying to deregister to {} ...", server.getUri());
+        DeregisterRequest request = null;
+        try {
+            request = new DeregisterRequest(registrationID);
+            if (observer != null) {
+                observer.onDeregistrationStarted(server, request);
+            }
+            DeregisterResponse response = sender.send(server, request, deregistrationTimeoutInMs);
+            return onDeregisterResponse(server, registrationID, request, response);
+        } catch (RuntimeException e) {
+            onDeregisterError(server, request, e);
+            return false;
+        }
+    }
+
+    private void deregisterAsync(ServerIdentity server, String registrationID, Runnable next) {
+        LOG.info("Trying to deregister to {} ...", server.getUri());
+        final long id = enter(State.DEREGISTERING);
+        final DeregisterRequest request = new DeregisterRequest(registrationID);
+        if (observer != null) {
+            observer.onDeregistrationStarted(server, request);
+        }
+        try {
+            sender.send(server, request, deregistrationTimeoutInMs,
+                    onResponse(id, new ResponseHandler<DeregisterResponse>() {
+                        @Override
+                        public void handle(DeregisterResponse response) {
+                            onDeregisterResponse(server, registrationID, request, response);
+                            next.run();
+                        }
+                    }), onError(id, new ErrorHandler() {
+                        @Override
+                        public void handle(Exception e) {
+                            onDeregisterError(server, request, e);
+                            next.run();
+                        }
+                    }));
+        } catch (RuntimeException e) {
+            onDeregisterError(server, request, e);
+            next.run();
+        }
+    }
+
+    private boolean onDeregisterResponse(ServerIdentity server, String registrationID, DeregisterRequest request,
+            DeregisterResponse response) {
+        if (response == null) {
+            LOG.info("Deregistration failed: Timeout.");
+            if (observer != null) {
+                observer.onDeregistrationTimeout(server, request);
+            }
+            return false;
+        } else if (response.isSuccess() || response.getCode() == ResponseCode.NOT_FOUND) {
+            registeredServers.remove(registrationID);
+            LOG.info("De-register response {} {}.", response.getCode(), response.getErrorMessage());
+            if (observer != null) {
+                if (response.isSuccess()) {
+                    observer.onDeregistrationSuccess(server, request);
+                } else {
+                    observer.onDeregistrationFailure(server, request, response.getCode(), response.getErrorMessage(),
+                            null);
+                }
+            }
+            return true;
+        } else {
+            LOG.info("Deregistration failed: {} {}.", response.getCode(), response.getErrorMessage());
+            if (observer != null) {
+                observer.onDeregistrationFailure(server, request, response.getCode(), response.getErrorMessage(),
+                        null);
+            }
+            return false;
+        }
+    }
+
+    private void onDeregisterError(ServerIdentity server, DeregisterRequest request, Exception e) {
+        if (e instanceof TimeoutException) {
+            onDeregisterResponse(server, null, request, null);
+            return;
+        }
+        logExceptionOnSendRequest("Unable to send deregister request", e);
+        if (observer != null) {
+            observer.onDeregistrationFailure(server, request, null, null, e);
+        }
+    }
+
+    private void deregisterAll() {
+        try {
+            if (!registeredServers.isEmpty()) {
+                for (Entry<String, ServerIdentity> registeredServer : registeredServers.entrySet()) {
+                    deregister(registeredServer.getValue(), registeredServer.getKey());
+                }
+            }
+        } catch (InterruptedException e) {
+        }
+    }
+
+    // ------------------------------------------------------------------------------------------------------------
+    // Life-cycle
+    // ------------------------------------------------------------------------------------------------------------
+
+    @Override
+    public void stop(boolean deregister) {
+        synchronized (this) {
+            if (!started)
+                return;
+            abortBootstrapSession();
+            enter(State.STOPPED);
+            // responses of in-flight register requests are ignored once stopped
+            registeringServers.clear();
+            started = false;
+        }
+        if (deregister) {
+            deregisterAll();
+        }
+    }
+
+    @Override
+    public void destroy(boolean deregister) {
+        boolean wasStarted = false;
+        synchronized (this) {
+            wasStarted = started;
+            abortBootstrapSession();
+            enter(State.STOPPED);
+            registeringServers.clear();
+            started = false;
+        }
+        if (attachedExecutor) {
+            schedExecutor.shutdownNow();
+        }
+        if (wasStarted && deregister) {
+            deregisterAll();
+        }
+    }
+
+    @Override
+    public void triggerRegistrationUpdate() {
+        triggerRegistrationUpdate(new RegistrationUpdate());
+    }
+
+    @Override
+    public void triggerRegistrationUpdate(RegistrationUpdate registrationUpdate) {
+        triggerRegistrationUpdate(ALL, registrationUpdate);
+    }
+
+    @Override
+    public void triggerRegistrationUpdate(ServerIdentity server) {
+        triggerRegistrationUpdate(server, new RegistrationUpdate());
+    }
+
+    @Override
+    public synchronized void triggerRegistrationUpdate(ServerIdentity server, RegistrationUpdate registrationUpdate) {
+        if (server == null || !started)
+            return;
+
+        LOG.info("Triggering registration update...");
+        if (registeredServers.isEmpty()) {
+            LOG.info("No server registered!");
+            return;
+        }
+        if (state == State.REGISTERING || state == State.UPDATING) {
+            // a request is in progress, the update will be sent as soon as it succeeds.
+            pendingUpdate = mergePendingUpdate(registrationUpdate);
+            return;
+        } else if (state != State.REGISTERED) {
+            LOG.info("Registration update ignored, engine is currently in {} state.", state);
+            return;
+        }
+
+        final ServerIdentity targetServer;
+        final String registrationId;
+        if (ALL.equals(server)) {
+            // TODO support multi server
+            Entry<String, ServerIdentity> currentServer = registeredServers.entrySet().iterator().next();
+            targetServer = currentServer.getValue();
+            registrationId = currentServer.getKey();
+        } else {
+            targetServer = server;
+            registrationId = getRegistrationId(server);
+            if (registrationId == null) {
+                return;
+            }
+        }
+
+        if (updateCoalescingWindowInMs > 0) {
+            // a pending update in REGISTERED state means the coalescing window is already open. The engine registers
+            // to one server at most, so the window always targets the registered one.
+            boolean windowOpen = pendingUpdate != null;
+            pendingUpdate = mergePendingUpdate(registrationUpdate);
+            if (!windowOpen) {
+                long id = enter(State.REGISTERED);
+                arm(id, updateCoalescingWindowInMs, new Runnable() {
+                    @Override
+                    public void run() {
+                        scheduleUpdate(targetServer, registrationId, new RegistrationUpdate(), NOW);
+                    }
+                });
+            }
+        } else {
+            scheduleUpdate(targetServer, registrationId, registrationUpdate, NOW);
+        }
+    }
+
+    private RegistrationUpdate mergePendingUpdate(RegistrationUpdate registrationUpdate) {
+        return pendingUpdate == null ? registrationUpdate : pendingUpdate.merge(registrationUpdate);
+    }
+
+    @Override
+    public synchronized boolean triggerClientInitiatedBootstrap(final boolean deregister) {
+        if (!started)
+            return true;
+
+        // check if we have a bootstrap server
+        ServerInfo bootstrapServerInfo = getBootstrapServerInfo();
+        if (bootstrapServerInfo == null) {
+            return false;
+        }
+
+        // stop every
+        long id = enter(State.WAITING_RETRY);
+        arm(id, NOW, new Runnable() {
+            @Override
+            public void run() {
+                // deregister if needed
+                if (deregister && !registeredServers.isEmpty()) {
+                    Entry<String, ServerIdentity> registeredServer = registeredServers.entrySet().iterator().next();
+                    deregisterAsync(registeredServer.getValue(), registeredServer.getKey(), new Runnable() {
+                        @Override
+                        public void run() {
+                            scheduleBootstrap(NOW);
+                        }
+                    });
+                } else {
+                    // schedule a new bootstrap.
+                    scheduleBootstrap(NOW);
+                }
+            }
+        });
+        return true;
+    }
+
+    private void logExceptionOnSendRequest(String message, Exception e) {
+        if (LOG.isDebugEnabled()) {
+            LOG.warn(message, e);
+            return;
+        }
+        if (e instanceof SendFailedException) {
+            if (e.getCause() != null && e.getMessage() != null) {
+                LOG.info("{} : {}", message, e.getCause().getMessage());
+                return;
+            }
+        }
+        LOG.info("{} : {}", message, e.getMessage());
+    }
+
+    private DmServerInfo getDMServerInfo(Long serverId) {
+        ServersInfo info = objectTree.getServersInfo();
+        if (info == null)
+            return null;
+        return info.deviceManagements.get(serverId);
+    }
+
+    private ServerInfo getBootstrapServerInfo() {
+        ServersInfo info = objectTree.getServersInfo();
+        if (info == null)
+            return null;
+        return info.bootstrap;
+    }
+
+    @Override
+    public String getRegistrationId(ServerIdentity server) {
+        if (server == null)
+            return null;
+        for (Entry<String, ServerIdentity> entry : registeredServers.entrySet()) {
+            if (server.equals(entry.getValue())) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Map<String, ServerIdentity> getRegisteredServers() {
+        return Collections.unmodifiableMap(registeredServers);
+    }
+
+    @Override
+    public ServerIdentity getRegisteredServer(long serverId) {
+        for (ServerIdentity server : registeringServers) {
+            if (server != null && server.getId() == serverId) {
+                return server;
+            }
+        }
+        for (Entry<String, ServerIdentity> entry : registeredServers.entrySet()) {
+            ServerIdentity server = entry.getValue();
+            if (server != null && server.getId() == serverId) {
+                return server;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean isAllowedToCommunicate(ServerIdentity foreingPeer) {
+        if (foreingPeer == null)
+            return false;
+        ServerIdentity bootstrapServer = currentBootstrapServer.get();
+        if (bootstrapServer != null && foreingPeer.equals(bootstrapServer)) {
+            return true;
+        } else {
+            for (ServerIdentity server : registeringServers) {
+                if (foreingPeer.equals(server)) {
+                    return true;
+                }
+            }
+            for (ServerIdentity server : registeredServers.values()) {
+                if (foreingPeer.equals(server)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * This class support to be connected to only one LWM2M server. This methods select the server to be used. Default
+     * implementation select the first one.
+     */
+    protected DmServerInfo selectServer(Map<Long, DmServerInfo> servers) {
+        if (servers != null && !servers.isEmpty()) {
+            if (servers.size() > 1) {
+                LOG.warn(
+                        "AsyncRegistrationEngine support only connection to 1 LWM2M server, first server will be used from the server list of {}",
+                        servers.size());
+                TreeMap<Long, DmServerInfo> sortedServers = new TreeMap<>(servers);
+                return sortedServers.values().iterator().next();
+            } else {
+                return servers.values().iterator().next();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the LWM2M client endpoint identifier.
+     */
+    @Override
+    public String getEndpoint() {
+        return endpoint;
+    }
+}
@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.engine;
+
+import org.eclipse.leshan.core.util.Validate;
+
+/**
+ * Delays computed by another policy are pushed back when the fleet-wide {@link RetryBudget} is exhausted.
+ * <p>
+ * Use the same budget for all policies of the simulation to bound the retry rate seen by the server.
+ * <p>
+ * Only the waiting time is pushed back, delays given to the other policy for next attempts are its own ones. So a
+ * crowded budget does not make an exponential backoff grow faster.
+ */
+public class BudgetedRetryPolicy implements RetryPolicy {
+
+    private final RetryPolicy delegate;
+    private final RetryBudget budget;
+
+    public BudgetedRetryPolicy(RetryPolicy delegate, RetryBudget budget) {
+        Validate.notNull(delegate);
+        Validate.notNull(budget);
+        this.delegate = delegate;
+        this.budget = budget;
+    }
+
+    @Override
+    public long getRetryDelay(int attempt, long previousDelayInMs) {
+        return delegate.getRetryDelay(attempt, previousDelayInMs);
+    }
+
+    @Override
+    public long getWaitingTime(long retryDelayInMs) {
+        return budget.reserve(delegate.getWaitingTime(retryDelayInMs));
+    }
+
+    @Override
+    public String toString() {
+        return delegate + " with retry budget";
+    }
+}
@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.engine;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.eclipse.leshan.core.util.Validate;
+
+/**
+ * "Decorrelated jitter" backoff: each delay is drawn in {@code [base, previous * 3]}, capped to max.
+ * <p>
+ * Delays grow like an exponential backoff on average, but each device follows its own random path, so devices which
+ * failed together do not retry together.
+ */
+public class DecorrelatedJitterRetryPolicy implements RetryPolicy {
+
+    private final long baseDelayInMs;
+    private final long maxDelayInMs;
+
+    public DecorrelatedJitterRetryPolicy(long baseDelayInMs, long maxDelayInMs) {
+        Validate.isTrue(baseDelayInMs > 0, "base delay must be positive");
+        Validate.isTrue(maxDelayInMs >= baseDelayInMs, "max delay must not be smaller than base delay");
+        this.baseDelayInMs = baseDelayInMs;
+        this.maxDelayInMs = maxDelayInMs;
+    }
+
+    @Override
+    public long getRetryDelay(int attempt, long previousDelayInMs) {
+        long upperBound = Math.min(maxDelayInMs, Math.max(previousDelayInMs, baseDelayInMs) * 3);
+        if (upperBound <= baseDelayInMs)
+            return baseDelayInMs;
+        return ThreadLocalRandom.current().nextLong(baseDelayInMs, upperBound + 1);
+    }
+
+    @Override
+    public long getWaitingTime(long retryDelayInMs) {
+        return retryDelayInMs;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("DECORRELATED_JITTER(%dms..%dms)", baseDelayInMs, maxDelayInMs);
+    }
+}
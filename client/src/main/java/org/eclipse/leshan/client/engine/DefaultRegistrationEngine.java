@@ -30,6 +30,7 @@ import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.eclipse.leshan.client.EndpointsManager;
 import org.eclipse.leshan.client.RegistrationUpdate;
@@ -42,8 +43,8 @@ import org.eclipse.leshan.client.resource.LwM2mObjectTree;
 import org.eclipse.leshan.client.servers.DmServerInfo;
 import org.eclipse.leshan.client.servers.ServerIdentity;
 import org.eclipse.leshan.client.servers.ServerInfo;
+import org.eclipse.leshan.client.servers.ServersInfo;
 import org.eclipse.leshan.client.servers.ServersInfoExtractor;
-import org.eclipse.leshan.client.util.LinkFormatHelper;
 import org.eclipse.leshan.core.LwM2m.LwM2mVersion;
 import org.eclipse.leshan.core.LwM2mId;
 import org.eclipse.leshan.core.ResponseCode;
@@ -87,10 +88,14 @@ public class DefaultRegistrationEngine implements RegistrationEngine {
     private final long deregistrationTimeoutInMs;
     // Bootstrap session timeout
     private final int bootstrapSessionTimeoutInSec;
-    // Time between bootstrap retry should incremental
-    private final int retryWaitingTimeInMs;
+    // Time to wait before retrying a failed bootstrap or registration
+    private final RetryPolicy retryPolicy;
     // Time between 2 update requests (used only if it is smaller than the lifetime)
     private final Integer communicationPeriodInMs;
+    // How updates are spread over the communication period
+    private final UpdateSpreadPolicy updateSpread;
+    // Time during which triggered registration updates are merged into a single request (0 to disable)
+    private final long updateCoalescingWindowInMs;
     // True if client should re-initiate a connection (DTLS) on registration update
     private final boolean reconnectOnUpdate;
     // True if client should try to resume connection if possible.
@@ -108,6 +113,7 @@ public class DefaultRegistrationEngine implements RegistrationEngine {
     private final Set<ContentFormat> supportedContentFormats;
     private final Map<String, String> additionalAttributes;
     private final Map<String, String> bsAdditionalAttributes; // @since 1.1
+    private final LwM2mObjectTree objectTree;
     private final Map<Integer /* objectId */, LwM2mObjectEnabler> objectEnablers;
     private final Map<String /* registrationId */, ServerIdentity> registeredServers;
     private final List<ServerIdentity> registeringServers;
@@ -124,7 +130,16 @@ public class DefaultRegistrationEngine implements RegistrationEngine {
     private Future<?> bootstrapFuture;
     private Future<?> registerFuture;
     private Future<?> updateFuture;
-    private final Object taskLock = new Object(); // a lock to avoid several task to be executed at the same time
+    // registration update merged during the coalescing window and the server it targets
+    private RegistrationUpdate coalescedUpdate;
+    private ServerIdentity coalescedServer;
+    private Future<?> coalescingFuture;
+    // consecutive bootstrap/registration failures and the last retry delay, reset once registered
+    private int retryAttempt = 0;
+    private long retryDelayInMs = 0;
+    // a lock to avoid several task to be executed at the same time. It is not a monitor as tasks block while holding
+    // it and a blocked virtual thread would pin its carrier thread inside a synchronized block.
+    private final ReentrantLock taskLock = new ReentrantLock();
     private final ScheduledExecutorService schedExecutor;
     private final boolean attachedExecutor;
 
@@ -132,10 +147,12 @@ public class DefaultRegistrationEngine implements RegistrationEngine {
             UplinkRequestSender requestSender, BootstrapHandler bootstrapState, LwM2mClientObserver observer,
             Map<String, String> additionalAttributes, Map<String, String> bsAdditionalAttributes,
             ScheduledExecutorService executor, long requestTimeoutInMs, long deregistrationTimeoutInMs,
-            int bootstrapSessionTimeoutInSec, int retryWaitingTimeInMs, Integer communicationPeriodInMs,
-            boolean reconnectOnUpdate, boolean resumeOnConnect, boolean useQueueMode,
-            ContentFormat preferredContentFormat, Set<ContentFormat> supportedContentFormats) {
+            int bootstrapSessionTimeoutInSec, RetryPolicy retryPolicy, Integer communicationPeriodInMs,
+            UpdateSpreadPolicy updateSpread, long updateCoalescingWindowInMs, boolean reconnectOnUpdate,
+            boolean resumeOnConnect, boolean useQueueMode, ContentFormat preferredContentFormat,
+            Set<ContentFormat> supportedContentFormats) {
         this.endpoint = endpoint;
+        this.objectTree = objectTree;
         this.objectEnablers = objectTree.getObjectEnablers();
         this.bootstrapHandler = bootstrapState;
         this.endpointsManager = endpointsManager;
@@ -148,8 +165,10 @@ public class DefaultRegistrationEngine implements RegistrationEngine {
         this.requestTimeoutInMs = requestTimeoutInMs;
         this.deregistrationTimeoutInMs = deregistrationTimeoutInMs;
         this.bootstrapSessionTimeoutInSec = bootstrapSessionTimeoutInSec;
-        this.retryWaitingTimeInMs = retryWaitingTimeInMs;
+        this.retryPolicy = retryPolicy;
         this.communicationPeriodInMs = communicationPeriodInMs;
+        this.updateSpread = updateSpread == null ? UpdateSpreadPolicy.NONE : updateSpread;
+        this.updateCoalescingWindowInMs = updateCoalescingWindowInMs;
         this.reconnectOnUpdate = reconnectOnUpdate;
         this.resumeOnConnect = resumeOnConnect;
         this.queueMode = useQueueMode;
@@ -176,6 +195,7 @@ public class DefaultRegistrationEngine implements RegistrationEngine {
         stop(false); // Stop without de-register
         synchronized (this) {
             started = true;
+            resetRetryDelay();
             // Try factory bootstrap
             // TODO support multi server
             ServerIdentity dmServer = factoryBootstrap();
@@ -191,7 +211,7 @@ public class DefaultRegistrationEngine implements RegistrationEngine {
     }
 
     private ServerIdentity factoryBootstrap() {
-        ServerInfo serverInfo = selectServer(ServersInfoExtractor.getInfo(objectEnablers).deviceManagements);
+        ServerInfo serverInfo = selectServer(objectTree.getServersInfo().deviceManagements);
         if (serverInfo != null) {
             return endpointsManager.createEndpoint(serverInfo, isClientInitiatedOnly());
         }
@@ -203,7 +223,7 @@ public class DefaultRegistrationEngine implements RegistrationEngine {
     }
 
     private ServerIdentity clientInitiatedBootstrap() throws InterruptedException {
-        ServerInfo bootstrapServerInfo = ServersInfoExtractor.getBootstrapServerInfo(objectEnablers);
+        ServerInfo bootstrapServerInfo = getBootstrapServerInfo();
 
         if (bootstrapServerInfo == null) {
             LOG.error("Trying to bootstrap device but there is no bootstrap server config.");
@@ -250,7 +270,7 @@ public class DefaultRegistrationEngine implements RegistrationEngine {
                         } else {
                             LOG.info("Bootstrap finished {}.", bootstrapServer.getUri());
                             ServerInfo serverInfo = selectServer(
-                                    ServersInfoExtractor.getInfo(objectEnablers).deviceManagements);
+                                    objectTree.getServersInfo().deviceManagements);
                             ServerIdentity dmServer = null;
                             if (serverInfo != null) {
                                 dmServer = endpointsManager.createEndpoint(serverInfo, isClientInitiatedOnly());
@@ -303,7 +323,7 @@ public class DefaultRegistrationEngine implements RegistrationEngine {
     }
 
     private Status register(ServerIdentity server) throws InterruptedException {
-        DmServerInfo dmInfo = ServersInfoExtractor.getDMServerInfo(objectEnablers, server.getId());
+        DmServerInfo dmInfo = getDMServerInfo(server.getId());
 
         if (dmInfo == null) {
             LOG.info("Trying to register device but there is no LWM2M server config.");
@@ -317,7 +337,7 @@ public class DefaultRegistrationEngine implements RegistrationEngine {
             LwM2mVersion lwM2mVersion = LwM2mVersion.lastSupported();
             EnumSet<BindingMode> supportedBindingMode = ServersInfoExtractor
                     .getDeviceSupportedBindingMode(objectEnablers.get(LwM2mId.DEVICE), 0);
-            Link[] links = LinkFormatHelper.getClientDescription(objectEnablers.values(), null,
+            Link[] links = objectTree.getClientDescription(
                     ContentFormat.getOptionalContentFormatForClient(supportedContentFormats, lwM2mVersion));
 
             request = new RegisterRequest(endpoint, dmInfo.lifetime, lwM2mVersion.toString(), supportedBindingMode,
@@ -339,9 +359,10 @@ public class DefaultRegistrationEngine implements RegistrationEngine {
                 String registrationID = response.getRegistrationID();
                 registeredServers.put(registrationID, server);
                 LOG.info("Registered with location '{}'.", registrationID);
+                resetRetryDelay();
 
                 // Update every lifetime period
-                long delay = calculateNextUpdate(server, dmInfo.lifetime);
+                long delay = calculateNextUpdate(server, dmInfo.lifetime, true);
                 scheduleUpdate(server, registrationID, new RegistrationUpdate(), delay);
 
                 if (observer != null) {
@@ -433,7 +454,7 @@ public class DefaultRegistrationEngine implements RegistrationEngine {
 
     private Status update(ServerIdentity server, String registrationID, RegistrationUpdate registrationUpdate)
             throws InterruptedException {
-        DmServerInfo dmInfo = ServersInfoExtractor.getDMServerInfo(objectEnablers, server.getId());
+        DmServerInfo dmInfo = getDMServerInfo(server.getId());
         if (dmInfo == null) {
             LOG.info("Trying to update registration but there is no LWM2M server config.");
             return Status.FAILURE;
@@ -463,7 +484,7 @@ public class DefaultRegistrationEngine implements RegistrationEngine {
             } else if (response.getCode() == ResponseCode.CHANGED) {
                 // Update successful, so we reschedule new update
                 LOG.info("Registration update succeed.");
-                long delay = calculateNextUpdate(server, dmInfo.lifetime);
+                long delay = calculateNextUpdate(server, dmInfo.lifetime, false);
                 scheduleUpdate(server, registrationID, new RegistrationUpdate(), delay);
                 if (observer != null) {
                     observer.onUpdateSuccess(server, request);
@@ -486,20 +507,34 @@ public class DefaultRegistrationEngine implements RegistrationEngine {
         }
     }
 
-    private long calculateNextUpdate(ServerIdentity server, long lifetimeInSeconds) {
+    private synchronized long nextRetryDelay() {
+        retryAttempt++;
+        // keep the delay of the policy for next attempt, not the time really waited
+        retryDelayInMs = retryPolicy.getRetryDelay(retryAttempt, retryDelayInMs);
+        return retryPolicy.getWaitingTime(retryDelayInMs);
+    }
+
+    private synchronized void resetRetryDelay() {
+        retryAttempt = 0;
+        retryDelayInMs = 0;
+    }
+
+    private long calculateNextUpdate(ServerIdentity server, long lifetimeInSeconds, boolean firstUpdate) {
         long maxComminucationPeriod = endpointsManager.getMaxCommunicationPeriodFor(server, lifetimeInSeconds * 1000);
+        long period;
         if (communicationPeriodInMs != null) {
-            return Math.min(communicationPeriodInMs, maxComminucationPeriod);
+            period = Math.min(communicationPeriodInMs, maxComminucationPeriod);
         } else {
-            return maxComminucationPeriod;
+            period = maxComminucationPeriod;
         }
+        return updateSpread.getUpdateDelay(endpoint, period, firstUpdate);
     }
 
     private synchronized boolean scheduleClientInitiatedBootstrap(long timeInMs) {
         if (!started)
             return false;
 
-        ServerInfo bootstrapServerInfo = ServersInfoExtractor.getBootstrapServerInfo(objectEnablers);
+        ServerInfo bootstrapServerInfo = getBootstrapServerInfo();
         if (bootstrapServerInfo == null) {
             // It seems we have no bootstrap server available in this case we can't schedule a new bootstraps
             return false;
@@ -522,25 +557,26 @@ public class DefaultRegistrationEngine implements RegistrationEngine {
     private class ClientInitiatedBootstrapTask implements Runnable {
         @Override
         public void run() {
-            synchronized (taskLock) {
-                try {
-                    ServerIdentity dmServer = clientInitiatedBootstrap();
-                    if (dmServer == null) {
-                        // clientInitiatatedBootstrapTask is considered as finished.
-                        // see https://github.com/eclipse/leshan/issues/701
-                        bootstrapFuture = null;
-                        // last thing to do reschedule a new bootstrap.
-                        scheduleClientInitiatedBootstrap(retryWaitingTimeInMs);
-                    } else {
-                        if (!registerWithRetry(dmServer))
-                            scheduleRegistrationTask(dmServer, retryWaitingTimeInMs);
-                    }
-                } catch (InterruptedException e) {
-                    LOG.info("Bootstrap task interrupted. ");
-                } catch (RuntimeException e) {
-                    LOG.error("Unexpected exception during bootstrap task", e);
-                    observer.onUnexpectedError(e);
+            taskLock.lock();
+            try {
+                ServerIdentity dmServer = clientInitiatedBootstrap();
+                if (dmServer == null) {
+                    // clientInitiatatedBootstrapTask is considered as finished.
+                    // see https://github.com/eclipse/leshan/issues/701
+                    bootstrapFuture = null;
+                    // last thing to do reschedule a new bootstrap.
+                    scheduleClientInitiatedBootstrap(nextRetryDelay());
+                } else {
+                    if (!registerWithRetry(dmServer))
+                        scheduleRegistrationTask(dmServer, nextRetryDelay());
                 }
+            } catch (InterruptedException e) {
+                LOG.info("Bootstrap task interrupted. ");
+            } catch (RuntimeException e) {
+                LOG.error("Unexpected exception during bootstrap task", e);
+                observer.onUnexpectedError(e);
+            } finally {
+                taskLock.unlock();
             }
         }
     }
@@ -567,19 +603,20 @@ public class DefaultRegistrationEngine implements RegistrationEngine {
 
         @Override
         public void run() {
-            synchronized (taskLock) {
-                try {
-                    if (!registerWithRetry(server)) {
-                        if (!scheduleClientInitiatedBootstrap(NOW)) {
-                            scheduleRegistrationTask(server, retryWaitingTimeInMs);
-                        }
+            taskLock.lock();
+            try {
+                if (!registerWithRetry(server)) {
+                    if (!scheduleClientInitiatedBootstrap(NOW)) {
+                        scheduleRegistrationTask(server, nextRetryDelay());
                     }
-                } catch (InterruptedException e) {
-                    LOG.info("Registration task interrupted. ");
-                } catch (RuntimeException e) {
-                    LOG.error("Unexpected exception during registration task", e);
-                    observer.onUnexpectedError(e);
                 }
+            } catch (InterruptedException e) {
+                LOG.info("Registration task interrupted. ");
+            } catch (RuntimeException e) {
+                LOG.error("Unexpected exception during registration task", e);
+                observer.onUnexpectedError(e);
+            } finally {
+                taskLock.unlock();
             }
         }
 
@@ -614,21 +651,22 @@ public class DefaultRegistrationEngine implements RegistrationEngine {
 
         @Override
         public void run() {
-            synchronized (taskLock) {
-                try {
-                    if (!updateWithRetry(server, registrationId, registrationUpdate)) {
-                        if (!registerWithRetry(server)) {
-                            if (!scheduleClientInitiatedBootstrap(NOW)) {
-                                scheduleRegistrationTask(server, retryWaitingTimeInMs);
-                            }
+            taskLock.lock();
+            try {
+                if (!updateWithRetry(server, registrationId, registrationUpdate)) {
+                    if (!registerWithRetry(server)) {
+                        if (!scheduleClientInitiatedBootstrap(NOW)) {
+                            scheduleRegistrationTask(server, nextRetryDelay());
                         }
                     }
-                } catch (InterruptedException e) {
-                    LOG.info("Registration update task interrupted.");
-                } catch (RuntimeException e) {
-                    LOG.error("Unexpected exception during update registration task", e);
-                    observer.onUnexpectedError(e);
                 }
+            } catch (InterruptedException e) {
+                LOG.info("Registration update task interrupted.");
+            } catch (RuntimeException e) {
+                LOG.error("Unexpected exception during update registration task", e);
+                observer.onUnexpectedError(e);
+            } finally {
+                taskLock.unlock();
             }
         }
     }
@@ -639,6 +677,15 @@ public class DefaultRegistrationEngine implements RegistrationEngine {
         }
     }
 
+    private void cancelCoalescingTask() {
+        if (coalescingFuture != null) {
+            coalescingFuture.cancel(false);
+            coalescingFuture = null;
+        }
+        coalescedUpdate = null;
+        coalescedServer = null;
+    }
+
     private void cancelRegistrationTask() {
         if (registerFuture != null) {
             registerFuture.cancel(true);
@@ -657,6 +704,7 @@ public class DefaultRegistrationEngine implements RegistrationEngine {
             if (!started)
                 return;
             started = false;
+            cancelCoalescingTask();
             cancelUpdateTask(true);
             cancelRegistrationTask();
             // TODO we should manage the case where we stop in the middle of a bootstrap session ...
@@ -687,6 +735,9 @@ public class DefaultRegistrationEngine implements RegistrationEngine {
                 schedExecutor.shutdownNow();
                 schedExecutor.awaitTermination(bootstrapSessionTimeoutInSec, TimeUnit.SECONDS);
             } else {
+                synchronized (this) {
+                    cancelCoalescingTask();
+                }
                 cancelUpdateTask(true);
                 cancelRegistrationTask();
                 // TODO we should manage the case where we stop in the middle of a bootstrap session ...
@@ -715,7 +766,8 @@ public class DefaultRegistrationEngine implements RegistrationEngine {
 
         @Override
         public void run() {
-            synchronized (taskLock) {
+            taskLock.lock();
+            try {
                 cancelUpdateTask(true);
                 if (ALL.equals(server)) {
                     // TODO support multi server
@@ -729,8 +781,54 @@ public class DefaultRegistrationEngine implements RegistrationEngine {
                         scheduleUpdate(server, registrationId, registrationUpdate, NOW);
                     }
                 }
+            } finally {
+                taskLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Queue a registration update. When a coalescing window is configured, updates triggered during the window are
+     * merged and sent as a single request at its end.
+     */
+    private void queueUpdate(ServerIdentity server, RegistrationUpdate registrationUpdate) {
+        if (updateCoalescingWindowInMs <= 0) {
+            schedExecutor.submit(new QueueUpdateTask(server, registrationUpdate));
+            return;
+        }
+
+        if (coalescedUpdate == null) {
+            coalescedUpdate = registrationUpdate;
+            coalescedServer = server;
+        } else {
+            coalescedUpdate = coalescedUpdate.merge(registrationUpdate);
+            if (!coalescedServer.equals(server)) {
+                // the engine registers to one server at most, so ALL targets the same one
+                coalescedServer = ALL;
             }
         }
+        if (coalescingFuture == null) {
+            coalescingFuture = schedExecutor.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    RegistrationUpdate update;
+                    ServerIdentity server;
+                    synchronized (DefaultRegistrationEngine.this) {
+                        update = coalescedUpdate;
+                        server = coalescedServer;
+                        coalescingFuture = null;
+                        coalescedUpdate = null;
+                        coalescedServer = null;
+                    }
+                    if (update != null) {
+                        new QueueUpdateTask(server, update).run();
+                    }
+                }
+            }, updateCoalescingWindowInMs, TimeUnit.MILLISECONDS);
+        } else {
+            LOG.debug("Registration update merged with the ones triggered in the last {}ms",
+                    updateCoalescingWindowInMs);
+        }
     }
 
     @Override
@@ -746,7 +844,7 @@ public class DefaultRegistrationEngine implements RegistrationEngine {
                 if (registeredServers.isEmpty()) {
                     LOG.info("No server registered!");
                 } else {
-                    schedExecutor.submit(new QueueUpdateTask(ALL, registrationUpdate));
+                    queueUpdate(ALL, registrationUpdate);
                 }
             }
         }
@@ -768,7 +866,7 @@ public class DefaultRegistrationEngine implements RegistrationEngine {
                 if (registeredServers.isEmpty()) {
                     LOG.info("No server registered!");
                 } else {
-                    schedExecutor.submit(new QueueUpdateTask(server, registrationUpdate));
+                    queueUpdate(server, registrationUpdate);
                 }
             }
         }
@@ -780,12 +878,13 @@ public class DefaultRegistrationEngine implements RegistrationEngine {
             if (started) {
 
                 // check if we have a bootstrap server
-                ServerInfo bootstrapServerInfo = ServersInfoExtractor.getBootstrapServerInfo(objectEnablers);
+                ServerInfo bootstrapServerInfo = getBootstrapServerInfo();
                 if (bootstrapServerInfo == null) {
                     return false;
                 }
 
                 // stop every
+                cancelCoalescingTask();
                 cancelUpdateTask(true);
                 cancelRegistrationTask();
                 // TODO we should manage the case where we stop in the middle of a bootstrap session ...
@@ -831,6 +930,20 @@ public class DefaultRegistrationEngine implements RegistrationEngine {
         LOG.info("{} : {}", message, e.getMessage());
     }
 
+    private DmServerInfo getDMServerInfo(Long serverId) {
+        ServersInfo info = objectTree.getServersInfo();
+        if (info == null)
+            return null;
+        return info.deviceManagements.get(serverId);
+    }
+
+    private ServerInfo getBootstrapServerInfo() {
+        ServersInfo info = objectTree.getServersInfo();
+        if (info == null)
+            return null;
+        return info.bootstrap;
+    }
+
     @Override
     public String getRegistrationId(ServerIdentity server) {
         if (server == null)
@@ -33,15 +33,18 @@ import org.eclipse.leshan.core.request.ContentFormat;
  */
 public class DefaultRegistrationEngineFactory implements RegistrationEngineFactory {
 
-    private long requestTimeoutInMs = 2 * 60 * 1000l; // 2min in ms
-    private long deregistrationTimeoutInMs = 1000; // 1s in ms
-    private int bootstrapSessionTimeoutInSec = 93;
-    private int retryWaitingTimeInMs = 10 * 60 * 1000; // 10min in ms
-    private Integer communicationPeriodInMs = null;
-    private boolean reconnectOnUpdate = false;
-    private boolean resumeOnConnect = true;
-    private boolean queueMode = false;
-    private ContentFormat preferredContentFormat = ContentFormat.SENML_CBOR;
+    protected long requestTimeoutInMs = 2 * 60 * 1000l; // 2min in ms
+    protected long deregistrationTimeoutInMs = 1000; // 1s in ms
+    protected int bootstrapSessionTimeoutInSec = 93;
+    protected int retryWaitingTimeInMs = 10 * 60 * 1000; // 10min in ms
+    protected RetryPolicy retryPolicy = null;
+    protected Integer communicationPeriodInMs = null;
+    protected UpdateSpreadPolicy updateSpread = UpdateSpreadPolicy.NONE;
+    protected long updateCoalescingWindowInMs = 0;
+    protected boolean reconnectOnUpdate = false;
+    protected boolean resumeOnConnect = true;
+    protected boolean queueMode = false;
+    protected ContentFormat preferredContentFormat = ContentFormat.SENML_CBOR;
 
     public DefaultRegistrationEngineFactory() {
     }
@@ -54,8 +57,9 @@ public class DefaultRegistrationEngineFactory implements RegistrationEngineFacto
             ScheduledExecutorService sharedExecutor) {
         return new DefaultRegistrationEngine(endpoint, objectTree, endpointsManager, requestSender, bootstrapState,
                 observer, additionalAttributes, bsAdditionalAttributes, sharedExecutor, requestTimeoutInMs,
-                deregistrationTimeoutInMs, bootstrapSessionTimeoutInSec, retryWaitingTimeInMs, communicationPeriodInMs,
-                reconnectOnUpdate, resumeOnConnect, queueMode, preferredContentFormat, supportedContentFormat);
+                deregistrationTimeoutInMs, bootstrapSessionTimeoutInSec, getRetryPolicy(), communicationPeriodInMs,
+                updateSpread, updateCoalescingWindowInMs, reconnectOnUpdate, resumeOnConnect, queueMode,
+                preferredContentFormat, supportedContentFormat);
     }
 
     /**
@@ -70,6 +74,33 @@ public class DefaultRegistrationEngineFactory implements RegistrationEngineFacto
         this.communicationPeriodInMs = communicationPeriodInMs;
     }
 
+    /**
+     * Set how registration updates are spread over the communication period.
+     * <p>
+     * Default value is {@link UpdateSpreadPolicy#NONE}: updates are sent at the end of the period.
+     *
+     * @param updateSpread the policy shared by all created engines
+     * @return this for fluent API
+     */
+    public DefaultRegistrationEngineFactory setUpdateSpread(UpdateSpreadPolicy updateSpread) {
+        this.updateSpread = updateSpread;
+        return this;
+    }
+
+    /**
+     * Set the time during which triggered registration updates are merged into a single update request.
+     * <p>
+     * Default value is 0: each trigger (e.g. each object instance created during a bootstrap write) sends its own
+     * update request.
+     *
+     * @param updateCoalescingWindowInMs the coalescing window in milliseconds, 0 to disable coalescing.
+     * @return this for fluent API
+     */
+    public DefaultRegistrationEngineFactory setUpdateCoalescingWindowInMs(long updateCoalescingWindowInMs) {
+        this.updateCoalescingWindowInMs = updateCoalescingWindowInMs;
+        return this;
+    }
+
     /**
      * Timeout used to send request (bootstrap, register, update) in ms.
      * <p>
@@ -129,6 +160,31 @@ public class DefaultRegistrationEngineFactory implements RegistrationEngineFacto
         return this;
     }
 
+    /**
+     * @return the time to wait before to retry, or the first retry delay of a {@link RetryPolicy}.
+     */
+    public int getRetryWaitingTimeInMs() {
+        return retryWaitingTimeInMs;
+    }
+
+    /**
+     * Set how long to wait before to retry when a bootstrap or a registration failed, depending on the number of
+     * consecutive failures.
+     * <p>
+     * Default value is <code>null</code>: always wait {@link #setRetryWaitingTimeInMs(int)}.
+     *
+     * @param retryPolicy the policy shared by all created engines
+     * @return this for fluent API
+     */
+    public DefaultRegistrationEngineFactory setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+        return this;
+    }
+
+    protected RetryPolicy getRetryPolicy() {
+        return retryPolicy != null ? retryPolicy : new FixedRetryPolicy(retryWaitingTimeInMs);
+    }
+
     /**
      * Configure if client reconnects before update. For DTLS "reconnect" means "initiate a new handshake".
      * <p>
@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.engine;
+
+import org.eclipse.leshan.core.util.Validate;
+
+/**
+ * Doubles the delay at each attempt: {@code min(max, base * 2^(attempt - 1))}.
+ * <p>
+ * The load on a recovering server decreases over time, but devices which failed together still retry together.
+ */
+public class ExponentialRetryPolicy implements RetryPolicy {
+
+    private final long baseDelayInMs;
+    private final long maxDelayInMs;
+
+    public ExponentialRetryPolicy(long baseDelayInMs, long maxDelayInMs) {
+        Validate.isTrue(baseDelayInMs > 0, "base delay must be positive");
+        Validate.isTrue(maxDelayInMs >= baseDelayInMs, "max delay must not be smaller than base delay");
+        this.baseDelayInMs = baseDelayInMs;
+        this.maxDelayInMs = maxDelayInMs;
+    }
+
+    @Override
+    public long getRetryDelay(int attempt, long previousDelayInMs) {
+        // avoid overflow, 2^62 ms is far above any sensible max delay
+        int exponent = Math.min(Math.max(attempt - 1, 0), 62);
+        long factor = 1L << exponent;
+        if (baseDelayInMs > maxDelayInMs / factor)
+            return maxDelayInMs;
+        return baseDelayInMs * factor;
+    }
+
+    @Override
+    public long getWaitingTime(long retryDelayInMs) {
+        return retryDelayInMs;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("EXPONENTIAL(%dms..%dms)", baseDelayInMs, maxDelayInMs);
+    }
+}
@@ -0,0 +1,44 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.engine;
+
+import org.eclipse.leshan.core.util.Validate;
+
+/**
+ * Each update is sent after {@code (1 - ratio) * period}, leaving a fixed margin before the end of the period.
+ * <p>
+ * This does not de-synchronize devices by itself, but an update which needs retransmissions still arrives before the
+ * registration expires.
+ */
+public class FixedFractionSpread implements UpdateSpreadPolicy {
+
+    private final double ratio;
+
+    public FixedFractionSpread(double ratio) {
+        Validate.isTrue(ratio >= 0 && ratio < 1, "ratio must be in [0, 1)");
+        this.ratio = ratio;
+    }
+
+    @Override
+    public long getUpdateDelay(String endpoint, long periodInMs, boolean firstUpdate) {
+        return (long) ((1 - ratio) * periodInMs);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("FRACTION(%s)", ratio);
+    }
+}
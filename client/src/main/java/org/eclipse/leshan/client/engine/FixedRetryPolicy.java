@@ -0,0 +1,48 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.engine;
+
+import org.eclipse.leshan.core.util.Validate;
+
+/**
+ * Always waits the same time before retrying.
+ * <p>
+ * Devices which failed at the same time (e.g. during a server outage) retry at the same time, again and again.
+ */
+public class FixedRetryPolicy implements RetryPolicy {
+
+    private final long delayInMs;
+
+    public FixedRetryPolicy(long delayInMs) {
+        Validate.isTrue(delayInMs >= 0, "delay must not be negative");
+        this.delayInMs = delayInMs;
+    }
+
+    @Override
+    public long getRetryDelay(int attempt, long previousDelayInMs) {
+        return delayInMs;
+    }
+
+    @Override
+    public long getWaitingTime(long retryDelayInMs) {
+        return retryDelayInMs;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("FIXED(%dms)", delayInMs);
+    }
+}
@@ -0,0 +1,48 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.engine;
+
+import org.eclipse.leshan.client.scheduler.TimingWheel;
+import org.eclipse.leshan.core.util.Validate;
+
+/**
+ * The first update after a registration is brought forward by a phase derived from the endpoint name, following updates
+ * are sent at the end of each period.
+ * <p>
+ * Phases of the fleet are evenly distributed over {@code ratio * period}, so devices which registered together keep a
+ * constant offset between each other instead of drifting randomly. The phase of a device is always the same.
+ */
+public class FleetPhaseSpread implements UpdateSpreadPolicy {
+
+    private final double ratio;
+
+    public FleetPhaseSpread(double ratio) {
+        Validate.isTrue(ratio >= 0 && ratio <= 1, "ratio must be in [0, 1]");
+        this.ratio = ratio;
+    }
+
+    @Override
+    public long getUpdateDelay(String endpoint, long periodInMs, boolean firstUpdate) {
+        if (!firstUpdate)
+            return periodInMs;
+        return periodInMs - TimingWheel.phase(endpoint.hashCode(), (long) (ratio * periodInMs));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PHASE(%s)", ratio);
+    }
+}
@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.engine;
+
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.eclipse.leshan.core.util.Validate;
+
+/**
+ * A token bucket limiting the number of retries of a whole fleet.
+ * <p>
+ * Time is divided in slots of {@code 1 / retriesBySecond} holding one token each. A retry reserves the first free slot
+ * at or after the time it wanted, so when the fleet wants to retry faster than the rate, retries are pushed back in
+ * time instead of being dropped. Up to {@code burst} retries can happen at the same time by taking free slots just
+ * before the wanted time, but never slots which are already over.
+ * <p>
+ * Reservations are counted by slot, so a retry reserved far in the future never delays retries wanted sooner. No
+ * thread is involved.
+ */
+public class RetryBudget {
+
+    private final long slotInNanos;
+    private final int burst;
+    private final LongSupplier nanoClock;
+    private final long origin;
+    // reserved slots, mapped to a later slot which may be free (guarded by this)
+    private final TreeMap<Long, Long> reservedSlots = new TreeMap<>();
+
+    /**
+     * @param retriesBySecond the refill rate of the bucket.
+     * @param burst the capacity of the bucket, i.e. the number of retries allowed at the same time.
+     */
+    public RetryBudget(double retriesBySecond, int burst) {
+        this(retriesBySecond, burst, new LongSupplier() {
+            @Override
+            public long getAsLong() {
+                return System.nanoTime();
+            }
+        });
+    }
+
+    RetryBudget(double retriesBySecond, int burst, LongSupplier nanoClock) {
+        Validate.isTrue(retriesBySecond > 0, "rate must be positive");
+        Validate.isTrue(burst > 0, "burst must be positive");
+        this.slotInNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / retriesBySecond));
+        this.burst = burst;
+        this.nanoClock = nanoClock;
+        this.origin = nanoClock.getAsLong();
+    }
+
+    /**
+     * Reserve a token for a retry wanted after the given delay.
+     *
+     * @return the delay after which the retry is allowed, never smaller than the wanted one.
+     */
+    public synchronized long reserve(long delayInMs) {
+        long now = nanoClock.getAsLong() - origin;
+        long wanted = now + TimeUnit.MILLISECONDS.toNanos(delayInMs);
+        long currentSlot = Math.floorDiv(now, slotInNanos);
+        // tokens of slots which are over are lost
+        reservedSlots.headMap(currentSlot).clear();
+
+        long wantedSlot = Math.floorDiv(wanted, slotInNanos);
+        long slot = findFreeSlot(Math.max(currentSlot, wantedSlot - (burst - 1)));
+        reservedSlots.put(slot, slot + 1);
+
+        long allowed = Math.max(wanted, slot * slotInNanos);
+        // round up, a retry must not happen before its token is available
+        long nanosPerMs = TimeUnit.MILLISECONDS.toNanos(1);
+        return (allowed - now + nanosPerMs - 1) / nanosPerMs;
+    }
+
+    private long findFreeSlot(long fromSlot) {
+        long slot = fromSlot;
+        Long next;
+        while ((next = reservedSlots.get(slot)) != null) {
+            slot = next;
+        }
+        // point reserved slots of the path directly to the free one, so next searches skip them
+        long current = fromSlot;
+        while (current != slot) {
+            current = reservedSlots.put(current, slot);
+        }
+        return slot;
+    }
+}
@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.engine;
+
+/**
+ * Decides how long a registration engine waits before retrying a failed bootstrap or registration.
+ * <p>
+ * Each engine counts its consecutive failures and resets the count once registered. A policy is shared by all engines
+ * created by a {@link DefaultRegistrationEngineFactory}, so implementations must be thread-safe.
+ */
+public interface RetryPolicy {
+
+    /**
+     * @param attempt the number of consecutive failures, starting at 1.
+     * @param previousDelayInMs the delay returned by this method for the previous attempt, 0 for the first one.
+     * @return the delay before the next attempt in ms.
+     */
+    long getRetryDelay(int attempt, long previousDelayInMs);
+
+    /**
+     * Called when an engine is about to wait before a retry, with the delay returned by
+     * {@link #getRetryDelay(int, long)}. The waiting time does not change the delay given as previous one for the next
+     * attempt.
+     *
+     * @return the time to really wait in ms, never smaller than the given delay.
+     */
+    long getWaitingTime(long retryDelayInMs);
+}
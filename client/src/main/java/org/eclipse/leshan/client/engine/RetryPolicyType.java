@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.engine;
+
+/**
+ * The available {@link RetryPolicy}s, e.g. to select one from the command line.
+ */
+public enum RetryPolicyType {
+    FIXED, EXPONENTIAL, DECORRELATED_JITTER;
+
+    public static final long DEFAULT_MAX_DELAY_IN_MS = 60 * 60 * 1000; // 1 hour
+
+    /**
+     * @param baseDelayInMs the delay of the first retry (the only one for FIXED).
+     * @param maxDelayInMs the longest delay between 2 retries.
+     * @param budget an optional fleet-wide budget, <code>null</code> for unlimited retries.
+     */
+    public RetryPolicy create(long baseDelayInMs, long maxDelayInMs, RetryBudget budget) {
+        RetryPolicy policy;
+        switch (this) {
+        case EXPONENTIAL:
+            policy = new ExponentialRetryPolicy(baseDelayInMs, Math.max(baseDelayInMs, maxDelayInMs));
+            break;
+        case DECORRELATED_JITTER:
+            policy = new DecorrelatedJitterRetryPolicy(baseDelayInMs, Math.max(baseDelayInMs, maxDelayInMs));
+            break;
+        case FIXED:
+        default:
+            policy = new FixedRetryPolicy(baseDelayInMs);
+            break;
+        }
+        return budget == null ? policy : new BudgetedRetryPolicy(policy, budget);
+    }
+}
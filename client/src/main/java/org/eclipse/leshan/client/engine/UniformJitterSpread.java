@@ -0,0 +1,46 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.engine;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.eclipse.leshan.core.util.Validate;
+
+/**
+ * Each update is sent after a random delay uniformly drawn in {@code [(1 - ratio) * period, period]}.
+ * <p>
+ * Devices drift apart a bit more at each update, so synchronized waves fade out over time.
+ */
+public class UniformJitterSpread implements UpdateSpreadPolicy {
+
+    private final double ratio;
+
+    public UniformJitterSpread(double ratio) {
+        Validate.isTrue(ratio >= 0 && ratio <= 1, "ratio must be in [0, 1]");
+        this.ratio = ratio;
+    }
+
+    @Override
+    public long getUpdateDelay(String endpoint, long periodInMs, boolean firstUpdate) {
+        long jitter = (long) (ThreadLocalRandom.current().nextDouble() * ratio * periodInMs);
+        return periodInMs - jitter;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("JITTER(%s)", ratio);
+    }
+}
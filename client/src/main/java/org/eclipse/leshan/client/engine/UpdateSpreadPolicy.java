@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.engine;
+
+/**
+ * Decides when the next registration update is sent.
+ * <p>
+ * Without spreading, devices registered at the same time keep sending their updates at the same time, forever. A
+ * policy shortens the update period of each device differently so the update load is smooth.
+ * <p>
+ * A policy is shared by all engines created by a {@link DefaultRegistrationEngineFactory}, so implementations must be
+ * thread-safe.
+ */
+public interface UpdateSpreadPolicy {
+
+    /**
+     * Send updates at the end of the communication period, without any spreading.
+     */
+    UpdateSpreadPolicy NONE = new UpdateSpreadPolicy() {
+        @Override
+        public long getUpdateDelay(String endpoint, long periodInMs, boolean firstUpdate) {
+            return periodInMs;
+        }
+
+        @Override
+        public String toString() {
+            return "NONE";
+        }
+    };
+
+    /**
+     * @param endpoint the endpoint name of the device.
+     * @param periodInMs the communication period, i.e. the longest delay allowed before the next update.
+     * @param firstUpdate true for the first update after a registration, false after a previous update.
+     * @return the delay before the next update in ms, in [0, periodInMs].
+     */
+    long getUpdateDelay(String endpoint, long periodInMs, boolean firstUpdate);
+}
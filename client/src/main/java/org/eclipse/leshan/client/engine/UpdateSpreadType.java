@@ -0,0 +1,39 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.engine;
+
+/**
+ * The available {@link UpdateSpreadPolicy}s, e.g. to select one from the command line.
+ */
+public enum UpdateSpreadType {
+    NONE, JITTER, FRACTION, PHASE;
+
+    public static final double DEFAULT_RATIO = 0.1;
+
+    public UpdateSpreadPolicy create(double ratio) {
+        switch (this) {
+        case JITTER:
+            return new UniformJitterSpread(ratio);
+        case FRACTION:
+            return new FixedFractionSpread(ratio);
+        case PHASE:
+            return new FleetPhaseSpread(ratio);
+        case NONE:
+        default:
+            return UpdateSpreadPolicy.NONE;
+        }
+    }
+}
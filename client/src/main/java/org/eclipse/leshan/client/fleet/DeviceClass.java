@@ -0,0 +1,211 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.fleet;
+
+import java.util.List;
+
+import org.eclipse.leshan.client.engine.AsyncRegistrationEngineFactory;
+import org.eclipse.leshan.client.engine.DefaultRegistrationEngineFactory;
+import org.eclipse.leshan.core.util.Validate;
+
+/**
+ * A class of simulated devices sharing the same registration behavior (communication period, timeouts ...).
+ * <p>
+ * A fleet is made of one or several device classes, each one representing a share of the devices. It can be described
+ * on the command line with {@link #parse(String, DeviceClass)}.
+ */
+public class DeviceClass {
+
+    /** lifetime used when it is not constrained by the communication period, in seconds */
+    public static final long DEFAULT_LIFETIME_IN_SEC = 300;
+
+    private final String name;
+    private final int share;
+    private final Integer communicationPeriodInSec;
+    private final boolean reconnectOnUpdate;
+    private final boolean resumeOnConnect;
+    private final Long requestTimeoutInMs;
+    private final Integer retryWaitingTimeInMs;
+
+    /**
+     * @param name name of the class, used in logs
+     * @param share weight of this class in the fleet
+     * @param communicationPeriodInSec period between 2 updates, null to update only to refresh the lifetime
+     * @param reconnectOnUpdate see {@link DefaultRegistrationEngineFactory#setReconnectOnUpdate(boolean)}
+     * @param resumeOnConnect see {@link DefaultRegistrationEngineFactory#setResumeOnConnect(boolean)}
+     * @param requestTimeoutInMs request timeout, null to use the engine default
+     * @param retryWaitingTimeInMs time to wait before retrying after a failure, null to use the engine default
+     */
+    public DeviceClass(String name, int share, Integer communicationPeriodInSec, boolean reconnectOnUpdate,
+            boolean resumeOnConnect, Long requestTimeoutInMs, Integer retryWaitingTimeInMs) {
+        Validate.notNull(name);
+        Validate.isTrue(share > 0, "share must be positive");
+        Validate.isTrue(communicationPeriodInSec == null || communicationPeriodInSec > 0,
+                "communication period must be positive");
+        Validate.isTrue(requestTimeoutInMs == null || requestTimeoutInMs > 0, "request timeout must be positive");
+        Validate.isTrue(retryWaitingTimeInMs == null || retryWaitingTimeInMs >= 0,
+                "retry waiting time must not be negative");
+        this.name = name;
+        this.share = share;
+        this.communicationPeriodInSec = communicationPeriodInSec;
+        this.reconnectOnUpdate = reconnectOnUpdate;
+        this.resumeOnConnect = resumeOnConnect;
+        this.requestTimeoutInMs = requestTimeoutInMs;
+        this.retryWaitingTimeInMs = retryWaitingTimeInMs;
+    }
+
+    /**
+     * Parse a device class from a string like {@code meter:70,period=900,timeout=5000,retry=60000,reconnect=true}.
+     * <p>
+     * The first part is the name and optionally the share (default 1). Then, all keys are optional, missing ones are
+     * taken from {@code defaults}:
+     * <ul>
+     * <li>period: communication period in seconds</li>
+     * <li>timeout: request timeout in milliseconds</li>
+     * <li>retry: time to wait before retrying in milliseconds</li>
+     * <li>reconnect: reconnect/rehandshake on update</li>
+     * <li>resume: try to resume session on reconnect</li>
+     * </ul>
+     *
+     * @throws IllegalArgumentException if the string is not a valid device class
+     */
+    public static DeviceClass parse(String value, DeviceClass defaults) {
+        String[] parts = value.split(",");
+        String[] nameAndShare = parts[0].split(":");
+        if (nameAndShare[0].isEmpty() || nameAndShare.length > 2) {
+            throw new IllegalArgumentException(String.format("Invalid device class name %s", parts[0]));
+        }
+        String name = nameAndShare[0];
+        int share = nameAndShare.length == 2 ? Integer.parseInt(nameAndShare[1]) : 1;
+
+        Integer period = defaults.communicationPeriodInSec;
+        boolean reconnect = defaults.reconnectOnUpdate;
+        boolean resume = defaults.resumeOnConnect;
+        Long timeout = defaults.requestTimeoutInMs;
+        Integer retry = defaults.retryWaitingTimeInMs;
+        for (int i = 1; i < parts.length; i++) {
+            String[] keyValue = parts[i].split("=", 2);
+            if (keyValue.length != 2) {
+                throw new IllegalArgumentException(String.format("Invalid device class parameter %s", parts[i]));
+            }
+            switch (keyValue[0]) {
+            case "period":
+                period = Integer.valueOf(keyValue[1]);
+                break;
+            case "timeout":
+                timeout = Long.valueOf(keyValue[1]);
+                break;
+            case "retry":
+                retry = Integer.valueOf(keyValue[1]);
+                break;
+            case "reconnect":
+                reconnect = Boolean.parseBoolean(keyValue[1]);
+                break;
+            case "resume":
+                resume = Boolean.parseBoolean(keyValue[1]);
+                break;
+            default:
+                throw new IllegalArgumentException(String.format("Unknown device class parameter %s", keyValue[0]));
+            }
+        }
+        return new DeviceClass(name, share, period, reconnect, resume, timeout, retry);
+    }
+
+    /**
+     * Select the class of a device, so each class gets its share of the fleet.
+     *
+     * @param deviceClasses the classes of the fleet, must not be empty
+     * @param index the index of the device
+     */
+    public static DeviceClass select(List<DeviceClass> deviceClasses, int index) {
+        int totalShare = 0;
+        for (DeviceClass deviceClass : deviceClasses) {
+            totalShare += deviceClass.share;
+        }
+        int position = Math.floorMod(index, totalShare);
+        for (DeviceClass deviceClass : deviceClasses) {
+            position -= deviceClass.share;
+            if (position < 0)
+                return deviceClass;
+        }
+        throw new IllegalStateException("unreachable");
+    }
+
+    /**
+     * Create the registration engine factory for this class. It can be shared by all devices of the class.
+     */
+    public DefaultRegistrationEngineFactory createEngineFactory(boolean async) {
+        DefaultRegistrationEngineFactory engineFactory = async ? new AsyncRegistrationEngineFactory()
+                : new DefaultRegistrationEngineFactory();
+        if (communicationPeriodInSec != null)
+            engineFactory.setCommunicationPeriod(communicationPeriodInSec * 1000);
+        engineFactory.setReconnectOnUpdate(reconnectOnUpdate);
+        engineFactory.setResumeOnConnect(resumeOnConnect);
+        if (requestTimeoutInMs != null)
+            engineFactory.setRequestTimeoutInMs(requestTimeoutInMs);
+        if (retryWaitingTimeInMs != null)
+            engineFactory.setRetryWaitingTimeInMs(retryWaitingTimeInMs);
+        return engineFactory;
+    }
+
+    /**
+     * @return the registration lifetime for this class in seconds.
+     *         <p>
+     *         The communication period can only shorten the time between 2 updates, as the client must update before
+     *         its lifetime expires. So lifetime is at least twice the communication period.
+     */
+    public long getLifetimeInSec() {
+        if (communicationPeriodInSec == null)
+            return DEFAULT_LIFETIME_IN_SEC;
+        return Math.max(DEFAULT_LIFETIME_IN_SEC, 2L * communicationPeriodInSec);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getShare() {
+        return share;
+    }
+
+    public Integer getCommunicationPeriodInSec() {
+        return communicationPeriodInSec;
+    }
+
+    public boolean isReconnectOnUpdate() {
+        return reconnectOnUpdate;
+    }
+
+    public boolean isResumeOnConnect() {
+        return resumeOnConnect;
+    }
+
+    public Long getRequestTimeoutInMs() {
+        return requestTimeoutInMs;
+    }
+
+    public Integer getRetryWaitingTimeInMs() {
+        return retryWaitingTimeInMs;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "DeviceClass [name=%s, share=%s, communicationPeriodInSec=%s, reconnectOnUpdate=%s, resumeOnConnect=%s, requestTimeoutInMs=%s, retryWaitingTimeInMs=%s]",
+                name, share, communicationPeriodInSec, reconnectOnUpdate, resumeOnConnect, requestTimeoutInMs,
+                retryWaitingTimeInMs);
+    }
+}
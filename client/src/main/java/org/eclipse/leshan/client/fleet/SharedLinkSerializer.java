@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.fleet;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.leshan.core.link.DefaultLinkSerializer;
+import org.eclipse.leshan.core.link.Link;
+import org.eclipse.leshan.core.link.LinkSerializer;
+import org.eclipse.leshan.core.util.Validate;
+
+/**
+ * A {@link LinkSerializer} shared by all simulated clients, which serializes each distinct client description once.
+ * <p>
+ * Devices of a fleet usually have the same objects and instances, so they register with equal links. The CoRE Link
+ * Format payload is computed for the first one and reused by the others. The cache is bounded, it is replaced by an
+ * empty one when full.
+ */
+public class SharedLinkSerializer implements LinkSerializer {
+
+    public static final int DEFAULT_MAX_ENTRIES = 1024;
+
+    private final LinkSerializer delegate;
+    private final int maxEntries;
+    // replaced when full rather than cleared, so concurrent lookups never see a half cleared cache
+    private volatile Map<LinksKey, String> cache = new ConcurrentHashMap<>();
+
+    public SharedLinkSerializer() {
+        this(new DefaultLinkSerializer(), DEFAULT_MAX_ENTRIES);
+    }
+
+    public SharedLinkSerializer(LinkSerializer delegate, int maxEntries) {
+        Validate.notNull(delegate);
+        Validate.isTrue(maxEntries > 0, "max entries must be positive");
+        this.delegate = delegate;
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public String serializeCoreLinkFormat(Link... linkObjects) {
+        if (linkObjects == null)
+            return delegate.serializeCoreLinkFormat(linkObjects);
+
+        LinksKey key = new LinksKey(linkObjects);
+        Map<LinksKey, String> current = cache;
+        String serialized = current.get(key);
+        if (serialized == null) {
+            serialized = delegate.serializeCoreLinkFormat(linkObjects);
+            if (current.size() >= maxEntries) {
+                current = new ConcurrentHashMap<>();
+                cache = current;
+            }
+            current.put(key, serialized);
+        }
+        return serialized;
+    }
+
+    /**
+     * @return the number of distinct descriptions currently cached.
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    private static class LinksKey {
+        private final Link[] links;
+        private final int hash;
+
+        private LinksKey(Link[] links) {
+            // links of a client description are never modified, no need to copy them
+            this.links = links;
+            this.hash = Arrays.hashCode(links);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj)
+                return true;
+            if (!(obj instanceof LinksKey))
+                return false;
+            LinksKey other = (LinksKey) obj;
+            return hash == other.hash && Arrays.equals(links, other.links);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.metrics;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Metrics of all simulated clients.
+ * <p>
+ * Feed it with one {@link MetricsClientObserver} by client.
+ */
+public class ClientMetrics {
+
+    private final OperationMetrics bootstrap = new OperationMetrics("bootstrap");
+    private final OperationMetrics register = new OperationMetrics("register");
+    private final OperationMetrics update = new OperationMetrics("update");
+    private final OperationMetrics deregister = new OperationMetrics("deregister");
+    private final OperationMetrics send = new OperationMetrics("send");
+    private final List<OperationMetrics> all = Collections
+            .unmodifiableList(Arrays.asList(bootstrap, register, update, deregister, send));
+    // observations currently accepted by all clients
+    private final AtomicLong activeObservations = new AtomicLong();
+
+    public OperationMetrics getBootstrap() {
+        return bootstrap;
+    }
+
+    public OperationMetrics getRegister() {
+        return register;
+    }
+
+    public OperationMetrics getUpdate() {
+        return update;
+    }
+
+    public OperationMetrics getDeregister() {
+        return deregister;
+    }
+
+    public OperationMetrics getSend() {
+        return send;
+    }
+
+    public List<OperationMetrics> getAll() {
+        return all;
+    }
+
+    public void onObservationStarted() {
+        activeObservations.incrementAndGet();
+    }
+
+    public void onObservationCancelled() {
+        activeObservations.decrementAndGet();
+    }
+
+    public long getActiveObservations() {
+        return activeObservations.get();
+    }
+}
@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.metrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.leshan.core.Destroyable;
+import org.eclipse.leshan.core.util.NamedThreadFactory;
+import org.eclipse.leshan.core.util.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Periodically pushes {@link ClientMetrics} to Graphite using the plaintext protocol.
+ * <p>
+ * For each operation, counters are cumulative since start, latency percentiles (in milliseconds) and requests started
+ * by second are computed over the last period:
+ *
+ * <pre>
+ * &lt;prefix&gt;.register.started|success|failure|timeout
+ * &lt;prefix&gt;.register.latency.count|p50|p90|p99|p999|max
+ * &lt;prefix&gt;.register.rate.mean|min|max
+ * </pre>
+ *
+ * A smooth load has a rate max close to its mean.
+ */
+public class GraphiteReporter implements Destroyable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GraphiteReporter.class);
+
+    public static final String DEFAULT_PREFIX = "leshan.simulator";
+    private static final int CONNECT_TIMEOUT_IN_MS = 5000;
+
+    private final ClientMetrics metrics;
+    private final InetSocketAddress graphiteAddress;
+    private final String prefix;
+    private final ScheduledExecutorService executor;
+
+    public GraphiteReporter(ClientMetrics metrics, InetSocketAddress graphiteAddress) {
+        this(metrics, graphiteAddress, DEFAULT_PREFIX);
+    }
+
+    public GraphiteReporter(ClientMetrics metrics, InetSocketAddress graphiteAddress, String prefix) {
+        Validate.notNull(metrics);
+        Validate.notNull(graphiteAddress);
+        Validate.notNull(prefix);
+        this.metrics = metrics;
+        this.graphiteAddress = graphiteAddress;
+        this.prefix = prefix;
+        this.executor = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("Graphite Reporter"));
+    }
+
+    public void start(long period, TimeUnit unit) {
+        executor.scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    report();
+                } catch (IOException e) {
+                    LOG.warn("Unable to report metrics to Graphite {} : {}", graphiteAddress, e.getMessage());
+                } catch (RuntimeException e) {
+                    LOG.error("Unexpected error while reporting metrics to Graphite", e);
+                }
+            }
+        }, period, period, unit);
+    }
+
+    /**
+     * Push current metrics to Graphite now. Latency histograms and rates are reset.
+     */
+    public void report() throws IOException {
+        long timestamp = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+        try (Socket socket = new Socket()) {
+            socket.connect(graphiteAddress, CONNECT_TIMEOUT_IN_MS);
+            Writer writer = new BufferedWriter(
+                    new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+            for (OperationMetrics operation : metrics.getAll()) {
+                String name = prefix + "." + operation.getName();
+                write(writer, name + ".started", operation.getStarted(), timestamp);
+                write(writer, name + ".success", operation.getSuccess(), timestamp);
+                write(writer, name + ".failure", operation.getFailure(), timestamp);
+                write(writer, name + ".timeout", operation.getTimeout(), timestamp);
+
+                LatencyHistogram.Snapshot latency = operation.getLatency().snapshotAndReset();
+                write(writer, name + ".latency.count", latency.getCount(), timestamp);
+                write(writer, name + ".latency.p50", toMillis(latency.getValueAtPercentile(50)), timestamp);
+                write(writer, name + ".latency.p90", toMillis(latency.getValueAtPercentile(90)), timestamp);
+                write(writer, name + ".latency.p99", toMillis(latency.getValueAtPercentile(99)), timestamp);
+                write(writer, name + ".latency.p999", toMillis(latency.getValueAtPercentile(99.9)), timestamp);
+                write(writer, name + ".latency.max", toMillis(latency.getMax()), timestamp);
+
+                RateMeter.Snapshot rate = operation.getStartRate().snapshotAndReset();
+                write(writer, name + ".rate.mean", rate.getMean(), timestamp);
+                write(writer, name + ".rate.min", rate.getMin(), timestamp);
+                write(writer, name + ".rate.max", rate.getMax(), timestamp);
+            }
+            write(writer, prefix + ".observations.active", metrics.getActiveObservations(), timestamp);
+            writer.flush();
+        }
+    }
+
+    private static double toMillis(long micros) {
+        return micros / 1000d;
+    }
+
+    private static void write(Writer writer, String name, long value, long timestamp) throws IOException {
+        writer.write(String.format(Locale.ROOT, "%s %d %d\n", name, value, timestamp));
+    }
+
+    private static void write(Writer writer, String name, double value, long timestamp) throws IOException {
+        writer.write(String.format(Locale.ROOT, "%s %.3f %d\n", name, value, timestamp));
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
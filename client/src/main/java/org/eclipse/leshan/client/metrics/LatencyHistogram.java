@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free latency histogram with log-linear buckets, in the spirit of HdrHistogram.
+ * <p>
+ * Values are recorded in microseconds. Below 64 microseconds each value has its own bucket, above each power of 2 is
+ * split in 32 buckets, so the relative error is at most about 3%. Values above about 25 days are recorded in the last
+ * bucket.
+ * <p>
+ * Recording is wait-free. {@link #snapshotAndReset()} is not atomic regarding concurrent recording, a value recorded
+ * concurrently lands either in the snapshot or in the next one.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS; // 32
+    private static final int LINEAR_LIMIT = SUB_BUCKET_COUNT * 2; // 64
+    private static final int LINEAR_EXPONENT = SUB_BUCKET_BITS + 1; // log2(64)
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKET_COUNT = LINEAR_LIMIT + (MAX_EXPONENT - LINEAR_EXPONENT + 1) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    public void record(long duration, TimeUnit unit) {
+        recordMicros(unit.toMicros(duration));
+    }
+
+    public void recordMicros(long valueInMicros) {
+        counts.incrementAndGet(bucketIndex(Math.max(valueInMicros, 0)));
+    }
+
+    /**
+     * @return a copy of this histogram, which is then reset.
+     */
+    public Snapshot snapshotAndReset() {
+        long[] values = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            values[i] = counts.getAndSet(i, 0);
+        }
+        return new Snapshot(values);
+    }
+
+    static int bucketIndex(long value) {
+        if (value < LINEAR_LIMIT)
+            return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT)
+            return BUCKET_COUNT - 1;
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+        return LINEAR_LIMIT + (exponent - LINEAR_EXPONENT) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * @return the highest value which is recorded in this bucket.
+     */
+    static long bucketUpperBound(int index) {
+        if (index < LINEAR_LIMIT)
+            return index;
+        int exponent = (index - LINEAR_LIMIT) / SUB_BUCKET_COUNT + LINEAR_EXPONENT;
+        int subBucket = (index - LINEAR_LIMIT) % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+        int shift = exponent - SUB_BUCKET_BITS;
+        return (((long) subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * An immutable copy of a {@link LatencyHistogram}.
+     */
+    public static class Snapshot {
+
+        private final long[] counts;
+        private final long totalCount;
+
+        private Snapshot(long[] counts) {
+            this.counts = counts;
+            long total = 0;
+            for (long count : counts) {
+                total += count;
+            }
+            this.totalCount = total;
+        }
+
+        public long getCount() {
+            return totalCount;
+        }
+
+        /**
+         * @param percentile between 0 and 100
+         * @return the value in microseconds under which the given percentage of values are, 0 if the snapshot is empty.
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (totalCount == 0)
+                return 0;
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * totalCount));
+            long cumulated = 0;
+            for (int i = 0; i < counts.length; i++) {
+                cumulated += counts[i];
+                if (cumulated >= rank)
+                    return bucketUpperBound(i);
+            }
+            return getMax();
+        }
+
+        /**
+         * @return the maximum value in microseconds, 0 if the snapshot is empty.
+         */
+        public long getMax() {
+            for (int i = counts.length - 1; i >= 0; i--) {
+                if (counts[i] > 0)
+                    return bucketUpperBound(i);
+            }
+            return 0;
+        }
+    }
+}
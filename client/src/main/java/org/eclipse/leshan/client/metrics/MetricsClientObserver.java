@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.metrics;
+
+import java.util.List;
+
+import org.eclipse.leshan.client.observer.LwM2mClientObserverAdapter;
+import org.eclipse.leshan.client.resource.listener.ObservationListener;
+import org.eclipse.leshan.client.send.SendObserver;
+import org.eclipse.leshan.client.servers.ServerIdentity;
+import org.eclipse.leshan.core.ResponseCode;
+import org.eclipse.leshan.core.node.LwM2mPath;
+import org.eclipse.leshan.core.request.BootstrapRequest;
+import org.eclipse.leshan.core.request.DeregisterRequest;
+import org.eclipse.leshan.core.request.RegisterRequest;
+import org.eclipse.leshan.core.request.UpdateRequest;
+import org.eclipse.leshan.core.request.exception.TimeoutException;
+import org.eclipse.leshan.core.response.SendResponse;
+
+/**
+ * Feeds {@link ClientMetrics} from the events of one client.
+ * <p>
+ * A client does only one bootstrap, registration, update or deregistration at a time, so an instance must be used by
+ * only one client. This way latency is measured without any shared map.
+ */
+public class MetricsClientObserver extends LwM2mClientObserverAdapter implements SendObserver, ObservationListener {
+
+    private final ClientMetrics metrics;
+
+    private volatile long bootstrapStart;
+    private volatile long registerStart;
+    private volatile long updateStart;
+    private volatile long deregisterStart;
+
+    public MetricsClientObserver(ClientMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    // ============== Bootstrap =================
+
+    @Override
+    public void onBootstrapStarted(ServerIdentity bsserver, BootstrapRequest request) {
+        bootstrapStart = System.nanoTime();
+        metrics.getBootstrap().onStarted();
+    }
+
+    @Override
+    public void onBootstrapSuccess(ServerIdentity bsserver, BootstrapRequest request) {
+        metrics.getBootstrap().onSuccess(System.nanoTime() - bootstrapStart);
+    }
+
+    @Override
+    public void onBootstrapFailure(ServerIdentity bsserver, BootstrapRequest request, ResponseCode responseCode,
+            String errorMessage, Exception cause) {
+        metrics.getBootstrap().onFailure(System.nanoTime() - bootstrapStart);
+    }
+
+    @Override
+    public void onBootstrapTimeout(ServerIdentity bsserver, BootstrapRequest request) {
+        metrics.getBootstrap().onTimeout();
+    }
+
+    // ============== Registration =================
+
+    @Override
+    public void onRegistrationStarted(ServerIdentity server, RegisterRequest request) {
+        registerStart = System.nanoTime();
+        metrics.getRegister().onStarted();
+    }
+
+    @Override
+    public void onRegistrationSuccess(ServerIdentity server, RegisterRequest request, String registrationID) {
+        metrics.getRegister().onSuccess(System.nanoTime() - registerStart);
+    }
+
+    @Override
+    public void onRegistrationFailure(ServerIdentity server, RegisterRequest request, ResponseCode responseCode,
+            String errorMessage, Exception cause) {
+        metrics.getRegister().onFailure(System.nanoTime() - registerStart);
+    }
+
+    @Override
+    public void onRegistrationTimeout(ServerIdentity server, RegisterRequest request) {
+        metrics.getRegister().onTimeout();
+    }
+
+    // ============== Registration Update =================
+
+    @Override
+    public void onUpdateStarted(ServerIdentity server, UpdateRequest request) {
+        updateStart = System.nanoTime();
+        metrics.getUpdate().onStarted();
+    }
+
+    @Override
+    public void onUpdateSuccess(ServerIdentity server, UpdateRequest request) {
+        metrics.getUpdate().onSuccess(System.nanoTime() - updateStart);
+    }
+
+    @Override
+    public void onUpdateFailure(ServerIdentity server, UpdateRequest request, ResponseCode responseCode,
+            String errorMessage, Exception cause) {
+        metrics.getUpdate().onFailure(System.nanoTime() - updateStart);
+    }
+
+    @Override
+    public void onUpdateTimeout(ServerIdentity server, UpdateRequest request) {
+        metrics.getUpdate().onTimeout();
+    }
+
+    // ============== Deregistration =================
+
+    @Override
+    public void onDeregistrationStarted(ServerIdentity server, DeregisterRequest request) {
+        deregisterStart = System.nanoTime();
+        metrics.getDeregister().onStarted();
+    }
+
+    @Override
+    public void onDeregistrationSuccess(ServerIdentity server, DeregisterRequest request) {
+        metrics.getDeregister().onSuccess(System.nanoTime() - deregisterStart);
+    }
+
+    @Override
+    public void onDeregistrationFailure(ServerIdentity server, DeregisterRequest request, ResponseCode responseCode,
+            String errorMessage, Exception cause) {
+        metrics.getDeregister().onFailure(System.nanoTime() - deregisterStart);
+    }
+
+    @Override
+    public void onDeregistrationTimeout(ServerIdentity server, DeregisterRequest request) {
+        metrics.getDeregister().onTimeout();
+    }
+
+    // ============== Send =================
+
+    @Override
+    public void onSendStarted(ServerIdentity server) {
+        metrics.getSend().onStarted();
+    }
+
+    @Override
+    public void onSendResponse(ServerIdentity server, SendResponse response, long durationInNanos) {
+        if (response.isSuccess()) {
+            metrics.getSend().onSuccess(durationInNanos);
+        } else {
+            metrics.getSend().onFailure(durationInNanos);
+        }
+    }
+
+    @Override
+    public void onSendError(ServerIdentity server, Exception error, long durationInNanos) {
+        if (error instanceof TimeoutException) {
+            metrics.getSend().onTimeout();
+        } else {
+            metrics.getSend().onFailure(durationInNanos);
+        }
+    }
+
+    // ============== Observation =================
+
+    @Override
+    public void observationStarted(ServerIdentity server, List<LwM2mPath> paths) {
+        metrics.onObservationStarted();
+    }
+
+    @Override
+    public void observationCancelled(ServerIdentity server, List<LwM2mPath> paths) {
+        metrics.onObservationCancelled();
+    }
+}
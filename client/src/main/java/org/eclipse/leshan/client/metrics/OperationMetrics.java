@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency of one kind of request (register, update ...), shared by all clients.
+ */
+public class OperationMetrics {
+
+    private final String name;
+    private final LongAdder started = new LongAdder();
+    private final LongAdder success = new LongAdder();
+    private final LongAdder failure = new LongAdder();
+    private final LongAdder timeout = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final RateMeter startRate = new RateMeter();
+
+    public OperationMetrics(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void onStarted() {
+        started.increment();
+        startRate.mark();
+    }
+
+    public void onSuccess(long latencyInNanos) {
+        success.increment();
+        latency.record(latencyInNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void onFailure(long latencyInNanos) {
+        failure.increment();
+        latency.record(latencyInNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void onTimeout() {
+        timeout.increment();
+    }
+
+    public long getStarted() {
+        return started.sum();
+    }
+
+    public long getSuccess() {
+        return success.sum();
+    }
+
+    public long getFailure() {
+        return failure.sum();
+    }
+
+    public long getTimeout() {
+        return timeout.sum();
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * @return the number of requests started by second.
+     */
+    public RateMeter getStartRate() {
+        return startRate;
+    }
+}
@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+import org.eclipse.leshan.core.util.Validate;
+
+/**
+ * Counts events by second, to check how smooth the load emitted by the simulator is.
+ * <p>
+ * Each slot of a ring holds the count of one second, tagged with that second. {@link #mark()} is lock-free. Only the
+ * last {@code windowInSec} seconds are kept, so snapshots must be taken at least that often to see every second.
+ */
+public class RateMeter {
+
+    public static final int DEFAULT_WINDOW_IN_SEC = 600;
+
+    private static final long COUNT_MASK = 0xFFFFFFFFL;
+
+    private final LongSupplier nanoClock;
+    private final long startNanos;
+    // (second << 32) | count of that second
+    private final AtomicLongArray slots;
+    private long nextSnapshotSecond = 0; // guarded by this
+
+    public RateMeter() {
+        this(DEFAULT_WINDOW_IN_SEC, new LongSupplier() {
+            @Override
+            public long getAsLong() {
+                return System.nanoTime();
+            }
+        });
+    }
+
+    RateMeter(int windowInSec, LongSupplier nanoClock) {
+        Validate.isTrue(windowInSec > 0, "window must be positive");
+        this.nanoClock = nanoClock;
+        this.startNanos = nanoClock.getAsLong();
+        this.slots = new AtomicLongArray(windowInSec);
+    }
+
+    private long currentSecond() {
+        return TimeUnit.NANOSECONDS.toSeconds(nanoClock.getAsLong() - startNanos);
+    }
+
+    public void mark() {
+        long second = currentSecond();
+        int index = (int) (second % slots.length());
+        long slot, updated;
+        do {
+            slot = slots.get(index);
+            if (slot >>> 32 == second) {
+                updated = slot + 1;
+            } else {
+                // first event of this second, the slot held an older second
+                updated = second << 32 | 1;
+            }
+        } while (!slots.compareAndSet(index, slot, updated));
+    }
+
+    private long countOf(long second) {
+        long slot = slots.get((int) (second % slots.length()));
+        return slot >>> 32 == second ? slot & COUNT_MASK : 0;
+    }
+
+    /**
+     * @return the rate of each second completed since the previous snapshot (at most the last {@code windowInSec}
+     *         seconds). The current second is not complete, so it is part of the next snapshot.
+     */
+    public synchronized Snapshot snapshotAndReset() {
+        long current = currentSecond();
+        long from = Math.max(nextSnapshotSecond, current - slots.length() + 1);
+        long min = Long.MAX_VALUE;
+        long max = 0;
+        long total = 0;
+        for (long second = from; second < current; second++) {
+            long count = countOf(second);
+            min = Math.min(min, count);
+            max = Math.max(max, count);
+            total += count;
+        }
+        nextSnapshotSecond = Math.max(nextSnapshotSecond, current);
+        int nbSeconds = (int) Math.max(0, current - from);
+        return new Snapshot(nbSeconds, nbSeconds == 0 ? 0 : min, max, total);
+    }
+
+    public static class Snapshot {
+        private final int seconds;
+        private final long min;
+        private final long max;
+        private final long total;
+
+        private Snapshot(int seconds, long min, long max, long total) {
+            this.seconds = seconds;
+            this.min = min;
+            this.max = max;
+            this.total = total;
+        }
+
+        /**
+         * @return the number of seconds covered by this snapshot.
+         */
+        public int getSeconds() {
+            return seconds;
+        }
+
+        /**
+         * @return the lowest number of events in one second.
+         */
+        public long getMin() {
+            return min;
+        }
+
+        /**
+         * @return the highest number of events in one second.
+         */
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * @return the average number of events by second.
+         */
+        public double getMean() {
+            return seconds == 0 ? 0 : (double) total / seconds;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import org.eclipse.leshan.core.model.InvalidDDFFileException;
+import org.eclipse.leshan.core.model.InvalidModelException;
+import org.eclipse.leshan.core.model.LwM2mModelRepository;
+import org.eclipse.leshan.core.model.ObjectLoader;
+import org.eclipse.leshan.core.model.ObjectModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A process-wide cache of {@link LwM2mModelRepository}.
+ * <p>
+ * A repository is never modified once created, so the same instance can be shared by all simulated clients. DDF files
+ * are parsed only once by process, and not at all when an up to date {@link ModelSnapshot} is available.
+ * <p>
+ * A snapshot is up to date if it was generated from the same DDF files with the same content. DDF files are still
+ * read to check it, but this is much cheaper than parsing them.
+ */
+public class ModelRepositoryCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ModelRepositoryCache.class);
+
+    private static final Map<String, LwM2mModelRepository> repositories = new HashMap<>();
+
+    private ModelRepositoryCache() {
+    }
+
+    /**
+     * Get the repository for the given DDF resources, loading them on first call.
+     *
+     * @param ddfDirectory the classpath directory of DDF files, e.g. "/models/"
+     * @param ddfPaths the DDF file names
+     * @param snapshot an optional model snapshot file. If it exists and is up to date, models are read from it instead
+     *        of DDF files. Else it is created from the DDF files for next time.
+     */
+    public static synchronized LwM2mModelRepository get(String ddfDirectory, String[] ddfPaths, File snapshot)
+            throws IOException, InvalidModelException, InvalidDDFFileException {
+        String key = ddfDirectory + Arrays.toString(ddfPaths) + (snapshot == null ? "" : snapshot.getAbsolutePath());
+        LwM2mModelRepository repository = repositories.get(key);
+        if (repository == null) {
+            repository = new LwM2mModelRepository(load(ddfDirectory, ddfPaths, snapshot));
+            repositories.put(key, repository);
+        }
+        return repository;
+    }
+
+    private static List<ObjectModel> load(String ddfDirectory, String[] ddfPaths, File snapshot)
+            throws IOException, InvalidModelException, InvalidDDFFileException {
+        String source = snapshot == null ? null : describeSources(ddfDirectory, ddfPaths);
+        if (snapshot != null && snapshot.isFile()) {
+            try {
+                List<ObjectModel> models = ModelSnapshot.read(snapshot, source);
+                if (models != null) {
+                    LOG.info("Loading models from snapshot {}", snapshot);
+                    return models;
+                }
+                LOG.info("Models snapshot {} is outdated, DDF files changed", snapshot);
+            } catch (IOException e) {
+                LOG.info("Unable to read models snapshot {} : {}", snapshot, e.getMessage());
+            }
+        }
+
+        List<ObjectModel> models = ObjectLoader.loadDdfResources(ddfDirectory, ddfPaths);
+        if (snapshot != null) {
+            LOG.info("Writing models snapshot to {}", snapshot);
+            ModelSnapshot.write(models, source, snapshot);
+        }
+        return models;
+    }
+
+    /**
+     * @return a description of the given DDF resources : for each one, its path, its size and the CRC32 of its content.
+     */
+    static String describeSources(String ddfDirectory, String[] ddfPaths) throws IOException {
+        StringBuilder description = new StringBuilder();
+        byte[] buffer = new byte[8192];
+        for (String path : ddfPaths) {
+            String fullPath = ddfDirectory + path;
+            try (InputStream in = ModelRepositoryCache.class.getResourceAsStream(fullPath)) {
+                if (in == null) {
+                    throw new IOException(String.format("Unable to find DDF resource %s", fullPath));
+                }
+                CRC32 crc = new CRC32();
+                long size = 0;
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    crc.update(buffer, 0, read);
+                    size += read;
+                }
+                description.append(String.format("%s:%d:%08x;", fullPath, size, crc.getValue()));
+            }
+        }
+        return description.toString();
+    }
+}
@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.eclipse.leshan.core.model.ObjectModel;
+import org.eclipse.leshan.core.model.ResourceModel;
+import org.eclipse.leshan.core.model.ResourceModel.Operations;
+import org.eclipse.leshan.core.model.ResourceModel.Type;
+
+/**
+ * A compact binary format for {@link ObjectModel}s.
+ * <p>
+ * Reading a snapshot is much cheaper than parsing DDF files, there is no XML parser and no validation involved. A
+ * snapshot is meant to be generated from DDF files already validated by {@code ObjectLoader}.
+ * <p>
+ * The header stores a description of the sources the snapshot was generated from (see
+ * {@link ModelRepositoryCache}), so a snapshot of outdated DDF files can be detected and generated again.
+ */
+public class ModelSnapshot {
+
+    private static final int MAGIC = 0x4C4D4D53; // "LMMS"
+    private static final int FORMAT_VERSION = 2;
+
+    private ModelSnapshot() {
+    }
+
+    /**
+     * @param source a description of the sources of the models, given back to {@link #read(File, String)}.
+     */
+    public static void write(Collection<ObjectModel> models, String source, File file) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+            write(models, source, out);
+        }
+    }
+
+    public static void write(Collection<ObjectModel> models, String source, OutputStream output) throws IOException {
+        DataOutputStream out = new DataOutputStream(output);
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        writeString(out, source);
+        out.writeInt(models.size());
+        for (ObjectModel object : models) {
+            out.writeInt(object.id);
+            writeString(out, object.name);
+            writeString(out, object.description);
+            writeString(out, object.version);
+            out.writeBoolean(object.multiple);
+            out.writeBoolean(object.mandatory);
+            writeString(out, object.urn);
+            writeString(out, object.lwm2mVersion);
+            writeString(out, object.description2);
+            out.writeInt(object.resources.size());
+            for (ResourceModel resource : object.resources.values()) {
+                out.writeInt(resource.id);
+                writeString(out, resource.name);
+                writeEnum(out, resource.operations);
+                writeBoolean(out, resource.multiple);
+                writeBoolean(out, resource.mandatory);
+                writeEnum(out, resource.type);
+                writeString(out, resource.rangeEnumeration);
+                writeString(out, resource.units);
+                writeString(out, resource.description);
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * @param expectedSource the description of the sources the snapshot must have been generated from.
+     * @return the models or <code>null</code> if the snapshot was generated from other sources.
+     * @throws IOException if the file is not a snapshot or is in an unsupported version.
+     */
+    public static List<ObjectModel> read(File file, String expectedSource) throws IOException {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            return read(in, expectedSource);
+        }
+    }
+
+    public static List<ObjectModel> read(InputStream input, String expectedSource) throws IOException {
+        DataInputStream in = new DataInputStream(input);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a model snapshot");
+        }
+        int version = in.readInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException(String.format("Unsupported model snapshot version %d", version));
+        }
+        String source = readString(in);
+        if (source == null ? expectedSource != null : !source.equals(expectedSource)) {
+            return null;
+        }
+        int nbObjects = in.readInt();
+        List<ObjectModel> models = new ArrayList<>(nbObjects);
+        for (int i = 0; i < nbObjects; i++) {
+            int id = in.readInt();
+            String name = readString(in);
+            String description = readString(in);
+            String objectVersion = readString(in);
+            boolean multiple = in.readBoolean();
+            boolean mandatory = in.readBoolean();
+            String urn = readString(in);
+            String lwm2mVersion = readString(in);
+            String description2 = readString(in);
+            int nbResources = in.readInt();
+            List<ResourceModel> resources = new ArrayList<>(nbResources);
+            for (int j = 0; j < nbResources; j++) {
+                resources.add(new ResourceModel(in.readInt(), readString(in), readEnum(in, Operations.class),
+                        readBoolean(in), readBoolean(in), readEnum(in, Type.class), readString(in), readString(in),
+                        readString(in)));
+            }
+            models.add(new ObjectModel(id, name, description, objectVersion, multiple, mandatory, resources, urn,
+                    lwm2mVersion, description2));
+        }
+        return models;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null)
+            out.writeUTF(value);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeBoolean(DataOutputStream out, Boolean value) throws IOException {
+        out.writeByte(value == null ? -1 : value ? 1 : 0);
+    }
+
+    private static Boolean readBoolean(DataInputStream in) throws IOException {
+        byte value = in.readByte();
+        return value < 0 ? null : value == 1;
+    }
+
+    private static void writeEnum(DataOutputStream out, Enum<?> value) throws IOException {
+        // store names rather than ordinals, so a snapshot survives a reordering of the enum
+        writeString(out, value == null ? null : value.name());
+    }
+
+    private static <E extends Enum<E>> E readEnum(DataInputStream in, Class<E> type) throws IOException {
+        String name = readString(in);
+        if (name == null)
+            return null;
+        try {
+            return Enum.valueOf(type, name);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(String.format("Invalid %s value %s", type.getSimpleName(), name), e);
+        }
+    }
+}
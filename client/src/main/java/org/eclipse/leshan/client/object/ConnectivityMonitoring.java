@@ -2,24 +2,32 @@ package org.eclipse.leshan.client.object;
 
 import org.eclipse.leshan.client.resource.BaseInstanceEnabler;
 import org.eclipse.leshan.client.servers.ServerIdentity;
+import org.eclipse.leshan.client.values.DeviceValues;
+import org.eclipse.leshan.client.values.ValueModel;
+import org.eclipse.leshan.client.values.ValueModels;
+import org.eclipse.leshan.core.LwM2mId;
 import org.eclipse.leshan.core.model.ObjectModel;
 import org.eclipse.leshan.core.response.ReadResponse;
 
-import java.net.InetAddress;
-import java.net.InetSocketAddress;
-import java.net.UnknownHostException;
 import java.util.Arrays;
 import java.util.List;
 
 public class ConnectivityMonitoring extends BaseInstanceEnabler {
 
-    private static final List<Integer> supportedResources = Arrays.asList(0, 1);
+    private static final List<Integer> supportedResources = Arrays.asList(0, 1, 2, 3);
 
     private final Integer networkBearer = 21;
     private final Integer availableNetworkBearer = 0;
 
-    public ConnectivityMonitoring() {
+    private final HostInfoCache hostInfo;
+    // simulated values of this device
+    private final ValueModel radioSignalStrength;
+    private final ValueModel linkQuality;
 
+    public ConnectivityMonitoring(HostInfoCache hostInfo, DeviceValues values) {
+        this.hostInfo = hostInfo;
+        this.radioSignalStrength = values.get(LwM2mId.CONNECTIVITY_MONITORING, ValueModels.CM_RADIO_SIGNAL_STRENGTH);
+        this.linkQuality = values.get(LwM2mId.CONNECTIVITY_MONITORING, ValueModels.CM_LINK_QUALITY);
     }
 
     @Override
@@ -30,23 +38,19 @@ public class ConnectivityMonitoring extends BaseInstanceEnabler {
                 return ReadResponse.success(resourceid, networkBearer);
             case 1:
                 return ReadResponse.success(resourceid, availableNetworkBearer);
+            case 2:
+                return ReadResponse.success(resourceid, currentValue(radioSignalStrength));
+            case 3:
+                return ReadResponse.success(resourceid, currentValue(linkQuality));
             case 4:
-                return ReadResponse.success(resourceid, getIpAddress());
+                return ReadResponse.success(resourceid, hostInfo.getIpAddress());
             default:
                 return super.read(identity, resourceid);
         }
     }
 
-    private String getIpAddress() {
-        String ipAddress = "";
-        InetAddress localhost;
-        try {
-            localhost = InetAddress.getLocalHost();
-            ipAddress = localhost.getHostAddress();
-        } catch (UnknownHostException e) {
-            e.printStackTrace();
-        }
-        return ipAddress;
+    private long currentValue(ValueModel model) {
+        return Math.round(model.getValue(System.currentTimeMillis()));
     }
 
     @Override
@@ -0,0 +1,201 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.object;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.net.UnknownHostException;
+import java.util.Collections;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.leshan.core.util.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Information about the host running the simulator (WLAN interface name, hardware address, IP address) shared by the
+ * object instances of all clients, e.g. {@link MyWlanConnectivity} and {@link ConnectivityMonitoring}.
+ * <p>
+ * Looking up those values may fork a process or resolve the local host name, so it must not be done on each read.
+ * Getters never block: they return the last collected values and, when those are older than the time to live, ask the
+ * given {@link Executor} to collect them again. Use {@link #refresh()} to collect them a first time before clients
+ * start.
+ */
+public class HostInfoCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HostInfoCache.class);
+
+    public static final long DEFAULT_TIME_TO_LIVE_IN_SEC = 60;
+
+    private final Executor executor;
+    private final long timeToLiveInNanos;
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+    private volatile Snapshot snapshot;
+
+    public HostInfoCache(Executor executor) {
+        this(executor, DEFAULT_TIME_TO_LIVE_IN_SEC, TimeUnit.SECONDS);
+    }
+
+    /**
+     * @param executor the executor used to collect host information again when it expired, it must accept blocking
+     *        tasks.
+     * @param timeToLive how long collected information is used before being collected again.
+     * @param unit the unit of timeToLive.
+     */
+    public HostInfoCache(Executor executor, long timeToLive, TimeUnit unit) {
+        Validate.notNull(executor);
+        Validate.isTrue(timeToLive >= 0, "time to live must be positive or 0");
+        this.executor = executor;
+        this.timeToLiveInNanos = unit.toNanos(timeToLive);
+        // nothing collected yet, the first access triggers a refresh
+        this.snapshot = new Snapshot(null, null, "", System.nanoTime() - timeToLiveInNanos - 1);
+    }
+
+    /**
+     * @return the name of the WLAN interface or <code>null</code> if there is none.
+     */
+    public String getInterfaceName() {
+        return get().interfaceName;
+    }
+
+    /**
+     * @return the hardware address of the first network interface which has one, or <code>null</code>.
+     */
+    public String getHardwareAddress() {
+        return get().hardwareAddress;
+    }
+
+    /**
+     * @return the IP address of the local host or an empty string if it can not be resolved.
+     */
+    public String getIpAddress() {
+        return get().ipAddress;
+    }
+
+    /**
+     * Collect host information now, in the calling thread.
+     */
+    public void refresh() {
+        snapshot = new Snapshot(lookupInterfaceName(), lookupHardwareAddress(), lookupIpAddress(), System.nanoTime());
+    }
+
+    private Snapshot get() {
+        Snapshot current = snapshot;
+        if (System.nanoTime() - current.collectedAt > timeToLiveInNanos && refreshing.compareAndSet(false, true)) {
+            try {
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            refresh();
+                        } catch (RuntimeException e) {
+                            LOG.warn("Unable to collect host information", e);
+                        } finally {
+                            refreshing.set(false);
+                        }
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // executor is shutting down, keep the last values
+                refreshing.set(false);
+            }
+        }
+        return current;
+    }
+
+    protected String lookupInterfaceName() {
+        String os = System.getProperty("os.name");
+        String command;
+        int column;
+        String wifi;
+        if (os.startsWith("Mac")) {
+            command = "networksetup -listallhardwareports";
+            column = 1;
+            wifi = "Wi-Fi";
+        } else if (os.startsWith("Linux")) {
+            command = "nmcli device";
+            column = 0;
+            wifi = "wifi";
+        } else {
+            LOG.debug("Unable to get WLAN interface name on {}", os);
+            return null;
+        }
+
+        String interfaceName = null;
+        Process process = null;
+        try {
+            process = Runtime.getRuntime().exec(command);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.contains(wifi)) {
+                        interfaceName = line.split("\\s+")[column];
+                    }
+                }
+            }
+        } catch (IOException | ArrayIndexOutOfBoundsException e) {
+            LOG.debug("Unable to get WLAN interface name using '{}'", command, e);
+        } finally {
+            if (process != null)
+                process.destroy();
+        }
+        return interfaceName;
+    }
+
+    protected String lookupHardwareAddress() {
+        try {
+            for (NetworkInterface iface : Collections.list(NetworkInterface.getNetworkInterfaces())) {
+                byte[] address = iface.getHardwareAddress();
+                if (address != null && address.length > 0) {
+                    return new String(address);
+                }
+            }
+        } catch (SocketException e) {
+            LOG.debug("Unable to list network interfaces", e);
+        }
+        return null;
+    }
+
+    protected String lookupIpAddress() {
+        try {
+            return InetAddress.getLocalHost().getHostAddress();
+        } catch (UnknownHostException e) {
+            LOG.debug("Unable to resolve local host", e);
+            return "";
+        }
+    }
+
+    private static class Snapshot {
+        private final String interfaceName;
+        private final String hardwareAddress;
+        private final String ipAddress;
+        private final long collectedAt;
+
+        private Snapshot(String interfaceName, String hardwareAddress, String ipAddress, long collectedAt) {
+            this.interfaceName = interfaceName;
+            this.hardwareAddress = hardwareAddress;
+            this.ipAddress = ipAddress;
+            this.collectedAt = collectedAt;
+        }
+    }
+}
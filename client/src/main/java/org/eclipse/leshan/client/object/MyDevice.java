@@ -7,14 +7,18 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
 import java.util.TimeZone;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.leshan.client.resource.BaseInstanceEnabler;
+import org.eclipse.leshan.client.scheduler.TimingWheel;
 import org.eclipse.leshan.client.servers.ServerIdentity;
+import org.eclipse.leshan.client.values.DeviceValues;
+import org.eclipse.leshan.client.values.ValueModel;
+import org.eclipse.leshan.client.values.ValueModels;
 import org.eclipse.leshan.core.Destroyable;
+import org.eclipse.leshan.core.LwM2mId;
 import org.eclipse.leshan.core.model.ObjectModel;
 import org.eclipse.leshan.core.model.ResourceModel.Type;
 import org.eclipse.leshan.core.node.LwM2mResource;
@@ -29,29 +33,42 @@ public class MyDevice extends BaseInstanceEnabler implements Destroyable {
 
     private static final Logger LOG = LoggerFactory.getLogger(MyDevice.class);
 
-    private static final Random RANDOM = new Random();
     private static final List<Integer> supportedResources = Arrays.asList(0, 1, 2, 3, 9, 10, 11, 13, 14, 15, 16, 17, 18,
             19, 20, 21);
 
-    private final Timer timer;
+    private static final long CURRENT_TIME_PERIOD_IN_MS = 5000;
+
+    private final TimingWheel timingWheel;
+    // runs the reboot, which waits for the deregistration
+    private final Executor blockingExecutor;
+    private final TimingWheel.Timeout currentTimeTask;
     private String utcOffset = new SimpleDateFormat("X").format(Calendar.getInstance().getTime());
     private String timeZone = TimeZone.getDefault().getID();
     private Integer index;
-
-    public MyDevice() {
-        this.timer = new Timer("Device-Current Time");
-    }
-
-    public MyDevice(Integer index) {
-        // notify new date each 5 second
-        this.timer = new Timer("Device-Current Time");
+    // simulated values of this device
+    private final ValueModel batteryLevel;
+    private final ValueModel memoryFree;
+    private final ValueModel batteryStatus;
+    private final ValueModel memoryTotal;
+
+    public MyDevice(Integer index, TimingWheel timingWheel, Executor blockingExecutor, DeviceValues values) {
+        this.timingWheel = timingWheel;
+        this.blockingExecutor = blockingExecutor;
         this.index = index;
-        timer.schedule(new TimerTask() {
+        this.batteryLevel = values.get(LwM2mId.DEVICE, ValueModels.DVC_BATTERY_LEVEL);
+        this.memoryFree = values.get(LwM2mId.DEVICE, ValueModels.DVC_MEMORY_FREE);
+        this.batteryStatus = values.get(LwM2mId.DEVICE, ValueModels.DVC_BATTERY_STATUS);
+        this.memoryTotal = values.get(LwM2mId.DEVICE, ValueModels.DVC_MEMORY_TOTAL);
+        // notify new date each 5 second, devices are shifted so they do not all notify at the same time
+        currentTimeTask = timingWheel.scheduleAtFixedRate(new Runnable() {
             @Override
             public void run() {
-                fireResourceChange(3);
+                // nothing to compute when no server observes the current time
+                if (isObserved(13))
+                    fireResourceChange(13);
             }
-        }, 5000, 5000);
+        }, CURRENT_TIME_PERIOD_IN_MS + TimingWheel.phase(index, CURRENT_TIME_PERIOD_IN_MS),
+                CURRENT_TIME_PERIOD_IN_MS, TimeUnit.MILLISECONDS);
     }
 
     @Override
@@ -107,17 +124,7 @@ public class MyDevice extends BaseInstanceEnabler implements Destroyable {
         LOG.info("Execute on Device resource /{}/{}/{} {}", getModel().id, getId(), resourceid, withArguments);
 
         if (resourceid == 4) {
-            new Timer("Reboot Lwm2mClient").schedule(new TimerTask() {
-                @Override
-                public void run() {
-                    getLwM2mClient().stop(true);
-                    try {
-                        Thread.sleep(500);
-                    } catch (InterruptedException e) {
-                    }
-                    getLwM2mClient().start();
-                }
-            }, 500);
+            Reboot.schedule(timingWheel, blockingExecutor, getLwM2mClient());
         }
         return ExecuteResponse.success();
     }
@@ -162,12 +169,12 @@ public class MyDevice extends BaseInstanceEnabler implements Destroyable {
         return 0;
     }
 
-    private int getBatteryLevel() {
-        return RANDOM.nextInt(101);
+    private long getBatteryLevel() {
+        return Math.round(batteryLevel.getValue(System.currentTimeMillis()));
     }
 
     private long getMemoryFree() {
-        return Runtime.getRuntime().freeMemory() / 1024;
+        return Math.min(getMemoryTotal(), Math.max(0, Math.round(memoryFree.getValue(System.currentTimeMillis()))));
     }
 
     private Date getCurrentTime() {
@@ -206,12 +213,12 @@ public class MyDevice extends BaseInstanceEnabler implements Destroyable {
         return "1.0.2";
     }
 
-    private int getBatteryStatus() {
-        return RANDOM.nextInt(7);
+    private long getBatteryStatus() {
+        return Math.round(batteryStatus.getValue(System.currentTimeMillis()));
     }
 
     private long getMemoryTotal() {
-        return Runtime.getRuntime().totalMemory() / 1024;
+        return Math.round(memoryTotal.getValue(System.currentTimeMillis()));
     }
 
     @Override
@@ -221,6 +228,6 @@ public class MyDevice extends BaseInstanceEnabler implements Destroyable {
 
     @Override
     public void destroy() {
-        timer.cancel();
+        currentTimeTask.cancel();
     }
 }
@@ -1,18 +1,15 @@
 package org.eclipse.leshan.client.object;
 
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
-import java.util.Timer;
-import java.util.TimerTask;
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.net.NetworkInterface;
-import java.net.SocketException;
+import java.util.concurrent.Executor;
 
 import org.eclipse.leshan.client.resource.BaseInstanceEnabler;
+import org.eclipse.leshan.client.scheduler.TimingWheel;
 import org.eclipse.leshan.client.servers.ServerIdentity;
+import org.eclipse.leshan.client.values.DeviceValues;
+import org.eclipse.leshan.client.values.ValueModel;
+import org.eclipse.leshan.client.values.ValueModels;
 import org.eclipse.leshan.core.model.ObjectModel;
 import org.eclipse.leshan.core.node.LwM2mResource;
 import org.eclipse.leshan.core.request.argument.Arguments;
@@ -29,8 +26,19 @@ public class MyWlanConnectivity extends BaseInstanceEnabler {
     private static final List<Integer> supportedResources = Arrays.asList(0, 1, 2, 3, 9, 10, 11, 13, 14, 15, 16, 17, 18,
             19, 20, 21);
 
-    public MyWlanConnectivity() {
-
+    private final TimingWheel timingWheel;
+    // runs the reboot, which waits for the deregistration
+    private final Executor blockingExecutor;
+    private final HostInfoCache hostInfo;
+    // simulated values of this device
+    private final ValueModel channel;
+
+    public MyWlanConnectivity(TimingWheel timingWheel, Executor blockingExecutor, HostInfoCache hostInfo,
+            DeviceValues values) {
+        this.timingWheel = timingWheel;
+        this.blockingExecutor = blockingExecutor;
+        this.hostInfo = hostInfo;
+        this.channel = values.get(ValueModels.WLAN_CONNECTIVITY, ValueModels.WLAN_CHANNEL);
     }
 
     @Override
@@ -47,6 +55,8 @@ public class MyWlanConnectivity extends BaseInstanceEnabler {
                 return ReadResponse.success(resourceid, true);
             case 5:
                 return ReadResponse.success(resourceid, getSSIDName());
+            case 9:
+                return ReadResponse.success(resourceid, Math.round(channel.getValue(System.currentTimeMillis())));
 
             default:
                 return super.read(identity, resourceid);
@@ -61,17 +71,7 @@ public class MyWlanConnectivity extends BaseInstanceEnabler {
         LOG.info("Execute on Device resource /{}/{}/{} {}", getModel().id, getId(), resourceid, withArguments);
 
         if (resourceid == 4) {
-            new Timer("Reboot Lwm2mClient").schedule(new TimerTask() {
-                @Override
-                public void run() {
-                    getLwM2mClient().stop(true);
-                    try {
-                        Thread.sleep(500);
-                    } catch (InterruptedException e) {
-                    }
-                    getLwM2mClient().start();
-                }
-            }, 500);
+            Reboot.schedule(timingWheel, blockingExecutor, getLwM2mClient());
         }
         return ExecuteResponse.success();
     }
@@ -97,64 +97,11 @@ public class MyWlanConnectivity extends BaseInstanceEnabler {
     }
 
     public String getSSIDName() {
-        String ssid = null;
-
-        List<NetworkInterface> interfaces;
-        try {
-            interfaces = Collections.list(NetworkInterface.getNetworkInterfaces());
-
-            for (NetworkInterface iface : interfaces) {
-                byte[] ssidBytes = iface.getHardwareAddress();
-                if (ssidBytes == null || ssidBytes.length < 1) {
-                    continue;
-                }
-                ssid = new String(ssidBytes);
-                break;
-            }
-        } catch (SocketException e) {
-            e.printStackTrace();
-        }
-        return ssid;
+        return hostInfo.getHardwareAddress();
     }
 
     public String getInterfaceName() {
-
-        String os = System.getProperty("os.name");
-        String interfaceName = null;
-        if (os.startsWith("Mac")) {
-            Process process;
-            try {
-                process = Runtime.getRuntime().exec("networksetup -listallhardwareports");
-
-                BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    if (line.contains("Wi-Fi")) {
-                        interfaceName = line.split("\\s+")[1];
-                    }
-                }
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
-        } else if (os.startsWith("Linux")) {
-            try {
-                Process process = Runtime.getRuntime().exec("nmcli device");
-                BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    if (line.contains("wifi")) {
-                        interfaceName = line.split("\\s+")[0];
-                    }
-                }
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
-        } else {
-            System.out.println("Error: Unsupported operating system");
-
-        }
-        return interfaceName;
-
+        return hostInfo.getInterfaceName();
     }
 
     @Override
@@ -88,6 +88,16 @@ public class Oscore extends BaseInstanceEnabler {
 
     @Override
     public WriteResponse write(ServerIdentity identity, boolean replace, int resourceId, LwM2mResource value) {
+        WriteResponse response = writeResource(identity, replace, resourceId, value);
+        if (response.isSuccess()) {
+            // the client caches the servers info extracted from this object
+            fireResourceChange(resourceId);
+        }
+        return response;
+    }
+
+    private WriteResponse writeResource(ServerIdentity identity, boolean replace, int resourceId,
+            LwM2mResource value) {
         if (!identity.isSystem())
             LOG.debug("Write on resource {}: {}", resourceId, value);
 
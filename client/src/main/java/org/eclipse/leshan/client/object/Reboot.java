@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.object;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.leshan.client.LwM2mClient;
+import org.eclipse.leshan.client.scheduler.TimingWheel;
+
+/**
+ * Simulates a device reboot: the client is stopped, then started again, without holding a thread in between.
+ * <p>
+ * Stopping deregisters and waits for the response, so the wheel only triggers the steps and they run on an executor
+ * for blocking tasks.
+ */
+class Reboot {
+
+    private static final long DELAY_IN_MS = 500;
+
+    private Reboot() {
+    }
+
+    static void schedule(final TimingWheel timingWheel, final Executor blockingExecutor, final LwM2mClient client) {
+        schedule(timingWheel, blockingExecutor, new Runnable() {
+            @Override
+            public void run() {
+                client.stop(true);
+                schedule(timingWheel, blockingExecutor, new Runnable() {
+                    @Override
+                    public void run() {
+                        client.start();
+                    }
+                });
+            }
+        });
+    }
+
+    private static void schedule(TimingWheel timingWheel, final Executor blockingExecutor, final Runnable step) {
+        timingWheel.schedule(new Runnable() {
+            @Override
+            public void run() {
+                blockingExecutor.execute(step);
+            }
+        }, DELAY_IN_MS, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,32 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.ramp;
+
+/**
+ * Defines when each simulated client starts during the ramp-up.
+ * <p>
+ * Implementations may be stateful (e.g. random arrivals), so {@link #getStartOffset(int)} must be called with
+ * increasing index and an instance must not be shared between ramp-ups.
+ */
+public interface ArrivalProfile {
+
+    /**
+     * @param index the position of the client in the start order, from 0 to number of clients - 1.
+     * @return the delay between the beginning of the ramp-up and the start of this client, in nanoseconds. It is never
+     *         smaller than the offset of the previous index.
+     */
+    long getStartOffset(int index);
+}
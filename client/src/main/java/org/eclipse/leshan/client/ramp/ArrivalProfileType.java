@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.ramp;
+
+/**
+ * The available {@link ArrivalProfile}s, e.g. to select one from the command line.
+ */
+public enum ArrivalProfileType {
+    CONSTANT, LINEAR, STEP, POISSON, OUTAGE;
+
+    public static final int DEFAULT_NB_STEPS = 10;
+
+    public ArrivalProfile create(int nbClients, long durationInNanos, int nbSteps, long seed) {
+        switch (this) {
+        case LINEAR:
+            return new LinearRampProfile(nbClients, durationInNanos);
+        case STEP:
+            return new StepProfile(nbClients, durationInNanos, nbSteps);
+        case POISSON:
+            return new PoissonProfile(nbClients, durationInNanos, seed);
+        case OUTAGE:
+            return new OutageRecoveryProfile(nbClients, durationInNanos);
+        case CONSTANT:
+        default:
+            return new ConstantRateProfile(nbClients, durationInNanos);
+        }
+    }
+}
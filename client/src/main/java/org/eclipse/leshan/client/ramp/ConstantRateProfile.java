@@ -0,0 +1,42 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.ramp;
+
+import org.eclipse.leshan.core.util.Validate;
+
+/**
+ * Clients start at a constant rate: the first one at the beginning and the last one at the end of the ramp-up.
+ */
+public class ConstantRateProfile implements ArrivalProfile {
+
+    private final int nbClients;
+    private final long durationInNanos;
+
+    public ConstantRateProfile(int nbClients, long durationInNanos) {
+        Validate.isTrue(nbClients > 0, "number of clients must be positive");
+        Validate.isTrue(durationInNanos >= 0, "duration must not be negative");
+        this.nbClients = nbClients;
+        this.durationInNanos = durationInNanos;
+    }
+
+    @Override
+    public long getStartOffset(int index) {
+        if (nbClients == 1)
+            return 0;
+        // compute in double to avoid overflow of index * duration
+        return (long) ((double) durationInNanos * index / (nbClients - 1));
+    }
+}
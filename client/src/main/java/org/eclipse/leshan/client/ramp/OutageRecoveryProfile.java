@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.ramp;
+
+import org.eclipse.leshan.core.util.Validate;
+
+/**
+ * Simulates devices coming back after a power outage: most of them start right at the beginning, then the arrival rate
+ * decays exponentially until the end of the ramp-up.
+ * <p>
+ * Start times follow an exponential distribution of time constant {@code duration / decayFactor}, truncated to the
+ * ramp-up duration. With the default decay factor of 5, about 63% of the clients start during the first fifth of the
+ * ramp-up.
+ */
+public class OutageRecoveryProfile implements ArrivalProfile {
+
+    public static final double DEFAULT_DECAY_FACTOR = 5;
+
+    private final int nbClients;
+    private final double timeConstantInNanos;
+    private final double truncation;
+
+    public OutageRecoveryProfile(int nbClients, long durationInNanos) {
+        this(nbClients, durationInNanos, DEFAULT_DECAY_FACTOR);
+    }
+
+    public OutageRecoveryProfile(int nbClients, long durationInNanos, double decayFactor) {
+        Validate.isTrue(nbClients > 0, "number of clients must be positive");
+        Validate.isTrue(durationInNanos >= 0, "duration must not be negative");
+        Validate.isTrue(decayFactor > 0, "decay factor must be positive");
+        this.nbClients = nbClients;
+        this.timeConstantInNanos = durationInNanos / decayFactor;
+        // probability to start before the end of the ramp-up
+        this.truncation = 1 - Math.exp(-decayFactor);
+    }
+
+    @Override
+    public long getStartOffset(int index) {
+        if (nbClients == 1)
+            return 0;
+        // inverse of the truncated exponential distribution, evaluated at evenly spaced quantiles
+        double quantile = (double) index / (nbClients - 1);
+        return (long) (-timeConstantInNanos * Math.log(1 - quantile * truncation));
+    }
+}
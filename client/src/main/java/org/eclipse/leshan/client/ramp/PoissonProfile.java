@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.ramp;
+
+import java.util.SplittableRandom;
+
+import org.eclipse.leshan.core.util.Validate;
+
+/**
+ * Clients arrive as a Poisson process: time between two starts follows an exponential distribution with a mean of
+ * {@code duration / number of clients}.
+ * <p>
+ * The ramp-up is only expected to last {@code duration}, the actual end depends on the random draws. Use the same seed
+ * to get the same arrivals again.
+ */
+public class PoissonProfile implements ArrivalProfile {
+
+    private final double meanInterArrivalInNanos;
+    private final SplittableRandom random;
+
+    private int lastIndex = 0;
+    private long lastOffset = 0;
+
+    public PoissonProfile(int nbClients, long durationInNanos, long seed) {
+        Validate.isTrue(nbClients > 0, "number of clients must be positive");
+        Validate.isTrue(durationInNanos >= 0, "duration must not be negative");
+        this.meanInterArrivalInNanos = (double) durationInNanos / nbClients;
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public long getStartOffset(int index) {
+        Validate.isTrue(index >= lastIndex, "index must be increasing");
+        // first client starts at the beginning of the ramp-up
+        while (lastIndex < index) {
+            lastOffset += (long) (-meanInterArrivalInNanos * Math.log(1 - random.nextDouble()));
+            lastIndex++;
+        }
+        return lastOffset;
+    }
+}
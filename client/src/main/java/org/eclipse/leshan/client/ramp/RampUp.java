@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.ramp;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.leshan.core.util.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Starts clients following an {@link ArrivalProfile}.
+ * <p>
+ * Only the next start is scheduled at a time, so the executor queue does not grow with the number of clients. Each
+ * start is scheduled in nanoseconds relative to the beginning of the ramp-up, so a late start does not delay the next
+ * ones.
+ */
+public class RampUp {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RampUp.class);
+
+    /**
+     * Starts the client at the given position in the start order.
+     */
+    public interface ClientStarter {
+        void start(int index);
+    }
+
+    private final ScheduledExecutorService executor;
+    private final ArrivalProfile profile;
+    private final int nbClients;
+    private final ClientStarter starter;
+
+    private long startTime;
+    private int nextIndex;
+    private Future<?> nextStart;
+    private boolean cancelled;
+
+    public RampUp(ScheduledExecutorService executor, ArrivalProfile profile, int nbClients, ClientStarter starter) {
+        Validate.notNull(executor);
+        Validate.notNull(profile);
+        Validate.notNull(starter);
+        this.executor = executor;
+        this.profile = profile;
+        this.nbClients = nbClients;
+        this.starter = starter;
+    }
+
+    public synchronized void start() {
+        startTime = System.nanoTime();
+        nextIndex = 0;
+        cancelled = false;
+        scheduleNext();
+    }
+
+    public synchronized void cancel() {
+        cancelled = true;
+        if (nextStart != null)
+            nextStart.cancel(false);
+    }
+
+    private synchronized void scheduleNext() {
+        if (cancelled || nextIndex >= nbClients)
+            return;
+
+        final int index = nextIndex++;
+        long delay = startTime + profile.getStartOffset(index) - System.nanoTime();
+        nextStart = executor.schedule(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    starter.start(index);
+                } catch (RuntimeException e) {
+                    LOG.error("Unable to start client at position {}", index, e);
+                }
+                scheduleNext();
+            }
+        }, Math.max(delay, 0), TimeUnit.NANOSECONDS);
+    }
+}
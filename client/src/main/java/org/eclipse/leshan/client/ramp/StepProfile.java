@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.ramp;
+
+import org.eclipse.leshan.core.util.Validate;
+
+/**
+ * Clients are split in groups of the same size, each group starts as a burst at the beginning of its step.
+ */
+public class StepProfile implements ArrivalProfile {
+
+    private final int nbClients;
+    private final int nbSteps;
+    private final long stepDurationInNanos;
+
+    public StepProfile(int nbClients, long durationInNanos, int nbSteps) {
+        Validate.isTrue(nbClients > 0, "number of clients must be positive");
+        Validate.isTrue(durationInNanos >= 0, "duration must not be negative");
+        Validate.isTrue(nbSteps > 0, "number of steps must be positive");
+        this.nbClients = nbClients;
+        this.nbSteps = nbSteps;
+        this.stepDurationInNanos = nbSteps == 1 ? 0 : durationInNanos / (nbSteps - 1);
+    }
+
+    @Override
+    public long getStartOffset(int index) {
+        long step = (long) index * nbSteps / nbClients;
+        return step * stepDurationInNanos;
+    }
+}
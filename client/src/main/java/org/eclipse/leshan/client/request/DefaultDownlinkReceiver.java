@@ -15,13 +15,20 @@
  *******************************************************************************/
 package org.eclipse.leshan.client.request;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
 import org.eclipse.leshan.client.bootstrap.BootstrapHandler;
 import org.eclipse.leshan.client.engine.RegistrationEngine;
 import org.eclipse.leshan.client.resource.LwM2mObjectEnabler;
 import org.eclipse.leshan.client.resource.LwM2mObjectTree;
 import org.eclipse.leshan.client.resource.LwM2mRootEnabler;
+import org.eclipse.leshan.client.resource.ObservationRegistry;
 import org.eclipse.leshan.client.servers.ServerIdentity;
 import org.eclipse.leshan.core.ResponseCode;
+import org.eclipse.leshan.core.node.LwM2mNode;
 import org.eclipse.leshan.core.node.LwM2mPath;
 import org.eclipse.leshan.core.request.BootstrapDeleteRequest;
 import org.eclipse.leshan.core.request.BootstrapDiscoverRequest;
@@ -72,13 +79,31 @@ public class DefaultDownlinkReceiver implements DownlinkRequestReceiver {
     private final BootstrapHandler bootstrapHandler;
     private final LwM2mRootEnabler rootEnabler;
     private final LwM2mObjectTree objectTree;
+    private final ObservationRegistry observationRegistry;
+    private final ObservationTokenProvider observationTokenProvider;
 
     public DefaultDownlinkReceiver(BootstrapHandler bootstrapHandler, LwM2mRootEnabler rootEnabler,
             LwM2mObjectTree objectTree, RegistrationEngine registrationEngine) {
+        this(bootstrapHandler, rootEnabler, objectTree, registrationEngine, new ObservationRegistry(), null);
+    }
+
+    /**
+     * @param observationTokenProvider gives the token of observe and cancel requests, observations are identified by
+     *        their paths when <code>null</code>.
+     */
+    public DefaultDownlinkReceiver(BootstrapHandler bootstrapHandler, LwM2mRootEnabler rootEnabler,
+            LwM2mObjectTree objectTree, RegistrationEngine registrationEngine,
+            ObservationRegistry observationRegistry, ObservationTokenProvider observationTokenProvider) {
         this.bootstrapHandler = bootstrapHandler;
         this.rootEnabler = rootEnabler;
         this.objectTree = objectTree;
         this.registrationEngine = registrationEngine;
+        this.observationRegistry = observationRegistry;
+        this.observationTokenProvider = observationTokenProvider;
+    }
+
+    public ObservationRegistry getObservationRegistry() {
+        return observationRegistry;
     }
 
     @Override
@@ -103,6 +128,26 @@ public class DefaultDownlinkReceiver implements DownlinkRequestReceiver {
             Class<? extends LwM2mRequest<? extends LwM2mResponse>> requestType) {
     }
 
+    /**
+     * @return the token identifying the observation targeted by this observe or cancel request, <code>null</code> if
+     *         the transport does not give it.
+     */
+    protected Object getObservationToken(LwM2mRequest<?> request) {
+        if (observationTokenProvider == null)
+            return null;
+        return observationTokenProvider.getObservationToken(request);
+    }
+
+    /**
+     * @return the paths of a composite response content, i.e. the requested paths where the root path is replaced by
+     *         the objects it was expanded to. The requested paths if there is no content.
+     */
+    private static List<LwM2mPath> observedPaths(Map<LwM2mPath, LwM2mNode> content, List<LwM2mPath> requested) {
+        if (content == null || content.isEmpty())
+            return requested;
+        return new ArrayList<>(content.keySet());
+    }
+
     public class RequestHandler<T extends LwM2mResponse> implements DownlinkRequestVisitor {
 
         private final ServerIdentity sender;
@@ -192,13 +237,30 @@ public class DefaultDownlinkReceiver implements DownlinkRequestReceiver {
             if (objectEnabler == null) {
                 response = toSendableResponse(ObserveResponse.notFound());
             } else {
-                response = toSendableResponse(objectEnabler.observe(sender, request));
+                ObserveResponse observeResponse = objectEnabler.observe(sender, request);
+                if (observeResponse.isSuccess()) {
+                    observationRegistry.observationStarted(sender, getObservationToken(request),
+                            Collections.singletonList(request.getPath()));
+                }
+                response = toSendableResponse(observeResponse);
             }
         }
 
         @Override
         public void visit(CancelObservationRequest request) {
-            // TODO TL : check if there is something to call here
+            observationRegistry.observationCancelled(sender, getObservationToken(request),
+                    Collections.singletonList(request.getPath()));
+
+            // an active cancel is answered like a read of the observed path
+            LwM2mObjectEnabler objectEnabler = getObjectEnabler(request);
+            if (objectEnabler == null) {
+                response = toSendableResponse(
+                        new CancelObservationResponse(ResponseCode.NOT_FOUND, null, null, null, null));
+            } else {
+                ReadResponse readResponse = objectEnabler.read(sender, new ReadRequest(request.getPath().toString()));
+                response = toSendableResponse(new CancelObservationResponse(readResponse.getCode(),
+                        readResponse.getContent(), null, null, readResponse.getErrorMessage()));
+            }
         }
 
         @Override
@@ -208,12 +270,25 @@ public class DefaultDownlinkReceiver implements DownlinkRequestReceiver {
 
         @Override
         public void visit(ObserveCompositeRequest request) {
-            response = toSendableResponse(rootEnabler.observe(sender, request));
+            ObserveCompositeResponse observeResponse = rootEnabler.observe(sender, request);
+            if (observeResponse.isSuccess()) {
+                observationRegistry.observationStarted(sender, getObservationToken(request),
+                        observedPaths(observeResponse.getContent(), request.getPaths()));
+            }
+            response = toSendableResponse(observeResponse);
         }
 
         @Override
         public void visit(CancelCompositeObservationRequest request) {
-            // TODO TL : check if there is something to call here
+            // an active cancel is answered like a read of the observed paths
+            ReadCompositeResponse readResponse = rootEnabler.read(sender,
+                    new ReadCompositeRequest(request.getPaths(), request.getRequestContentFormat(),
+                            request.getResponseContentFormat(), request.getCoapRequest()));
+            observationRegistry.observationCancelled(sender, getObservationToken(request),
+                    observedPaths(readResponse.getContent(), request.getPaths()));
+
+            response = toSendableResponse(new CancelCompositeObservationResponse(readResponse.getCode(),
+                    readResponse.getContent(), readResponse.getErrorMessage(), null, null));
         }
 
         @Override
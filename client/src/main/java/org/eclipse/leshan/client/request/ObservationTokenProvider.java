@@ -0,0 +1,32 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.request;
+
+import org.eclipse.leshan.core.request.LwM2mRequest;
+
+/**
+ * Gives the transport level identifier of the observation targeted by an observe or cancel observation request.
+ * <p>
+ * Implemented by the transport layer, which is the only one able to read it from the underlying request.
+ */
+public interface ObservationTokenProvider {
+
+    /**
+     * @return the token identifying the observation targeted by this observe or cancel request, <code>null</code> if
+     *         the transport does not give it.
+     */
+    Object getObservationToken(LwM2mRequest<?> request);
+}
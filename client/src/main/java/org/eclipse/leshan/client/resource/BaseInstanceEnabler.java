@@ -18,7 +18,6 @@
 package org.eclipse.leshan.client.resource;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -26,6 +25,8 @@ import java.util.Map;
 import org.eclipse.leshan.client.LwM2mClient;
 import org.eclipse.leshan.client.resource.listener.ResourceListener;
 import org.eclipse.leshan.client.servers.ServerIdentity;
+import org.eclipse.leshan.client.util.ResourcePathCache;
+import org.eclipse.leshan.client.util.SortedIntList;
 import org.eclipse.leshan.core.model.ObjectModel;
 import org.eclipse.leshan.core.model.ResourceModel;
 import org.eclipse.leshan.core.node.LwM2mMultipleResource;
@@ -50,6 +51,10 @@ public class BaseInstanceEnabler implements LwM2mInstanceEnabler {
     protected Integer id = null;
     protected ObjectModel model;
     protected LwM2mClient lwm2mClient;
+    // sorted ids of resources defined in the model, computed on first use
+    private volatile SortedIntList modelResourceIds;
+    // interned paths of resources of this instance, shared with instances of other clients with the same ids
+    private volatile ResourcePathCache pathCache;
 
     public BaseInstanceEnabler() {
     }
@@ -75,6 +80,7 @@ public class BaseInstanceEnabler implements LwM2mInstanceEnabler {
     @Override
     public void setModel(ObjectModel model) {
         this.model = model;
+        this.modelResourceIds = null;
     }
 
     public LwM2mClient getLwM2mClient() {
@@ -121,18 +127,33 @@ public class BaseInstanceEnabler implements LwM2mInstanceEnabler {
      * @see #fireResourcesChange(LwM2mPath...)
      */
     public void fireResourceChange(int resourceId) {
-        fireResourcesChange(getResourcePath(resourceId));
+        fireResourcesChange(getPathCache().getResourcePathAsArray(resourceId));
     }
 
     /**
      * @see #fireResourcesChange(LwM2mPath...)
      */
     public void fireResourceInstanceChange(int resourceId, int resourceInstanceId) {
-        fireResourcesChange(getResourceInstancePath(resourceId, resourceInstanceId));
+        fireResourcesChange(getPathCache().getResourceInstancePathAsArray(resourceId, resourceInstanceId));
+    }
+
+    /**
+     * @return the cache of paths of resources of this instance, looked up again if the id or the model of this instance
+     *         changed.
+     */
+    protected ResourcePathCache getPathCache() {
+        ResourcePathCache cache = pathCache;
+        int objectId = getModel().id;
+        int instanceId = getId();
+        if (cache == null || cache.getObjectId() != objectId || cache.getObjectInstanceId() != instanceId) {
+            cache = ResourcePathCache.of(objectId, instanceId);
+            pathCache = cache;
+        }
+        return cache;
     }
 
     protected LwM2mPath getResourcePath(int resourceId) {
-        return new LwM2mPath(getModel().id, getId(), resourceId);
+        return getPathCache().getResourcePath(resourceId);
     }
 
     protected LwM2mPath[] getResourcePaths(int... resourceIds) {
@@ -144,7 +165,20 @@ public class BaseInstanceEnabler implements LwM2mInstanceEnabler {
     }
 
     protected LwM2mPath getResourceInstancePath(int resourceId, int resourceInstanceId) {
-        return new LwM2mPath(getModel().id, getId(), resourceId, resourceInstanceId);
+        return getPathCache().getResourceInstancePath(resourceId, resourceInstanceId);
+    }
+
+    /**
+     * Can be used to avoid computing and firing changes nobody will receive.
+     *
+     * @return <code>true</code> if the given resource is observed, directly or through its instance or object. Always
+     *         <code>true</code> if this instance is not attached to a client yet.
+     */
+    protected boolean isObserved(int resourceId) {
+        LwM2mClient client = lwm2mClient;
+        if (client == null || id == null)
+            return true;
+        return client.getObservationRegistry().isObserved(getResourcePath(resourceId));
     }
 
     @Override
@@ -283,8 +317,14 @@ public class BaseInstanceEnabler implements LwM2mInstanceEnabler {
     @Override
     public List<Integer> getAvailableResourceIds(ObjectModel model) {
         // By default we consider that all resources defined in the model are supported
-        ArrayList<Integer> resourceIds = new ArrayList<>(model.resources.keySet());
-        Collections.sort(resourceIds);
+        if (model != this.model) {
+            return SortedIntList.of(model.resources.keySet());
+        }
+        SortedIntList resourceIds = modelResourceIds;
+        if (resourceIds == null) {
+            resourceIds = SortedIntList.of(model.resources.keySet());
+            modelResourceIds = resourceIds;
+        }
         return resourceIds;
     }
 }
@@ -23,15 +23,17 @@ package org.eclipse.leshan.client.resource;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
 import org.eclipse.leshan.client.LwM2mClient;
 import org.eclipse.leshan.client.resource.listener.ObjectListener;
+import org.eclipse.leshan.client.resource.listener.ResourceListener;
+import org.eclipse.leshan.client.scheduler.TimingWheel;
 import org.eclipse.leshan.client.servers.ServerIdentity;
 import org.eclipse.leshan.client.util.LinkFormatHelper;
+import org.eclipse.leshan.client.util.SortedIntList;
 import org.eclipse.leshan.core.LwM2mId;
 import org.eclipse.leshan.core.link.lwm2m.LwM2mLink;
 import org.eclipse.leshan.core.model.ObjectModel;
@@ -76,7 +78,12 @@ public abstract class BaseObjectEnabler implements LwM2mObjectEnabler {
     protected final TransactionalObjectListener transactionalListener;
     protected final ObjectModel objectModel;
 
+    // applies pmin, pmax, gt, lt and st to resource changes, null if write attributes is not supported
+    protected volatile NotificationScheduler notificationScheduler;
+
     private LwM2mClient lwm2mClient;
+    // sorted ids of resources defined in the model, computed on first use
+    private volatile SortedIntList modelResourceIds;
 
     public BaseObjectEnabler(int id, ObjectModel objectModel) {
         this.id = id;
@@ -89,6 +96,27 @@ public abstract class BaseObjectEnabler implements LwM2mObjectEnabler {
         return new TransactionalObjectListener(this);
     }
 
+    /**
+     * Support write attributes requests: the notification attributes written by the server are applied to the resource
+     * changes before they reach the listeners.
+     *
+     * @param timer the timer used to delay or force notifications (pmin, pmax).
+     */
+    public synchronized void enableNotificationAttributes(TimingWheel timer) {
+        if (notificationScheduler != null)
+            return;
+        notificationScheduler = new NotificationScheduler(this, timer, new ResourceListener() {
+            @Override
+            public void resourceChanged(LwM2mPath... paths) {
+                transactionalListener.resourceChanged(paths);
+            }
+        });
+    }
+
+    public NotificationScheduler getNotificationScheduler() {
+        return notificationScheduler;
+    }
+
     @Override
     public synchronized int getId() {
         return id;
@@ -102,8 +130,11 @@ public abstract class BaseObjectEnabler implements LwM2mObjectEnabler {
     @Override
     public List<Integer> getAvailableResourceIds(int instanceId) {
         // By default we consider that all resources defined in the model are supported
-        ArrayList<Integer> resourceIds = new ArrayList<>(objectModel.resources.keySet());
-        Collections.sort(resourceIds);
+        SortedIntList resourceIds = modelResourceIds;
+        if (resourceIds == null) {
+            resourceIds = SortedIntList.of(objectModel.resources.keySet());
+            modelResourceIds = resourceIds;
+        }
         return resourceIds;
     }
 
@@ -147,6 +178,27 @@ public abstract class BaseObjectEnabler implements LwM2mObjectEnabler {
 
     @Override
     public synchronized ReadResponse read(ServerIdentity identity, ReadRequest request) {
+        return handleRead(identity, request);
+    }
+
+    /**
+     * Read several nodes of this object while taking its lock only once, e.g. for a read-composite request.
+     *
+     * @return the responses, in the order of the requests.
+     */
+    public synchronized List<ReadResponse> readAll(ServerIdentity identity, List<ReadRequest> requests) {
+        List<ReadResponse> responses = new ArrayList<>(requests.size());
+        for (ReadRequest request : requests) {
+            responses.add(handleRead(identity, request));
+        }
+        return responses;
+    }
+
+    /**
+     * Check the read request then delegate to {@link #doRead(ServerIdentity, ReadRequest)}. The caller is responsible
+     * for thread-safety.
+     */
+    protected ReadResponse handleRead(ServerIdentity identity, ReadRequest request) {
         LwM2mPath path = request.getPath();
 
         // read is not supported for bootstrap
@@ -371,13 +423,49 @@ public abstract class BaseObjectEnabler implements LwM2mObjectEnabler {
         if (identity.isLwm2mBootstrapServer()) {
             return WriteAttributesResponse.methodNotAllowed();
         }
-        // TODO should be implemented here to be available for all object enabler
-        // This should be a not implemented error, but this is not defined in the spec.
-        return WriteAttributesResponse.internalServerError("not implemented");
+        NotificationScheduler scheduler = notificationScheduler;
+        if (scheduler == null) {
+            // This should be a not implemented error, but this is not defined in the spec.
+            return WriteAttributesResponse.internalServerError("not implemented");
+        }
+
+        // write attributes on the security or oscore object is forbidden
+        if (!identity.isSystem() && (id == LwM2mId.SECURITY || id == LwM2mId.OSCORE)) {
+            return WriteAttributesResponse.notFound();
+        }
+
+        LwM2mPath path = request.getPath();
+        if (path.getObjectInstanceId() != null && !getAvailableInstanceIds().contains(path.getObjectInstanceId())) {
+            return WriteAttributesResponse.notFound();
+        }
+        if (path.getResourceId() != null && !objectModel.resources.containsKey(path.getResourceId())) {
+            return WriteAttributesResponse.notFound();
+        }
+
+        NotificationAttributes attributes;
+        try {
+            attributes = scheduler.getAttributes(path).apply(request.getAttributes().getLwM2mAttributes());
+        } catch (IllegalArgumentException | ClassCastException e) {
+            return WriteAttributesResponse.badRequest(e.getMessage());
+        }
+        String error = scheduler.getEffectiveAttributes(path).inherit(attributes).validate();
+        if (error != null) {
+            return WriteAttributesResponse.badRequest(error);
+        }
+        scheduler.setAttributes(path, attributes);
+        return WriteAttributesResponse.success();
     }
 
     @Override
     public synchronized DiscoverResponse discover(ServerIdentity identity, DiscoverRequest request) {
+        return handleDiscover(identity, request);
+    }
+
+    /**
+     * Check the discover request then delegate to {@link #doDiscover(ServerIdentity, DiscoverRequest)}. The caller is
+     * responsible for thread-safety.
+     */
+    protected DiscoverResponse handleDiscover(ServerIdentity identity, DiscoverRequest request) {
 
         if (identity.isLwm2mBootstrapServer()) {
             // discover is not supported for bootstrap
@@ -428,6 +516,14 @@ public abstract class BaseObjectEnabler implements LwM2mObjectEnabler {
 
     @Override
     public synchronized BootstrapDiscoverResponse discover(ServerIdentity identity, BootstrapDiscoverRequest request) {
+        return handleDiscover(identity, request);
+    }
+
+    /**
+     * Check the bootstrap discover request then delegate to
+     * {@link #doDiscover(ServerIdentity, BootstrapDiscoverRequest)}. The caller is responsible for thread-safety.
+     */
+    protected BootstrapDiscoverResponse handleDiscover(ServerIdentity identity, BootstrapDiscoverRequest request) {
 
         if (!identity.isLwm2mBootstrapServer()) {
             return BootstrapDiscoverResponse.badRequest("not a bootstrap server");
@@ -449,6 +545,27 @@ public abstract class BaseObjectEnabler implements LwM2mObjectEnabler {
 
     @Override
     public synchronized ObserveResponse observe(ServerIdentity identity, ObserveRequest request) {
+        return handleObserve(identity, request);
+    }
+
+    /**
+     * Observe several nodes of this object while taking its lock only once, e.g. for an observe-composite request.
+     *
+     * @return the responses, in the order of the requests.
+     */
+    public synchronized List<ObserveResponse> observeAll(ServerIdentity identity, List<ObserveRequest> requests) {
+        List<ObserveResponse> responses = new ArrayList<>(requests.size());
+        for (ObserveRequest request : requests) {
+            responses.add(handleObserve(identity, request));
+        }
+        return responses;
+    }
+
+    /**
+     * Check the observe request then delegate to {@link #doObserve(ServerIdentity, ObserveRequest)}. The caller is
+     * responsible for thread-safety.
+     */
+    protected ObserveResponse handleObserve(ServerIdentity identity, ObserveRequest request) {
         LwM2mPath path = request.getPath();
 
         // observe is not supported for bootstrap
@@ -472,7 +589,12 @@ public abstract class BaseObjectEnabler implements LwM2mObjectEnabler {
                 }
             }
         }
-        return doObserve(identity, request);
+        ObserveResponse response = doObserve(identity, request);
+        NotificationScheduler scheduler = notificationScheduler;
+        if (scheduler != null && response.isSuccess()) {
+            scheduler.observationStarted(path, response.getContent());
+        }
+        return response;
     }
 
     protected ObserveResponse doObserve(ServerIdentity identity, ObserveRequest request) {
@@ -531,10 +653,18 @@ public abstract class BaseObjectEnabler implements LwM2mObjectEnabler {
     }
 
     protected void fireInstancesRemoved(int... instanceIds) {
+        NotificationScheduler scheduler = notificationScheduler;
+        if (scheduler != null)
+            scheduler.instancesRemoved(instanceIds);
         transactionalListener.objectInstancesRemoved(this, instanceIds);
     }
 
     protected void fireResourcesChanged(LwM2mPath... paths) {
+        NotificationScheduler scheduler = notificationScheduler;
+        if (scheduler != null) {
+            scheduler.resourceChanged(paths);
+            return;
+        }
         transactionalListener.resourceChanged(paths);
     }
 
@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.resource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.eclipse.leshan.client.util.LinkFormatHelper;
+import org.eclipse.leshan.core.link.Link;
+import org.eclipse.leshan.core.request.ContentFormat;
+
+/**
+ * Caches the client description (the links sent on register and update) of a {@link LwM2mObjectTree}.
+ * <p>
+ * Links are kept by object. When an object or its instances change, only the links of this object are computed again
+ * and the version of the description is incremented. The whole description is built again only when the version
+ * changed. A description is kept for each list of supported content formats, as the same client can ask for several
+ * ones (e.g. register and update).
+ */
+public class ClientDescriptionCache {
+
+    // links of each object, sorted by object id
+    private final Map<Integer, List<Link>> objectLinks = new TreeMap<>();
+    // objects which changed since their links were computed
+    private final Set<Integer> staleObjects = new HashSet<>();
+    private long version = 0;
+
+    // descriptions of the current version, by supported content formats
+    private final Map<List<ContentFormat>, Link[]> descriptions = new HashMap<>();
+    private long descriptionVersion = -1;
+
+    /**
+     * Mark the links of the given object as stale, they will be computed again on next
+     * {@link #getClientDescription(Map, List)}.
+     */
+    public synchronized void invalidate(int objectId) {
+        staleObjects.add(objectId);
+        version++;
+    }
+
+    /**
+     * @return the version of the description, incremented on each change.
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * @param objectEnablers the current objects of the tree, by id.
+     * @param supportedContentFormats the content formats to announce in the root link, may be <code>null</code>.
+     * @return the client description. The returned array is shared, it must not be modified.
+     */
+    public synchronized Link[] getClientDescription(Map<Integer, LwM2mObjectEnabler> objectEnablers,
+            List<ContentFormat> supportedContentFormats) {
+        List<ContentFormat> contentFormats = supportedContentFormats == null ? Collections.<ContentFormat> emptyList()
+                : supportedContentFormats;
+        if (descriptionVersion == version) {
+            Link[] description = descriptions.get(contentFormats);
+            if (description != null)
+                return description;
+        } else {
+            descriptions.clear();
+        }
+
+        if (descriptionVersion == -1) {
+            // first call, everything is stale
+            staleObjects.addAll(objectEnablers.keySet());
+        }
+        for (Integer objectId : staleObjects) {
+            LwM2mObjectEnabler objectEnabler = objectEnablers.get(objectId);
+            if (objectEnabler == null) {
+                objectLinks.remove(objectId);
+            } else {
+                objectLinks.put(objectId, LinkFormatHelper.getClientDescriptionOfObject(objectEnabler, null));
+            }
+        }
+        staleObjects.clear();
+
+        List<Link> links = new ArrayList<>();
+        links.add(LinkFormatHelper.getClientDescriptionRoot(null, supportedContentFormats));
+        for (List<Link> linksOfObject : objectLinks.values()) {
+            links.addAll(linksOfObject);
+        }
+        Link[] description = links.toArray(new Link[links.size()]);
+        descriptionVersion = version;
+        // copy the key, the given list could be modified by the caller
+        descriptions.put(new ArrayList<>(contentFormats), description);
+        return description;
+    }
+}
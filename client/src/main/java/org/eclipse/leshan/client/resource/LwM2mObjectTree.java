@@ -18,6 +18,7 @@ package org.eclipse.leshan.client.resource;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -25,13 +26,17 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import org.eclipse.leshan.client.LwM2mClient;
 import org.eclipse.leshan.client.resource.listener.ObjectListener;
 import org.eclipse.leshan.client.resource.listener.ObjectsListener;
+import org.eclipse.leshan.client.servers.ServersInfo;
+import org.eclipse.leshan.client.servers.ServersInfoCache;
 import org.eclipse.leshan.core.Destroyable;
 import org.eclipse.leshan.core.Startable;
 import org.eclipse.leshan.core.Stoppable;
+import org.eclipse.leshan.core.link.Link;
 import org.eclipse.leshan.core.model.LwM2mModel;
 import org.eclipse.leshan.core.model.ObjectModel;
 import org.eclipse.leshan.core.model.ResourceModel;
 import org.eclipse.leshan.core.node.LwM2mPath;
+import org.eclipse.leshan.core.request.ContentFormat;
 
 /**
  * The LWM2M Object Tree.
@@ -45,6 +50,9 @@ public class LwM2mObjectTree implements Startable, Stoppable, Destroyable {
     protected final CopyOnWriteArrayList<ObjectsListener> listeners = new CopyOnWriteArrayList<>();
     protected final ConcurrentHashMap<Integer, LwM2mObjectEnabler> objectEnablers = new ConcurrentHashMap<>();
     protected final LwM2mModel model;
+    // invalidated before listeners are notified, so they always get an up to date description and servers info
+    protected final ClientDescriptionCache descriptionCache = new ClientDescriptionCache();
+    protected final ServersInfoCache serversInfoCache = new ServersInfoCache();
 
     public LwM2mObjectTree(LwM2mClient client, LwM2mObjectEnabler... enablers) {
         this(client, Arrays.asList(enablers));
@@ -109,6 +117,31 @@ public class LwM2mObjectTree implements Startable, Stoppable, Destroyable {
         return objectEnablers.get(id);
     }
 
+    /**
+     * Get the links describing this client, as sent on register and update.
+     * <p>
+     * The description is cached and only computed again for objects which changed since the previous call.
+     *
+     * @param supportedContentFormats the content formats to announce in the root link, may be <code>null</code>.
+     * @return the client description. The returned array is shared, it must not be modified.
+     */
+    public Link[] getClientDescription(List<ContentFormat> supportedContentFormats) {
+        return descriptionCache.getClientDescription(objectEnablers, supportedContentFormats);
+    }
+
+    /**
+     * Get the servers info (bootstrap and device management servers) extracted from Security, Server and OSCORE
+     * objects.
+     * <p>
+     * The info is cached and only extracted again when one of those objects changed since the previous call.
+     *
+     * @return the servers info or <code>null</code> if there is no Security or no Server object. The returned instance
+     *         is shared, it must not be modified.
+     */
+    public ServersInfo getServersInfo() {
+        return serversInfoCache.getInfo(objectEnablers);
+    }
+
     public void addObjectEnabler(LwM2mObjectEnabler enabler) {
         LwM2mObjectEnabler previousEnabler = objectEnablers.putIfAbsent(enabler.getId(), enabler);
         enabler.addListener(dispatcher);
@@ -116,6 +149,7 @@ public class LwM2mObjectTree implements Startable, Stoppable, Destroyable {
             throw new IllegalArgumentException(
                     String.format("Can not add 2 enablers for the same id %d", enabler.getId()));
         }
+        invalidateCaches(enabler.getId());
         for (ObjectsListener listener : listeners) {
             listener.objectAdded(enabler);
         }
@@ -125,12 +159,20 @@ public class LwM2mObjectTree implements Startable, Stoppable, Destroyable {
         LwM2mObjectEnabler removedEnabler = objectEnablers.remove(objectId);
         if (removedEnabler != null) {
             removedEnabler.removeListener(dispatcher);
+            invalidateCaches(objectId);
             for (ObjectsListener listener : listeners) {
                 listener.objectRemoved(removedEnabler);
             }
         }
     }
 
+    protected void invalidateCaches(int objectId) {
+        descriptionCache.invalidate(objectId);
+        if (ServersInfoCache.isServersInfoObject(objectId)) {
+            serversInfoCache.invalidate();
+        }
+    }
+
     @Override
     public void destroy() {
         for (LwM2mObjectEnabler objectEnabler : objectEnablers.values()) {
@@ -163,6 +205,7 @@ public class LwM2mObjectTree implements Startable, Stoppable, Destroyable {
     protected class ObjectListenerDispatcher implements ObjectListener {
         @Override
         public void objectInstancesAdded(LwM2mObjectEnabler object, int... instanceIds) {
+            invalidateCaches(object.getId());
             for (ObjectsListener listener : listeners) {
                 listener.objectInstancesAdded(object, instanceIds);
             }
@@ -170,6 +213,7 @@ public class LwM2mObjectTree implements Startable, Stoppable, Destroyable {
 
         @Override
         public void objectInstancesRemoved(LwM2mObjectEnabler object, int... instanceIds) {
+            invalidateCaches(object.getId());
             for (ObjectsListener listener : listeners) {
                 listener.objectInstancesRemoved(object, instanceIds);
             }
@@ -177,6 +221,13 @@ public class LwM2mObjectTree implements Startable, Stoppable, Destroyable {
 
         @Override
         public void resourceChanged(LwM2mPath... paths) {
+            for (LwM2mPath path : paths) {
+                if (path.getObjectId() != null && ServersInfoCache.isServersInfoObject(path.getObjectId())) {
+                    // servers info is read from the resource values of those objects, the client description only
+                    // depends on instances so it stays valid
+                    serversInfoCache.invalidate();
+                }
+            }
             for (ObjectsListener listener : listeners) {
                 listener.resourceChanged(paths);
             }
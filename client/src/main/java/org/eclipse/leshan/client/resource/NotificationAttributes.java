@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.resource;
+
+import org.eclipse.leshan.core.link.lwm2m.attributes.LwM2mAttribute;
+
+/**
+ * The notification attributes (pmin, pmax, gt, lt, st) attached to a path by a Write-Attributes request.
+ * <p>
+ * This class is immutable, <code>null</code> means the attribute is not set.
+ */
+public class NotificationAttributes {
+
+    public static final NotificationAttributes EMPTY = new NotificationAttributes(null, null, null, null, null);
+
+    private final Long minPeriodInSec;
+    private final Long maxPeriodInSec;
+    private final Double greaterThan;
+    private final Double lessThan;
+    private final Double step;
+
+    public NotificationAttributes(Long minPeriodInSec, Long maxPeriodInSec, Double greaterThan, Double lessThan,
+            Double step) {
+        this.minPeriodInSec = minPeriodInSec;
+        this.maxPeriodInSec = maxPeriodInSec;
+        this.greaterThan = greaterThan;
+        this.lessThan = lessThan;
+        this.step = step;
+    }
+
+    public Long getMinPeriodInSec() {
+        return minPeriodInSec;
+    }
+
+    public Long getMaxPeriodInSec() {
+        return maxPeriodInSec;
+    }
+
+    public Double getGreaterThan() {
+        return greaterThan;
+    }
+
+    public Double getLessThan() {
+        return lessThan;
+    }
+
+    public Double getStep() {
+        return step;
+    }
+
+    public boolean isEmpty() {
+        return minPeriodInSec == null && maxPeriodInSec == null && !hasValueConditions();
+    }
+
+    /**
+     * @return <code>true</code> if a notification depends on the value of the resource (gt, lt or st).
+     */
+    public boolean hasValueConditions() {
+        return greaterThan != null || lessThan != null || step != null;
+    }
+
+    /**
+     * @return the attributes after applying the given ones: attributes with a value replace the current ones,
+     *         attributes without value (e.g. <code>pmin</code> instead of <code>pmin=10</code>) are removed.
+     * @throws IllegalArgumentException if an attribute is not a notification attribute.
+     */
+    public NotificationAttributes apply(Iterable<LwM2mAttribute<?>> attributes) {
+        Long pmin = minPeriodInSec;
+        Long pmax = maxPeriodInSec;
+        Double gt = greaterThan;
+        Double lt = lessThan;
+        Double st = step;
+        for (LwM2mAttribute<?> attribute : attributes) {
+            Number value = (Number) attribute.getValue();
+            switch (attribute.getName()) {
+            case "pmin":
+                pmin = value == null ? null : value.longValue();
+                break;
+            case "pmax":
+                pmax = value == null ? null : value.longValue();
+                break;
+            case "gt":
+                gt = value == null ? null : value.doubleValue();
+                break;
+            case "lt":
+                lt = value == null ? null : value.doubleValue();
+                break;
+            case "st":
+                st = value == null ? null : value.doubleValue();
+                break;
+            default:
+                throw new IllegalArgumentException(
+                        String.format("%s is not a notification attribute", attribute.getName()));
+            }
+        }
+        return new NotificationAttributes(pmin, pmax, gt, lt, st);
+    }
+
+    /**
+     * @return the attributes of a child path: attributes set on the child win, others are inherited from this one.
+     */
+    public NotificationAttributes inherit(NotificationAttributes child) {
+        return new NotificationAttributes(child.minPeriodInSec != null ? child.minPeriodInSec : minPeriodInSec,
+                child.maxPeriodInSec != null ? child.maxPeriodInSec : maxPeriodInSec,
+                child.greaterThan != null ? child.greaterThan : greaterThan,
+                child.lessThan != null ? child.lessThan : lessThan, child.step != null ? child.step : step);
+    }
+
+    /**
+     * @return an error message if those attributes are not consistent, <code>null</code> if they are valid.
+     */
+    public String validate() {
+        if (minPeriodInSec != null && minPeriodInSec < 0)
+            return "pmin must not be negative";
+        if (maxPeriodInSec != null && maxPeriodInSec <= 0)
+            return "pmax must be positive";
+        if (minPeriodInSec != null && maxPeriodInSec != null && minPeriodInSec > maxPeriodInSec)
+            return "pmin must not be greater than pmax";
+        if (step != null && step <= 0)
+            return "st must be positive";
+        if (greaterThan != null && lessThan != null
+                && lessThan + 2 * (step != null ? step : 0) >= greaterThan)
+            return "lt + 2 * st must be lower than gt";
+        return null;
+    }
+
+    /**
+     * @param lastValue the value sent in the last notification, <code>null</code> if unknown.
+     * @param value the new value.
+     * @return <code>true</code> if the change of value must be notified according to gt, lt and st.
+     */
+    public boolean isNotifiable(Double lastValue, double value) {
+        if (!hasValueConditions() || lastValue == null)
+            return true;
+        if (greaterThan != null && (lastValue > greaterThan) != (value > greaterThan))
+            return true;
+        if (lessThan != null && (lastValue < lessThan) != (value < lessThan))
+            return true;
+        return step != null && Math.abs(value - lastValue) >= step;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("NotificationAttributes [pmin=%s, pmax=%s, gt=%s, lt=%s, st=%s]", minPeriodInSec,
+                maxPeriodInSec, greaterThan, lessThan, step);
+    }
+}
@@ -0,0 +1,473 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.resource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.eclipse.leshan.client.resource.listener.ResourceListener;
+import org.eclipse.leshan.client.scheduler.TimingWheel;
+import org.eclipse.leshan.client.servers.ServerIdentity;
+import org.eclipse.leshan.core.Destroyable;
+import org.eclipse.leshan.core.node.LwM2mNode;
+import org.eclipse.leshan.core.node.LwM2mPath;
+import org.eclipse.leshan.core.node.LwM2mResource;
+import org.eclipse.leshan.core.request.ReadRequest;
+import org.eclipse.leshan.core.response.ReadResponse;
+import org.eclipse.leshan.core.util.Validate;
+
+/**
+ * Applies the notification attributes written by the server (pmin, pmax, gt, lt, st) to the resource changes of one
+ * object, like a real device does before sending notifications.
+ * <p>
+ * Changes which are not covered by an observation are forwarded immediately. For an observed path:
+ * <ul>
+ * <li>changes happening less than pmin after the last notification are kept and forwarded together when pmin is
+ * elapsed,</li>
+ * <li>when the observed path is a numeric resource, changes not crossing gt or lt and smaller than st are
+ * dropped,</li>
+ * <li>a change of the observed path is forwarded if nothing was notified during pmax.</li>
+ * </ul>
+ * Changes are forwarded to the given {@link ResourceListener}, which is in charge of sending notifications to the
+ * observations of the forwarded paths and of their parent paths. A change released by an observation is forwarded with
+ * the changed path, or with the observed path when an observation of a path in between is still holding the change, so
+ * it never bypasses the pmin or the value conditions of another observation. Observations of parent paths reached this
+ * way count as notified.
+ * <p>
+ * Attributes are not tracked by server: the registration engines only support one server.
+ * <p>
+ * This class is threadsafe. Listeners are never called while holding its lock.
+ */
+public class NotificationScheduler implements Destroyable {
+
+    private final LwM2mObjectEnabler objectEnabler;
+    private final TimingWheel timer;
+    private final ResourceListener sink;
+    private final LongSupplier nanoClock;
+
+    private final Map<LwM2mPath, NotificationAttributes> attributes = new HashMap<>();
+    private final Map<LwM2mPath, Observation> observations = new HashMap<>();
+    private volatile ObservationRegistry observationRegistry;
+
+    /**
+     * @param objectEnabler the object to read values from, for gt, lt and st.
+     * @param timer the timer used for pmin and pmax.
+     * @param sink the listener to which changes are forwarded.
+     */
+    public NotificationScheduler(LwM2mObjectEnabler objectEnabler, TimingWheel timer, ResourceListener sink) {
+        this(objectEnabler, timer, sink, new LongSupplier() {
+            @Override
+            public long getAsLong() {
+                return System.nanoTime();
+            }
+        });
+    }
+
+    NotificationScheduler(LwM2mObjectEnabler objectEnabler, TimingWheel timer, ResourceListener sink,
+            LongSupplier nanoClock) {
+        Validate.notNull(objectEnabler);
+        Validate.notNull(timer);
+        Validate.notNull(sink);
+        this.objectEnabler = objectEnabler;
+        this.timer = timer;
+        this.sink = sink;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Observations are cancelled through {@link #observationCancelled(LwM2mPath)}, but the transport may drop one
+     * without telling it (e.g. a reset answering a notification). With a registry, an observation is also forgotten
+     * when its pmin or pmax elapses while the registry has no observation of its path anymore, so its timers stop.
+     */
+    public void setObservationRegistry(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    /**
+     * @return the attributes written for this path, not the inherited ones.
+     */
+    public synchronized NotificationAttributes getAttributes(LwM2mPath path) {
+        NotificationAttributes pathAttributes = attributes.get(path);
+        return pathAttributes != null ? pathAttributes : NotificationAttributes.EMPTY;
+    }
+
+    public synchronized void setAttributes(LwM2mPath path, NotificationAttributes newAttributes) {
+        if (newAttributes.isEmpty()) {
+            attributes.remove(path);
+        } else {
+            attributes.put(path, newAttributes);
+        }
+        // attributes are inherited by observations of children paths
+        long now = nanoClock.getAsLong();
+        for (Observation observation : observations.values()) {
+            if (isParentOrSame(path, observation.path)) {
+                observation.attributes = getEffectiveAttributes(observation.path);
+                observation.schedulePmax(now);
+            }
+        }
+    }
+
+    /**
+     * @return the attributes which apply to this path, including the ones inherited from parent paths.
+     */
+    public synchronized NotificationAttributes getEffectiveAttributes(LwM2mPath path) {
+        NotificationAttributes effective = NotificationAttributes.EMPTY;
+        for (LwM2mPath level : getLevels(path)) {
+            NotificationAttributes levelAttributes = attributes.get(level);
+            if (levelAttributes != null)
+                effective = effective.inherit(levelAttributes);
+        }
+        return effective;
+    }
+
+    /**
+     * To be called when an observation is accepted, the observe response counts as a notification.
+     *
+     * @param path the observed path.
+     * @param content the content of the observe response.
+     */
+    public synchronized void observationStarted(LwM2mPath path, LwM2mNode content) {
+        Observation previous = observations.remove(path);
+        if (previous != null)
+            previous.cancelTimers();
+
+        Observation observation = new Observation(path, getEffectiveAttributes(path));
+        observation.lastNotification = nanoClock.getAsLong();
+        observation.lastValue = toNumber(content);
+        observations.put(path, observation);
+        observation.schedulePmax(observation.lastNotification);
+    }
+
+    public synchronized void observationCancelled(LwM2mPath path) {
+        Observation observation = observations.remove(path);
+        if (observation != null)
+            observation.cancelTimers();
+    }
+
+    public synchronized boolean isObserved(LwM2mPath path) {
+        return observations.containsKey(path);
+    }
+
+    /**
+     * Forget observations and attributes of removed instances.
+     */
+    public synchronized void instancesRemoved(int... instanceIds) {
+        for (int instanceId : instanceIds) {
+            for (Iterator<Observation> it = observations.values().iterator(); it.hasNext();) {
+                Observation observation = it.next();
+                if (observation.path.getObjectInstanceId() != null
+                        && observation.path.getObjectInstanceId() == instanceId) {
+                    observation.cancelTimers();
+                    it.remove();
+                }
+            }
+            for (Iterator<LwM2mPath> it = attributes.keySet().iterator(); it.hasNext();) {
+                LwM2mPath path = it.next();
+                if (path.getObjectInstanceId() != null && path.getObjectInstanceId() == instanceId)
+                    it.remove();
+            }
+        }
+    }
+
+    public void resourceChanged(LwM2mPath... paths) {
+        // values needed for gt, lt and st are read out of the lock, reading takes the lock of the object enabler
+        List<LwM2mPath> toRead;
+        synchronized (this) {
+            if (observations.isEmpty()) {
+                toRead = null;
+            } else {
+                toRead = new ArrayList<>();
+                for (Observation observation : observations.values()) {
+                    if (observation.hasValueConditions() && isCovered(observation, paths))
+                        toRead.add(observation.path);
+                }
+            }
+        }
+        if (toRead == null) {
+            sink.resourceChanged(paths);
+            return;
+        }
+        Map<LwM2mPath, Double> values = new HashMap<>();
+        for (LwM2mPath path : toRead) {
+            values.put(path, readValue(path));
+        }
+
+        Set<LwM2mPath> toForward = new LinkedHashSet<>();
+        synchronized (this) {
+            long now = nanoClock.getAsLong();
+            Set<LwM2mPath> uncovered = new LinkedHashSet<>(Arrays.asList(paths));
+            Map<Observation, Set<LwM2mPath>> released = new LinkedHashMap<>();
+            for (Observation observation : observations.values()) {
+                List<LwM2mPath> covered = new ArrayList<>();
+                for (LwM2mPath path : paths) {
+                    if (isParentOrSame(observation.path, path) || isParentOrSame(path, observation.path))
+                        covered.add(path);
+                }
+                if (!covered.isEmpty()) {
+                    uncovered.removeAll(covered);
+                    observation.changed(covered, values.get(observation.path), now, released);
+                }
+            }
+            toForward.addAll(uncovered);
+            toForward.addAll(toPaths(released, now));
+        }
+        forward(toForward);
+    }
+
+    @Override
+    public synchronized void destroy() {
+        for (Observation observation : observations.values()) {
+            observation.cancelTimers();
+        }
+        observations.clear();
+        attributes.clear();
+    }
+
+    private void pminElapsed(Observation observation) {
+        Set<LwM2mPath> toForward;
+        synchronized (this) {
+            if (observations.get(observation.path) != observation || forgetIfUnobserved(observation))
+                return;
+            observation.pminTimeout = null;
+            if (observation.pending.isEmpty())
+                return;
+            long now = nanoClock.getAsLong();
+            toForward = toPaths(Collections.singletonMap(observation, observation.sendPending(now)), now);
+        }
+        forward(toForward);
+    }
+
+    private void pmaxElapsed(Observation observation) {
+        Set<LwM2mPath> toForward;
+        synchronized (this) {
+            if (observations.get(observation.path) != observation || forgetIfUnobserved(observation))
+                return;
+            observation.pmaxTimeout = null;
+            // pending changes are sent when pmin is elapsed
+            if (observation.pminTimeout != null)
+                return;
+            long now = nanoClock.getAsLong();
+            observation.pending.add(observation.path);
+            toForward = toPaths(Collections.singletonMap(observation, observation.sendPending(now)), now);
+        }
+        forward(toForward);
+    }
+
+    // guarded by the lock
+    private boolean forgetIfUnobserved(Observation observation) {
+        ObservationRegistry registry = observationRegistry;
+        if (registry == null || registry.getObservationCount(observation.path) > 0)
+            return false;
+        observations.remove(observation.path);
+        observation.cancelTimers();
+        return true;
+    }
+
+    // guarded by the lock, get the paths to forward for the changes released by observations
+    private Set<LwM2mPath> toPaths(Map<Observation, Set<LwM2mPath>> released, long now) {
+        Set<LwM2mPath> toForward = new LinkedHashSet<>();
+        for (Map.Entry<Observation, Set<LwM2mPath>> entry : released.entrySet()) {
+            LwM2mPath observedPath = entry.getKey().path;
+            for (LwM2mPath changedPath : entry.getValue()) {
+                // the path of a change reaches observations of its parent paths, including children of this observation
+                if (isParentOrSame(observedPath, changedPath) && !isHeld(observedPath, changedPath, released)) {
+                    toForward.add(changedPath);
+                } else {
+                    toForward.add(observedPath);
+                }
+            }
+        }
+        // observations of parent paths are notified too, their content includes the forwarded changes
+        for (Observation observation : observations.values()) {
+            if (!released.containsKey(observation) && isParentOrSame(observation.path, toForward))
+                observation.sendPending(now);
+        }
+        return toForward;
+    }
+
+    private boolean isHeld(LwM2mPath observedPath, LwM2mPath changedPath, Map<Observation, Set<LwM2mPath>> released) {
+        for (Observation observation : observations.values()) {
+            if (!released.containsKey(observation) && !observation.path.equals(observedPath)
+                    && isParentOrSame(observedPath, observation.path)
+                    && isParentOrSame(observation.path, changedPath))
+                return true;
+        }
+        return false;
+    }
+
+    private void forward(Set<LwM2mPath> paths) {
+        if (!paths.isEmpty())
+            sink.resourceChanged(paths.toArray(new LwM2mPath[paths.size()]));
+    }
+
+    private Double readValue(LwM2mPath resourcePath) {
+        ReadResponse response = objectEnabler.read(ServerIdentity.SYSTEM, new ReadRequest(
+                resourcePath.getObjectId(), resourcePath.getObjectInstanceId(), resourcePath.getResourceId()));
+        return response.isSuccess() ? toNumber(response.getContent()) : null;
+    }
+
+    private static Double toNumber(LwM2mNode node) {
+        if (node instanceof LwM2mResource && !((LwM2mResource) node).isMultiInstances()) {
+            Object value = ((LwM2mResource) node).getValue();
+            if (value instanceof Number)
+                return ((Number) value).doubleValue();
+        }
+        return null;
+    }
+
+    private static boolean isParentOrSame(LwM2mPath parent, Set<LwM2mPath> children) {
+        for (LwM2mPath child : children) {
+            if (isParentOrSame(parent, child))
+                return true;
+        }
+        return false;
+    }
+
+    private static boolean isCovered(Observation observation, LwM2mPath[] paths) {
+        for (LwM2mPath path : paths) {
+            if (isParentOrSame(observation.path, path) || isParentOrSame(path, observation.path))
+                return true;
+        }
+        return false;
+    }
+
+    static boolean isParentOrSame(LwM2mPath parent, LwM2mPath child) {
+        return matches(parent.getObjectId(), child.getObjectId())
+                && matches(parent.getObjectInstanceId(), child.getObjectInstanceId())
+                && matches(parent.getResourceId(), child.getResourceId())
+                && matches(parent.getResourceInstanceId(), child.getResourceInstanceId());
+    }
+
+    private static boolean matches(Integer parentId, Integer childId) {
+        // an undefined id in the parent matches anything
+        return parentId == null || parentId.equals(childId);
+    }
+
+    private static List<LwM2mPath> getLevels(LwM2mPath path) {
+        List<LwM2mPath> levels = new ArrayList<>(4);
+        if (path.getObjectId() == null)
+            return levels;
+        levels.add(new LwM2mPath(path.getObjectId()));
+        if (path.getObjectInstanceId() == null)
+            return levels;
+        levels.add(new LwM2mPath(path.getObjectId(), path.getObjectInstanceId()));
+        if (path.getResourceId() == null)
+            return levels;
+        levels.add(new LwM2mPath(path.getObjectId(), path.getObjectInstanceId(), path.getResourceId()));
+        if (path.getResourceInstanceId() != null)
+            levels.add(path);
+        return levels;
+    }
+
+    /**
+     * State of an observed path, guarded by the lock of the scheduler.
+     */
+    private class Observation {
+        private final LwM2mPath path;
+        private NotificationAttributes attributes;
+        private long lastNotification;
+        private Double lastValue;
+        private Double pendingValue;
+        private final Set<LwM2mPath> pending = new LinkedHashSet<>();
+        private TimingWheel.Timeout pminTimeout;
+        private TimingWheel.Timeout pmaxTimeout;
+
+        private Observation(LwM2mPath path, NotificationAttributes attributes) {
+            this.path = path;
+            this.attributes = attributes;
+        }
+
+        private boolean hasValueConditions() {
+            // gt, lt and st only apply to a single numeric resource
+            return path.isResource() && attributes.hasValueConditions();
+        }
+
+        private void changed(List<LwM2mPath> changedPaths, Double value, long now,
+                Map<Observation, Set<LwM2mPath>> released) {
+            if (hasValueConditions() && value != null) {
+                if (!attributes.isNotifiable(lastValue, value))
+                    return;
+                pendingValue = value;
+            }
+            pending.addAll(changedPaths);
+
+            long minPeriod = attributes.getMinPeriodInSec() == null ? 0
+                    : TimeUnit.SECONDS.toNanos(attributes.getMinPeriodInSec());
+            long elapsed = now - lastNotification;
+            if (elapsed >= minPeriod) {
+                released.put(this, sendPending(now));
+            } else if (pminTimeout == null) {
+                pminTimeout = timer.schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        pminElapsed(Observation.this);
+                    }
+                }, minPeriod - elapsed, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private Set<LwM2mPath> sendPending(long now) {
+            Set<LwM2mPath> sent = new LinkedHashSet<>(pending);
+            pending.clear();
+            lastNotification = now;
+            if (pendingValue != null) {
+                lastValue = pendingValue;
+                pendingValue = null;
+            }
+            if (pminTimeout != null) {
+                pminTimeout.cancel();
+                pminTimeout = null;
+            }
+            schedulePmax(now);
+            return sent;
+        }
+
+        private void schedulePmax(long now) {
+            if (pmaxTimeout != null) {
+                pmaxTimeout.cancel();
+                pmaxTimeout = null;
+            }
+            if (attributes.getMaxPeriodInSec() == null)
+                return;
+            long maxPeriod = TimeUnit.SECONDS.toNanos(attributes.getMaxPeriodInSec());
+            pmaxTimeout = timer.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    pmaxElapsed(Observation.this);
+                }
+            }, Math.max(0, maxPeriod - (now - lastNotification)), TimeUnit.NANOSECONDS);
+        }
+
+        private void cancelTimers() {
+            if (pminTimeout != null)
+                pminTimeout.cancel();
+            if (pmaxTimeout != null)
+                pmaxTimeout.cancel();
+            pminTimeout = null;
+            pmaxTimeout = null;
+        }
+    }
+}
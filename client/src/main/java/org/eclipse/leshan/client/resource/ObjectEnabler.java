@@ -29,6 +29,7 @@ import org.eclipse.leshan.client.LwM2mClient;
 import org.eclipse.leshan.client.resource.listener.ResourceListener;
 import org.eclipse.leshan.client.servers.ServerIdentity;
 import org.eclipse.leshan.client.servers.ServersInfoExtractor;
+import org.eclipse.leshan.client.util.SortedIntList;
 import org.eclipse.leshan.core.Destroyable;
 import org.eclipse.leshan.core.LwM2mId;
 import org.eclipse.leshan.core.Startable;
@@ -77,6 +78,8 @@ public class ObjectEnabler extends BaseObjectEnabler implements Destroyable, Sta
     protected Map<Integer, LwM2mInstanceEnabler> instances;
     protected LwM2mInstanceEnablerFactory instanceFactory;
     protected ContentFormat defaultContentFormat;
+    // sorted ids of instances, updated each time an instance is added or removed
+    protected volatile SortedIntList instanceIds;
 
     public ObjectEnabler(int id, ObjectModel objectModel, Map<Integer, LwM2mInstanceEnabler> instances,
             LwM2mInstanceEnablerFactory instanceFactory, ContentFormat defaultContentFormat) {
@@ -88,13 +91,16 @@ public class ObjectEnabler extends BaseObjectEnabler implements Destroyable, Sta
             instances.put(entry.getKey(), entry.getValue());
             listenInstance(entry.getValue(), entry.getKey());
         }
+        this.instanceIds = SortedIntList.of(this.instances.keySet());
     }
 
+    /**
+     * @return the sorted ids of available instances. The returned list is shared and immutable, it is only built again
+     *         when instances are added or removed.
+     */
     @Override
-    public synchronized List<Integer> getAvailableInstanceIds() {
-        List<Integer> ids = new ArrayList<>(instances.keySet());
-        Collections.sort(ids);
-        return ids;
+    public List<Integer> getAvailableInstanceIds() {
+        return instanceIds;
     }
 
     @Override
@@ -479,6 +485,19 @@ public class ObjectEnabler extends BaseObjectEnabler implements Destroyable, Sta
         return BootstrapDeleteResponse.badRequest(String.format("unexcepted path %s", request.getPath()));
     }
 
+    @Override
+    protected void fireInstancesAdded(int... instanceIds) {
+        // all changes of the instances map are followed by an event
+        this.instanceIds = SortedIntList.of(instances.keySet());
+        super.fireInstancesAdded(instanceIds);
+    }
+
+    @Override
+    protected void fireInstancesRemoved(int... instanceIds) {
+        this.instanceIds = SortedIntList.of(instances.keySet());
+        super.fireInstancesRemoved(instanceIds);
+    }
+
     protected void listenInstance(LwM2mInstanceEnabler instance, final int instanceId) {
         instance.addResourceListener(new ResourceListener() {
             @Override
@@ -531,6 +550,10 @@ public class ObjectEnabler extends BaseObjectEnabler implements Destroyable, Sta
                 ((Stoppable) instanceEnabler).stop();
             }
         }
+        NotificationScheduler scheduler = notificationScheduler;
+        if (scheduler != null) {
+            scheduler.destroy();
+        }
     }
 
     @Override
@@ -22,6 +22,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.eclipse.leshan.client.scheduler.TimingWheel;
 import org.eclipse.leshan.core.model.LwM2mModel;
 import org.eclipse.leshan.core.model.ObjectLoader;
 import org.eclipse.leshan.core.model.ObjectModel;
@@ -60,6 +61,8 @@ public class ObjectsInitializer {
     protected Map<Integer, LwM2mInstanceEnabler[]> instances = new HashMap<>();
     protected Map<Integer, ContentFormat> defaultContentFormat = new HashMap<>();
     protected LwM2mModel model;
+    protected boolean readWriteLocking = false;
+    protected TimingWheel notificationTimer;
 
     /**
      * Create an object initializer using a {@link StaticModel} containing all the
@@ -90,7 +93,6 @@ public class ObjectsInitializer {
      * {@link LwM2mInstanceEnabler} on {@link CreateRequest}.
      */
     public void setFactoryForObject(int objectId, LwM2mInstanceEnablerFactory factory) {
-        System.out.println(model.getObjectModel(objectId));
         if (model.getObjectModel(objectId) == null) {
             throw new IllegalArgumentException(
                     "Cannot set Instance Factory for Object " + objectId + " because no model is defined for this id.");
@@ -125,7 +127,6 @@ public class ObjectsInitializer {
      * instances.
      */
     public void setInstancesForObject(int objectId, LwM2mInstanceEnabler... instances) {
-        System.out.println(instances[objectId]);
         ObjectModel objectModel = model.getObjectModel(objectId);
         if (objectModel == null) {
             throw new IllegalArgumentException(
@@ -191,6 +192,23 @@ public class ObjectsInitializer {
         defaultContentFormat.put(objectId, format);
     }
 
+    /**
+     * Create {@link ReadWriteLockObjectEnabler} instead of {@link ObjectEnabler}, so reads of an object (e.g. by the
+     * server, the data sender and notifications) run concurrently. Instance enablers must then support concurrent
+     * reads.
+     */
+    public void setReadWriteLocking(boolean readWriteLocking) {
+        this.readWriteLocking = readWriteLocking;
+    }
+
+    /**
+     * Support write attributes requests on created objects: notification attributes (pmin, pmax, gt, lt, st) are
+     * applied to resource changes using this timer. <code>null</code> (the default) to not support them.
+     */
+    public void setNotificationTimer(TimingWheel notificationTimer) {
+        this.notificationTimer = notificationTimer;
+    }
+
     /**
      * Create an {@link LwM2mObjectEnabler} for each object to which you associated
      * an "instances", "object class" or
@@ -207,8 +225,6 @@ public class ObjectsInitializer {
         ids.addAll(factories.keySet());
         ids.addAll(instances.keySet());
 
-        System.out.println(ids);
-
         // create objects
         int[] idArray = new int[ids.size()];
         int i = 0;
@@ -264,8 +280,6 @@ public class ObjectsInitializer {
         if (instanceFactory != null)
             return instanceFactory;
 
-        System.out.println("objectmodel" + objectModel.name + " " + objectModel.id);
-
         // if there are no factory for this object check in instance list.
         LwM2mInstanceEnabler[] instances = this.instances.get(objectModel.id);
         if (instances != null) {
@@ -286,12 +300,10 @@ public class ObjectsInitializer {
     }
 
     protected LwM2mObjectEnabler createNodeEnabler(ObjectModel objectModel) {
-        System.out.println("Create object enabler...");
         Map<Integer, LwM2mInstanceEnabler> instances = new HashMap<>();
         LwM2mInstanceEnabler[] newInstances = createInstances(objectModel);
         for (LwM2mInstanceEnabler instance : newInstances) {
             // set id if not already set
-            System.out.println(instances.keySet());
             if (instance.getId() == null) {
                 int id = BaseInstanceEnablerFactory.generateNewInstanceId(instances.keySet());
                 instance.setId(id);
@@ -299,8 +311,18 @@ public class ObjectsInitializer {
             instance.setModel(objectModel);
             instances.put(instance.getId(), instance);
         }
-        return new ObjectEnabler(objectModel.id, objectModel, instances, getFactoryFor(objectModel),
-                getContentFormat(objectModel.id));
+        ObjectEnabler objectEnabler;
+        if (readWriteLocking) {
+            objectEnabler = new ReadWriteLockObjectEnabler(objectModel.id, objectModel, instances,
+                    getFactoryFor(objectModel), getContentFormat(objectModel.id));
+        } else {
+            objectEnabler = new ObjectEnabler(objectModel.id, objectModel, instances, getFactoryFor(objectModel),
+                    getContentFormat(objectModel.id));
+        }
+        if (notificationTimer != null) {
+            objectEnabler.enableNotificationAttributes(notificationTimer);
+        }
+        return objectEnabler;
     }
 
     protected ContentFormat getContentFormat(int id) {
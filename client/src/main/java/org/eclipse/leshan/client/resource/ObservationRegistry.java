@@ -0,0 +1,258 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.resource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.leshan.client.observer.LwM2mClientObserver;
+import org.eclipse.leshan.client.observer.LwM2mClientObserverAdapter;
+import org.eclipse.leshan.client.resource.listener.ObservationListener;
+import org.eclipse.leshan.client.servers.ServerIdentity;
+import org.eclipse.leshan.core.node.LwM2mPath;
+import org.eclipse.leshan.core.request.DeregisterRequest;
+import org.eclipse.leshan.core.request.RegisterRequest;
+import org.eclipse.leshan.core.util.Validate;
+
+/**
+ * Observations accepted by a client, indexed by token and by observed path.
+ * <p>
+ * The registry is fed by the {@link org.eclipse.leshan.client.request.DefaultDownlinkReceiver} when observe and cancel
+ * observation requests are handled. Instance enablers can use {@link #isObserved(LwM2mPath)} to avoid computing values
+ * nobody will receive.
+ * <p>
+ * Observations are identified by token when the transport gives it, else by observed paths. Observations cancelled
+ * by the transport without cancel request (e.g. a reset answering a notification) are only forgotten when the client
+ * registers again or stops.
+ * <p>
+ * This class is threadsafe: {@link #isObserved(LwM2mPath)} does not take any lock.
+ */
+public class ObservationRegistry {
+
+    // guarded by this
+    private final Map<Key, List<LwM2mPath>> observations = new HashMap<>();
+    // number of observations by observed path, written while holding the lock of this registry
+    private final Map<LwM2mPath, Integer> observedPaths = new ConcurrentHashMap<>();
+    private volatile int observationCount;
+    private final List<ObservationListener> listeners = new CopyOnWriteArrayList<>();
+
+    public void addListener(ObservationListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(ObservationListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Record an accepted observation, an observation with the same token (or the same paths without token) is
+     * replaced.
+     *
+     * @param token the token of the observe request, <code>null</code> if unknown.
+     * @param paths the observed paths.
+     */
+    public void observationStarted(ServerIdentity server, Object token, List<LwM2mPath> paths) {
+        Validate.notNull(server);
+        Validate.notEmpty(paths);
+        List<LwM2mPath> observed = Collections.unmodifiableList(new ArrayList<>(paths));
+        Key key = new Key(server, token != null ? token : observed);
+        List<LwM2mPath> previous;
+        synchronized (this) {
+            previous = observations.put(key, observed);
+            if (previous != null)
+                removePaths(previous);
+            addPaths(observed);
+            observationCount = observations.size();
+        }
+        if (previous != null)
+            fireCancelled(server, previous);
+        for (ObservationListener listener : listeners) {
+            listener.observationStarted(server, observed);
+        }
+    }
+
+    /**
+     * Forget an observation cancelled by the server.
+     *
+     * @param token the token of the cancel request, <code>null</code> if unknown.
+     * @param paths the paths of the cancel request, used when there is no token.
+     * @return the paths which were observed, an empty list if this observation is unknown.
+     */
+    public List<LwM2mPath> observationCancelled(ServerIdentity server, Object token, List<LwM2mPath> paths) {
+        Validate.notNull(server);
+        if (token == null && paths == null)
+            return Collections.emptyList();
+        Key key = new Key(server, token != null ? token : paths);
+        List<LwM2mPath> cancelled;
+        synchronized (this) {
+            cancelled = observations.remove(key);
+            if (cancelled == null)
+                return Collections.emptyList();
+            removePaths(cancelled);
+            observationCount = observations.size();
+        }
+        fireCancelled(server, cancelled);
+        return cancelled;
+    }
+
+    /**
+     * Forget all observations of the given server, e.g. because the client registered again.
+     */
+    public void clear(ServerIdentity server) {
+        List<List<LwM2mPath>> cancelled = new ArrayList<>();
+        synchronized (this) {
+            for (Iterator<Entry<Key, List<LwM2mPath>>> it = observations.entrySet().iterator(); it.hasNext();) {
+                Entry<Key, List<LwM2mPath>> entry = it.next();
+                if (entry.getKey().server.equals(server)) {
+                    cancelled.add(entry.getValue());
+                    removePaths(entry.getValue());
+                    it.remove();
+                }
+            }
+            observationCount = observations.size();
+        }
+        for (List<LwM2mPath> paths : cancelled) {
+            fireCancelled(server, paths);
+        }
+    }
+
+    /**
+     * @return an observer forgetting the observations of a server when the client registers again or deregisters.
+     *         Observations are forgotten as soon as the register request is sent, the server may observe the new
+     *         registration before its response is handled.
+     */
+    public LwM2mClientObserver createClientObserver() {
+        return new LwM2mClientObserverAdapter() {
+            @Override
+            public void onRegistrationStarted(ServerIdentity server, RegisterRequest request) {
+                clear(server);
+            }
+
+            @Override
+            public void onDeregistrationSuccess(ServerIdentity server, DeregisterRequest request) {
+                clear(server);
+            }
+        };
+    }
+
+    /**
+     * Forget all observations, e.g. because the client stopped.
+     */
+    public void clear() {
+        Map<Key, List<LwM2mPath>> cancelled;
+        synchronized (this) {
+            cancelled = new HashMap<>(observations);
+            observations.clear();
+            observedPaths.clear();
+            observationCount = 0;
+        }
+        for (Entry<Key, List<LwM2mPath>> entry : cancelled.entrySet()) {
+            fireCancelled(entry.getKey().server, entry.getValue());
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the given path or one of its parents is observed.
+     */
+    public boolean isObserved(LwM2mPath path) {
+        if (observedPaths.isEmpty())
+            return false;
+        if (observedPaths.containsKey(path))
+            return true;
+        if (path.getObjectId() == null)
+            return false;
+        if (!path.isObject() && observedPaths.containsKey(new LwM2mPath(path.getObjectId())))
+            return true;
+        if (path.getResourceId() == null)
+            return false;
+        if (observedPaths.containsKey(new LwM2mPath(path.getObjectId(), path.getObjectInstanceId())))
+            return true;
+        return path.isResourceInstance() && observedPaths
+                .containsKey(new LwM2mPath(path.getObjectId(), path.getObjectInstanceId(), path.getResourceId()));
+    }
+
+    /**
+     * @return the number of active observations of exactly this path.
+     */
+    public int getObservationCount(LwM2mPath path) {
+        Integer count = observedPaths.get(path);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * @return the number of active observations, a composite observation counts as one.
+     */
+    public int getObservationCount() {
+        return observationCount;
+    }
+
+    private void addPaths(List<LwM2mPath> paths) {
+        for (LwM2mPath path : paths) {
+            Integer count = observedPaths.get(path);
+            observedPaths.put(path, count == null ? 1 : count + 1);
+        }
+    }
+
+    private void removePaths(List<LwM2mPath> paths) {
+        for (LwM2mPath path : paths) {
+            Integer count = observedPaths.get(path);
+            if (count == null || count <= 1) {
+                observedPaths.remove(path);
+            } else {
+                observedPaths.put(path, count - 1);
+            }
+        }
+    }
+
+    private void fireCancelled(ServerIdentity server, List<LwM2mPath> paths) {
+        for (ObservationListener listener : listeners) {
+            listener.observationCancelled(server, paths);
+        }
+    }
+
+    private static final class Key {
+        private final ServerIdentity server;
+        // the token or the observed paths
+        private final Object id;
+
+        private Key(ServerIdentity server, Object id) {
+            this.server = server;
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * server.hashCode() + id.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj)
+                return true;
+            if (!(obj instanceof Key))
+                return false;
+            Key other = (Key) obj;
+            return server.equals(other.server) && id.equals(other.id);
+        }
+    }
+}
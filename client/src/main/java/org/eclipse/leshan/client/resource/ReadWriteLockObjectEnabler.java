@@ -0,0 +1,304 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.resource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.eclipse.leshan.client.servers.ServerIdentity;
+import org.eclipse.leshan.core.model.ObjectModel;
+import org.eclipse.leshan.core.request.BootstrapDeleteRequest;
+import org.eclipse.leshan.core.request.BootstrapDiscoverRequest;
+import org.eclipse.leshan.core.request.BootstrapReadRequest;
+import org.eclipse.leshan.core.request.BootstrapWriteRequest;
+import org.eclipse.leshan.core.request.ContentFormat;
+import org.eclipse.leshan.core.request.CreateRequest;
+import org.eclipse.leshan.core.request.DeleteRequest;
+import org.eclipse.leshan.core.request.DiscoverRequest;
+import org.eclipse.leshan.core.request.ExecuteRequest;
+import org.eclipse.leshan.core.request.ObserveRequest;
+import org.eclipse.leshan.core.request.ReadRequest;
+import org.eclipse.leshan.core.request.WriteAttributesRequest;
+import org.eclipse.leshan.core.request.WriteRequest;
+import org.eclipse.leshan.core.response.BootstrapDeleteResponse;
+import org.eclipse.leshan.core.response.BootstrapDiscoverResponse;
+import org.eclipse.leshan.core.response.BootstrapReadResponse;
+import org.eclipse.leshan.core.response.BootstrapWriteResponse;
+import org.eclipse.leshan.core.response.CreateResponse;
+import org.eclipse.leshan.core.response.DeleteResponse;
+import org.eclipse.leshan.core.response.DiscoverResponse;
+import org.eclipse.leshan.core.response.ExecuteResponse;
+import org.eclipse.leshan.core.response.ObserveResponse;
+import org.eclipse.leshan.core.response.ReadResponse;
+import org.eclipse.leshan.core.response.WriteAttributesResponse;
+import org.eclipse.leshan.core.response.WriteResponse;
+
+/**
+ * An {@link ObjectEnabler} which lets read operations (read, observe, discover, instance lookups) run concurrently.
+ * <p>
+ * {@link ObjectEnabler} serializes all operations on the object monitor. Here read operations only take the read lock
+ * of a {@link ReentrantReadWriteLock} while operations which could modify the object (create, write, delete, execute,
+ * transactions) take the write lock then the object monitor as before. As events are fired while the write lock is
+ * held, the transactional listener semantics are unchanged.
+ * <p>
+ * The write lock is always acquired before the object monitor, so the monitor must not be taken directly by
+ * subclasses.
+ * <p>
+ * Instance enablers of this object must support concurrent reads.
+ */
+public class ReadWriteLockObjectEnabler extends ObjectEnabler {
+
+    protected final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ReadWriteLockObjectEnabler(int id, ObjectModel objectModel, Map<Integer, LwM2mInstanceEnabler> instances,
+            LwM2mInstanceEnablerFactory instanceFactory, ContentFormat defaultContentFormat) {
+        super(id, objectModel, instances, instanceFactory, defaultContentFormat);
+    }
+
+    // ------------------------------------------------------------------------------------------------------------
+    // Read operations, executed concurrently under the read lock
+    // ------------------------------------------------------------------------------------------------------------
+
+    @Override
+    public int getId() {
+        return id;
+    }
+
+    @Override
+    public ObjectModel getObjectModel() {
+        return objectModel;
+    }
+
+    @Override
+    public List<Integer> getAvailableResourceIds(int instanceId) {
+        lock.readLock().lock();
+        try {
+            LwM2mInstanceEnabler instanceEnabler = instances.get(instanceId);
+            if (instanceEnabler != null) {
+                return instanceEnabler.getAvailableResourceIds(getObjectModel());
+            } else {
+                return Collections.emptyList();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public LwM2mInstanceEnabler getInstance(int instanceId) {
+        lock.readLock().lock();
+        try {
+            return instances.get(instanceId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public ReadResponse read(ServerIdentity identity, ReadRequest request) {
+        lock.readLock().lock();
+        try {
+            return handleRead(identity, request);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<ReadResponse> readAll(ServerIdentity identity, List<ReadRequest> requests) {
+        lock.readLock().lock();
+        try {
+            List<ReadResponse> responses = new ArrayList<>(requests.size());
+            for (ReadRequest request : requests) {
+                responses.add(handleRead(identity, request));
+            }
+            return responses;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public BootstrapReadResponse read(ServerIdentity identity, BootstrapReadRequest request) {
+        lock.readLock().lock();
+        try {
+            return super.read(identity, request);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public ObserveResponse observe(ServerIdentity identity, ObserveRequest request) {
+        lock.readLock().lock();
+        try {
+            return handleObserve(identity, request);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<ObserveResponse> observeAll(ServerIdentity identity, List<ObserveRequest> requests) {
+        lock.readLock().lock();
+        try {
+            List<ObserveResponse> responses = new ArrayList<>(requests.size());
+            for (ObserveRequest request : requests) {
+                responses.add(handleObserve(identity, request));
+            }
+            return responses;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public DiscoverResponse discover(ServerIdentity identity, DiscoverRequest request) {
+        lock.readLock().lock();
+        try {
+            return handleDiscover(identity, request);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public BootstrapDiscoverResponse discover(ServerIdentity identity, BootstrapDiscoverRequest request) {
+        lock.readLock().lock();
+        try {
+            return handleDiscover(identity, request);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ------------------------------------------------------------------------------------------------------------
+    // Write operations, executed exclusively under the write lock then the object monitor
+    // ------------------------------------------------------------------------------------------------------------
+
+    @Override
+    public CreateResponse create(ServerIdentity identity, CreateRequest request) {
+        lock.writeLock().lock();
+        try {
+            return super.create(identity, request);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public WriteResponse write(ServerIdentity identity, WriteRequest request) {
+        lock.writeLock().lock();
+        try {
+            return super.write(identity, request);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public BootstrapWriteResponse write(ServerIdentity identity, BootstrapWriteRequest request) {
+        lock.writeLock().lock();
+        try {
+            return super.write(identity, request);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public DeleteResponse delete(ServerIdentity identity, DeleteRequest request) {
+        lock.writeLock().lock();
+        try {
+            return super.delete(identity, request);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public BootstrapDeleteResponse delete(ServerIdentity identity, BootstrapDeleteRequest request) {
+        lock.writeLock().lock();
+        try {
+            return super.delete(identity, request);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public ExecuteResponse execute(ServerIdentity identity, ExecuteRequest request) {
+        lock.writeLock().lock();
+        try {
+            return super.execute(identity, request);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public WriteAttributesResponse writeAttributes(ServerIdentity identity, WriteAttributesRequest request) {
+        lock.writeLock().lock();
+        try {
+            return super.writeAttributes(identity, request);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void addInstance(int instanceId, LwM2mInstanceEnabler newInstance) {
+        lock.writeLock().lock();
+        try {
+            super.addInstance(instanceId, newInstance);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public LwM2mInstanceEnabler removeInstance(int instanceId) {
+        lock.writeLock().lock();
+        try {
+            return super.removeInstance(instanceId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void beginTransaction(byte level) {
+        lock.writeLock().lock();
+        try {
+            super.beginTransaction(level);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void endTransaction(byte level) {
+        lock.writeLock().lock();
+        try {
+            super.endTransaction(level);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -16,13 +16,19 @@
  *******************************************************************************/
 package org.eclipse.leshan.client.resource;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
 
 import org.eclipse.leshan.client.resource.listener.ObjectsListener;
 import org.eclipse.leshan.client.servers.ServerIdentity;
+import org.eclipse.leshan.core.LwM2mId;
 import org.eclipse.leshan.core.model.LwM2mModel;
 import org.eclipse.leshan.core.model.ObjectModel;
 import org.eclipse.leshan.core.model.ResourceModel;
@@ -74,40 +80,49 @@ public class RootEnabler implements LwM2mRootEnabler {
     @Override
     public ReadCompositeResponse read(ServerIdentity identity, ReadCompositeRequest request) {
         List<LwM2mPath> paths = request.getPaths();
-        if (paths.size() == 1 && paths.get(0).isRoot()) {
-            // TODO implement read for "/" use case.
-            return ReadCompositeResponse.internalServerError("Not implemented yet");
-        }
+        Map<Integer, List<LwM2mPath>> pathsByObject = groupByObject(identity, paths);
 
-        // Read Nodes
-        Map<LwM2mPath, LwM2mNode> content = new HashMap<>();
+        // Read Nodes, each object is read once
+        Map<LwM2mPath, LwM2mNode> content = new LinkedHashMap<>(capacityFor(pathsByObject));
         boolean isEmpty = true; // true if don't succeed to read any of requested path
-        for (LwM2mPath path : paths) {
-            // Get corresponding object enabler
-            Integer objectId = path.getObjectId();
+        for (Entry<Integer, List<LwM2mPath>> entry : pathsByObject.entrySet()) {
+            Integer objectId = entry.getKey();
+            List<LwM2mPath> objectPaths = entry.getValue();
             LwM2mObjectEnabler objectEnabler = tree.getObjectEnabler(objectId);
 
-            LwM2mNode node = null;
+            List<? extends ReadResponse> responses = null;
             if (objectEnabler != null) {
-                ReadResponse response = objectEnabler.read(identity,
-                        new ReadRequest(request.getResponseContentFormat(), path, request.getCoapRequest()));
-                if (response.isSuccess()) {
-                    node = response.getContent();
-                    isEmpty = false;
-                } else {
-                    LOG.debug("Server {} try to read node {} in a Read-Composite Request {} but it failed for {} {}",
-                            identity, path, paths, response.getCode(), response.getErrorMessage());
+                List<ReadRequest> requests = new ArrayList<>(objectPaths.size());
+                for (LwM2mPath path : objectPaths) {
+                    requests.add(new ReadRequest(request.getResponseContentFormat(), path, request.getCoapRequest()));
                 }
+                responses = readAll(identity, objectEnabler, requests);
             } else {
-                LOG.debug(
-                        "Server {} try to read node {} in a Read-Composite Request {} but it failed because Object {} is not supported",
-                        identity, path, paths, objectId);
+                LOG.debug("Server {} try to read nodes {} in a Read-Composite Request {} but it failed because "
+                        + "Object {} is not supported", identity, objectPaths, paths, objectId);
+            }
+
+            for (int i = 0; i < objectPaths.size(); i++) {
+                LwM2mPath path = objectPaths.get(i);
+                LwM2mNode node = null;
+                if (responses != null) {
+                    ReadResponse response = responses.get(i);
+                    if (response.isSuccess()) {
+                        node = response.getContent();
+                        isEmpty = false;
+                    } else {
+                        LOG.debug(
+                                "Server {} try to read node {} in a Read-Composite Request {} but it failed for {} {}",
+                                identity, path, paths, response.getCode(), response.getErrorMessage());
+                    }
+                }
+                // LWM2M specification says that "Read-Composite operation is treated as
+                // non-atomic and handled as best effort by the client. That is, if any of the requested resources do
+                // not have a valid value to return, they will not be included in the response".
+                // So If we are not able to read a node (error or not supported we just ignore it) and add NULL to the
+                // list.
+                content.put(path, node);
             }
-            // LWM2M specification says that "Read-Composite operation is treated as
-            // non-atomic and handled as best effort by the client. That is, if any of the requested resources do not
-            // have a valid value to return, they will not be included in the response".
-            // So If we are not able to read a node (error or not supported we just ignore it) and add NULL to the list.
-            content.put(path, node);
         }
         if (isEmpty) {
             return ReadCompositeResponse.notFound();
@@ -209,34 +224,46 @@ public class RootEnabler implements LwM2mRootEnabler {
     }
 
     @Override
-    public synchronized ObserveCompositeResponse observe(ServerIdentity identity, ObserveCompositeRequest request) {
+    public ObserveCompositeResponse observe(ServerIdentity identity, ObserveCompositeRequest request) {
         List<LwM2mPath> paths = request.getPaths();
+        Map<Integer, List<LwM2mPath>> pathsByObject = groupByObject(identity, paths);
 
-        // Read Nodes
-        Map<LwM2mPath, LwM2mNode> content = new HashMap<>();
+        // Read Nodes, each object is observed once
+        Map<LwM2mPath, LwM2mNode> content = new LinkedHashMap<>(capacityFor(pathsByObject));
         boolean isEmpty = true; // true if don't succeed to read any of requested path
-        for (LwM2mPath path : paths) {
-            // Get corresponding object enabler
-            Integer objectId = path.getObjectId();
+        for (Entry<Integer, List<LwM2mPath>> entry : pathsByObject.entrySet()) {
+            Integer objectId = entry.getKey();
+            List<LwM2mPath> objectPaths = entry.getValue();
             LwM2mObjectEnabler objectEnabler = tree.getObjectEnabler(objectId);
 
-            LwM2mNode node = null;
+            List<? extends ReadResponse> responses = null;
             if (objectEnabler != null) {
-                ReadResponse response = objectEnabler.observe(identity,
-                        new ObserveRequest(request.getResponseContentFormat(), path, request.getCoapRequest()));
-                if (response.isSuccess()) {
-                    node = response.getContent();
-                    isEmpty = false;
-                } else {
-                    LOG.debug("Server {} try to read node {} in a Observe-Composite Request {} but it failed for {} "
-                            + "{}", identity, path, paths, response.getCode(), response.getErrorMessage());
+                List<ObserveRequest> requests = new ArrayList<>(objectPaths.size());
+                for (LwM2mPath path : objectPaths) {
+                    requests.add(
+                            new ObserveRequest(request.getResponseContentFormat(), path, request.getCoapRequest()));
                 }
+                responses = observeAll(identity, objectEnabler, requests);
             } else {
-                LOG.debug("Server {} try to read node {} in a Observe-Composite Request {} but it failed because "
-                        + "Object {} is not supported", identity, path, paths, objectId);
+                LOG.debug("Server {} try to read nodes {} in a Observe-Composite Request {} but it failed because "
+                        + "Object {} is not supported", identity, objectPaths, paths, objectId);
             }
 
-            content.put(path, node);
+            for (int i = 0; i < objectPaths.size(); i++) {
+                LwM2mPath path = objectPaths.get(i);
+                LwM2mNode node = null;
+                if (responses != null) {
+                    ReadResponse response = responses.get(i);
+                    if (response.isSuccess()) {
+                        node = response.getContent();
+                        isEmpty = false;
+                    } else {
+                        LOG.debug("Server {} try to read node {} in a Observe-Composite Request {} but it failed for "
+                                + "{} {}", identity, path, paths, response.getCode(), response.getErrorMessage());
+                    }
+                }
+                content.put(path, node);
+            }
         }
         if (isEmpty) {
             return ObserveCompositeResponse.notFound();
@@ -245,6 +272,91 @@ public class RootEnabler implements LwM2mRootEnabler {
         }
     }
 
+    /**
+     * Group the requested paths by object, in object id order, keeping the request order inside an object. The root
+     * path is replaced by the paths of all the objects the server can read.
+     * <p>
+     * A path requested twice, or covered by another requested path (e.g. <code>/3/0/13</code> with <code>/3</code> or
+     * <code>/</code>), is only read once: through the requested path covering it.
+     */
+    protected Map<Integer, List<LwM2mPath>> groupByObject(ServerIdentity identity, List<LwM2mPath> paths) {
+        Set<LwM2mPath> requested = new LinkedHashSet<>();
+        for (LwM2mPath path : paths) {
+            if (path.isRoot()) {
+                for (Integer objectId : tree.getObjectEnablers().keySet()) {
+                    // the security and oscore objects are not readable by servers
+                    if (!identity.isSystem() && (objectId == LwM2mId.SECURITY || objectId == LwM2mId.OSCORE))
+                        continue;
+                    requested.add(new LwM2mPath(objectId));
+                }
+            } else {
+                requested.add(path);
+            }
+        }
+
+        Map<Integer, List<LwM2mPath>> pathsByObject = new TreeMap<>();
+        for (LwM2mPath path : requested) {
+            if (isCovered(requested, path))
+                continue;
+            List<LwM2mPath> objectPaths = pathsByObject.get(path.getObjectId());
+            if (objectPaths == null) {
+                objectPaths = new ArrayList<>();
+                pathsByObject.put(path.getObjectId(), objectPaths);
+            }
+            objectPaths.add(path);
+        }
+        return pathsByObject;
+    }
+
+    /**
+     * @return <code>true</code> if one of the parents of the given path is in the given paths.
+     */
+    private static boolean isCovered(Set<LwM2mPath> paths, LwM2mPath path) {
+        if (path.isObject())
+            return false;
+        if (paths.contains(new LwM2mPath(path.getObjectId())))
+            return true;
+        if (path.isObjectInstance())
+            return false;
+        if (paths.contains(new LwM2mPath(path.getObjectId(), path.getObjectInstanceId())))
+            return true;
+        return path.isResourceInstance() && paths
+                .contains(new LwM2mPath(path.getObjectId(), path.getObjectInstanceId(), path.getResourceId()));
+    }
+
+    private static int capacityFor(Map<Integer, List<LwM2mPath>> pathsByObject) {
+        int size = 0;
+        for (List<LwM2mPath> objectPaths : pathsByObject.values()) {
+            size += objectPaths.size();
+        }
+        // avoid any rehash while filling the content
+        return (int) (size / 0.75f) + 1;
+    }
+
+    private static List<? extends ReadResponse> readAll(ServerIdentity identity, LwM2mObjectEnabler objectEnabler,
+            List<ReadRequest> requests) {
+        if (objectEnabler instanceof BaseObjectEnabler) {
+            return ((BaseObjectEnabler) objectEnabler).readAll(identity, requests);
+        }
+        List<ReadResponse> responses = new ArrayList<>(requests.size());
+        for (ReadRequest request : requests) {
+            responses.add(objectEnabler.read(identity, request));
+        }
+        return responses;
+    }
+
+    private static List<? extends ReadResponse> observeAll(ServerIdentity identity, LwM2mObjectEnabler objectEnabler,
+            List<ObserveRequest> requests) {
+        if (objectEnabler instanceof BaseObjectEnabler) {
+            return ((BaseObjectEnabler) objectEnabler).observeAll(identity, requests);
+        }
+        List<ReadResponse> responses = new ArrayList<>(requests.size());
+        for (ObserveRequest request : requests) {
+            responses.add(objectEnabler.observe(identity, request));
+        }
+        return responses;
+    }
+
     @Override
     public LwM2mModel getModel() {
         return tree.getModel();
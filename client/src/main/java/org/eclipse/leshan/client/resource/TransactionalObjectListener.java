@@ -16,7 +16,11 @@
 package org.eclipse.leshan.client.resource;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.leshan.client.resource.listener.ObjectListener;
 import org.eclipse.leshan.core.node.LwM2mPath;
@@ -27,6 +31,9 @@ import org.slf4j.LoggerFactory;
  * An {@link ObjectListener} which is able to store notification during transaction and raise all grouped event at the
  * end of the transaction.
  * <p>
+ * Instance ids stored during a transaction are raised in ascending order, changed resources are raised in the order
+ * they were first modified.
+ * <p>
  * This class is not threadsafe.
  */
 public class TransactionalObjectListener implements ObjectListener {
@@ -34,9 +41,10 @@ public class TransactionalObjectListener implements ObjectListener {
     private static Logger LOG = LoggerFactory.getLogger(TransactionalObjectListener.class);
 
     protected int currentLevel = 0;
-    protected List<Integer> instancesAdded = new ArrayList<>();
-    protected List<Integer> instancesRemoved = new ArrayList<>();
-    protected List<LwM2mPath> resourcesChanged = new ArrayList<>();
+    // instance ids are 16 bits unsigned integers, a bit set is enough to store them without boxing
+    protected BitSet instancesAdded = new BitSet();
+    protected BitSet instancesRemoved = new BitSet();
+    protected Set<LwM2mPath> resourcesChanged = new LinkedHashSet<>();
 
     protected LwM2mObjectEnabler objectEnabler;
     protected List<ObjectListener> innerListeners = new ArrayList<ObjectListener>();
@@ -97,9 +105,9 @@ public class TransactionalObjectListener implements ObjectListener {
 
     protected void fireStoredEvents() {
         if (!instancesAdded.isEmpty())
-            fireObjectInstancesAdded(toIntArray(instancesAdded));
+            fireObjectInstancesAdded(instancesAdded.stream().toArray());
         if (!instancesRemoved.isEmpty())
-            fireObjectInstancesRemoved(toIntArray(instancesRemoved));
+            fireObjectInstancesRemoved(instancesRemoved.stream().toArray());
         if (!resourcesChanged.isEmpty())
             fireResourcesChanged(resourcesChanged.toArray(new LwM2mPath[resourcesChanged.size()]));
     }
@@ -111,10 +119,10 @@ public class TransactionalObjectListener implements ObjectListener {
         } else {
             // store additions
             for (int instanceId : instanceIds) {
-                if (instancesRemoved.contains(instanceId)) {
-                    instancesRemoved.remove(instanceId);
-                } else if (!instancesAdded.contains(instanceId)) {
-                    instancesAdded.add(instanceId);
+                if (instancesRemoved.get(instanceId)) {
+                    instancesRemoved.clear(instanceId);
+                } else {
+                    instancesAdded.set(instanceId);
                 }
             }
         }
@@ -127,10 +135,10 @@ public class TransactionalObjectListener implements ObjectListener {
         } else {
             // store deletion
             for (int instanceId : instanceIds) {
-                if (instancesAdded.contains(instanceId)) {
-                    instancesAdded.remove(instanceId);
-                } else if (!instancesRemoved.contains(instanceId)) {
-                    instancesRemoved.add(instanceId);
+                if (instancesAdded.get(instanceId)) {
+                    instancesAdded.clear(instanceId);
+                } else {
+                    instancesRemoved.set(instanceId);
                 }
             }
         }
@@ -141,22 +149,10 @@ public class TransactionalObjectListener implements ObjectListener {
         if (!inTransaction()) {
             fireResourcesChanged(paths);
         } else {
-            for (LwM2mPath path : paths) {
-                if (!resourcesChanged.contains(path)) {
-                    resourcesChanged.add(path);
-                }
-            }
+            Collections.addAll(resourcesChanged, paths);
         }
     }
 
-    protected int[] toIntArray(List<Integer> list) {
-        int[] ret = new int[list.size()];
-        int i = 0;
-        for (Integer e : list)
-            ret[i++] = e;
-        return ret;
-    }
-
     protected void fireObjectInstancesAdded(int... instanceIds) {
         for (ObjectListener listener : innerListeners) {
             listener.objectInstancesAdded(objectEnabler, instanceIds);
@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.resource.listener;
+
+import java.util.List;
+
+import org.eclipse.leshan.client.resource.ObservationRegistry;
+import org.eclipse.leshan.client.servers.ServerIdentity;
+import org.eclipse.leshan.core.node.LwM2mPath;
+
+/**
+ * Listen to observations added to or removed from an {@link ObservationRegistry}.
+ * <p>
+ * Listeners are called without holding the lock of the registry.
+ */
+public interface ObservationListener {
+
+    /**
+     * @param paths the observed paths, more than one for a composite observation.
+     */
+    void observationStarted(ServerIdentity server, List<LwM2mPath> paths);
+
+    /**
+     * Called when an observation is cancelled by the server, replaced by a new one or forgotten because the client
+     * registered again or stopped.
+     *
+     * @param paths the paths which were observed, more than one for a composite observation.
+     */
+    void observationCancelled(ServerIdentity server, List<LwM2mPath> paths);
+}
@@ -18,5 +18,14 @@ package org.eclipse.leshan.client.resource.listener;
 import org.eclipse.leshan.core.node.LwM2mPath;
 
 public interface ResourceListener {
+
+    /**
+     * Called when resources or resource instances change.
+     * <p>
+     * The given array may be shared between calls (see {@link org.eclipse.leshan.client.util.ResourcePathCache}), it
+     * must not be modified.
+     *
+     * @param paths the path of resources or resource instances which changed.
+     */
     void resourceChanged(LwM2mPath... paths);
 }
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.scheduler;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.leshan.core.Destroyable;
+import org.eclipse.leshan.core.util.NamedThreadFactory;
+import org.eclipse.leshan.core.util.Validate;
+
+/**
+ * A process-wide scheduler shared by all simulated clients.
+ * <p>
+ * It owns a small fixed thread pool (by default one thread by available core) and gives to each client its own
+ * {@link SerialScheduledExecutor}. Tasks of a client are executed one after the other, so per-client ordering is kept
+ * and the thread count does not grow with the number of clients.
+ * <p>
+ * Use {@link #newClientExecutor()} with {@code LeshanClientBuilder#setSharedExecutor(ScheduledExecutorService)}.
+ * <p>
+ * The fixed pool must only run non-blocking tasks: timers of all clients depend on it. Clients with tasks which may
+ * block (e.g. the blocking registration engine waiting for a response) must use {@link #newBlockingClientExecutor()}:
+ * delays are still handled by the pool but tasks run on a separate bounded pool. When all its threads are blocked,
+ * tasks of other clients wait in its queue, so the thread count still does not grow with the number of clients.
+ * <p>
+ * {@link #withVirtualThreads()} creates a scheduler where tasks are run on virtual threads instead of a fixed pool.
+ */
+public class FleetScheduler implements Destroyable {
+
+    public static final int DEFAULT_BLOCKING_POOL_SIZE = 64;
+
+    private final ScheduledExecutorService executor;
+    // runs client tasks which may block, each client uses at most one thread at a time
+    private final ExecutorService blockingExecutor;
+
+    public FleetScheduler() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public FleetScheduler(int poolSize) {
+        this(poolSize, DEFAULT_BLOCKING_POOL_SIZE);
+    }
+
+    /**
+     * @param poolSize the number of threads running timers and non-blocking tasks.
+     * @param blockingPoolSize the maximum number of threads running tasks which may block.
+     */
+    public FleetScheduler(int poolSize, int blockingPoolSize) {
+        Validate.isTrue(blockingPoolSize > 0, "blocking pool size must be positive");
+        ScheduledThreadPoolExecutor pool = new ScheduledThreadPoolExecutor(poolSize,
+                new NamedThreadFactory("Fleet Scheduler#%d"));
+        // a lot of update tasks are cancelled and rescheduled, do not keep them in the queue until their delay elapsed.
+        pool.setRemoveOnCancelPolicy(true);
+        executor = pool;
+        // each client queues at most one task at a time, so the queue is bounded by the number of clients
+        ThreadPoolExecutor blockingPool = new ThreadPoolExecutor(blockingPoolSize, blockingPoolSize, 60,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+                new NamedThreadFactory("Fleet Blocking Task#%d"));
+        blockingPool.allowCoreThreadTimeOut(true);
+        blockingExecutor = blockingPool;
+    }
+
+    /**
+     * @param executor an executor on which tasks can block, it is used for both timers and client tasks.
+     */
+    protected FleetScheduler(ScheduledExecutorService executor) {
+        this.executor = executor;
+        this.blockingExecutor = executor;
+    }
+
+    /**
+     * Create a scheduler running each task on a virtual thread, blocking tasks then do not hold a platform thread.
+     * <p>
+     * Tasks of a client are still executed one at a time.
+     *
+     * @throws UnsupportedOperationException if the JVM does not support virtual threads (java 21 or later is needed).
+     */
+    public static FleetScheduler withVirtualThreads() {
+        return new FleetScheduler(new VirtualThreadExecutor());
+    }
+
+    /**
+     * @return a new executor for one client. All its tasks are run on the shared pool, one at a time.
+     */
+    public ScheduledExecutorService newClientExecutor() {
+        return new SerialScheduledExecutor(executor);
+    }
+
+    /**
+     * @return a new executor for one client whose tasks may block. Its tasks are run one at a time on threads which
+     *         are not used by timers.
+     */
+    public ScheduledExecutorService newBlockingClientExecutor() {
+        return new SerialScheduledExecutor(executor, blockingExecutor);
+    }
+
+    /**
+     * @return the bounded executor for tasks which may block, e.g. a client restart waiting for its deregistration.
+     */
+    public ExecutorService getBlockingExecutor() {
+        return blockingExecutor;
+    }
+
+    /**
+     * @return the underlying shared executor, only for non-blocking tasks.
+     */
+    public ScheduledExecutorService getExecutor() {
+        return executor;
+    }
+
+    /**
+     * @return the number of threads of the shared pool or 0 if tasks are run on virtual threads.
+     */
+    public int getPoolSize() {
+        if (executor instanceof ScheduledThreadPoolExecutor) {
+            return ((ScheduledThreadPoolExecutor) executor).getCorePoolSize();
+        }
+        return 0;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+        blockingExecutor.shutdownNow();
+    }
+}
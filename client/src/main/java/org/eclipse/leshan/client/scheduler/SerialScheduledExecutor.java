@@ -0,0 +1,314 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.leshan.core.util.Validate;
+
+/**
+ * A {@link ScheduledExecutorService} view on a shared executor which runs submitted tasks one at a time, in the order
+ * they become ready.
+ * <p>
+ * Delays are handled by the shared executor, but when a task is due it is only queued here. At most one task of this
+ * executor is running on the shared executor at a given time, so a task holding a lock of the owner (e.g. the
+ * registration engine task lock) never makes another shared thread wait for it.
+ * <p>
+ * Tasks can be run on another executor than the one handling delays, e.g. to run tasks which may block on threads
+ * which are not used by timers.
+ * <p>
+ * {@link #shutdown()} and {@link #shutdownNow()} only affect tasks submitted through this view, the shared executor is
+ * never shutdown.
+ */
+public class SerialScheduledExecutor extends AbstractExecutorService implements ScheduledExecutorService {
+
+    private final ScheduledExecutorService sharedExecutor;
+    private final Executor taskExecutor;
+
+    // tasks ready to be executed
+    private final Queue<SerialTask<?>> readyTasks = new ConcurrentLinkedQueue<>();
+    // all tasks not yet done (scheduled or ready)
+    private final Set<SerialTask<?>> pendingTasks = ConcurrentHashMap.newKeySet();
+    // true if a task of this executor is currently running (or about to run) on the shared executor
+    private final AtomicBoolean active = new AtomicBoolean(false);
+    private volatile boolean shutdown = false;
+
+    public SerialScheduledExecutor(ScheduledExecutorService sharedExecutor) {
+        this(sharedExecutor, sharedExecutor);
+    }
+
+    /**
+     * @param sharedExecutor the executor handling delays.
+     * @param taskExecutor the executor running tasks once they are due.
+     */
+    public SerialScheduledExecutor(ScheduledExecutorService sharedExecutor, Executor taskExecutor) {
+        Validate.notNull(sharedExecutor);
+        Validate.notNull(taskExecutor);
+        this.sharedExecutor = sharedExecutor;
+        this.taskExecutor = taskExecutor;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        Validate.notNull(command);
+        if (command instanceof SerialTask) {
+            arm((SerialTask<?>) command);
+        } else {
+            arm(new SerialTask<Void>(Executors.callable(command, (Void) null), System.nanoTime(), 0));
+        }
+    }
+
+    @Override
+    protected <T> RunnableScheduledFuture<T> newTaskFor(Runnable runnable, T value) {
+        return new SerialTask<T>(Executors.callable(runnable, value), System.nanoTime(), 0);
+    }
+
+    @Override
+    protected <T> RunnableScheduledFuture<T> newTaskFor(Callable<T> callable) {
+        return new SerialTask<T>(callable, System.nanoTime(), 0);
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        Validate.notNull(command);
+        SerialTask<Void> task = new SerialTask<>(Executors.callable(command, (Void) null), triggerTime(delay, unit),
+                0);
+        arm(task);
+        return task;
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        Validate.notNull(callable);
+        SerialTask<V> task = new SerialTask<>(callable, triggerTime(delay, unit), 0);
+        arm(task);
+        return task;
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        Validate.notNull(command);
+        if (period <= 0)
+            throw new IllegalArgumentException("period must be positive");
+        SerialTask<Void> task = new SerialTask<>(Executors.callable(command, (Void) null),
+                triggerTime(initialDelay, unit), unit.toNanos(period));
+        arm(task);
+        return task;
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay,
+            TimeUnit unit) {
+        Validate.notNull(command);
+        if (delay <= 0)
+            throw new IllegalArgumentException("delay must be positive");
+        SerialTask<Void> task = new SerialTask<>(Executors.callable(command, (Void) null),
+                triggerTime(initialDelay, unit), -unit.toNanos(delay));
+        arm(task);
+        return task;
+    }
+
+    private long triggerTime(long delay, TimeUnit unit) {
+        return System.nanoTime() + unit.toNanos(Math.max(delay, 0));
+    }
+
+    private void arm(SerialTask<?> task) {
+        if (shutdown)
+            throw new RejectedExecutionException("Executor is shutdown");
+
+        pendingTasks.add(task);
+        long delay = task.getDelay(TimeUnit.NANOSECONDS);
+        if (delay > 0) {
+            task.trigger = sharedExecutor.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    ready(task);
+                }
+            }, delay, TimeUnit.NANOSECONDS);
+        } else {
+            ready(task);
+        }
+    }
+
+    private void ready(SerialTask<?> task) {
+        if (task.isCancelled())
+            return;
+        readyTasks.add(task);
+        drain();
+    }
+
+    private void drain() {
+        if (!readyTasks.isEmpty() && active.compareAndSet(false, true)) {
+            try {
+                taskExecutor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        runNext();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // shared executor is shutdown, nothing more will be executed.
+                active.set(false);
+            }
+        }
+    }
+
+    private void runNext() {
+        try {
+            SerialTask<?> task = readyTasks.poll();
+            if (task != null) {
+                task.run();
+            }
+        } finally {
+            // do not leak an interruption (e.g. due to a cancel(true)) to the next task of the shared executor
+            Thread.interrupted();
+            active.set(false);
+            drain();
+            tryTerminate();
+        }
+    }
+
+    private void done(SerialTask<?> task) {
+        pendingTasks.remove(task);
+        readyTasks.remove(task);
+        Future<?> trigger = task.trigger;
+        if (trigger != null) {
+            trigger.cancel(false);
+        }
+        tryTerminate();
+    }
+
+    private void tryTerminate() {
+        if (isTerminated()) {
+            synchronized (this) {
+                notifyAll();
+            }
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        tryTerminate();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown = true;
+        List<Runnable> notExecuted = new ArrayList<>();
+        for (SerialTask<?> task : pendingTasks) {
+            if (task.cancel(true)) {
+                notExecuted.add(task);
+            }
+        }
+        tryTerminate();
+        return notExecuted;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return shutdown && pendingTasks.isEmpty() && !active.get();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (this) {
+            while (!isTerminated()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0)
+                    return false;
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+            return true;
+        }
+    }
+
+    private class SerialTask<V> extends FutureTask<V> implements RunnableScheduledFuture<V> {
+
+        // trigger time in nanoseconds (System.nanoTime() reference)
+        private volatile long time;
+        // 0 for one-shot task, positive for fixed rate, negative for fixed delay
+        private final long period;
+        // the shared executor future which will make this task ready
+        private volatile Future<?> trigger;
+
+        public SerialTask(Callable<V> callable, long time, long period) {
+            super(callable);
+            this.time = time;
+            this.period = period;
+        }
+
+        @Override
+        public boolean isPeriodic() {
+            return period != 0;
+        }
+
+        @Override
+        public void run() {
+            if (!isPeriodic()) {
+                super.run();
+            } else if (super.runAndReset()) {
+                time = period > 0 ? time + period : System.nanoTime() - period;
+                try {
+                    arm(this);
+                } catch (RejectedExecutionException e) {
+                    cancel(false);
+                }
+            }
+        }
+
+        @Override
+        protected void done() {
+            SerialScheduledExecutor.this.done(this);
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(time - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            if (other == this)
+                return 0;
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+}
@@ -0,0 +1,315 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.scheduler;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.leshan.core.Destroyable;
+import org.eclipse.leshan.core.util.NamedThreadFactory;
+import org.eclipse.leshan.core.util.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A process-wide timer for periodic and one-shot tasks of object instances, e.g. resource change notifications.
+ * <p>
+ * This is a hashed timing wheel: a single thread advances a ring of buckets every tick and expires the tasks of the
+ * current bucket. Tasks which are due after more than one turn of the wheel keep a count of remaining rounds. Adding
+ * or cancelling a task is O(1) whatever the number of tasks, and there is only one thread for the whole process
+ * instead of one {@link java.util.Timer} thread by device.
+ * <p>
+ * Expired tasks are run on the given {@link Executor}, so a slow task never delays the wheel. Timing precision is the
+ * tick duration.
+ * <p>
+ * Use {@link #phase(int, long)} to spread periodic tasks of many devices over their period.
+ */
+public class TimingWheel implements Destroyable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TimingWheel.class);
+
+    public static final long DEFAULT_TICK_DURATION_IN_MS = 10;
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+
+    // fractional part of the golden ratio, consecutive multiples of it are evenly spread over [0, 1)
+    private static final double GOLDEN_RATIO_FRACTION = 0.6180339887498949;
+
+    private final Executor executor;
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final long startTime;
+    // tasks added or cancelled by other threads, only the wheel thread touches buckets
+    private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+    private final Thread workerThread;
+    private volatile boolean stopped = false;
+
+    public TimingWheel(Executor executor) {
+        this(executor, DEFAULT_TICK_DURATION_IN_MS, TimeUnit.MILLISECONDS, DEFAULT_WHEEL_SIZE);
+    }
+
+    /**
+     * @param executor the executor on which expired tasks are run.
+     * @param tickDuration the duration between 2 ticks, this is the timing precision.
+     * @param unit the unit of tickDuration.
+     * @param wheelSize the number of buckets, rounded up to a power of 2.
+     */
+    public TimingWheel(Executor executor, long tickDuration, TimeUnit unit, int wheelSize) {
+        Validate.notNull(executor);
+        Validate.isTrue(tickDuration > 0, "tick duration must be positive");
+        Validate.isTrue(wheelSize > 0 && wheelSize <= 1 << 30, "wheel size must be in [1, 2^30]");
+
+        this.executor = executor;
+        this.tickNanos = unit.toNanos(tickDuration);
+        int size = Integer.highestOneBit(wheelSize);
+        if (size < wheelSize)
+            size <<= 1;
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.startTime = System.nanoTime();
+        this.workerThread = new NamedThreadFactory("Timing Wheel").newThread(new Runnable() {
+            @Override
+            public void run() {
+                runWheel();
+            }
+        });
+        workerThread.start();
+    }
+
+    /**
+     * Get a start offset for the periodic task of the device with the given index.
+     * <p>
+     * Offsets of consecutive indexes are evenly spread over the period, so thousands of devices with the same period
+     * do not all fire in the same tick. The offset of an index is always the same.
+     *
+     * @param index the device index.
+     * @param period the period of the task.
+     * @return an offset in [0, period).
+     */
+    public static long phase(int index, long period) {
+        double fraction = (index * GOLDEN_RATIO_FRACTION) % 1;
+        if (fraction < 0)
+            fraction += 1;
+        return (long) (fraction * period);
+    }
+
+    /**
+     * Run a task once after the given delay.
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        return add(new Timeout(this, task, deadline(unit.toNanos(delay)), 0));
+    }
+
+    /**
+     * Run a task periodically after the given initial delay. Like
+     * {@link java.util.concurrent.ScheduledExecutorService#scheduleAtFixedRate(Runnable, long, long, TimeUnit)}
+     * executions of a same task never overlap, a late execution is followed by the next one as soon as possible.
+     */
+    public Timeout scheduleAtFixedRate(Runnable task, long initialDelay, long period, TimeUnit unit) {
+        Validate.isTrue(period > 0, "period must be positive");
+        return add(new Timeout(this, task, deadline(unit.toNanos(initialDelay)), unit.toNanos(period)));
+    }
+
+    private long deadline(long delayNanos) {
+        return System.nanoTime() - startTime + Math.max(0, delayNanos);
+    }
+
+    private Timeout add(Timeout timeout) {
+        if (stopped)
+            throw new IllegalStateException("Timing wheel is destroyed");
+        pendingTimeouts.add(timeout);
+        return timeout;
+    }
+
+    private void runWheel() {
+        long tick = 0;
+        while (!stopped) {
+            long deadline = tickNanos * (tick + 1);
+            long sleepNanos = deadline - (System.nanoTime() - startTime);
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException e) {
+                    if (stopped)
+                        return;
+                }
+                continue;
+            }
+            removeCancelledTimeouts();
+            transferPendingTimeouts(tick);
+            wheel[(int) (tick & mask)].expire();
+            tick++;
+        }
+    }
+
+    private void transferPendingTimeouts(long currentTick) {
+        Timeout timeout;
+        while ((timeout = pendingTimeouts.poll()) != null) {
+            if (timeout.isCancelled())
+                continue;
+            long expectedTick = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (expectedTick - currentTick) / wheel.length;
+            // a task already late goes in the current bucket
+            long tick = Math.max(expectedTick, currentTick);
+            wheel[(int) (tick & mask)].add(timeout);
+        }
+    }
+
+    private void removeCancelledTimeouts() {
+        Timeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            if (timeout.bucket != null)
+                timeout.bucket.remove(timeout);
+        }
+    }
+
+    private void execute(final Timeout timeout) {
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    timeout.run();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            if (!stopped)
+                LOG.warn("Unable to run timing wheel task {}", timeout.task, e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        stopped = true;
+        workerThread.interrupt();
+        pendingTimeouts.clear();
+        cancelledTimeouts.clear();
+    }
+
+    /**
+     * A task scheduled on a {@link TimingWheel}.
+     */
+    public static class Timeout {
+
+        private final TimingWheel timingWheel;
+        private final Runnable task;
+        private final long period;
+        private volatile boolean cancelled = false;
+
+        // only accessed by the wheel thread, or by the task execution for the deadline of a periodic task
+        private long deadline;
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout next;
+        private Timeout prev;
+
+        private Timeout(TimingWheel timingWheel, Runnable task, long deadline, long period) {
+            Validate.notNull(task);
+            this.timingWheel = timingWheel;
+            this.task = task;
+            this.deadline = deadline;
+            this.period = period;
+        }
+
+        public boolean isPeriodic() {
+            return period > 0;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Cancel the task. It will not run anymore, but an execution already in progress is not interrupted.
+         */
+        public void cancel() {
+            if (cancelled)
+                return;
+            cancelled = true;
+            if (!timingWheel.stopped)
+                timingWheel.cancelledTimeouts.add(this);
+        }
+
+        private void run() {
+            if (cancelled)
+                return;
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                LOG.warn("Timing wheel task {} failed", task, e);
+            } finally {
+                if (isPeriodic() && !cancelled && !timingWheel.stopped) {
+                    deadline += period;
+                    timingWheel.pendingTimeouts.add(this);
+                }
+            }
+        }
+    }
+
+    private class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        private void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        private void expire() {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    execute(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        private void remove(Timeout timeout) {
+            if (timeout.bucket != this)
+                return;
+            if (timeout.prev != null)
+                timeout.prev.next = timeout.next;
+            if (timeout.next != null)
+                timeout.next.prev = timeout.prev;
+            if (timeout == head)
+                head = timeout.next;
+            if (timeout == tail)
+                tail = timeout.prev;
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
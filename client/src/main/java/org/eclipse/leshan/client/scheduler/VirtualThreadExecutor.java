@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.leshan.core.util.NamedThreadFactory;
+
+/**
+ * A {@link ScheduledExecutorService} facade which runs each task on a new virtual thread (JDK 21+).
+ * <p>
+ * Delays are handled by a single platform timer thread, when a task is due it is handed to a virtual thread. So tasks
+ * written in blocking style (synchronous requests, waiting for bootstrap to finish ...) only park a virtual thread.
+ * <p>
+ * Cancelling a one-shot task with {@code mayInterruptIfRunning} interrupts its virtual thread if it is already
+ * running. Cancelling a periodic task only prevents next executions. Use it through
+ * {@link FleetScheduler#newClientExecutor()} to get per-client ordering.
+ * <p>
+ * As the project is compiled for Java 8, virtual threads are created by reflection. {@link #isSupported()} tells if
+ * the current runtime supports them.
+ */
+public class VirtualThreadExecutor extends AbstractExecutorService implements ScheduledExecutorService {
+
+    private final ScheduledThreadPoolExecutor timer;
+    private final ExecutorService virtualThreads;
+
+    public VirtualThreadExecutor() {
+        this(createVirtualThreadPerTaskExecutor());
+    }
+
+    // allow to test hand-off on runtimes without virtual threads
+    VirtualThreadExecutor(ExecutorService virtualThreads) {
+        this.virtualThreads = virtualThreads;
+        timer = new ScheduledThreadPoolExecutor(1, new NamedThreadFactory("Virtual Thread Timer"));
+        timer.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * @return true if the current JVM is able to create virtual threads.
+     */
+    public static boolean isSupported() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static ExecutorService createVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException(String.format(
+                    "Virtual threads are not supported by this JVM (java %s), java 21 or later is needed.",
+                    System.getProperty("java.version")), e);
+        }
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        virtualThreads.execute(command);
+    }
+
+    private Runnable handOff(final Runnable command) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                virtualThreads.execute(command);
+            }
+        };
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        return schedule(Executors.callable(command), delay, unit);
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        FutureTask<V> task = new FutureTask<>(callable);
+        return new HandOffFuture<>(task, timer.schedule(handOff(task), delay, unit));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        return timer.scheduleAtFixedRate(handOff(command), initialDelay, period, unit);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay,
+            TimeUnit unit) {
+        return timer.scheduleWithFixedDelay(handOff(command), initialDelay, delay, unit);
+    }
+
+    @Override
+    public void shutdown() {
+        timer.shutdown();
+        virtualThreads.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Runnable> notExecuted = new ArrayList<>(timer.shutdownNow());
+        notExecuted.addAll(virtualThreads.shutdownNow());
+        return notExecuted;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return timer.isShutdown() && virtualThreads.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return timer.isTerminated() && virtualThreads.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        if (!timer.awaitTermination(timeout, unit))
+            return false;
+        return virtualThreads.awaitTermination(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * The future of a one-shot task: delay is the one of the timer trigger, result and cancellation are the ones of the
+     * task run on a virtual thread.
+     */
+    private static class HandOffFuture<V> implements ScheduledFuture<V> {
+
+        private final FutureTask<V> task;
+        private final ScheduledFuture<?> trigger;
+
+        public HandOffFuture(FutureTask<V> task, ScheduledFuture<?> trigger) {
+            this.task = task;
+            this.trigger = trigger;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return trigger.getDelay(unit);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            trigger.cancel(false);
+            // interrupts the virtual thread if the task is already running
+            return task.cancel(mayInterruptIfRunning);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return task.isCancelled();
+        }
+
+        @Override
+        public boolean isDone() {
+            return task.isDone();
+        }
+
+        @Override
+        public V get() throws InterruptedException, ExecutionException {
+            return task.get();
+        }
+
+        @Override
+        public V get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            return task.get(timeout, unit);
+        }
+    }
+}
@@ -34,6 +34,7 @@ public class ManualDataSender implements DataSender {
 
     private TimestampedLwM2mNodes.Builder builder = new TimestampedLwM2mNodes.Builder();
     private DataSenderManager dataSenderManager;
+    private volatile SendObserver observer;
     private final String name;
 
     public ManualDataSender() {
@@ -70,15 +71,30 @@ public class ManualDataSender implements DataSender {
             }
         }
 
+        final SendObserver currentObserver = observer;
+        final long start = System.nanoTime();
+        if (currentObserver != null) {
+            currentObserver.onSendStarted(server);
+        }
         dataSenderManager.sendData(server, format, data, response -> {
+            if (currentObserver != null) {
+                currentObserver.onSendResponse(server, response, System.nanoTime() - start);
+            }
             if (response.isFailure()) {
                 restoreData(data);
             }
         }, error -> {
+            if (currentObserver != null) {
+                currentObserver.onSendError(server, error, System.nanoTime() - start);
+            }
             restoreData(data);
         }, timeoutInMs);
     }
 
+    public void setObserver(SendObserver observer) {
+        this.observer = observer;
+    }
+
     @Override
     public void setDataSenderManager(DataSenderManager dataSenderManager) {
         this.dataSenderManager = dataSenderManager;
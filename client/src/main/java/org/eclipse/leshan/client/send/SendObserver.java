@@ -0,0 +1,31 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.send;
+
+import org.eclipse.leshan.client.servers.ServerIdentity;
+import org.eclipse.leshan.core.response.SendResponse;
+
+/**
+ * Observes the Send requests of a {@link ManualDataSender}.
+ */
+public interface SendObserver {
+
+    void onSendStarted(ServerIdentity server);
+
+    void onSendResponse(ServerIdentity server, SendResponse response, long durationInNanos);
+
+    void onSendError(ServerIdentity server, Exception error, long durationInNanos);
+}
@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.servers;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.leshan.client.resource.LwM2mObjectEnabler;
+import org.eclipse.leshan.core.LwM2mId;
+
+/**
+ * Caches the {@link ServersInfo} extracted from the Security, Server and OSCORE objects of a client.
+ * <p>
+ * The snapshot is built again only after {@link #invalidate()} was called, so registration and update do not need to
+ * read and decode those objects each time. Invalidating during a build is safe: the snapshot built from the previous
+ * state is returned once but not reused.
+ */
+public class ServersInfoCache {
+
+    private final AtomicLong version = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    /**
+     * @return True if changes on this object could modify the servers info.
+     */
+    public static boolean isServersInfoObject(int objectId) {
+        return objectId == LwM2mId.SECURITY || objectId == LwM2mId.SERVER || objectId == LwM2mId.OSCORE;
+    }
+
+    /**
+     * Mark the current snapshot as stale, it will be built again on next {@link #getInfo(Map)}.
+     */
+    public void invalidate() {
+        version.incrementAndGet();
+    }
+
+    /**
+     * @param objectEnablers the current objects of the client, by id.
+     * @return the servers info or <code>null</code> if the client has no Security or no Server object. The returned
+     *         instance is shared, it must not be modified.
+     */
+    public ServersInfo getInfo(Map<Integer, LwM2mObjectEnabler> objectEnablers) {
+        long currentVersion = version.get();
+        Snapshot current = snapshot;
+        if (current != null && current.version == currentVersion) {
+            return current.info;
+        }
+
+        ServersInfo info = ServersInfoExtractor.getInfo(objectEnablers);
+        if (info != null) {
+            info.deviceManagements = Collections.unmodifiableMap(info.deviceManagements);
+        }
+        snapshot = new Snapshot(currentVersion, info);
+        return info;
+    }
+
+    private static class Snapshot {
+        private final long version;
+        private final ServersInfo info;
+
+        private Snapshot(long version, ServersInfo info) {
+            this.version = version;
+            this.info = info;
+        }
+    }
+}
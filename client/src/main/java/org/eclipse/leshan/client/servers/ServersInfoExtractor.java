@@ -84,7 +84,6 @@ import org.slf4j.LoggerFactory;
  */
 public class ServersInfoExtractor {
     private static final Logger LOG = LoggerFactory.getLogger(ServersInfoExtractor.class);
-    private static LwM2mObject oscores = null;
 
     public static ServersInfo getInfo(Map<Integer, LwM2mObjectEnabler> objectEnablers) {
         return getInfo(objectEnablers, false);
@@ -104,6 +103,7 @@ public class ServersInfoExtractor {
         LwM2mObject securities = (LwM2mObject) securityEnabler.read(SYSTEM, new ReadRequest(SECURITY)).getContent();
         LwM2mObject servers = (LwM2mObject) serverEnabler.read(SYSTEM, new ReadRequest(SERVER)).getContent();
 
+        LwM2mObject oscores = null;
         if (oscoreEnabler != null) {
             oscores = (LwM2mObject) oscoreEnabler.read(SYSTEM, new ReadRequest(OSCORE)).getContent();
         }
@@ -122,7 +122,7 @@ public class ServersInfoExtractor {
                     serverInfo.bootstrap = true;
                     try {
                         // fill info from current client state.
-                        populateServerInfo(serverInfo, security);
+                        populateServerInfo(serverInfo, security, oscores);
 
                         // add server info to result to return
                         infos.bootstrap = serverInfo;
@@ -135,7 +135,7 @@ public class ServersInfoExtractor {
             } else {
                 try {
                     // create device management info
-                    DmServerInfo info = createDMServerInfo(security, servers);
+                    DmServerInfo info = createDMServerInfo(security, servers, oscores);
                     infos.deviceManagements.put(info.serverId, info);
                 } catch (RuntimeException e) {
                     LOG.debug("Unable to get info for DM server /O/{}", security.getId(), e);
@@ -147,7 +147,7 @@ public class ServersInfoExtractor {
         return infos;
     }
 
-    private static void populateServerInfo(ServerInfo info, LwM2mObjectInstance security) {
+    private static void populateServerInfo(ServerInfo info, LwM2mObjectInstance security, LwM2mObject oscores) {
         try {
             LwM2mResource serverIdResource = security.getResource(SEC_SERVER_ID);
             if (serverIdResource != null && serverIdResource.getValue() != null)
@@ -208,10 +208,11 @@ public class ServersInfoExtractor {
         }
     }
 
-    private static DmServerInfo createDMServerInfo(LwM2mObjectInstance security, LwM2mObject servers) {
+    private static DmServerInfo createDMServerInfo(LwM2mObjectInstance security, LwM2mObject servers,
+            LwM2mObject oscores) {
         DmServerInfo info = new DmServerInfo();
         info.bootstrap = false;
-        populateServerInfo(info, security);
+        populateServerInfo(info, security, oscores);
 
         // search corresponding device management server
         for (LwM2mObjectInstance server : servers.getInstances().values()) {
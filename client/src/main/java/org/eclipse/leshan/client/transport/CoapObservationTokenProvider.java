@@ -0,0 +1,35 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.transport;
+
+import org.eclipse.californium.core.coap.Request;
+import org.eclipse.leshan.client.request.ObservationTokenProvider;
+import org.eclipse.leshan.core.request.LwM2mRequest;
+
+/**
+ * An {@link ObservationTokenProvider} for requests received by a Californium endpoint, giving the CoAP token.
+ */
+public class CoapObservationTokenProvider implements ObservationTokenProvider {
+
+    @Override
+    public Object getObservationToken(LwM2mRequest<?> request) {
+        Object coapRequest = request.getCoapRequest();
+        if (coapRequest instanceof Request) {
+            return ((Request) coapRequest).getToken();
+        }
+        return null;
+    }
+}
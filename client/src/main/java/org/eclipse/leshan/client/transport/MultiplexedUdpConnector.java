@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.transport;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.InetSocketAddress;
+import java.nio.channels.DatagramChannel;
+import java.util.Arrays;
+
+import org.eclipse.californium.elements.Connector;
+import org.eclipse.californium.elements.EndpointContext;
+import org.eclipse.californium.elements.EndpointContextMatcher;
+import org.eclipse.californium.elements.RawData;
+import org.eclipse.californium.elements.RawDataChannel;
+import org.eclipse.californium.elements.UdpEndpointContext;
+import org.eclipse.californium.elements.exception.EndpointMismatchException;
+import org.eclipse.californium.elements.util.ClockUtil;
+import org.eclipse.leshan.core.util.Validate;
+
+/**
+ * A Californium UDP {@link Connector} which does not own any thread, it uses a {@link SharedUdpTransport} instead.
+ * <p>
+ * Compared to the default {@code UDPConnector} this saves the receiver and sender threads of each simulated client. The
+ * connector still opens its own socket.
+ */
+public class MultiplexedUdpConnector implements Connector {
+
+    private final SharedUdpTransport transport;
+    private final InetSocketAddress bindAddress;
+
+    private volatile DatagramChannel channel;
+    private volatile InetSocketAddress localAddress;
+    private volatile RawDataChannel receiver;
+    private volatile EndpointContextMatcher endpointContextMatcher;
+
+    public MultiplexedUdpConnector(SharedUdpTransport transport, InetSocketAddress bindAddress) {
+        Validate.notNull(transport);
+        Validate.notNull(bindAddress);
+        this.transport = transport;
+        this.bindAddress = bindAddress;
+        this.localAddress = bindAddress;
+    }
+
+    @Override
+    public synchronized void start() throws IOException {
+        if (channel != null)
+            return;
+
+        channel = transport.open(bindAddress, new SharedUdpTransport.DatagramHandler() {
+            @Override
+            public void onDatagram(byte[] data, InetSocketAddress peer) {
+                receive(data, peer);
+            }
+        });
+        localAddress = (InetSocketAddress) channel.getLocalAddress();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (channel == null)
+            return;
+        transport.close(channel);
+        channel = null;
+    }
+
+    @Override
+    public void destroy() {
+        stop();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return channel != null;
+    }
+
+    @Override
+    public void send(RawData msg) {
+        DatagramChannel currentChannel = channel;
+        if (currentChannel == null) {
+            msg.onError(new IllegalStateException("Connector is not running"));
+            return;
+        }
+
+        EndpointContext connectionContext = new UdpEndpointContext(msg.getInetSocketAddress());
+        EndpointContextMatcher matcher = endpointContextMatcher;
+        if (matcher != null && !matcher.isToBeSent(msg.getEndpointContext(), connectionContext)) {
+            msg.onError(new EndpointMismatchException());
+            return;
+        }
+        msg.onContextEstablished(connectionContext);
+
+        try {
+            if (transport.send(currentChannel, msg.getBytes(), msg.getInetSocketAddress())) {
+                msg.onSent();
+            } else {
+                msg.onError(new IOException("UDP send buffer full, datagram dropped"));
+            }
+        } catch (IOException | RuntimeException e) {
+            msg.onError(e);
+        }
+    }
+
+    private void receive(byte[] data, InetSocketAddress peer) {
+        RawDataChannel currentReceiver = receiver;
+        if (currentReceiver == null)
+            return;
+        currentReceiver.receiveData(
+                RawData.inbound(data, new UdpEndpointContext(peer), false, ClockUtil.nanoRealtime(), localAddress));
+    }
+
+    @Override
+    public void processDatagram(DatagramPacket datagram) {
+        receive(Arrays.copyOfRange(datagram.getData(), datagram.getOffset(),
+                datagram.getOffset() + datagram.getLength()), (InetSocketAddress) datagram.getSocketAddress());
+    }
+
+    @Override
+    public void setRawDataReceiver(RawDataChannel receiver) {
+        this.receiver = receiver;
+    }
+
+    @Override
+    public void setEndpointContextMatcher(EndpointContextMatcher matcher) {
+        this.endpointContextMatcher = matcher;
+    }
+
+    @Override
+    public InetSocketAddress getAddress() {
+        return localAddress;
+    }
+
+    @Override
+    public String getProtocol() {
+        return "UDP";
+    }
+
+    @Override
+    public String toString() {
+        return getProtocol() + "-" + localAddress;
+    }
+}
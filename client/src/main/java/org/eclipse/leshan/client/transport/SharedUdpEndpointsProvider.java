@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.transport;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.security.cert.Certificate;
+import java.util.Collection;
+import java.util.List;
+
+import org.eclipse.californium.core.network.CoapEndpoint;
+import org.eclipse.californium.elements.config.Configuration;
+import org.eclipse.leshan.client.californium.endpoint.CaliforniumClientEndpointFactory;
+import org.eclipse.leshan.client.californium.endpoint.CaliforniumClientEndpointsProvider;
+import org.eclipse.leshan.client.californium.endpoint.coap.CoapClientEndpointFactory;
+import org.eclipse.leshan.client.californium.endpoint.coap.CoapClientProtocolProvider;
+import org.eclipse.leshan.client.endpoint.ClientEndpointToolbox;
+import org.eclipse.leshan.client.endpoint.LwM2mClientEndpoint;
+import org.eclipse.leshan.client.endpoint.LwM2mClientEndpointsProvider;
+import org.eclipse.leshan.client.request.DownlinkRequestReceiver;
+import org.eclipse.leshan.client.resource.LwM2mObjectTree;
+import org.eclipse.leshan.client.servers.ServerIdentity;
+import org.eclipse.leshan.client.servers.ServerInfo;
+import org.eclipse.leshan.core.util.Validate;
+
+/**
+ * A {@link LwM2mClientEndpointsProvider} for plain CoAP which uses a {@link SharedUdpTransport}.
+ * <p>
+ * CoAP exchange handling is still done by Californium, only the UDP connector is replaced by a
+ * {@link MultiplexedUdpConnector}: each client still has its own socket and its own Californium executors. Create one
+ * provider by client, all sharing the same transport.
+ */
+public class SharedUdpEndpointsProvider implements LwM2mClientEndpointsProvider {
+
+    private final CaliforniumClientEndpointsProvider delegate;
+
+    public SharedUdpEndpointsProvider(final SharedUdpTransport transport, Configuration configuration,
+            InetAddress clientAddress) {
+        Validate.notNull(transport);
+
+        CaliforniumClientEndpointsProvider.Builder builder = new CaliforniumClientEndpointsProvider.Builder(
+                new CoapClientProtocolProvider() {
+                    @Override
+                    public CaliforniumClientEndpointFactory createDefaultEndpointFactory() {
+                        return new SharedUdpEndpointFactory(transport);
+                    }
+                });
+        builder.setConfiguration(configuration);
+        builder.setClientAddress(clientAddress);
+        delegate = builder.build();
+    }
+
+    private static class SharedUdpEndpointFactory extends CoapClientEndpointFactory {
+
+        private final SharedUdpTransport transport;
+
+        public SharedUdpEndpointFactory(SharedUdpTransport transport) {
+            this.transport = transport;
+        }
+
+        @Override
+        protected CoapEndpoint.Builder createEndpointBuilder(InetSocketAddress address, ServerInfo serverInfo,
+                Configuration configuration) {
+            CoapEndpoint.Builder builder = super.createEndpointBuilder(address, serverInfo, configuration);
+            builder.setConnector(new MultiplexedUdpConnector(transport, address));
+            return builder;
+        }
+    }
+
+    @Override
+    public void init(LwM2mObjectTree objectTree, DownlinkRequestReceiver requestReceiver,
+            ClientEndpointToolbox toolbox) {
+        delegate.init(objectTree, requestReceiver, toolbox);
+    }
+
+    @Override
+    public ServerIdentity createEndpoint(ServerInfo serverInfo, boolean clientInitiatedOnly,
+            List<Certificate> trustStore, ClientEndpointToolbox toolbox) {
+        return delegate.createEndpoint(serverInfo, clientInitiatedOnly, trustStore, toolbox);
+    }
+
+    @Override
+    public Collection<ServerIdentity> createEndpoints(Collection<? extends ServerInfo> serverInfo,
+            boolean clientInitiatedOnly, List<Certificate> trustStore, ClientEndpointToolbox toolbox) {
+        return delegate.createEndpoints(serverInfo, clientInitiatedOnly, trustStore, toolbox);
+    }
+
+    @Override
+    public void destroyEndpoints() {
+        delegate.destroyEndpoints();
+    }
+
+    @Override
+    public void start() {
+        delegate.start();
+    }
+
+    @Override
+    public List<LwM2mClientEndpoint> getEndpoints() {
+        return delegate.getEndpoints();
+    }
+
+    @Override
+    public LwM2mClientEndpoint getEndpoint(ServerIdentity server) {
+        return delegate.getEndpoint(server);
+    }
+
+    @Override
+    public void stop() {
+        delegate.stop();
+    }
+
+    @Override
+    public void destroy() {
+        delegate.destroy();
+    }
+}
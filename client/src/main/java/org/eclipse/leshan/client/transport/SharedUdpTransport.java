@@ -0,0 +1,233 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.transport;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.leshan.core.Destroyable;
+import org.eclipse.leshan.core.util.NamedThreadFactory;
+import org.eclipse.leshan.core.util.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * UDP selector threads shared by a lot of simulated clients.
+ * <p>
+ * Datagrams are not multiplexed on a single socket: each client keeps its own non-blocking {@link DatagramChannel}
+ * (so its own local port, this is how incoming datagrams are demultiplexed and how a server can reach a given client),
+ * but all channels are polled by a small pool of selector threads. Sending is done directly from the caller thread as a
+ * non-blocking UDP send never waits.
+ * <p>
+ * So the number of UDP I/O threads does not depend on the number of clients anymore, but the number of sockets still
+ * does. Other threads of the CoAP stack (e.g. Californium protocol executors) are not shared by this class.
+ */
+public class SharedUdpTransport implements Destroyable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SharedUdpTransport.class);
+
+    public static final int DEFAULT_DATAGRAM_SIZE = 2048;
+
+    /**
+     * Handles datagrams received on a channel.
+     */
+    public interface DatagramHandler {
+        /**
+         * Called from a selector thread, implementation should not block.
+         *
+         * @param data the received datagram (this array is not reused)
+         * @param peer the address of the sender
+         */
+        void onDatagram(byte[] data, InetSocketAddress peer);
+    }
+
+    private final SelectorLoop[] loops;
+    private final ExecutorService executor;
+    private final AtomicInteger nextLoop = new AtomicInteger();
+
+    public SharedUdpTransport() {
+        this(Math.max(1, Math.min(2, Runtime.getRuntime().availableProcessors() / 2)), DEFAULT_DATAGRAM_SIZE);
+    }
+
+    public SharedUdpTransport(int nbSelectorThreads, int datagramSize) {
+        Validate.isTrue(nbSelectorThreads > 0, "at least 1 selector thread is needed");
+        Validate.isTrue(datagramSize > 0, "datagram size must be positive");
+
+        executor = Executors.newFixedThreadPool(nbSelectorThreads, new NamedThreadFactory("Shared UDP Transport#%d"));
+        loops = new SelectorLoop[nbSelectorThreads];
+        try {
+            for (int i = 0; i < loops.length; i++) {
+                loops[i] = new SelectorLoop(datagramSize);
+                executor.execute(loops[i]);
+            }
+        } catch (IOException e) {
+            destroy();
+            throw new IllegalStateException("Unable to open selector", e);
+        }
+    }
+
+    /**
+     * Open a non-blocking channel bound to the given address and start to listen for incoming datagrams.
+     *
+     * @return the channel, close it with {@link #close(DatagramChannel)}
+     */
+    public DatagramChannel open(InetSocketAddress bindAddress, DatagramHandler handler) throws IOException {
+        DatagramChannel channel = DatagramChannel.open();
+        try {
+            channel.configureBlocking(false);
+            channel.bind(bindAddress);
+            loops[Math.floorMod(nextLoop.getAndIncrement(), loops.length)].register(channel, handler);
+            return channel;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Send a datagram without blocking.
+     *
+     * @return false if the datagram was dropped because the socket send buffer is full.
+     */
+    public boolean send(DatagramChannel channel, byte[] data, InetSocketAddress destination) throws IOException {
+        return channel.send(ByteBuffer.wrap(data), destination) > 0;
+    }
+
+    /**
+     * Stop listening on this channel and close it.
+     */
+    public void close(DatagramChannel channel) {
+        try {
+            // closing the channel cancels its keys, the selector will release it at next select
+            channel.close();
+        } catch (IOException e) {
+            LOG.debug("Unable to close channel {}", channel, e);
+        }
+        for (SelectorLoop loop : loops) {
+            if (loop != null)
+                loop.selector.wakeup();
+        }
+    }
+
+    public int getSelectorThreadCount() {
+        return loops.length;
+    }
+
+    @Override
+    public void destroy() {
+        for (SelectorLoop loop : loops) {
+            if (loop != null)
+                loop.close();
+        }
+        executor.shutdownNow();
+    }
+
+    private static class SelectorLoop implements Runnable {
+
+        private final Selector selector;
+        private final ByteBuffer buffer;
+        private final Queue<Runnable> registrations = new ConcurrentLinkedQueue<>();
+
+        public SelectorLoop(int datagramSize) throws IOException {
+            selector = Selector.open();
+            buffer = ByteBuffer.allocate(datagramSize);
+        }
+
+        public void register(final DatagramChannel channel, final DatagramHandler handler) {
+            // channels must be registered from the selector thread, else register blocks until select returns
+            registrations.add(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        channel.register(selector, SelectionKey.OP_READ, handler);
+                    } catch (IOException e) {
+                        LOG.warn("Unable to listen on channel {}", channel, e);
+                    }
+                }
+            });
+            selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (selector.isOpen()) {
+                    selector.select();
+                    Runnable registration;
+                    while ((registration = registrations.poll()) != null) {
+                        registration.run();
+                    }
+                    Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        SelectionKey key = keys.next();
+                        keys.remove();
+                        if (key.isValid() && key.isReadable()) {
+                            receive(key);
+                        }
+                    }
+                }
+            } catch (ClosedSelectorException e) {
+                // transport destroyed
+            } catch (IOException e) {
+                LOG.error("Shared UDP transport selector failed", e);
+            }
+        }
+
+        private void receive(SelectionKey key) {
+            DatagramChannel channel = (DatagramChannel) key.channel();
+            DatagramHandler handler = (DatagramHandler) key.attachment();
+            try {
+                InetSocketAddress peer;
+                buffer.clear();
+                while ((peer = (InetSocketAddress) channel.receive(buffer)) != null) {
+                    buffer.flip();
+                    byte[] data = new byte[buffer.remaining()];
+                    buffer.get(data);
+                    buffer.clear();
+                    try {
+                        handler.onDatagram(data, peer);
+                    } catch (RuntimeException e) {
+                        LOG.error("Unexpected error while handling datagram from {}", peer, e);
+                    }
+                }
+            } catch (IOException e) {
+                // e.g. ICMP port unreachable or channel closed concurrently
+                LOG.debug("Unable to receive on channel {}", channel, e);
+                if (!channel.isOpen())
+                    key.cancel();
+            }
+        }
+
+        public void close() {
+            try {
+                selector.close();
+            } catch (IOException e) {
+                LOG.debug("Unable to close selector", e);
+            }
+        }
+    }
+}
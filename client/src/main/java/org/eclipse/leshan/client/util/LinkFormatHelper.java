@@ -58,45 +58,62 @@ public final class LinkFormatHelper {
     private LinkFormatHelper() {
     }
 
+    private static final Comparator<LwM2mObjectEnabler> BY_OBJECT_ID = new Comparator<LwM2mObjectEnabler>() {
+        @Override
+        public int compare(LwM2mObjectEnabler o1, LwM2mObjectEnabler o2) {
+            return o1.getId() - o2.getId();
+        }
+    };
+
     public static Link[] getClientDescription(Collection<LwM2mObjectEnabler> objectEnablers, String rootPath,
             List<ContentFormat> supportedContentFormats) {
         List<Link> links = new ArrayList<>();
 
         // create links for root
+        links.add(getClientDescriptionRoot(rootPath, supportedContentFormats));
+
+        // sort object
+        List<LwM2mObjectEnabler> objEnablerList = new ArrayList<>(objectEnablers);
+        Collections.sort(objEnablerList, BY_OBJECT_ID);
+        for (LwM2mObjectEnabler objectEnabler : objEnablerList) {
+            links.addAll(getClientDescriptionOfObject(objectEnabler, rootPath));
+        }
+
+        return links.toArray(new Link[] {});
+    }
+
+    /**
+     * @return the root link of the client description, the first link of {@link #getClientDescription}.
+     */
+    public static Link getClientDescriptionRoot(String rootPath, List<ContentFormat> supportedContentFormats) {
         List<Attribute> attributes = new ArrayList<>();
         attributes.add(new ResourceTypeAttribute("oma.lwm2m"));
         // serialize contentFormat;
         if (supportedContentFormats != null && !supportedContentFormats.isEmpty()) {
             attributes.add(new ContentFormatAttribute(supportedContentFormats));
         }
+        return new MixedLwM2mLink(rootPath, LwM2mPath.ROOTPATH, attributes);
+    }
 
-        links.add(new MixedLwM2mLink(rootPath, LwM2mPath.ROOTPATH, attributes));
+    /**
+     * @return the links of one object in the client description, empty for objects which must not be described.
+     */
+    public static List<Link> getClientDescriptionOfObject(LwM2mObjectEnabler objectEnabler, String rootPath) {
+        // skip the security and oscore Object
+        if (objectEnabler.getId() == LwM2mId.SECURITY || objectEnabler.getId() == LwM2mId.OSCORE)
+            return Collections.emptyList();
 
-        // sort object
-        List<LwM2mObjectEnabler> objEnablerList = new ArrayList<>(objectEnablers);
-        Collections.sort(objEnablerList, new Comparator<LwM2mObjectEnabler>() {
-            @Override
-            public int compare(LwM2mObjectEnabler o1, LwM2mObjectEnabler o2) {
-                return o1.getId() - o2.getId();
-            }
-        });
-        for (LwM2mObjectEnabler objectEnabler : objEnablerList) {
-            // skip the security and oscore Object
-            if (objectEnabler.getId() == LwM2mId.SECURITY || objectEnabler.getId() == LwM2mId.OSCORE)
-                continue;
-
-            List<Integer> availableInstance = objectEnabler.getAvailableInstanceIds();
-            // Include an object link if there are no instances or there are object attributes (e.g. "ver")
-            List<LwM2mAttribute<?>> objectAttributes = getObjectAttributes(objectEnabler.getObjectModel());
-            if (availableInstance.isEmpty() || (objectAttributes != null)) {
-                links.add(new MixedLwM2mLink(rootPath, new LwM2mPath(objectEnabler.getId()), objectAttributes));
-            }
-            for (Integer instanceId : objectEnabler.getAvailableInstanceIds()) {
-                links.add(new MixedLwM2mLink(rootPath, new LwM2mPath(objectEnabler.getId(), instanceId)));
-            }
+        List<Link> links = new ArrayList<>();
+        List<Integer> availableInstance = objectEnabler.getAvailableInstanceIds();
+        // Include an object link if there are no instances or there are object attributes (e.g. "ver")
+        List<LwM2mAttribute<?>> objectAttributes = getObjectAttributes(objectEnabler.getObjectModel());
+        if (availableInstance.isEmpty() || (objectAttributes != null)) {
+            links.add(new MixedLwM2mLink(rootPath, new LwM2mPath(objectEnabler.getId()), objectAttributes));
         }
-
-        return links.toArray(new Link[] {});
+        for (Integer instanceId : availableInstance) {
+            links.add(new MixedLwM2mLink(rootPath, new LwM2mPath(objectEnabler.getId(), instanceId)));
+        }
+        return links;
     }
 
     public static LwM2mLink[] getBootstrapClientDescription(Collection<LwM2mObjectEnabler> objectEnablers) {
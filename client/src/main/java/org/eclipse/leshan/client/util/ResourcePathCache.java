@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.leshan.core.node.LwM2mPath;
+
+/**
+ * Interns the {@link LwM2mPath} of resources and resource instances of one object instance, so raising a change of a
+ * resource does not allocate a new path each time.
+ * <p>
+ * Each path is also available as a one element array which can be given directly to
+ * {@link org.eclipse.leshan.client.resource.listener.ResourceListener#resourceChanged(LwM2mPath...)}. Those arrays are
+ * shared and must not be modified.
+ * <p>
+ * Lookups are lock free: the table is copied on each insertion, which only happens the first time a path is used. To
+ * bound memory, at most {@link #MAX_SIZE} paths are interned, other paths are created on each call.
+ * <p>
+ * Paths are immutable, so the same instance of a given object has the same paths on all simulated clients. Use
+ * {@link #of(int, int)} to get the cache shared by all instances with the same object and instance ids, so a path is
+ * interned once by process and not once by client.
+ * <p>
+ * This class is threadsafe.
+ */
+public class ResourcePathCache {
+
+    public static final int MAX_SIZE = 1024;
+    public static final int MAX_SHARED_CACHES = 4096;
+
+    // key used for resource paths, resource instance ids are 16 bits unsigned integers so this can not collide
+    private static final int NO_RESOURCE_INSTANCE = -1;
+
+    // shared caches by object id and object instance id
+    private static final ConcurrentMap<Long, ResourcePathCache> sharedCaches = new ConcurrentHashMap<>();
+
+    private final int objectId;
+    private final int objectInstanceId;
+    private volatile Table table = new Table(16);
+
+    public ResourcePathCache(int objectId, int objectInstanceId) {
+        this.objectId = objectId;
+        this.objectInstanceId = objectInstanceId;
+    }
+
+    /**
+     * @return the cache shared by all instances with the given ids. When {@link #MAX_SHARED_CACHES} caches are already
+     *         shared, a new cache is returned.
+     */
+    public static ResourcePathCache of(int objectId, int objectInstanceId) {
+        Long key = toKey(objectId, objectInstanceId);
+        ResourcePathCache cache = sharedCaches.get(key);
+        if (cache == null) {
+            cache = new ResourcePathCache(objectId, objectInstanceId);
+            if (sharedCaches.size() < MAX_SHARED_CACHES) {
+                ResourcePathCache previous = sharedCaches.putIfAbsent(key, cache);
+                if (previous != null)
+                    return previous;
+            }
+        }
+        return cache;
+    }
+
+    public int getObjectId() {
+        return objectId;
+    }
+
+    public int getObjectInstanceId() {
+        return objectInstanceId;
+    }
+
+    /**
+     * @return the path of the given resource of this object instance.
+     */
+    public LwM2mPath getResourcePath(int resourceId) {
+        return getResourcePathAsArray(resourceId)[0];
+    }
+
+    /**
+     * @return the path of the given resource of this object instance in a shared one element array.
+     */
+    public LwM2mPath[] getResourcePathAsArray(int resourceId) {
+        return get(resourceId, NO_RESOURCE_INSTANCE);
+    }
+
+    /**
+     * @return the path of the given resource instance of this object instance.
+     */
+    public LwM2mPath getResourceInstancePath(int resourceId, int resourceInstanceId) {
+        return getResourceInstancePathAsArray(resourceId, resourceInstanceId)[0];
+    }
+
+    /**
+     * @return the path of the given resource instance of this object instance in a shared one element array.
+     */
+    public LwM2mPath[] getResourceInstancePathAsArray(int resourceId, int resourceInstanceId) {
+        return get(resourceId, resourceInstanceId);
+    }
+
+    /**
+     * @return the number of interned paths.
+     */
+    public int size() {
+        return table.size;
+    }
+
+    private LwM2mPath[] get(int resourceId, int resourceInstanceId) {
+        long key = toKey(resourceId, resourceInstanceId);
+        LwM2mPath[] path = table.get(key);
+        if (path != null)
+            return path;
+        return intern(key, resourceId, resourceInstanceId);
+    }
+
+    private synchronized LwM2mPath[] intern(long key, int resourceId, int resourceInstanceId) {
+        Table current = table;
+        LwM2mPath[] path = current.get(key);
+        if (path != null)
+            return path;
+
+        path = new LwM2mPath[] { resourceInstanceId == NO_RESOURCE_INSTANCE
+                ? new LwM2mPath(objectId, objectInstanceId, resourceId)
+                : new LwM2mPath(objectId, objectInstanceId, resourceId, resourceInstanceId) };
+        if (current.size < MAX_SIZE) {
+            // keep load factor under 0.5
+            Table updated = new Table(current.size + 1 > current.keys.length / 2 ? current.keys.length * 2
+                    : current.keys.length);
+            for (int i = 0; i < current.keys.length; i++) {
+                if (current.values[i] != null)
+                    updated.put(current.keys[i], current.values[i]);
+            }
+            updated.put(key, path);
+            table = updated;
+        }
+        return path;
+    }
+
+    private static long toKey(int high, int low) {
+        return ((long) high << 32) | (low & 0xFFFFFFFFL);
+    }
+
+    /**
+     * An open addressing hash table with linear probing, never modified once published.
+     */
+    private static class Table {
+        private final long[] keys;
+        private final LwM2mPath[][] values;
+        private int size;
+
+        private Table(int capacity) {
+            keys = new long[capacity];
+            values = new LwM2mPath[capacity][];
+        }
+
+        private LwM2mPath[] get(long key) {
+            int mask = keys.length - 1;
+            for (int i = index(key, mask);; i = (i + 1) & mask) {
+                LwM2mPath[] value = values[i];
+                if (value == null || keys[i] == key)
+                    return value;
+            }
+        }
+
+        private void put(long key, LwM2mPath[] value) {
+            int mask = keys.length - 1;
+            int i = index(key, mask);
+            while (values[i] != null) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            values[i] = value;
+            size++;
+        }
+
+        private static int index(long key, int mask) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+    }
+}
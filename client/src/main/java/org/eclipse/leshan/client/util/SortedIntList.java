@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.util;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * An immutable sorted list of ids (instance ids, resource ids) backed by an <code>int[]</code>.
+ * <p>
+ * It is used to cache the ids returned by object enablers: as the list can not be modified it is safe to share it,
+ * {@link #contains(int)} uses a binary search and {@link #getInt(int)} gives access to the values without boxing.
+ */
+public class SortedIntList extends AbstractList<Integer> implements RandomAccess {
+
+    public static final SortedIntList EMPTY = new SortedIntList(new int[0]);
+
+    private final int[] values;
+
+    private SortedIntList(int[] sortedValues) {
+        this.values = sortedValues;
+    }
+
+    /**
+     * @param ids the distinct ids to list, must not contain <code>null</code>.
+     * @return a sorted list of the given ids.
+     */
+    public static SortedIntList of(Collection<Integer> ids) {
+        if (ids.isEmpty())
+            return EMPTY;
+
+        int[] values = new int[ids.size()];
+        int i = 0;
+        for (Integer id : ids) {
+            values[i++] = id;
+        }
+        Arrays.sort(values);
+        return new SortedIntList(values);
+    }
+
+    /**
+     * @param ids the distinct ids to list.
+     * @return a sorted list of the given ids.
+     */
+    public static SortedIntList of(int... ids) {
+        if (ids.length == 0)
+            return EMPTY;
+
+        int[] values = ids.clone();
+        Arrays.sort(values);
+        return new SortedIntList(values);
+    }
+
+    @Override
+    public Integer get(int index) {
+        return values[index];
+    }
+
+    /**
+     * @return the value at the given index, without boxing.
+     */
+    public int getInt(int index) {
+        return values[index];
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    public boolean contains(int id) {
+        return Arrays.binarySearch(values, id) >= 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Integer && contains(((Integer) o).intValue());
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        if (!(o instanceof Integer))
+            return -1;
+        int index = Arrays.binarySearch(values, (Integer) o);
+        return index >= 0 ? index : -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        return indexOf(o);
+    }
+
+    /**
+     * @return a copy of the values as an array.
+     */
+    public int[] toIntArray() {
+        return values.clone();
+    }
+}
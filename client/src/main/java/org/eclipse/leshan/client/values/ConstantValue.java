@@ -0,0 +1,38 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.values;
+
+/**
+ * A {@link ValueModel} which never changes.
+ */
+public class ConstantValue implements ValueModel {
+
+    private final double value;
+
+    public ConstantValue(double value) {
+        this.value = value;
+    }
+
+    @Override
+    public double getValue(long timeInMs) {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ConstantValue [value=%s]", value);
+    }
+}
@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.values;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The {@link ValueModel}s of the simulated resources of one device, see {@link ValueModels#createDeviceValues(int)}.
+ * <p>
+ * Object instances should get their models once at creation, then read them with the current time.
+ */
+public class DeviceValues {
+
+    private final int index;
+    private final Map<Integer, ValueModel> models;
+
+    DeviceValues(int index, Map<Integer, ValueModel> models) {
+        this.index = index;
+        this.models = Collections.unmodifiableMap(models);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return the model of the given resource.
+     * @throws IllegalArgumentException if there is no model for this resource.
+     */
+    public ValueModel get(int objectId, int resourceId) {
+        ValueModel model = models.get(toKey(objectId, resourceId));
+        if (model == null) {
+            throw new IllegalArgumentException(String.format("No value model for resource %d/%d", objectId,
+                    resourceId));
+        }
+        return model;
+    }
+
+    static int toKey(int objectId, int resourceId) {
+        return objectId << 16 | resourceId;
+    }
+
+    /**
+     * Mixes 2 values into a well distributed one, using the finalizer of SplitMix64.
+     */
+    static long mix(long seed, long value) {
+        long z = seed + value * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * @return a double in [0, 1) from the 53 high bits of the given value.
+     */
+    static double toUnitDouble(long value) {
+        return (value >>> 11) * 0x1.0p-53;
+    }
+}
@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.values;
+
+import org.eclipse.leshan.core.util.Validate;
+
+/**
+ * A {@link ValueModel} which follows a sine curve over a period (a day by default), plus a random noise which changes
+ * at each noise period (e.g. a memory usage which follows the daily activity).
+ * <p>
+ * The value only depends on the time, so this model is stateless and threadsafe.
+ */
+public class DiurnalCurve implements ValueModel {
+
+    public static final long ONE_DAY_IN_MS = 24 * 60 * 60 * 1000L;
+
+    private final double mean;
+    private final double amplitude;
+    private final long periodInMs;
+    private final double phase;
+    private final double noise;
+    private final long noisePeriodInMs;
+    private final long noiseSeed;
+
+    /**
+     * @param mean the mean value.
+     * @param amplitude the maximum distance to the mean, without noise.
+     * @param periodInMs the period of the curve.
+     * @param phase the shift of the curve as a fraction of the period, in [0, 1).
+     * @param noise the maximum absolute value of the noise.
+     * @param noisePeriodInMs the time during which the noise keeps the same value.
+     * @param noiseSeed the seed of the noise, each value of the noise only depends on it and on the time.
+     */
+    public DiurnalCurve(double mean, double amplitude, long periodInMs, double phase, double noise,
+            long noisePeriodInMs, long noiseSeed) {
+        Validate.isTrue(periodInMs > 0, "period must be positive");
+        Validate.isTrue(noisePeriodInMs > 0, "noise period must be positive");
+        Validate.isTrue(noise >= 0, "noise must not be negative");
+        this.mean = mean;
+        this.amplitude = amplitude;
+        this.periodInMs = periodInMs;
+        this.phase = phase;
+        this.noise = noise;
+        this.noisePeriodInMs = noisePeriodInMs;
+        this.noiseSeed = noiseSeed;
+    }
+
+    @Override
+    public double getValue(long timeInMs) {
+        double position = (double) Math.floorMod(timeInMs, periodInMs) / periodInMs + phase;
+        double value = mean + amplitude * Math.sin(2 * Math.PI * position);
+        if (noise > 0) {
+            long noiseStep = Math.floorDiv(timeInMs, noisePeriodInMs);
+            value += (DeviceValues.toUnitDouble(DeviceValues.mix(noiseSeed, noiseStep)) * 2 - 1) * noise;
+        }
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("DiurnalCurve [mean=%s, amplitude=%s, period=%dms, phase=%s, noise=%s]", mean, amplitude,
+                periodInMs, phase, noise);
+    }
+}
@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.values;
+
+import java.util.SplittableRandom;
+
+import org.eclipse.leshan.core.util.Validate;
+
+/**
+ * A {@link ValueModel} which moves by a random step, plus an optional drift, at each period (e.g. a battery which
+ * slowly drains, a radio signal strength). The value stays in [min, max].
+ * <p>
+ * Steps are computed when the value is read, from the creation time of the model, so an idle device does not cost
+ * anything.
+ */
+public class RandomWalk implements ValueModel {
+
+    private final SplittableRandom random;
+    private final double maxStep;
+    private final double drift;
+    private final double min;
+    private final double max;
+    private final long periodInMs;
+    private final long startTimeInMs;
+
+    private long nbSteps = 0;
+    private double value;
+
+    /**
+     * @param random the random stream of this model, it must not be shared.
+     * @param initial the value at start time.
+     * @param maxStep the maximum absolute value of the random part of a step.
+     * @param drift a value added at each step.
+     * @param min the minimum value.
+     * @param max the maximum value.
+     * @param periodInMs the time between 2 steps.
+     * @param startTimeInMs the creation time of the model.
+     */
+    public RandomWalk(SplittableRandom random, double initial, double maxStep, double drift, double min, double max,
+            long periodInMs, long startTimeInMs) {
+        Validate.notNull(random);
+        Validate.isTrue(min <= max, "min must not be greater than max");
+        Validate.isTrue(maxStep >= 0, "step must not be negative");
+        Validate.isTrue(periodInMs > 0, "period must be positive");
+        this.random = random;
+        this.maxStep = maxStep;
+        this.drift = drift;
+        this.min = min;
+        this.max = max;
+        this.periodInMs = periodInMs;
+        this.startTimeInMs = startTimeInMs;
+        this.value = clamp(initial);
+    }
+
+    @Override
+    public synchronized double getValue(long timeInMs) {
+        long targetSteps = (timeInMs - startTimeInMs) / periodInMs;
+        while (nbSteps < targetSteps) {
+            value = clamp(value + drift + (random.nextDouble() * 2 - 1) * maxStep);
+            nbSteps++;
+        }
+        return value;
+    }
+
+    private double clamp(double v) {
+        return Math.max(min, Math.min(max, v));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RandomWalk [step=%s, drift=%s, min=%s, max=%s, period=%dms]", maxStep, drift, min, max,
+                periodInMs);
+    }
+}
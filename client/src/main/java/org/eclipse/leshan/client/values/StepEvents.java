@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.values;
+
+import java.util.SplittableRandom;
+
+import org.eclipse.leshan.core.util.Validate;
+
+/**
+ * A {@link ValueModel} which keeps a value until a random event makes it jump to another level (e.g. a battery status,
+ * a WLAN channel). Events follow a Poisson process and levels are min, min + increment, ... up to max, all equally
+ * likely.
+ */
+public class StepEvents implements ValueModel {
+
+    private final SplittableRandom random;
+    private final double min;
+    private final double increment;
+    private final int nbLevels;
+    private final double meanIntervalInMs;
+
+    private long nextEventInMs;
+    private double value;
+
+    /**
+     * @param random the random stream of this model, it must not be shared.
+     * @param initial the value at start time.
+     * @param min the lowest level.
+     * @param max the highest level.
+     * @param increment the difference between 2 levels.
+     * @param meanIntervalInMs the mean time between 2 events.
+     * @param startTimeInMs the creation time of the model.
+     */
+    public StepEvents(SplittableRandom random, double initial, double min, double max, double increment,
+            long meanIntervalInMs, long startTimeInMs) {
+        Validate.notNull(random);
+        Validate.isTrue(min <= max, "min must not be greater than max");
+        Validate.isTrue(increment > 0, "increment must be positive");
+        Validate.isTrue(meanIntervalInMs > 0, "interval must be positive");
+        this.random = random;
+        this.min = min;
+        this.increment = increment;
+        this.nbLevels = (int) Math.floor((max - min) / increment) + 1;
+        this.meanIntervalInMs = meanIntervalInMs;
+        this.value = initial;
+        this.nextEventInMs = startTimeInMs + nextInterval();
+    }
+
+    @Override
+    public synchronized double getValue(long timeInMs) {
+        while (nextEventInMs <= timeInMs) {
+            value = min + random.nextInt(nbLevels) * increment;
+            nextEventInMs += nextInterval();
+        }
+        return value;
+    }
+
+    private long nextInterval() {
+        // exponential distribution, at least 1ms to always move forward
+        return Math.max(1, (long) (-Math.log(1 - random.nextDouble()) * meanIntervalInMs));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("StepEvents [min=%s, increment=%s, levels=%d, interval=%.0fms]", min, increment, nbLevels,
+                meanIntervalInMs);
+    }
+}
@@ -0,0 +1,31 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.values;
+
+/**
+ * Simulates how the value of a resource of one device evolves over time.
+ * <p>
+ * A model belongs to a single device, so reads of different devices never contend. Models are deterministic: created
+ * with the same random stream and read at the same times, they give the same values.
+ */
+public interface ValueModel {
+
+    /**
+     * @param timeInMs the current time in milliseconds since the epoch, never smaller than the time of a previous call.
+     * @return the value of the resource at this time.
+     */
+    double getValue(long timeInMs);
+}
@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.values;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * The available {@link ValueModel}s, e.g. to select one from the command line, with the name of their parameters.
+ */
+public enum ValueModelType {
+    CONSTANT("value"),
+    WALK("initial", "min", "max", "step", "drift", "period"),
+    DIURNAL("mean", "amplitude", "period", "phase", "noise", "noisePeriod"),
+    STEP("initial", "min", "max", "increment", "interval");
+
+    public static final long DEFAULT_WALK_PERIOD_IN_MS = 60000;
+    public static final long DEFAULT_NOISE_PERIOD_IN_MS = 60000;
+    public static final long DEFAULT_STEP_INTERVAL_IN_MS = 3600000;
+
+    private final List<String> parameters;
+
+    private ValueModelType(String... parameters) {
+        this.parameters = Arrays.asList(parameters);
+    }
+
+    public List<String> getParameters() {
+        return parameters;
+    }
+
+    /**
+     * @param params the parameters of the model, missing ones take a default value.
+     * @param random the random stream of the model, it must not be shared.
+     * @param startTimeInMs the creation time of the model.
+     * @throws IllegalArgumentException if a parameter is unknown or invalid.
+     */
+    public ValueModel create(Map<String, Double> params, SplittableRandom random, long startTimeInMs) {
+        for (String name : params.keySet()) {
+            if (!parameters.contains(name)) {
+                throw new IllegalArgumentException(
+                        String.format("Unknown parameter %s for %s value model, expected one of %s", name, this,
+                                parameters));
+            }
+        }
+        switch (this) {
+        case WALK: {
+            double min = get(params, "min", 0);
+            double max = get(params, "max", 100);
+            // without initial value, each device starts somewhere else
+            double initial = params.containsKey("initial") ? params.get("initial")
+                    : min + random.nextDouble() * (max - min);
+            return new RandomWalk(random, initial, get(params, "step", 1), get(params, "drift", 0), min, max,
+                    (long) get(params, "period", DEFAULT_WALK_PERIOD_IN_MS), startTimeInMs);
+        }
+        case DIURNAL:
+            return new DiurnalCurve(get(params, "mean", 0), get(params, "amplitude", 0),
+                    (long) get(params, "period", DiurnalCurve.ONE_DAY_IN_MS), get(params, "phase", 0),
+                    get(params, "noise", 0), (long) get(params, "noisePeriod", DEFAULT_NOISE_PERIOD_IN_MS),
+                    random.nextLong());
+        case STEP: {
+            double min = get(params, "min", 0);
+            return new StepEvents(random, get(params, "initial", min), min, get(params, "max", 1),
+                    get(params, "increment", 1), (long) get(params, "interval", DEFAULT_STEP_INTERVAL_IN_MS),
+                    startTimeInMs);
+        }
+        case CONSTANT:
+        default:
+            return new ConstantValue(get(params, "value", 0));
+        }
+    }
+
+    private static double get(Map<String, Double> params, String name, double defaultValue) {
+        Double value = params.get(name);
+        return value != null ? value : defaultValue;
+    }
+}
@@ -0,0 +1,156 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.values;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.SplittableRandom;
+
+import org.eclipse.leshan.core.LwM2mId;
+
+/**
+ * The {@link ValueModel}s of simulated resources for the whole fleet, from which the models of each device are
+ * created.
+ * <p>
+ * Each resource of each device gets its own random stream, derived from the seed, the index of the device and the
+ * resource. So reads never contend on a shared random generator, and a run with the same seed gives the same values.
+ * <p>
+ * A model is described by a string like {@code walk:min=0,max=100,step=1,period=60000}: the type (see
+ * {@link ValueModelType}) followed by optional numeric parameters.
+ */
+public class ValueModels {
+
+    public static final int WLAN_CONNECTIVITY = 12;
+
+    // simulated resources
+    public static final int DVC_BATTERY_LEVEL = 9;
+    public static final int DVC_MEMORY_FREE = 10;
+    public static final int DVC_BATTERY_STATUS = 20;
+    public static final int DVC_MEMORY_TOTAL = 21;
+    public static final int CM_RADIO_SIGNAL_STRENGTH = 2;
+    public static final int CM_LINK_QUALITY = 3;
+    public static final int WLAN_CHANNEL = 9;
+
+    private final long seed;
+    private final Map<Integer, Spec> specs = new LinkedHashMap<>();
+
+    public ValueModels(long seed) {
+        this.seed = seed;
+        // device (memory in KB)
+        set(LwM2mId.DEVICE, DVC_BATTERY_LEVEL, "walk:min=0,max=100,step=1,drift=-0.02,period=60000");
+        set(LwM2mId.DEVICE, DVC_MEMORY_FREE, "diurnal:mean=40000,amplitude=16000,noise=2000,noisePeriod=60000");
+        set(LwM2mId.DEVICE, DVC_BATTERY_STATUS, "step:initial=0,min=0,max=6,interval=21600000");
+        set(LwM2mId.DEVICE, DVC_MEMORY_TOTAL, "constant:value=65536");
+        // connectivity monitoring (signal strength in dBm)
+        set(LwM2mId.CONNECTIVITY_MONITORING, CM_RADIO_SIGNAL_STRENGTH, "walk:min=-110,max=-50,step=2,period=10000");
+        set(LwM2mId.CONNECTIVITY_MONITORING, CM_LINK_QUALITY, "walk:min=0,max=100,step=3,period=10000");
+        // WLAN connectivity
+        set(WLAN_CONNECTIVITY, WLAN_CHANNEL, "step:initial=1,min=1,max=13,interval=3600000");
+    }
+
+    /**
+     * Set the model of a resource from a string like {@code 3/9=walk:min=0,max=100}.
+     *
+     * @throws IllegalArgumentException if the string is not valid.
+     */
+    public void set(String resourceAndModel) {
+        String[] parts = resourceAndModel.split("=", 2);
+        String[] ids = parts[0].split("/");
+        if (parts.length != 2 || ids.length != 2) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid value model %s, expected objectId/resourceId=model", resourceAndModel));
+        }
+        try {
+            set(Integer.parseInt(ids[0].trim()), Integer.parseInt(ids[1].trim()), parts[1]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("Invalid resource %s in value model %s", parts[0],
+                    resourceAndModel), e);
+        }
+    }
+
+    /**
+     * Set the model of a resource from a string like {@code walk:min=0,max=100}.
+     *
+     * @throws IllegalArgumentException if the string is not valid.
+     */
+    public void set(int objectId, int resourceId, String model) {
+        specs.put(DeviceValues.toKey(objectId, resourceId), Spec.parse(model));
+    }
+
+    /**
+     * @param index the index of the device.
+     * @return the models of the device, starting now.
+     */
+    public DeviceValues createDeviceValues(int index) {
+        return createDeviceValues(index, System.currentTimeMillis());
+    }
+
+    public DeviceValues createDeviceValues(int index, long startTimeInMs) {
+        long deviceSeed = DeviceValues.mix(seed, index);
+        Map<Integer, ValueModel> models = new HashMap<>();
+        for (Entry<Integer, Spec> spec : specs.entrySet()) {
+            SplittableRandom random = new SplittableRandom(DeviceValues.mix(deviceSeed, spec.getKey()));
+            models.put(spec.getKey(), spec.getValue().create(random, startTimeInMs));
+        }
+        return new DeviceValues(index, models);
+    }
+
+    private static class Spec {
+        private final ValueModelType type;
+        private final Map<String, Double> params;
+
+        private Spec(ValueModelType type, Map<String, Double> params) {
+            this.type = type;
+            this.params = params;
+        }
+
+        private ValueModel create(SplittableRandom random, long startTimeInMs) {
+            return type.create(params, random, startTimeInMs);
+        }
+
+        private static Spec parse(String value) {
+            String[] typeAndParams = value.split(":", 2);
+            ValueModelType type;
+            try {
+                type = ValueModelType.valueOf(typeAndParams[0].trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(String.format("Unknown value model type %s", typeAndParams[0]),
+                        e);
+            }
+            Map<String, Double> params = new HashMap<>();
+            if (typeAndParams.length == 2 && !typeAndParams[1].isEmpty()) {
+                for (String param : typeAndParams[1].split(",")) {
+                    String[] keyValue = param.split("=", 2);
+                    if (keyValue.length != 2) {
+                        throw new IllegalArgumentException(String.format("Invalid value model parameter %s", param));
+                    }
+                    try {
+                        params.put(keyValue[0].trim(), Double.valueOf(keyValue[1].trim()));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException(
+                                String.format("Invalid value for value model parameter %s", param), e);
+                    }
+                }
+            }
+            Spec spec = new Spec(type, params);
+            // fail now rather than when the first device is created
+            spec.create(new SplittableRandom(0), 0);
+            return spec;
+        }
+    }
+}
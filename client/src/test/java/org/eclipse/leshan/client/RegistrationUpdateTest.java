@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.leshan.core.link.Link;
+import org.eclipse.leshan.core.request.BindingMode;
+import org.junit.jupiter.api.Test;
+
+public class RegistrationUpdateTest {
+
+    @Test
+    public void merge_keeps_fields_of_both_updates() {
+        Link[] links = new Link[] { new Link("/3/0") };
+        RegistrationUpdate lifetime = new RegistrationUpdate(300l);
+        RegistrationUpdate objectLinks = new RegistrationUpdate(links);
+
+        RegistrationUpdate merged = lifetime.merge(objectLinks);
+
+        assertEquals(Long.valueOf(300), merged.getLifeTimeInSec());
+        assertArrayEquals(links, merged.getObjectLinks());
+        assertNull(merged.getBindingMode());
+        assertNull(merged.getSmsNumber());
+    }
+
+    @Test
+    public void merge_prefers_newer_fields() {
+        Link[] oldLinks = new Link[] { new Link("/3/0") };
+        Link[] newLinks = new Link[] { new Link("/3/0"), new Link("/6/0") };
+        RegistrationUpdate older = new RegistrationUpdate(300l, null, EnumSet.of(BindingMode.U), oldLinks, null);
+        RegistrationUpdate newer = new RegistrationUpdate(null, null, EnumSet.of(BindingMode.T), newLinks, null);
+
+        RegistrationUpdate merged = older.merge(newer);
+
+        assertEquals(Long.valueOf(300), merged.getLifeTimeInSec());
+        assertEquals(EnumSet.of(BindingMode.T), merged.getBindingMode());
+        assertArrayEquals(newLinks, merged.getObjectLinks());
+    }
+
+    @Test
+    public void merge_combines_additional_attributes() {
+        Map<String, String> olderAttributes = new HashMap<>();
+        olderAttributes.put("a", "1");
+        olderAttributes.put("b", "1");
+        RegistrationUpdate older = new RegistrationUpdate(olderAttributes);
+        RegistrationUpdate newer = new RegistrationUpdate(Collections.singletonMap("b", "2"));
+
+        Map<String, String> merged = older.merge(newer).getAdditionalAttributes();
+
+        assertEquals(2, merged.size());
+        assertEquals("1", merged.get("a"));
+        assertEquals("2", merged.get("b"));
+        assertEquals("1", olderAttributes.get("b"));
+    }
+}
@@ -0,0 +1,354 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.eclipse.leshan.client.RegistrationUpdate;
+import org.eclipse.leshan.client.bootstrap.BootstrapHandler;
+import org.eclipse.leshan.client.bootstrap.DefaultBootstrapConsistencyChecker;
+import org.eclipse.leshan.client.engine.AsyncRegistrationEngine.State;
+import org.eclipse.leshan.client.object.Device;
+import org.eclipse.leshan.client.object.Security;
+import org.eclipse.leshan.client.object.Server;
+import org.eclipse.leshan.client.request.UplinkRequestSender;
+import org.eclipse.leshan.client.resource.LwM2mObjectTree;
+import org.eclipse.leshan.client.resource.ObjectsInitializer;
+import org.eclipse.leshan.client.servers.ServerIdentity;
+import org.eclipse.leshan.core.LwM2mId;
+import org.eclipse.leshan.core.request.ContentFormat;
+import org.eclipse.leshan.core.request.RegisterRequest;
+import org.eclipse.leshan.core.request.UpdateRequest;
+import org.eclipse.leshan.core.request.UplinkRequest;
+import org.eclipse.leshan.core.request.exception.TimeoutException;
+import org.eclipse.leshan.core.response.ErrorCallback;
+import org.eclipse.leshan.core.response.LwM2mResponse;
+import org.eclipse.leshan.core.response.RegisterResponse;
+import org.eclipse.leshan.core.response.ResponseCallback;
+import org.eclipse.leshan.core.response.UpdateResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class AsyncRegistrationEngineTest {
+
+    private static final long LIFETIME_IN_SEC = 300;
+    private static final long REQUEST_TIMEOUT_IN_MS = 2000;
+    private static final long RETRY_DELAY_IN_MS = 5000;
+
+    private static final long COALESCING_WINDOW_IN_MS = 1000;
+
+    private ManualScheduledExecutor executor;
+    private FakeSender sender;
+    private FakeEndpointsManager endpointsManager;
+    private AsyncRegistrationEngine engine;
+
+    @BeforeEach
+    public void setup() {
+        executor = new ManualScheduledExecutor();
+        sender = new FakeSender();
+        endpointsManager = new FakeEndpointsManager();
+        engine = createEngine(0);
+    }
+
+    private AsyncRegistrationEngine createEngine(long updateCoalescingWindowInMs) {
+        ObjectsInitializer initializer = new ObjectsInitializer();
+        initializer.setInstancesForObject(LwM2mId.SECURITY, Security.noSec("coap://localhost:5683", 123));
+        initializer.setInstancesForObject(LwM2mId.SERVER, new Server(123, LIFETIME_IN_SEC));
+        initializer.setInstancesForObject(LwM2mId.DEVICE, new Device("Eclipse Leshan", "model", "serial"));
+        LwM2mObjectTree objectTree = new LwM2mObjectTree(null, initializer.createAll());
+
+        return new AsyncRegistrationEngine("client", objectTree, endpointsManager, sender,
+                new BootstrapHandler(objectTree.getObjectEnablers(), new DefaultBootstrapConsistencyChecker()), null,
+                null, null, executor, REQUEST_TIMEOUT_IN_MS, REQUEST_TIMEOUT_IN_MS, 10,
+                new FixedRetryPolicy(RETRY_DELAY_IN_MS), null, null, updateCoalescingWindowInMs, false, false, false,
+                ContentFormat.TLV, new HashSet<>(Arrays.asList(ContentFormat.TLV, ContentFormat.TEXT)));
+    }
+
+    private void register() {
+        engine.start();
+        executor.runDueTasks();
+        sender.last(RegisterRequest.class).respond(RegisterResponse.success("reg1"));
+        executor.runDueTasks();
+        assertEquals(State.REGISTERED, engine.getState());
+    }
+
+    @Test
+    public void update_is_sent_every_lifetime() {
+        register();
+        assertTrue(engine.getRegisteredServers().containsKey("reg1"));
+
+        executor.advance(LIFETIME_IN_SEC * 1000 - 1);
+        assertEquals(1, sender.sent.size());
+        executor.advance(1);
+        assertEquals(State.UPDATING, engine.getState());
+        sender.last(UpdateRequest.class).respond(UpdateResponse.success());
+        executor.runDueTasks();
+
+        assertEquals(State.REGISTERED, engine.getState());
+        executor.advance(LIFETIME_IN_SEC * 1000);
+        assertEquals(3, sender.sent.size());
+    }
+
+    @Test
+    public void late_response_of_timed_out_register_is_ignored() {
+        engine.start();
+        executor.runDueTasks();
+        SentRequest first = sender.last(RegisterRequest.class);
+
+        // timeout: reconnect and send the request again
+        first.fail(new TimeoutException(TimeoutException.Type.RESPONSE_TIMEOUT, "timeout"));
+        executor.runDueTasks();
+        assertEquals(1, endpointsManager.reconnections);
+        assertEquals(2, sender.sent.size());
+        SentRequest second = sender.last(RegisterRequest.class);
+
+        first.respond(RegisterResponse.success("late"));
+        executor.runDueTasks();
+        assertEquals(State.REGISTERING, engine.getState());
+        assertTrue(engine.getRegisteredServers().isEmpty());
+
+        second.respond(RegisterResponse.success("reg1"));
+        executor.runDueTasks();
+        assertEquals(State.REGISTERED, engine.getState());
+        assertEquals(1, engine.getRegisteredServers().size());
+        assertTrue(engine.getRegisteredServers().containsKey("reg1"));
+    }
+
+    @Test
+    public void register_is_retried_after_second_timeout() {
+        engine.start();
+        executor.runDueTasks();
+        sender.last(RegisterRequest.class).fail(new TimeoutException(TimeoutException.Type.RESPONSE_TIMEOUT, "1"));
+        executor.runDueTasks();
+        sender.last(RegisterRequest.class).fail(new TimeoutException(TimeoutException.Type.RESPONSE_TIMEOUT, "2"));
+        executor.runDueTasks();
+
+        // no reconnection on second timeout, wait for the retry delay
+        assertEquals(1, endpointsManager.reconnections);
+        assertEquals(State.WAITING_RETRY, engine.getState());
+        executor.advance(RETRY_DELAY_IN_MS - 1);
+        assertEquals(2, sender.sent.size());
+        executor.advance(1);
+        assertEquals(3, sender.sent.size());
+        assertEquals(State.REGISTERING, engine.getState());
+    }
+
+    @Test
+    public void register_is_retried_after_error_response() {
+        engine.start();
+        executor.runDueTasks();
+        sender.last(RegisterRequest.class).respond(RegisterResponse.forbidden("not allowed"));
+        executor.runDueTasks();
+
+        assertEquals(State.WAITING_RETRY, engine.getState());
+        assertEquals(0, endpointsManager.reconnections);
+        executor.advance(RETRY_DELAY_IN_MS);
+        assertEquals(2, sender.sent.size());
+        sender.last(RegisterRequest.class).respond(RegisterResponse.success("reg1"));
+        executor.runDueTasks();
+        assertEquals(State.REGISTERED, engine.getState());
+    }
+
+    @Test
+    public void callbacks_received_after_stop_are_ignored() {
+        engine.start();
+        executor.runDueTasks();
+        SentRequest register = sender.last(RegisterRequest.class);
+
+        engine.stop(false);
+        register.respond(RegisterResponse.success("reg1"));
+        executor.runDueTasks();
+
+        assertEquals(State.STOPPED, engine.getState());
+        assertTrue(engine.getRegisteredServers().isEmpty());
+        // no update timer was armed
+        assertEquals(0, executor.pendingTasks());
+        assertEquals(1, sender.sent.size());
+    }
+
+    @Test
+    public void update_triggered_during_update_is_sent_once_it_succeeds() {
+        register();
+        engine.triggerRegistrationUpdate(new RegistrationUpdate(600l));
+        executor.runDueTasks();
+        SentRequest first = sender.last(UpdateRequest.class);
+
+        // pending until the update in progress succeeds, then merged with the next ones
+        engine.triggerRegistrationUpdate(new RegistrationUpdate(900l));
+        engine.triggerRegistrationUpdate(new RegistrationUpdate(1200l));
+        executor.runDueTasks();
+        assertEquals(2, sender.sent.size());
+
+        first.respond(UpdateResponse.success());
+        executor.runDueTasks();
+        assertEquals(3, sender.sent.size());
+        SentRequest second = sender.last(UpdateRequest.class);
+        assertEquals(Long.valueOf(1200), ((UpdateRequest) second.request).getLifeTimeInSec());
+
+        // an error of the previous update received out of order must not trigger a retry
+        first.fail(new TimeoutException(TimeoutException.Type.RESPONSE_TIMEOUT, "timeout"));
+        executor.runDueTasks();
+        assertEquals(3, sender.sent.size());
+        assertEquals(0, endpointsManager.reconnections);
+        assertEquals(State.UPDATING, engine.getState());
+
+        second.respond(UpdateResponse.success());
+        executor.runDueTasks();
+        assertEquals(State.REGISTERED, engine.getState());
+        executor.advance(LIFETIME_IN_SEC * 1000);
+        assertNull(((UpdateRequest) sender.last(UpdateRequest.class).request).getLifeTimeInSec());
+    }
+
+    @Test
+    public void update_timeouts_lead_to_a_new_registration() {
+        register();
+        executor.advance(LIFETIME_IN_SEC * 1000);
+        sender.last(UpdateRequest.class).fail(new TimeoutException(TimeoutException.Type.RESPONSE_TIMEOUT, "1"));
+        executor.runDueTasks();
+        assertEquals(State.UPDATING, engine.getState());
+        sender.last(UpdateRequest.class).fail(new TimeoutException(TimeoutException.Type.RESPONSE_TIMEOUT, "2"));
+        executor.runDueTasks();
+
+        assertEquals(1, endpointsManager.reconnections);
+        assertEquals(State.REGISTERING, engine.getState());
+        sender.last(RegisterRequest.class).respond(RegisterResponse.success("reg2"));
+        executor.runDueTasks();
+        assertEquals(State.REGISTERED, engine.getState());
+        assertTrue(engine.getRegisteredServers().containsKey("reg2"));
+    }
+
+    @Test
+    public void updates_triggered_during_coalescing_window_are_sent_once() {
+        engine = createEngine(COALESCING_WINDOW_IN_MS);
+        register();
+
+        engine.triggerRegistrationUpdate(new RegistrationUpdate(600l));
+        engine.triggerRegistrationUpdate(new RegistrationUpdate("+33600000000"));
+        engine.triggerRegistrationUpdate(new RegistrationUpdate(900l));
+        executor.advance(COALESCING_WINDOW_IN_MS - 1);
+        assertEquals(1, sender.sent.size());
+
+        executor.advance(1);
+        assertEquals(2, sender.sent.size());
+        UpdateRequest update = (UpdateRequest) sender.last(UpdateRequest.class).request;
+        assertEquals(Long.valueOf(900), update.getLifeTimeInSec());
+        assertEquals("+33600000000", update.getSmsNumber());
+    }
+
+    @Test
+    public void stop_forgets_server_being_registered() {
+        engine.start();
+        executor.runDueTasks();
+        ServerIdentity server = engine.getRegisteredServer(123);
+        assertNotNull(server);
+        assertTrue(engine.isAllowedToCommunicate(server));
+
+        engine.stop(false);
+
+        assertNull(engine.getRegisteredServer(123));
+        assertFalse(engine.isAllowedToCommunicate(server));
+    }
+
+    @Test
+    public void destroy_forgets_server_being_registered() {
+        engine.start();
+        executor.runDueTasks();
+        ServerIdentity server = engine.getRegisteredServer(123);
+        assertNotNull(server);
+
+        engine.destroy(false);
+
+        assertNull(engine.getRegisteredServer(123));
+        assertFalse(engine.isAllowedToCommunicate(server));
+    }
+
+    @Test
+    public void stop_cancels_coalescing_window() {
+        engine = createEngine(COALESCING_WINDOW_IN_MS);
+        register();
+
+        engine.triggerRegistrationUpdate(new RegistrationUpdate(600l));
+        engine.stop(false);
+        executor.advance(COALESCING_WINDOW_IN_MS);
+
+        assertEquals(1, sender.sent.size());
+        assertEquals(0, executor.pendingTasks());
+    }
+
+    @Test
+    public void destroy_cancels_coalescing_window() {
+        engine = createEngine(COALESCING_WINDOW_IN_MS);
+        register();
+
+        engine.triggerRegistrationUpdate(new RegistrationUpdate(600l));
+        engine.destroy(false);
+        executor.advance(COALESCING_WINDOW_IN_MS);
+
+        assertEquals(1, sender.sent.size());
+        assertEquals(0, executor.pendingTasks());
+    }
+
+    private static class SentRequest {
+        private final UplinkRequest<?> request;
+        private final ResponseCallback<?> responseCallback;
+        private final ErrorCallback errorCallback;
+
+        SentRequest(UplinkRequest<?> request, ResponseCallback<?> responseCallback, ErrorCallback errorCallback) {
+            this.request = request;
+            this.responseCallback = responseCallback;
+            this.errorCallback = errorCallback;
+        }
+
+        @SuppressWarnings("unchecked")
+        void respond(LwM2mResponse response) {
+            ((ResponseCallback<LwM2mResponse>) responseCallback).onResponse(response);
+        }
+
+        void fail(Exception e) {
+            errorCallback.onError(e);
+        }
+    }
+
+    private static class FakeSender implements UplinkRequestSender {
+        private final List<SentRequest> sent = new ArrayList<>();
+
+        SentRequest last(Class<?> requestClass) {
+            SentRequest last = sent.get(sent.size() - 1);
+            assertTrue(requestClass.isInstance(last.request), "last request was " + last.request);
+            return last;
+        }
+
+        @Override
+        public <T extends LwM2mResponse> T send(ServerIdentity server, UplinkRequest<T> request, long timeoutInMs) {
+            return null;
+        }
+
+        @Override
+        public <T extends LwM2mResponse> void send(ServerIdentity server, UplinkRequest<T> request, long timeoutInMs,
+                ResponseCallback<T> responseCallback, ErrorCallback errorCallback) {
+            sent.add(new SentRequest(request, responseCallback, errorCallback));
+        }
+    }
+}
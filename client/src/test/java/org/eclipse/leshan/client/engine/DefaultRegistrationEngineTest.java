@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.eclipse.leshan.client.RegistrationUpdate;
+import org.eclipse.leshan.client.bootstrap.BootstrapHandler;
+import org.eclipse.leshan.client.bootstrap.DefaultBootstrapConsistencyChecker;
+import org.eclipse.leshan.client.object.Device;
+import org.eclipse.leshan.client.object.Security;
+import org.eclipse.leshan.client.object.Server;
+import org.eclipse.leshan.client.request.UplinkRequestSender;
+import org.eclipse.leshan.client.resource.LwM2mObjectTree;
+import org.eclipse.leshan.client.resource.ObjectsInitializer;
+import org.eclipse.leshan.client.servers.ServerIdentity;
+import org.eclipse.leshan.core.LwM2mId;
+import org.eclipse.leshan.core.request.ContentFormat;
+import org.eclipse.leshan.core.request.RegisterRequest;
+import org.eclipse.leshan.core.request.UpdateRequest;
+import org.eclipse.leshan.core.request.UplinkRequest;
+import org.eclipse.leshan.core.response.ErrorCallback;
+import org.eclipse.leshan.core.response.LwM2mResponse;
+import org.eclipse.leshan.core.response.RegisterResponse;
+import org.eclipse.leshan.core.response.ResponseCallback;
+import org.eclipse.leshan.core.response.UpdateResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class DefaultRegistrationEngineTest {
+
+    private static final long LIFETIME_IN_SEC = 300;
+    private static final long REQUEST_TIMEOUT_IN_MS = 2000;
+    private static final long RETRY_DELAY_IN_MS = 5000;
+    private static final long COALESCING_WINDOW_IN_MS = 1000;
+
+    private ManualScheduledExecutor executor;
+    private FakeSender sender;
+    private DefaultRegistrationEngine engine;
+
+    @BeforeEach
+    public void setup() {
+        ObjectsInitializer initializer = new ObjectsInitializer();
+        initializer.setInstancesForObject(LwM2mId.SECURITY, Security.noSec("coap://localhost:5683", 123));
+        initializer.setInstancesForObject(LwM2mId.SERVER, new Server(123, LIFETIME_IN_SEC));
+        initializer.setInstancesForObject(LwM2mId.DEVICE, new Device("Eclipse Leshan", "model", "serial"));
+        LwM2mObjectTree objectTree = new LwM2mObjectTree(null, initializer.createAll());
+
+        executor = new ManualScheduledExecutor();
+        sender = new FakeSender();
+        engine = new DefaultRegistrationEngine("client", objectTree, new FakeEndpointsManager(), sender,
+                new BootstrapHandler(objectTree.getObjectEnablers(), new DefaultBootstrapConsistencyChecker()), null,
+                null, null, executor, REQUEST_TIMEOUT_IN_MS, REQUEST_TIMEOUT_IN_MS, 10,
+                new FixedRetryPolicy(RETRY_DELAY_IN_MS), null, null, COALESCING_WINDOW_IN_MS, false, false, false,
+                ContentFormat.TLV, new HashSet<>(Arrays.asList(ContentFormat.TLV, ContentFormat.TEXT)));
+    }
+
+    private void register() {
+        engine.start();
+        executor.runDueTasks();
+        assertEquals(1, sender.sent.size());
+        assertTrue(sender.sent.get(0) instanceof RegisterRequest);
+        assertTrue(engine.getRegisteredServers().containsKey("reg1"));
+    }
+
+    @Test
+    public void updates_triggered_during_coalescing_window_are_sent_once() {
+        register();
+
+        engine.triggerRegistrationUpdate(new RegistrationUpdate(600l));
+        engine.triggerRegistrationUpdate(new RegistrationUpdate("+33600000000"));
+        engine.triggerRegistrationUpdate(new RegistrationUpdate(900l));
+        executor.advance(COALESCING_WINDOW_IN_MS - 1);
+        assertEquals(1, sender.sent.size());
+
+        executor.advance(1);
+        assertEquals(2, sender.sent.size());
+        UpdateRequest update = (UpdateRequest) sender.sent.get(1);
+        assertEquals(Long.valueOf(900), update.getLifeTimeInSec());
+        assertEquals("+33600000000", update.getSmsNumber());
+    }
+
+    @Test
+    public void stop_cancels_coalescing_window() {
+        register();
+
+        engine.triggerRegistrationUpdate(new RegistrationUpdate(600l));
+        engine.stop(false);
+        executor.advance(COALESCING_WINDOW_IN_MS);
+
+        assertEquals(1, sender.sent.size());
+        assertEquals(0, executor.pendingTasks());
+    }
+
+    @Test
+    public void destroy_cancels_coalescing_window() {
+        register();
+
+        engine.triggerRegistrationUpdate(new RegistrationUpdate(600l));
+        engine.destroy(false);
+        executor.advance(COALESCING_WINDOW_IN_MS);
+
+        assertEquals(1, sender.sent.size());
+        assertEquals(0, executor.pendingTasks());
+    }
+
+    /**
+     * A sender answering synchronous requests with a success.
+     */
+    private static class FakeSender implements UplinkRequestSender {
+        private final List<UplinkRequest<?>> sent = new ArrayList<>();
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T extends LwM2mResponse> T send(ServerIdentity server, UplinkRequest<T> request, long timeoutInMs) {
+            sent.add(request);
+            if (request instanceof RegisterRequest)
+                return (T) RegisterResponse.success("reg1");
+            if (request instanceof UpdateRequest)
+                return (T) UpdateResponse.success();
+            return null;
+        }
+
+        @Override
+        public <T extends LwM2mResponse> void send(ServerIdentity server, UplinkRequest<T> request, long timeoutInMs,
+                ResponseCallback<T> responseCallback, ErrorCallback errorCallback) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.engine;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.eclipse.leshan.client.EndpointsManager;
+import org.eclipse.leshan.client.servers.ServerIdentity;
+import org.eclipse.leshan.client.servers.ServerInfo;
+
+/**
+ * An {@link EndpointsManager} without transport, counting the forced reconnections.
+ */
+class FakeEndpointsManager implements EndpointsManager {
+    int reconnections = 0;
+
+    @Override
+    public ServerIdentity createEndpoint(ServerInfo serverInfo, boolean clientInitiatedOnly) {
+        return new ServerIdentity(ServerIdentity.SYSTEM.getIdentity(), serverInfo.serverId,
+                serverInfo.getFullUri());
+    }
+
+    @Override
+    public Collection<ServerIdentity> createEndpoints(Collection<? extends ServerInfo> serverInfo,
+            boolean clientInitiatedOnly) {
+        List<ServerIdentity> servers = new ArrayList<>();
+        for (ServerInfo info : serverInfo) {
+            servers.add(createEndpoint(info, clientInitiatedOnly));
+        }
+        return servers;
+    }
+
+    @Override
+    public long getMaxCommunicationPeriodFor(ServerIdentity server, long lifetimeInMs) {
+        return lifetimeInMs;
+    }
+
+    @Override
+    public void forceReconnection(ServerIdentity server, boolean resume) {
+        reconnections++;
+    }
+
+    @Override
+    public void start() {
+    }
+
+    @Override
+    public void stop() {
+    }
+
+    @Override
+    public void destroy() {
+    }
+}
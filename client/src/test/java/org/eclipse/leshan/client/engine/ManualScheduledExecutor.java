@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.engine;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link ScheduledExecutorService} running tasks on the test thread, with a clock moved by the test.
+ */
+class ManualScheduledExecutor extends AbstractExecutorService implements ScheduledExecutorService {
+    private final PriorityQueue<ManualFuture<?>> tasks = new PriorityQueue<>(new Comparator<ManualFuture<?>>() {
+        @Override
+        public int compare(ManualFuture<?> t1, ManualFuture<?> t2) {
+            int result = Long.compare(t1.time, t2.time);
+            return result != 0 ? result : Long.compare(t1.sequence, t2.sequence);
+        }
+    });
+    private long now = 0;
+    private long sequence = 0;
+    private boolean shutdown = false;
+
+    void runDueTasks() {
+        ManualFuture<?> task;
+        while ((task = tasks.peek()) != null && task.time <= now) {
+            tasks.poll();
+            task.run();
+        }
+    }
+
+    void advance(long timeInMs) {
+        long target = now + timeInMs;
+        ManualFuture<?> task;
+        while ((task = tasks.peek()) != null && task.time <= target) {
+            now = Math.max(now, task.time);
+            runDueTasks();
+        }
+        now = target;
+    }
+
+    int pendingTasks() {
+        int pending = 0;
+        for (ManualFuture<?> task : tasks) {
+            if (!task.isCancelled())
+                pending++;
+        }
+        return pending;
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        return schedule(Executors.callable(command), delay, unit);
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        ManualFuture<V> future = new ManualFuture<>(callable, now + unit.toMillis(delay), sequence++);
+        tasks.add(future);
+        return future;
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period,
+            TimeUnit unit) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay,
+            TimeUnit unit) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        schedule(command, 0, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown = true;
+        tasks.clear();
+        return new ArrayList<>();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) {
+        return shutdown;
+    }
+
+    private class ManualFuture<V> extends FutureTask<V> implements ScheduledFuture<V> {
+        private final long time;
+        private final long sequence;
+
+        ManualFuture(Callable<V> callable, long time, long sequence) {
+            super(callable);
+            this.time = time;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(time - now, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+        }
+    }
+}
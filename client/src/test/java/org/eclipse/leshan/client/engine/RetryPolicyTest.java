@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.junit.jupiter.api.Test;
+
+public class RetryPolicyTest {
+
+    @Test
+    public void fixed_always_waits_the_same_time() {
+        RetryPolicy policy = RetryPolicyType.FIXED.create(1000, 60000, null);
+        assertEquals(1000, policy.getRetryDelay(1, 0));
+        assertEquals(1000, policy.getRetryDelay(10, 1000));
+    }
+
+    @Test
+    public void exponential_doubles_up_to_max() {
+        RetryPolicy policy = RetryPolicyType.EXPONENTIAL.create(1000, 60000, null);
+        assertEquals(1000, policy.getRetryDelay(1, 0));
+        assertEquals(2000, policy.getRetryDelay(2, 1000));
+        assertEquals(32000, policy.getRetryDelay(6, 16000));
+        assertEquals(60000, policy.getRetryDelay(7, 32000));
+        assertEquals(60000, policy.getRetryDelay(1000, 60000));
+    }
+
+    @Test
+    public void decorrelated_jitter_stays_between_base_and_max() {
+        RetryPolicy policy = RetryPolicyType.DECORRELATED_JITTER.create(1000, 60000, null);
+        Set<Long> firstDelays = new HashSet<>();
+        for (int device = 0; device < 100; device++) {
+            long delay = 0;
+            for (int attempt = 1; attempt <= 20; attempt++) {
+                long next = policy.getRetryDelay(attempt, delay);
+                assertTrue(next >= 1000 && next <= Math.min(60000, Math.max(delay, 1000) * 3), "delay was " + next);
+                delay = next;
+                if (attempt == 1)
+                    firstDelays.add(delay);
+            }
+        }
+        // devices which failed together do not retry together
+        assertTrue(firstDelays.size() > 50);
+    }
+
+    @Test
+    public void budget_delays_retries_above_the_rate() {
+        final AtomicLong now = new AtomicLong();
+        RetryBudget budget = new RetryBudget(10, 5, new LongSupplier() {
+            @Override
+            public long getAsLong() {
+                return now.get();
+            }
+        });
+        RetryPolicy policy = new BudgetedRetryPolicy(new FixedRetryPolicy(1000), budget);
+
+        // 5 retries are allowed at the same time, then one every 100ms
+        for (int i = 0; i < 5; i++) {
+            assertEquals(1000, policy.getWaitingTime(policy.getRetryDelay(1, 0)));
+        }
+        for (int i = 1; i <= 10; i++) {
+            assertEquals(1000 + i * 100, policy.getWaitingTime(policy.getRetryDelay(1, 0)));
+        }
+
+        // once the budget is refilled, retries are no longer delayed
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertEquals(1000, policy.getWaitingTime(policy.getRetryDelay(1, 0)));
+    }
+
+    @Test
+    public void long_retry_does_not_delay_sooner_ones() {
+        final AtomicLong now = new AtomicLong();
+        RetryBudget budget = new RetryBudget(10, 1, new LongSupplier() {
+            @Override
+            public long getAsLong() {
+                return now.get();
+            }
+        });
+
+        assertEquals(3600000, budget.reserve(3600000));
+        assertEquals(1000, budget.reserve(1000));
+        assertEquals(1100, budget.reserve(1000));
+        assertEquals(3600100, budget.reserve(3600000));
+        assertEquals(500, budget.reserve(500));
+
+        // slots which are over can not be used anymore
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(2000));
+        assertEquals(0, budget.reserve(0));
+        assertEquals(100, budget.reserve(0));
+    }
+
+    @Test
+    public void budget_does_not_change_the_backoff_of_the_policy() {
+        RetryBudget budget = new RetryBudget(1, 1, new LongSupplier() {
+            @Override
+            public long getAsLong() {
+                return 0;
+            }
+        });
+        RetryPolicy policy = new BudgetedRetryPolicy(new ExponentialRetryPolicy(1000, 60000), budget);
+        // crowd the budget
+        for (int i = 0; i < 100; i++) {
+            budget.reserve(0);
+        }
+
+        long delay = 0;
+        for (int attempt = 1; attempt <= 4; attempt++) {
+            delay = policy.getRetryDelay(attempt, delay);
+            assertTrue(policy.getWaitingTime(delay) >= 100000);
+            assertEquals(1000 << (attempt - 1), delay);
+        }
+    }
+}
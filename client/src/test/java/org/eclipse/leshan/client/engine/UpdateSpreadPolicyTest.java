@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+public class UpdateSpreadPolicyTest {
+
+    private static final long PERIOD = 60000;
+
+    @Test
+    public void none_keeps_the_period() {
+        assertEquals(PERIOD, UpdateSpreadType.NONE.create(0.5).getUpdateDelay("device1", PERIOD, true));
+    }
+
+    @Test
+    public void jitter_stays_in_range() {
+        UpdateSpreadPolicy policy = UpdateSpreadType.JITTER.create(0.2);
+        long min = Long.MAX_VALUE;
+        long max = 0;
+        for (int i = 0; i < 10000; i++) {
+            long delay = policy.getUpdateDelay("device1", PERIOD, false);
+            min = Math.min(min, delay);
+            max = Math.max(max, delay);
+        }
+        assertTrue(min >= 48000 && min < 49000, "min was " + min);
+        assertTrue(max <= PERIOD && max > 59000, "max was " + max);
+    }
+
+    @Test
+    public void fraction_leaves_a_margin() {
+        assertEquals(54000, UpdateSpreadType.FRACTION.create(0.1).getUpdateDelay("device1", PERIOD, false));
+    }
+
+    @Test
+    public void phase_spreads_first_update_of_the_fleet() {
+        UpdateSpreadPolicy policy = UpdateSpreadType.PHASE.create(1);
+        int nbDevices = 1000;
+        int nbSlots = 10;
+        int[] devicesBySlot = new int[nbSlots];
+        for (int i = 1; i <= nbDevices; i++) {
+            String endpoint = "device" + i;
+            long delay = policy.getUpdateDelay(endpoint, PERIOD, true);
+            assertTrue(delay > 0 && delay <= PERIOD);
+            // always the same phase for a device, and no phase after the first update
+            assertEquals(delay, policy.getUpdateDelay(endpoint, PERIOD, true));
+            assertEquals(PERIOD, policy.getUpdateDelay(endpoint, PERIOD, false));
+            devicesBySlot[(int) ((delay - 1) * nbSlots / PERIOD)]++;
+        }
+        for (int count : devicesBySlot) {
+            assertTrue(count > 80 && count < 120, Arrays.toString(devicesBySlot));
+        }
+    }
+}
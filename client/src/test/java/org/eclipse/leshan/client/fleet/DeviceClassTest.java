@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.fleet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class DeviceClassTest {
+
+    private static final DeviceClass DEFAULTS = new DeviceClass("default", 1, 60, false, true, null, null);
+
+    @Test
+    public void parse_device_class_with_defaults() {
+        DeviceClass meter = DeviceClass.parse("meter:70,period=900,timeout=5000,reconnect=true", DEFAULTS);
+
+        assertEquals("meter", meter.getName());
+        assertEquals(70, meter.getShare());
+        assertEquals(Integer.valueOf(900), meter.getCommunicationPeriodInSec());
+        assertEquals(Long.valueOf(5000), meter.getRequestTimeoutInMs());
+        assertEquals(true, meter.isReconnectOnUpdate());
+        // from defaults
+        assertEquals(true, meter.isResumeOnConnect());
+        assertEquals(null, meter.getRetryWaitingTimeInMs());
+        // lifetime must be long enough to honour the communication period
+        assertEquals(1800, meter.getLifetimeInSec());
+    }
+
+    @Test
+    public void parse_invalid_device_class() {
+        assertThrowsExactly(IllegalArgumentException.class, () -> {
+            DeviceClass.parse("meter,unknown=1", DEFAULTS);
+        });
+        assertThrowsExactly(IllegalArgumentException.class, () -> {
+            DeviceClass.parse("meter:0", DEFAULTS);
+        });
+    }
+
+    @Test
+    public void select_device_class_by_share() {
+        DeviceClass meter = DeviceClass.parse("meter:3", DEFAULTS);
+        DeviceClass tracker = DeviceClass.parse("tracker:1", DEFAULTS);
+        List<DeviceClass> classes = Arrays.asList(meter, tracker);
+
+        int nbMeters = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (DeviceClass.select(classes, i) == meter)
+                nbMeters++;
+        }
+        assertEquals(750, nbMeters);
+    }
+}
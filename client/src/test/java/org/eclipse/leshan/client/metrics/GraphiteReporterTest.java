@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class GraphiteReporterTest {
+
+    @Test
+    public void report_counters_and_latency_using_plaintext_protocol() throws IOException {
+        ClientMetrics metrics = new ClientMetrics();
+        for (int i = 0; i < 100; i++) {
+            metrics.getRegister().onStarted();
+            metrics.getRegister().onSuccess(TimeUnit.MILLISECONDS.toNanos(20));
+        }
+        metrics.getUpdate().onStarted();
+        metrics.getUpdate().onTimeout();
+
+        // a local TCP server stands in for graphite
+        try (ServerSocket graphite = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            GraphiteReporter reporter = new GraphiteReporter(metrics,
+                    new InetSocketAddress(InetAddress.getLoopbackAddress(), graphite.getLocalPort()), "test");
+            try {
+                // the report fits in the socket buffers, so it can be sent before reading it
+                reporter.report();
+                Map<String, String> received = new HashMap<>();
+                try (Socket connection = graphite.accept();
+                        BufferedReader reader = new BufferedReader(
+                                new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        String[] fields = line.split(" ");
+                        assertEquals(3, fields.length, line);
+                        received.put(fields[0], fields[1]);
+                    }
+                }
+
+                assertEquals("100", received.get("test.register.started"));
+                assertEquals("100", received.get("test.register.success"));
+                assertEquals("100", received.get("test.register.latency.count"));
+                double p99 = Double.parseDouble(received.get("test.register.latency.p99"));
+                assertTrue(p99 >= 20 && p99 < 21, "p99 was " + p99);
+                assertEquals("1", received.get("test.update.timeout"));
+                assertEquals("0", received.get("test.send.started"));
+            } finally {
+                reporter.destroy();
+            }
+        }
+    }
+}
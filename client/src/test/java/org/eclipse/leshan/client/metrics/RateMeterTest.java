@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.junit.jupiter.api.Test;
+
+public class RateMeterTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final LongSupplier clock = new LongSupplier() {
+        @Override
+        public long getAsLong() {
+            return now.get();
+        }
+    };
+
+    private void advance(long seconds) {
+        now.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+
+    @Test
+    public void snapshot_gives_rates_of_completed_seconds() {
+        RateMeter meter = new RateMeter(60, clock);
+        for (int second = 0; second < 4; second++) {
+            // 10, 20, 30 and 40 events
+            for (int i = 0; i < (second + 1) * 10; i++) {
+                meter.mark();
+            }
+            advance(1);
+        }
+        // current second is not complete
+        meter.mark();
+
+        RateMeter.Snapshot snapshot = meter.snapshotAndReset();
+        assertEquals(4, snapshot.getSeconds());
+        assertEquals(10, snapshot.getMin());
+        assertEquals(40, snapshot.getMax());
+        assertEquals(25d, snapshot.getMean());
+
+        advance(1);
+        snapshot = meter.snapshotAndReset();
+        assertEquals(1, snapshot.getSeconds());
+        assertEquals(1, snapshot.getMax());
+    }
+
+    @Test
+    public void seconds_without_events_count_as_zero() {
+        RateMeter meter = new RateMeter(60, clock);
+        meter.mark();
+        advance(3);
+
+        RateMeter.Snapshot snapshot = meter.snapshotAndReset();
+        assertEquals(3, snapshot.getSeconds());
+        assertEquals(0, snapshot.getMin());
+        assertEquals(1, snapshot.getMax());
+    }
+
+    @Test
+    public void only_the_window_is_kept() {
+        RateMeter meter = new RateMeter(10, clock);
+        for (int second = 0; second < 25; second++) {
+            meter.mark();
+            advance(1);
+        }
+
+        RateMeter.Snapshot snapshot = meter.snapshotAndReset();
+        assertEquals(9, snapshot.getSeconds());
+        assertEquals(1, snapshot.getMin());
+        assertEquals(1d, snapshot.getMean());
+    }
+}
@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.leshan.client.Main;
+import org.eclipse.leshan.core.model.ObjectLoader;
+import org.eclipse.leshan.core.model.ObjectModel;
+import org.eclipse.leshan.core.model.ResourceModel;
+import org.junit.jupiter.api.Test;
+
+public class ModelSnapshotTest {
+
+    @Test
+    public void snapshot_gives_back_the_same_models() throws Exception {
+        List<ObjectModel> models = ObjectLoader.loadDdfResources("/models/", Main.modelPaths);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ModelSnapshot.write(models, "source", out);
+        List<ObjectModel> snapshotModels = ModelSnapshot.read(new ByteArrayInputStream(out.toByteArray()), "source");
+
+        assertEquals(models.size(), snapshotModels.size());
+        for (int i = 0; i < models.size(); i++) {
+            ObjectModel expected = models.get(i);
+            ObjectModel actual = snapshotModels.get(i);
+            assertEquals(expected.id, actual.id);
+            assertEquals(expected.name, actual.name);
+            assertEquals(expected.version, actual.version);
+            assertEquals(expected.lwm2mVersion, actual.lwm2mVersion);
+            assertEquals(expected.multiple, actual.multiple);
+            assertEquals(expected.mandatory, actual.mandatory);
+            assertEquals(expected.resources.keySet(), actual.resources.keySet());
+            for (ResourceModel resource : expected.resources.values()) {
+                ResourceModel snapshotResource = actual.resources.get(resource.id);
+                assertEquals(resource.name, snapshotResource.name);
+                assertEquals(resource.operations, snapshotResource.operations);
+                assertEquals(resource.type, snapshotResource.type);
+                assertEquals(resource.multiple, snapshotResource.multiple);
+                assertEquals(resource.mandatory, snapshotResource.mandatory);
+                assertEquals(resource.rangeEnumeration, snapshotResource.rangeEnumeration);
+                assertEquals(resource.units, snapshotResource.units);
+            }
+        }
+    }
+
+    @Test
+    public void repository_is_loaded_once() throws Exception {
+        assertSame(ModelRepositoryCache.get("/models/", Main.modelPaths, null),
+                ModelRepositoryCache.get("/models/", Main.modelPaths, null));
+    }
+
+    @Test
+    public void snapshot_of_other_sources_is_not_read() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ModelSnapshot.write(ObjectLoader.loadDdfResources("/models/", Main.modelPaths), "old", out);
+
+        assertNull(ModelSnapshot.read(new ByteArrayInputStream(out.toByteArray()), "new"));
+    }
+
+    @Test
+    public void outdated_snapshot_is_generated_again() throws Exception {
+        File snapshot = File.createTempFile("models", ".snapshot");
+        snapshot.deleteOnExit();
+        String source = ModelRepositoryCache.describeSources("/models/", Main.modelPaths);
+        // a snapshot generated before a DDF file was modified
+        ModelSnapshot.write(Collections.<ObjectModel> emptyList(), source + "modified", snapshot);
+
+        ModelRepositoryCache.get("/models/", Main.modelPaths, snapshot);
+
+        assertEquals(Main.modelPaths.length, ModelSnapshot.read(snapshot, source).size());
+    }
+}
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.object;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class HostInfoCacheTest {
+
+    @Test
+    public void values_are_collected_once_while_not_expired() {
+        ManualExecutor executor = new ManualExecutor();
+        CountingHostInfoCache hostInfo = new CountingHostInfoCache(executor, 1, TimeUnit.HOURS);
+        hostInfo.refresh();
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("wlan0", hostInfo.getInterfaceName());
+            assertEquals("10.0.0.1", hostInfo.getIpAddress());
+        }
+        assertEquals(1, hostInfo.lookups.get());
+        assertEquals(0, executor.tasks.size());
+    }
+
+    @Test
+    public void expired_values_are_refreshed_in_background() {
+        ManualExecutor executor = new ManualExecutor();
+        CountingHostInfoCache hostInfo = new CountingHostInfoCache(executor, 0, TimeUnit.SECONDS);
+
+        // nothing collected yet, getters do not block
+        assertNull(hostInfo.getInterfaceName());
+        assertEquals("", hostInfo.getIpAddress());
+        assertEquals(0, hostInfo.lookups.get());
+        // only one refresh is requested while the previous one is pending
+        assertEquals(1, executor.tasks.size());
+
+        executor.runAll();
+        assertEquals(1, hostInfo.lookups.get());
+        assertEquals("wlan0", hostInfo.getInterfaceName());
+        assertEquals(1, executor.tasks.size());
+    }
+
+    @Test
+    public void failed_refresh_keeps_last_values() {
+        ManualExecutor executor = new ManualExecutor();
+        CountingHostInfoCache hostInfo = new CountingHostInfoCache(executor, 0, TimeUnit.SECONDS);
+        hostInfo.refresh();
+        hostInfo.failure = true;
+
+        assertEquals("wlan0", hostInfo.getInterfaceName());
+        executor.runAll();
+        assertEquals("wlan0", hostInfo.getInterfaceName());
+        // a new refresh can be requested after a failure
+        assertEquals(1, executor.tasks.size());
+    }
+
+    private static class CountingHostInfoCache extends HostInfoCache {
+        private final AtomicInteger lookups = new AtomicInteger();
+        private volatile boolean failure;
+
+        public CountingHostInfoCache(Executor executor, long timeToLive, TimeUnit unit) {
+            super(executor, timeToLive, unit);
+        }
+
+        @Override
+        protected String lookupInterfaceName() {
+            if (failure)
+                throw new IllegalStateException("lookup failure");
+            lookups.incrementAndGet();
+            return "wlan0";
+        }
+
+        @Override
+        protected String lookupHardwareAddress() {
+            return "hw";
+        }
+
+        @Override
+        protected String lookupIpAddress() {
+            return "10.0.0.1";
+        }
+    }
+
+    private static class ManualExecutor implements Executor {
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        public void runAll() {
+            List<Runnable> toRun = new ArrayList<>(tasks);
+            tasks.clear();
+            for (Runnable task : toRun) {
+                task.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.ramp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class ArrivalProfileTest {
+
+    private static final int NB_CLIENTS = 1000;
+    private static final long DURATION = TimeUnit.SECONDS.toNanos(10);
+
+    @Test
+    public void all_profiles_give_increasing_offsets() {
+        for (ArrivalProfileType type : ArrivalProfileType.values()) {
+            ArrivalProfile profile = type.create(NB_CLIENTS, DURATION, ArrivalProfileType.DEFAULT_NB_STEPS, 42);
+            long previous = 0;
+            for (int i = 0; i < NB_CLIENTS; i++) {
+                long offset = profile.getStartOffset(i);
+                assertTrue(offset >= previous, type + " offset must be increasing at " + i);
+                previous = offset;
+            }
+            if (type != ArrivalProfileType.POISSON) {
+                assertTrue(previous <= DURATION, type + " must end before the end of the ramp-up");
+            }
+        }
+    }
+
+    @Test
+    public void constant_rate_does_not_collapse_when_more_clients_than_seconds() {
+        ArrivalProfile profile = new ConstantRateProfile(NB_CLIENTS, DURATION);
+        assertEquals(0, profile.getStartOffset(0));
+        assertEquals(DURATION / (NB_CLIENTS - 1), profile.getStartOffset(1), 1);
+        assertEquals(DURATION, profile.getStartOffset(NB_CLIENTS - 1));
+    }
+
+    @Test
+    public void outage_recovery_starts_most_clients_early() {
+        ArrivalProfile profile = new OutageRecoveryProfile(NB_CLIENTS, DURATION);
+        // with a decay factor of 5, about 63% of clients start during the first fifth of the ramp-up
+        assertTrue(profile.getStartOffset(NB_CLIENTS / 2) < DURATION / 5);
+        assertTrue(profile.getStartOffset(NB_CLIENTS * 3 / 4) > DURATION / 5);
+    }
+
+    @Test
+    public void poisson_arrivals_are_reproducible() {
+        ArrivalProfile first = new PoissonProfile(NB_CLIENTS, DURATION, 42);
+        ArrivalProfile second = new PoissonProfile(NB_CLIENTS, DURATION, 42);
+        for (int i = 0; i < NB_CLIENTS; i++) {
+            assertEquals(first.getStartOffset(i), second.getStartOffset(i));
+        }
+    }
+
+    @Test
+    public void ramp_up_starts_all_clients_in_order() throws InterruptedException {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        try {
+            final int nbClients = 100;
+            final int[] started = new int[nbClients];
+            final CountDownLatch allStarted = new CountDownLatch(nbClients);
+            RampUp rampUp = new RampUp(executor,
+                    new ConstantRateProfile(nbClients, TimeUnit.MILLISECONDS.toNanos(200)), nbClients,
+                    new RampUp.ClientStarter() {
+                        private int count = 0;
+
+                        @Override
+                        public void start(int index) {
+                            started[count++] = index;
+                            allStarted.countDown();
+                        }
+                    });
+            rampUp.start();
+
+            assertTrue(allStarted.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < nbClients; i++) {
+                assertEquals(i, started[i]);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.resource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.leshan.client.fleet.SharedLinkSerializer;
+import org.eclipse.leshan.core.LwM2m.LwM2mVersion;
+import org.eclipse.leshan.core.LwM2mId;
+import org.eclipse.leshan.core.link.DefaultLinkSerializer;
+import org.eclipse.leshan.core.link.Link;
+import org.eclipse.leshan.core.link.LinkSerializer;
+import org.eclipse.leshan.core.model.ObjectLoader;
+import org.eclipse.leshan.core.model.ObjectModel;
+import org.eclipse.leshan.core.request.ContentFormat;
+import org.junit.jupiter.api.Test;
+
+public class ClientDescriptionCacheTest {
+
+    private final LinkSerializer serializer = new DefaultLinkSerializer();
+
+    @Test
+    public void description_is_cached_until_instances_change() {
+        ObjectEnabler location = createObjectEnabler(LwM2mId.LOCATION);
+        LwM2mObjectTree tree = new LwM2mObjectTree(null, location);
+
+        Link[] description = tree.getClientDescription(null);
+        assertEquals("</>;rt=\"oma.lwm2m\",</6/0>", serializer.serializeCoreLinkFormat(description));
+        assertSame(description, tree.getClientDescription(null));
+
+        location.addInstance(1, new BaseInstanceEnabler());
+        Link[] updatedDescription = tree.getClientDescription(null);
+        assertNotSame(description, updatedDescription);
+        assertEquals("</>;rt=\"oma.lwm2m\",</6/0>,</6/1>",
+                serializer.serializeCoreLinkFormat(updatedDescription));
+
+        location.removeInstance(0);
+        assertEquals("</>;rt=\"oma.lwm2m\",</6/1>",
+                serializer.serializeCoreLinkFormat(tree.getClientDescription(null)));
+    }
+
+    @Test
+    public void description_follows_added_and_removed_objects() {
+        LwM2mObjectTree tree = new LwM2mObjectTree(null, createObjectEnabler(LwM2mId.LOCATION));
+        tree.getClientDescription(null);
+
+        tree.addObjectEnabler(createObjectEnabler(LwM2mId.DEVICE));
+        assertEquals("</>;rt=\"oma.lwm2m\",</3/0>,</6/0>",
+                serializer.serializeCoreLinkFormat(tree.getClientDescription(null)));
+
+        tree.removeObjectEnabler(LwM2mId.LOCATION);
+        assertEquals("</>;rt=\"oma.lwm2m\",</3/0>",
+                serializer.serializeCoreLinkFormat(tree.getClientDescription(null)));
+    }
+
+    @Test
+    public void description_depends_on_content_formats() {
+        LwM2mObjectTree tree = new LwM2mObjectTree(null, createObjectEnabler(LwM2mId.LOCATION));
+        Link[] description = tree.getClientDescription(null);
+
+        Link[] withContentFormats = tree.getClientDescription(Arrays.asList(ContentFormat.TLV, ContentFormat.JSON));
+        assertEquals("</>;rt=\"oma.lwm2m\";ct=\"11542 11543\",</6/0>",
+                serializer.serializeCoreLinkFormat(withContentFormats));
+        assertNotSame(description, withContentFormats);
+    }
+
+    @Test
+    public void description_is_cached_for_each_content_formats() {
+        LwM2mObjectTree tree = new LwM2mObjectTree(null, createObjectEnabler(LwM2mId.LOCATION));
+        Link[] description = tree.getClientDescription(null);
+        Link[] withContentFormats = tree.getClientDescription(Arrays.asList(ContentFormat.TLV, ContentFormat.JSON));
+
+        // alternating content formats does not build the description again
+        assertSame(description, tree.getClientDescription(null));
+        assertSame(withContentFormats,
+                tree.getClientDescription(Arrays.asList(ContentFormat.TLV, ContentFormat.JSON)));
+    }
+
+    @Test
+    public void identical_devices_share_serialized_description() {
+        SharedLinkSerializer sharedSerializer = new SharedLinkSerializer();
+        LwM2mObjectTree device1 = new LwM2mObjectTree(null, createObjectEnabler(LwM2mId.LOCATION));
+        LwM2mObjectTree device2 = new LwM2mObjectTree(null, createObjectEnabler(LwM2mId.LOCATION));
+
+        String payload1 = sharedSerializer.serializeCoreLinkFormat(device1.getClientDescription(null));
+        String payload2 = sharedSerializer.serializeCoreLinkFormat(device2.getClientDescription(null));
+
+        assertSame(payload1, payload2);
+        assertEquals(1, sharedSerializer.size());
+    }
+
+    private ObjectEnabler createObjectEnabler(int id) {
+        ObjectModel objectModel = null;
+        for (ObjectModel model : ObjectLoader.loadDefault(LwM2mVersion.V1_0)) {
+            if (model.id == id)
+                objectModel = model;
+        }
+        Map<Integer, LwM2mInstanceEnabler> instances = new HashMap<>();
+        instances.put(0, new BaseInstanceEnabler());
+        return new ObjectEnabler(id, objectModel, instances, null, ContentFormat.DEFAULT);
+    }
+}
@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.resource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class NotificationAttributesTest {
+
+    @Test
+    public void child_attributes_override_parent_ones() {
+        NotificationAttributes object = new NotificationAttributes(10L, 60L, null, null, 1d);
+        NotificationAttributes resource = new NotificationAttributes(null, 30L, 20d, null, null);
+
+        NotificationAttributes effective = object.inherit(resource);
+
+        assertEquals(Long.valueOf(10), effective.getMinPeriodInSec());
+        assertEquals(Long.valueOf(30), effective.getMaxPeriodInSec());
+        assertEquals(Double.valueOf(20), effective.getGreaterThan());
+        assertNull(effective.getLessThan());
+        assertEquals(Double.valueOf(1), effective.getStep());
+    }
+
+    @Test
+    public void inconsistent_attributes_are_rejected() {
+        assertNull(new NotificationAttributes(10L, 60L, 30d, 10d, 5d).validate());
+        assertNotNull(new NotificationAttributes(60L, 10L, null, null, null).validate());
+        assertNotNull(new NotificationAttributes(-1L, null, null, null, null).validate());
+        assertNotNull(new NotificationAttributes(null, null, null, null, 0d).validate());
+        assertNotNull(new NotificationAttributes(null, null, 30d, 20d, 5d).validate());
+    }
+
+    @Test
+    public void any_change_is_notifiable_without_value_conditions() {
+        NotificationAttributes attributes = new NotificationAttributes(10L, null, null, null, null);
+
+        assertFalse(attributes.hasValueConditions());
+        assertTrue(attributes.isNotifiable(5d, 5d));
+    }
+
+    @Test
+    public void change_is_notifiable_when_crossing_thresholds() {
+        NotificationAttributes attributes = new NotificationAttributes(null, null, 80d, 20d, null);
+
+        assertFalse(attributes.isNotifiable(50d, 70d));
+        assertTrue(attributes.isNotifiable(70d, 85d));
+        assertTrue(attributes.isNotifiable(85d, 70d));
+        assertTrue(attributes.isNotifiable(30d, 10d));
+        assertFalse(attributes.isNotifiable(10d, 15d));
+        assertTrue(attributes.isNotifiable(null, 50d));
+    }
+
+    @Test
+    public void change_is_notifiable_when_bigger_than_step() {
+        NotificationAttributes attributes = new NotificationAttributes(null, null, null, null, 5d);
+
+        assertFalse(attributes.isNotifiable(50d, 54d));
+        assertTrue(attributes.isNotifiable(50d, 55d));
+        assertTrue(attributes.isNotifiable(50d, 44d));
+    }
+}
@@ -0,0 +1,253 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.resource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.leshan.client.scheduler.TimingWheel;
+import org.eclipse.leshan.client.servers.ServerIdentity;
+import org.eclipse.leshan.core.LwM2m.LwM2mVersion;
+import org.eclipse.leshan.core.LwM2mId;
+import org.eclipse.leshan.core.model.ObjectLoader;
+import org.eclipse.leshan.core.model.ObjectModel;
+import org.eclipse.leshan.core.node.LwM2mPath;
+import org.eclipse.leshan.core.request.ContentFormat;
+import org.eclipse.leshan.core.request.ReadRequest;
+import org.eclipse.leshan.core.response.ReadResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class NotificationSchedulerTest {
+
+    private static final LwM2mPath DEVICE = new LwM2mPath(3);
+    private static final LwM2mPath DEVICE_INSTANCE = new LwM2mPath(3, 0);
+    private static final LwM2mPath BATTERY_LEVEL = new LwM2mPath(3, 0, 9);
+    private static final LwM2mPath CURRENT_TIME = new LwM2mPath(3, 0, 13);
+
+    private long now = 0;
+    private long batteryLevel = 20;
+    private final ManualTimer timer = new ManualTimer();
+    private final LwM2mObjectEnabler enabler = createObjectEnabler();
+    private final List<List<LwM2mPath>> forwarded = new ArrayList<>();
+    private final NotificationScheduler scheduler = new NotificationScheduler(enabler, timer,
+            paths -> forwarded.add(Arrays.asList(paths)), () -> now);
+
+    @AfterEach
+    public void stop() {
+        scheduler.destroy();
+        timer.destroy();
+    }
+
+    @Test
+    public void changes_inside_pmin_are_sent_together_when_pmin_is_elapsed() {
+        scheduler.setAttributes(DEVICE, new NotificationAttributes(10L, null, null, null, null));
+        observe(DEVICE_INSTANCE);
+
+        advance(2);
+        scheduler.resourceChanged(CURRENT_TIME);
+        advance(2);
+        scheduler.resourceChanged(BATTERY_LEVEL);
+        // changes of paths which are not observed are not delayed
+        scheduler.resourceChanged(new LwM2mPath(3, 1, 13));
+        assertEquals(Collections.singletonList(paths(new LwM2mPath(3, 1, 13))), forwarded);
+
+        forwarded.clear();
+        advance(5);
+        assertTrue(forwarded.isEmpty());
+        advance(1);
+        assertEquals(Collections.singletonList(paths(CURRENT_TIME, BATTERY_LEVEL)), forwarded);
+    }
+
+    @Test
+    public void observed_path_is_notified_when_pmax_is_elapsed() {
+        scheduler.setAttributes(CURRENT_TIME, new NotificationAttributes(null, 30L, null, null, null));
+        observe(CURRENT_TIME);
+
+        advance(29);
+        assertTrue(forwarded.isEmpty());
+        advance(1);
+        assertEquals(Collections.singletonList(paths(CURRENT_TIME)), forwarded);
+
+        // a change restarts pmax
+        advance(10);
+        scheduler.resourceChanged(CURRENT_TIME);
+        advance(29);
+        assertEquals(2, forwarded.size());
+        advance(1);
+        assertEquals(3, forwarded.size());
+    }
+
+    @Test
+    public void timers_stop_when_registry_forgot_observation() {
+        ObservationRegistry registry = new ObservationRegistry();
+        scheduler.setObservationRegistry(registry);
+        scheduler.setAttributes(CURRENT_TIME, new NotificationAttributes(null, 30L, null, null, null));
+        registry.observationStarted(ServerIdentity.SYSTEM, "token", Collections.singletonList(CURRENT_TIME));
+        observe(CURRENT_TIME);
+
+        advance(30);
+        assertEquals(1, forwarded.size());
+
+        // e.g. the client registered again after the transport dropped the observation
+        registry.clear();
+        advance(30);
+        assertFalse(scheduler.isObserved(CURRENT_TIME));
+        advance(60);
+        assertEquals(1, forwarded.size());
+    }
+
+    @Test
+    public void changes_not_crossing_gt_or_lt_and_smaller_than_st_are_dropped() {
+        scheduler.setAttributes(BATTERY_LEVEL, new NotificationAttributes(null, null, 30d, 10d, 5d));
+        observe(BATTERY_LEVEL);
+
+        assertForwarded(22, false);
+        assertForwarded(31, true);
+        assertForwarded(33, false);
+        assertForwarded(24, true);
+        assertForwarded(9, true);
+        assertForwarded(11, true);
+    }
+
+    @Test
+    public void pmax_is_rescheduled_when_attributes_change() {
+        scheduler.setAttributes(DEVICE, new NotificationAttributes(null, 60L, null, null, null));
+        observe(CURRENT_TIME);
+
+        advance(20);
+        scheduler.setAttributes(CURRENT_TIME, new NotificationAttributes(null, 30L, null, null, null));
+        // pmax is counted from the last notification
+        advance(9);
+        assertTrue(forwarded.isEmpty());
+        advance(1);
+        assertEquals(Collections.singletonList(paths(CURRENT_TIME)), forwarded);
+        advance(29);
+        assertEquals(1, forwarded.size());
+    }
+
+    @Test
+    public void change_released_for_parent_path_does_not_bypass_pmin_of_child_path() {
+        scheduler.setAttributes(CURRENT_TIME, new NotificationAttributes(10L, null, null, null, null));
+        observe(DEVICE);
+        observe(CURRENT_TIME);
+
+        advance(2);
+        scheduler.resourceChanged(CURRENT_TIME);
+        // only the observation of the object is notified
+        assertEquals(Collections.singletonList(paths(DEVICE)), forwarded);
+
+        forwarded.clear();
+        advance(8);
+        assertEquals(Collections.singletonList(paths(CURRENT_TIME)), forwarded);
+    }
+
+    private void observe(LwM2mPath path) {
+        ReadResponse response = enabler.read(ServerIdentity.SYSTEM, new ReadRequest(path.toString()));
+        scheduler.observationStarted(path, response.getContent());
+    }
+
+    private void assertForwarded(long newBatteryLevel, boolean expected) {
+        forwarded.clear();
+        batteryLevel = newBatteryLevel;
+        scheduler.resourceChanged(BATTERY_LEVEL);
+        assertEquals(expected ? Collections.singletonList(paths(BATTERY_LEVEL)) : Collections.emptyList(), forwarded,
+                "battery level " + newBatteryLevel);
+    }
+
+    private static List<LwM2mPath> paths(LwM2mPath... paths) {
+        return Arrays.asList(paths);
+    }
+
+    private void advance(long seconds) {
+        long target = now + TimeUnit.SECONDS.toNanos(seconds);
+        ScheduledTask next;
+        while ((next = timer.pollDueTask(target)) != null) {
+            now = Math.max(now, next.deadline);
+            next.task.run();
+        }
+        now = target;
+    }
+
+    private LwM2mObjectEnabler createObjectEnabler() {
+        ObjectModel objectModel = null;
+        for (ObjectModel model : ObjectLoader.loadDefault(LwM2mVersion.V1_0)) {
+            if (model.id == LwM2mId.DEVICE)
+                objectModel = model;
+        }
+        Map<Integer, LwM2mInstanceEnabler> instances = new HashMap<>();
+        instances.put(0, new BaseInstanceEnabler() {
+            @Override
+            public ReadResponse read(ServerIdentity identity, int resourceid) {
+                if (resourceid == BATTERY_LEVEL.getResourceId())
+                    return ReadResponse.success(resourceid, batteryLevel);
+                return ReadResponse.notFound();
+            }
+        });
+        return new ObjectEnabler(LwM2mId.DEVICE, objectModel, instances, null, ContentFormat.DEFAULT);
+    }
+
+    private static class ScheduledTask {
+        private final TimingWheel.Timeout timeout;
+        private final Runnable task;
+        private final long deadline;
+
+        private ScheduledTask(TimingWheel.Timeout timeout, Runnable task, long deadline) {
+            this.timeout = timeout;
+            this.task = task;
+            this.deadline = deadline;
+        }
+    }
+
+    /**
+     * A timer driven by {@link #advance(long)}: tasks are kept on the wheel far in the future to get real timeouts,
+     * and run by the test when the virtual clock reaches their deadline.
+     */
+    private class ManualTimer extends TimingWheel {
+        private final List<ScheduledTask> tasks = new ArrayList<>();
+
+        private ManualTimer() {
+            super(Runnable::run);
+        }
+
+        @Override
+        public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+            Timeout timeout = super.schedule(task, 1, TimeUnit.DAYS);
+            tasks.add(new ScheduledTask(timeout, task, now + unit.toNanos(delay)));
+            return timeout;
+        }
+
+        private ScheduledTask pollDueTask(long deadline) {
+            ScheduledTask due = null;
+            for (ScheduledTask task : tasks) {
+                if (!task.timeout.isCancelled() && task.deadline <= deadline
+                        && (due == null || task.deadline < due.deadline))
+                    due = task;
+            }
+            tasks.remove(due);
+            return due;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.resource;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.leshan.client.servers.ServerIdentity;
+import org.eclipse.leshan.core.LwM2m.LwM2mVersion;
+import org.eclipse.leshan.core.LwM2mId;
+import org.eclipse.leshan.core.model.ObjectLoader;
+import org.eclipse.leshan.core.model.ObjectModel;
+import org.eclipse.leshan.core.request.ContentFormat;
+import org.eclipse.leshan.core.request.ReadRequest;
+import org.eclipse.leshan.core.response.ReadResponse;
+
+/**
+ * Compare read throughput of {@link ObjectEnabler} (object monitor) and {@link ReadWriteLockObjectEnabler} (read lock)
+ * when several threads read the same object, like the server, the data sender and notifications do.
+ * <p>
+ * Usage: {@code ObjectEnablerContentionBenchmark [durationInMs] [maxThreads]}. The number of threads is doubled from 1
+ * to maxThreads (default: 2 x available processors).
+ */
+public class ObjectEnablerContentionBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        long durationInMs = args.length > 0 ? Long.parseLong(args[0]) : 1000;
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1])
+                : 2 * Runtime.getRuntime().availableProcessors();
+
+        ObjectModel deviceModel = null;
+        for (ObjectModel model : ObjectLoader.loadDefault(LwM2mVersion.V1_0)) {
+            if (model.id == LwM2mId.DEVICE)
+                deviceModel = model;
+        }
+
+        System.out.printf("%d available processors, %dms by run%n", Runtime.getRuntime().availableProcessors(),
+                durationInMs);
+        for (int nbThreads = 1; nbThreads <= maxThreads; nbThreads *= 2) {
+            ObjectEnabler monitor = new ObjectEnabler(LwM2mId.DEVICE, deviceModel, createInstances(), null,
+                    ContentFormat.DEFAULT);
+            ObjectEnabler readWriteLock = new ReadWriteLockObjectEnabler(LwM2mId.DEVICE, deviceModel,
+                    createInstances(), null, ContentFormat.DEFAULT);
+
+            double monitorRate = run(monitor, nbThreads, durationInMs);
+            double readWriteLockRate = run(readWriteLock, nbThreads, durationInMs);
+            System.out.printf("%3d threads: monitor %10.0f reads/s, read/write lock %10.0f reads/s (x%.2f)%n",
+                    nbThreads, monitorRate, readWriteLockRate, readWriteLockRate / Math.max(monitorRate, 1));
+        }
+    }
+
+    private static Map<Integer, LwM2mInstanceEnabler> createInstances() {
+        return Collections.<Integer, LwM2mInstanceEnabler> singletonMap(0, new BaseInstanceEnabler(0) {
+            @Override
+            public ReadResponse read(ServerIdentity identity, int resourceid) {
+                // a bit of work, like encoding a value of a real device
+                StringBuilder value = new StringBuilder();
+                for (int i = 0; i < 16; i++) {
+                    value.append(Integer.toHexString(resourceid * 31 + i));
+                }
+                return ReadResponse.success(resourceid, value.toString());
+            }
+        });
+    }
+
+    private static double run(final ObjectEnabler enabler, int nbThreads, long durationInMs)
+            throws InterruptedException {
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final LongAdder reads = new LongAdder();
+        final CountDownLatch started = new CountDownLatch(nbThreads);
+        final CountDownLatch done = new CountDownLatch(nbThreads);
+        final ReadRequest request = new ReadRequest(LwM2mId.DEVICE, 0, 0); // manufacturer
+
+        for (int i = 0; i < nbThreads; i++) {
+            Thread reader = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    started.countDown();
+                    while (running.get()) {
+                        enabler.read(ServerIdentity.SYSTEM, request);
+                        reads.increment();
+                    }
+                    done.countDown();
+                }
+            }, "Reader#" + i);
+            reader.setDaemon(true);
+            reader.start();
+        }
+        started.await();
+        long start = System.nanoTime();
+        Thread.sleep(durationInMs);
+        running.set(false);
+        done.await();
+        long elapsedInNanos = System.nanoTime() - start;
+        return reads.sum() * (double) TimeUnit.SECONDS.toNanos(1) / elapsedInNanos;
+    }
+}
@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.resource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.leshan.client.observer.LwM2mClientObserver;
+import org.eclipse.leshan.client.resource.listener.ObservationListener;
+import org.eclipse.leshan.client.servers.ServerIdentity;
+import org.eclipse.leshan.core.node.LwM2mPath;
+import org.junit.jupiter.api.Test;
+
+public class ObservationRegistryTest {
+
+    private static final ServerIdentity SERVER = ServerIdentity.SYSTEM;
+    private static final ServerIdentity OTHER_SERVER = new ServerIdentity(ServerIdentity.SYSTEM.getIdentity(), 2L,
+            URI.create("coap://other"));
+
+    private final ObservationRegistry registry = new ObservationRegistry();
+
+    @Test
+    public void children_of_observed_path_are_observed() {
+        registry.observationStarted(SERVER, "token", Collections.singletonList(new LwM2mPath(3, 0)));
+
+        assertTrue(registry.isObserved(new LwM2mPath(3, 0)));
+        assertTrue(registry.isObserved(new LwM2mPath(3, 0, 13)));
+        assertTrue(registry.isObserved(new LwM2mPath(3, 0, 11, 0)));
+        assertFalse(registry.isObserved(new LwM2mPath(3)));
+        assertFalse(registry.isObserved(new LwM2mPath(3, 1, 13)));
+        assertFalse(registry.isObserved(new LwM2mPath(4, 0, 2)));
+        assertEquals(1, registry.getObservationCount());
+    }
+
+    @Test
+    public void observation_is_cancelled_by_token() {
+        registry.observationStarted(SERVER, "token", Arrays.asList(new LwM2mPath(3, 0, 13), new LwM2mPath(4, 0, 2)));
+
+        List<LwM2mPath> cancelled = registry.observationCancelled(SERVER, "token", null);
+
+        assertEquals(2, cancelled.size());
+        assertFalse(registry.isObserved(new LwM2mPath(3, 0, 13)));
+        assertFalse(registry.isObserved(new LwM2mPath(4, 0, 2)));
+        assertEquals(0, registry.getObservationCount());
+        assertTrue(registry.observationCancelled(SERVER, "token", null).isEmpty());
+    }
+
+    @Test
+    public void observation_without_token_is_cancelled_by_paths() {
+        registry.observationStarted(SERVER, null, Collections.singletonList(new LwM2mPath(3, 0, 13)));
+
+        assertTrue(registry.observationCancelled(SERVER, null, Collections.singletonList(new LwM2mPath(3, 0, 9)))
+                .isEmpty());
+        assertEquals(1,
+                registry.observationCancelled(SERVER, null, Collections.singletonList(new LwM2mPath(3, 0, 13)))
+                        .size());
+        assertFalse(registry.isObserved(new LwM2mPath(3, 0, 13)));
+    }
+
+    @Test
+    public void path_stays_observed_until_its_last_observation_is_cancelled() {
+        LwM2mPath path = new LwM2mPath(3, 0, 13);
+        registry.observationStarted(SERVER, "single", Collections.singletonList(path));
+        registry.observationStarted(SERVER, "composite", Arrays.asList(path, new LwM2mPath(3, 0, 9)));
+
+        registry.observationCancelled(SERVER, "composite", null);
+
+        assertTrue(registry.isObserved(path));
+        assertEquals(1, registry.getObservationCount(path));
+        assertFalse(registry.isObserved(new LwM2mPath(3, 0, 9)));
+    }
+
+    @Test
+    public void observe_with_same_token_replaces_observation() {
+        List<String> events = new ArrayList<>();
+        registry.addListener(new RecordingListener(events));
+
+        registry.observationStarted(SERVER, "token", Collections.singletonList(new LwM2mPath(3, 0, 13)));
+        registry.observationStarted(SERVER, "token", Collections.singletonList(new LwM2mPath(3, 0, 9)));
+
+        assertEquals(Arrays.asList("started [/3/0/13]", "cancelled [/3/0/13]", "started [/3/0/9]"),
+                events);
+        assertEquals(1, registry.getObservationCount());
+        assertFalse(registry.isObserved(new LwM2mPath(3, 0, 13)));
+    }
+
+    @Test
+    public void clear_only_forgets_observations_of_given_server() {
+        registry.observationStarted(SERVER, "token", Collections.singletonList(new LwM2mPath(3, 0, 13)));
+        registry.observationStarted(OTHER_SERVER, "token", Collections.singletonList(new LwM2mPath(4, 0)));
+
+        registry.clear(SERVER);
+
+        assertFalse(registry.isObserved(new LwM2mPath(3, 0, 13)));
+        assertTrue(registry.isObserved(new LwM2mPath(4, 0, 2)));
+        assertEquals(1, registry.getObservationCount());
+
+        registry.clear();
+        assertFalse(registry.isObserved(new LwM2mPath(4, 0, 2)));
+        assertEquals(0, registry.getObservationCount());
+    }
+
+    @Test
+    public void observations_are_forgotten_when_registration_starts() {
+        LwM2mClientObserver observer = registry.createClientObserver();
+        registry.observationStarted(SERVER, "old", Collections.singletonList(new LwM2mPath(3, 0, 13)));
+
+        observer.onRegistrationStarted(SERVER, null);
+        assertFalse(registry.isObserved(new LwM2mPath(3, 0, 13)));
+
+        // the server may observe the new registration before the client handles the register response
+        registry.observationStarted(SERVER, "new", Collections.singletonList(new LwM2mPath(3, 0, 9)));
+        observer.onRegistrationSuccess(SERVER, null, "registrationId");
+        assertTrue(registry.isObserved(new LwM2mPath(3, 0, 9)));
+
+        observer.onDeregistrationSuccess(SERVER, null);
+        assertEquals(0, registry.getObservationCount());
+    }
+
+    private static class RecordingListener implements ObservationListener {
+        private final List<String> events;
+
+        RecordingListener(List<String> events) {
+            this.events = events;
+        }
+
+        @Override
+        public void observationStarted(ServerIdentity server, List<LwM2mPath> paths) {
+            events.add("started " + paths);
+        }
+
+        @Override
+        public void observationCancelled(ServerIdentity server, List<LwM2mPath> paths) {
+            events.add("cancelled " + paths);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.resource;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.leshan.client.resource.listener.ObjectListener;
+import org.eclipse.leshan.client.servers.ServerIdentity;
+import org.eclipse.leshan.core.LwM2m.LwM2mVersion;
+import org.eclipse.leshan.core.LwM2mId;
+import org.eclipse.leshan.core.model.ObjectLoader;
+import org.eclipse.leshan.core.model.ObjectModel;
+import org.eclipse.leshan.core.node.LwM2mPath;
+import org.eclipse.leshan.core.request.ContentFormat;
+import org.eclipse.leshan.core.request.ReadRequest;
+import org.eclipse.leshan.core.response.ReadResponse;
+import org.junit.jupiter.api.Test;
+
+public class ReadWriteLockObjectEnablerTest {
+
+    @Test
+    public void reads_run_concurrently() throws Exception {
+        // each read waits for the other one, this can only succeed if reads are not serialized
+        final CountDownLatch readers = new CountDownLatch(2);
+        Map<Integer, LwM2mInstanceEnabler> instances = new HashMap<>();
+        instances.put(0, new BaseInstanceEnabler() {
+            @Override
+            public ReadResponse read(ServerIdentity identity, int resourceid) {
+                readers.countDown();
+                try {
+                    if (!readers.await(5, TimeUnit.SECONDS))
+                        return ReadResponse.internalServerError("reads are serialized");
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return ReadResponse.success(resourceid, "value");
+            }
+        });
+        final ObjectEnabler enabler = createObjectEnabler(instances);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<ReadResponse>> responses = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                responses.add(executor.submit(() -> enabler.read(ServerIdentity.SYSTEM,
+                        new ReadRequest(LwM2mId.LOCATION, 0, 0))));
+            }
+            for (Future<ReadResponse> response : responses) {
+                assertTrue(response.get(10, TimeUnit.SECONDS).isSuccess());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void events_are_grouped_by_transaction() {
+        ObjectEnabler enabler = createObjectEnabler(new HashMap<Integer, LwM2mInstanceEnabler>());
+        final List<int[]> addedEvents = new ArrayList<>();
+        enabler.addListener(new ObjectListener() {
+            @Override
+            public void objectInstancesAdded(LwM2mObjectEnabler object, int... instanceIds) {
+                addedEvents.add(instanceIds);
+            }
+
+            @Override
+            public void objectInstancesRemoved(LwM2mObjectEnabler object, int... instanceIds) {
+            }
+
+            @Override
+            public void resourceChanged(LwM2mPath... paths) {
+            }
+        });
+
+        enabler.beginTransaction(LwM2mPath.ROOT_DEPTH);
+        enabler.addInstance(0, new BaseInstanceEnabler());
+        enabler.addInstance(1, new BaseInstanceEnabler());
+        assertEquals(0, addedEvents.size());
+        enabler.endTransaction(LwM2mPath.ROOT_DEPTH);
+
+        assertEquals(1, addedEvents.size());
+        assertArrayEquals(new int[] { 0, 1 }, addedEvents.get(0));
+        assertEquals(2, enabler.getAvailableInstanceIds().size());
+    }
+
+    private ObjectEnabler createObjectEnabler(Map<Integer, LwM2mInstanceEnabler> instances) {
+        ObjectModel objectModel = null;
+        for (ObjectModel model : ObjectLoader.loadDefault(LwM2mVersion.V1_0)) {
+            if (model.id == LwM2mId.LOCATION)
+                objectModel = model;
+        }
+        return new ReadWriteLockObjectEnabler(LwM2mId.LOCATION, objectModel, instances, null, ContentFormat.DEFAULT);
+    }
+}
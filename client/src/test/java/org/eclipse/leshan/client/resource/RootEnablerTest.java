@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.resource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.leshan.client.servers.ServerIdentity;
+import org.eclipse.leshan.core.LwM2m.LwM2mVersion;
+import org.eclipse.leshan.core.LwM2mId;
+import org.eclipse.leshan.core.model.ObjectLoader;
+import org.eclipse.leshan.core.model.ObjectModel;
+import org.eclipse.leshan.core.node.LwM2mPath;
+import org.eclipse.leshan.core.request.ContentFormat;
+import org.eclipse.leshan.core.request.ObserveCompositeRequest;
+import org.eclipse.leshan.core.request.ReadCompositeRequest;
+import org.eclipse.leshan.core.request.ReadRequest;
+import org.eclipse.leshan.core.response.ObserveCompositeResponse;
+import org.eclipse.leshan.core.response.ReadCompositeResponse;
+import org.eclipse.leshan.core.response.ReadResponse;
+import org.junit.jupiter.api.Test;
+
+public class RootEnablerTest {
+
+    private static final ServerIdentity SERVER = new ServerIdentity(ServerIdentity.SYSTEM.getIdentity(), 1L,
+            URI.create("coap://localhost"));
+
+    private final List<Integer> readObjects = new ArrayList<>();
+    private final RootEnabler rootEnabler = new RootEnabler(new LwM2mObjectTree(null,
+            createObjectEnabler(LwM2mId.SECURITY, false), createObjectEnabler(LwM2mId.LOCATION, true),
+            createObjectEnabler(LwM2mId.CONNECTIVITY_MONITORING, true)));
+
+    @Test
+    public void read_root_path_reads_all_readable_objects() {
+        ReadCompositeResponse response = rootEnabler.read(SERVER, new ReadCompositeRequest(
+                Collections.singletonList(LwM2mPath.ROOTPATH), ContentFormat.SENML_JSON, ContentFormat.SENML_JSON,
+                null));
+
+        assertTrue(response.isSuccess());
+        assertEquals(Arrays.asList(new LwM2mPath(LwM2mId.CONNECTIVITY_MONITORING), new LwM2mPath(LwM2mId.LOCATION)),
+                new ArrayList<>(response.getContent().keySet()));
+        assertEquals(Arrays.asList(LwM2mId.CONNECTIVITY_MONITORING, LwM2mId.LOCATION), readObjects);
+    }
+
+    @Test
+    public void read_reads_each_object_once() {
+        List<LwM2mPath> paths = Arrays.asList(new LwM2mPath(LwM2mId.LOCATION, 0, 1),
+                new LwM2mPath(LwM2mId.CONNECTIVITY_MONITORING, 0, 2), new LwM2mPath(LwM2mId.LOCATION, 0, 0));
+
+        ReadCompositeResponse response = rootEnabler.read(SERVER,
+                new ReadCompositeRequest(paths, ContentFormat.SENML_JSON, ContentFormat.SENML_JSON, null));
+
+        assertTrue(response.isSuccess());
+        // content is ordered by object
+        assertEquals(Arrays.asList(paths.get(1), paths.get(0), paths.get(2)),
+                new ArrayList<>(response.getContent().keySet()));
+        for (LwM2mPath path : paths) {
+            assertNotNull(response.getContent().get(path));
+        }
+        assertEquals(Arrays.asList(LwM2mId.CONNECTIVITY_MONITORING, LwM2mId.LOCATION), readObjects);
+    }
+
+    @Test
+    public void paths_requested_twice_are_grouped_once() {
+        LwM2mPath latitude = new LwM2mPath(LwM2mId.LOCATION, 0, 0);
+        LwM2mPath longitude = new LwM2mPath(LwM2mId.LOCATION, 0, 1);
+        Map<Integer, List<LwM2mPath>> pathsByObject = rootEnabler.groupByObject(SERVER,
+                Arrays.asList(longitude, latitude, longitude));
+
+        assertEquals(Arrays.asList(longitude, latitude), pathsByObject.get(LwM2mId.LOCATION));
+    }
+
+    @Test
+    public void paths_covered_by_requested_parent_are_not_grouped() {
+        LwM2mPath latitude = new LwM2mPath(LwM2mId.LOCATION, 0, 0);
+        LwM2mPath signalStrength = new LwM2mPath(LwM2mId.CONNECTIVITY_MONITORING, 0, 2);
+        Map<Integer, List<LwM2mPath>> pathsByObject = rootEnabler.groupByObject(SERVER,
+                Arrays.asList(signalStrength, latitude, new LwM2mPath(LwM2mId.CONNECTIVITY_MONITORING, 0),
+                        new LwM2mPath(LwM2mId.LOCATION)));
+
+        assertEquals(Collections.singletonList(new LwM2mPath(LwM2mId.CONNECTIVITY_MONITORING, 0)),
+                pathsByObject.get(LwM2mId.CONNECTIVITY_MONITORING));
+        assertEquals(Collections.singletonList(new LwM2mPath(LwM2mId.LOCATION)), pathsByObject.get(LwM2mId.LOCATION));
+
+        pathsByObject = rootEnabler.groupByObject(SERVER, Arrays.asList(latitude, LwM2mPath.ROOTPATH));
+        assertEquals(Collections.singletonList(new LwM2mPath(LwM2mId.LOCATION)), pathsByObject.get(LwM2mId.LOCATION));
+    }
+
+    @Test
+    public void observe_root_path_observes_all_readable_objects() {
+        ObserveCompositeResponse response = rootEnabler.observe(SERVER,
+                new ObserveCompositeRequest(ContentFormat.SENML_JSON, ContentFormat.SENML_JSON, "/"));
+
+        assertTrue(response.isSuccess());
+        assertEquals(Arrays.asList(new LwM2mPath(LwM2mId.CONNECTIVITY_MONITORING), new LwM2mPath(LwM2mId.LOCATION)),
+                new ArrayList<>(response.getContent().keySet()));
+    }
+
+    private ObjectEnabler createObjectEnabler(final int objectId, boolean withInstance) {
+        ObjectModel objectModel = null;
+        for (ObjectModel model : ObjectLoader.loadDefault(LwM2mVersion.V1_0)) {
+            if (model.id == objectId)
+                objectModel = model;
+        }
+        Map<Integer, LwM2mInstanceEnabler> instances = new HashMap<>();
+        if (withInstance) {
+            BaseInstanceEnabler instance = new BaseInstanceEnabler(0) {
+                @Override
+                public ReadResponse read(ServerIdentity identity, int resourceid) {
+                    return ReadResponse.success(resourceid, 42L);
+                }
+            };
+            instance.setModel(objectModel);
+            instances.put(0, instance);
+        }
+        return new ObjectEnabler(objectId, objectModel, instances, null, ContentFormat.DEFAULT) {
+            @Override
+            public synchronized List<ReadResponse> readAll(ServerIdentity identity, List<ReadRequest> requests) {
+                readObjects.add(objectId);
+                return super.readAll(identity, requests);
+            }
+        };
+    }
+}
@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.resource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.leshan.client.resource.listener.ObjectListener;
+import org.eclipse.leshan.core.node.LwM2mPath;
+
+/**
+ * Measure the cost of storing resource changes in a {@link TransactionalObjectListener}, like a bootstrap write or a
+ * composite write touching a lot of resources in one transaction does.
+ * <p>
+ * Usage: {@code TransactionalObjectListenerBenchmark [nbChanges] [iterations]} (default: 10000 changes, 20
+ * iterations). Each change is notified twice, to exercise deduplication.
+ */
+public class TransactionalObjectListenerBenchmark {
+
+    public static void main(String[] args) {
+        int nbChanges = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        // 100 instances of 100 resources, created once to only measure the listener
+        LwM2mPath[] paths = new LwM2mPath[nbChanges];
+        for (int i = 0; i < nbChanges; i++) {
+            paths[i] = new LwM2mPath(3442, i / 100, i % 100);
+        }
+        int[] instanceIds = new int[nbChanges / 100 + 1];
+        for (int i = 0; i < instanceIds.length; i++) {
+            instanceIds[i] = i;
+        }
+
+        CountingListener counter = new CountingListener();
+        TransactionalObjectListener listener = new TransactionalObjectListener(null);
+        listener.addListener(counter);
+
+        List<Long> durations = new ArrayList<>();
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            listener.beginTransaction(LwM2mPath.OBJECT_DEPTH);
+            for (int instanceId : instanceIds) {
+                listener.objectInstancesRemoved(null, instanceId);
+                listener.objectInstancesAdded(null, instanceId);
+                listener.objectInstancesAdded(null, instanceId);
+            }
+            for (LwM2mPath path : paths) {
+                listener.resourceChanged(path);
+                listener.resourceChanged(path);
+            }
+            listener.endTransaction(LwM2mPath.OBJECT_DEPTH);
+            durations.add(System.nanoTime() - start);
+        }
+
+        // first iterations are warm up
+        long best = Long.MAX_VALUE;
+        for (Long duration : durations.subList(iterations / 2, iterations)) {
+            best = Math.min(best, duration);
+        }
+        System.out.printf("%d changes in one transaction: %.3f ms (best of last %d iterations), %d paths raised%n",
+                nbChanges, best / (double) TimeUnit.MILLISECONDS.toNanos(1), iterations - iterations / 2,
+                counter.lastChangedPaths);
+    }
+
+    private static class CountingListener implements ObjectListener {
+        private int lastChangedPaths;
+
+        @Override
+        public void resourceChanged(LwM2mPath... paths) {
+            lastChangedPaths = paths.length;
+        }
+
+        @Override
+        public void objectInstancesAdded(LwM2mObjectEnabler object, int... instanceIds) {
+        }
+
+        @Override
+        public void objectInstancesRemoved(LwM2mObjectEnabler object, int... instanceIds) {
+        }
+    }
+}
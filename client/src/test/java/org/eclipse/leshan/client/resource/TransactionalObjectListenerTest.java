@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.resource;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.leshan.client.resource.listener.ObjectListener;
+import org.eclipse.leshan.core.node.LwM2mPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TransactionalObjectListenerTest {
+
+    private TransactionalObjectListener listener;
+    private RecordingListener events;
+
+    @BeforeEach
+    public void setUp() {
+        listener = new TransactionalObjectListener(null);
+        events = new RecordingListener();
+        listener.addListener(events);
+    }
+
+    @Test
+    public void events_are_raised_immediately_outside_transaction() {
+        listener.objectInstancesAdded(null, 1);
+        listener.resourceChanged(new LwM2mPath(3, 0, 1));
+
+        assertEquals(1, events.added.size());
+        assertEquals(Arrays.asList(new LwM2mPath(3, 0, 1)), events.changed);
+    }
+
+    @Test
+    public void instance_added_then_removed_in_transaction_raises_nothing() {
+        listener.beginTransaction(LwM2mPath.OBJECT_DEPTH);
+        listener.objectInstancesAdded(null, 7);
+        listener.objectInstancesRemoved(null, 7);
+        listener.endTransaction(LwM2mPath.OBJECT_DEPTH);
+
+        assertTrue(events.added.isEmpty());
+        assertTrue(events.removed.isEmpty());
+    }
+
+    @Test
+    public void instance_removed_then_added_again_is_forgotten_by_value() {
+        listener.beginTransaction(LwM2mPath.OBJECT_DEPTH);
+        listener.objectInstancesRemoved(null, 20, 10);
+        // 20 is not a valid index of the removed instances, it must be forgotten by value
+        listener.objectInstancesAdded(null, 20, 30);
+        listener.endTransaction(LwM2mPath.OBJECT_DEPTH);
+
+        assertEquals(1, events.removed.size());
+        assertArrayEquals(new int[] { 10 }, events.removed.get(0));
+        assertEquals(1, events.added.size());
+        assertArrayEquals(new int[] { 30 }, events.added.get(0));
+    }
+
+    @Test
+    public void changed_resources_are_deduplicated_in_modification_order() {
+        listener.beginTransaction(LwM2mPath.OBJECT_DEPTH);
+        listener.resourceChanged(new LwM2mPath(3, 0, 13), new LwM2mPath(3, 0, 1));
+        listener.resourceChanged(new LwM2mPath(3, 0, 13));
+        listener.resourceChanged(new LwM2mPath(3, 0, 9));
+        listener.endTransaction(LwM2mPath.OBJECT_DEPTH);
+
+        assertEquals(Arrays.asList(new LwM2mPath(3, 0, 13), new LwM2mPath(3, 0, 1), new LwM2mPath(3, 0, 9)),
+                events.changed);
+    }
+
+    @Test
+    public void inner_transaction_does_not_raise_events() {
+        listener.beginTransaction(LwM2mPath.ROOT_DEPTH);
+        listener.beginTransaction(LwM2mPath.OBJECT_DEPTH);
+        listener.resourceChanged(new LwM2mPath(3, 0, 13));
+        listener.endTransaction(LwM2mPath.OBJECT_DEPTH);
+
+        assertTrue(events.changed.isEmpty());
+
+        listener.endTransaction(LwM2mPath.ROOT_DEPTH);
+        assertEquals(1, events.changed.size());
+    }
+
+    private static class RecordingListener implements ObjectListener {
+        private final List<int[]> added = new ArrayList<>();
+        private final List<int[]> removed = new ArrayList<>();
+        private final List<LwM2mPath> changed = new ArrayList<>();
+
+        @Override
+        public void resourceChanged(LwM2mPath... paths) {
+            changed.addAll(Arrays.asList(paths));
+        }
+
+        @Override
+        public void objectInstancesAdded(LwM2mObjectEnabler object, int... instanceIds) {
+            added.add(instanceIds);
+        }
+
+        @Override
+        public void objectInstancesRemoved(LwM2mObjectEnabler object, int... instanceIds) {
+            removed.add(instanceIds);
+        }
+    }
+}
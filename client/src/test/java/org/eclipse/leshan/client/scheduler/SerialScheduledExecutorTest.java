@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SerialScheduledExecutorTest {
+
+    private FleetScheduler scheduler;
+
+    @BeforeEach
+    public void start() {
+        scheduler = new FleetScheduler(4);
+    }
+
+    @AfterEach
+    public void stop() {
+        scheduler.destroy();
+    }
+
+    @Test
+    public void tasks_of_one_client_are_executed_in_order_and_never_concurrently() throws InterruptedException {
+        ScheduledExecutorService executor = scheduler.newClientExecutor();
+        int nbTasks = 1000;
+        List<Integer> executionOrder = Collections.synchronizedList(new ArrayList<Integer>());
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch allDone = new CountDownLatch(nbTasks);
+
+        for (int i = 0; i < nbTasks; i++) {
+            final int taskId = i;
+            executor.submit(new Runnable() {
+                @Override
+                public void run() {
+                    int current = running.incrementAndGet();
+                    maxRunning.accumulateAndGet(current, Math::max);
+                    executionOrder.add(taskId);
+                    running.decrementAndGet();
+                    allDone.countDown();
+                }
+            });
+        }
+
+        assertTrue(allDone.await(5, TimeUnit.SECONDS));
+        assertEquals(1, maxRunning.get());
+        for (int i = 0; i < nbTasks; i++) {
+            assertEquals(i, executionOrder.get(i).intValue());
+        }
+    }
+
+    @Test
+    public void several_clients_share_the_pool() throws InterruptedException {
+        int nbClients = 100;
+        CountDownLatch allDone = new CountDownLatch(nbClients);
+        for (int i = 0; i < nbClients; i++) {
+            scheduler.newClientExecutor().schedule(new Runnable() {
+                @Override
+                public void run() {
+                    allDone.countDown();
+                }
+            }, 10, TimeUnit.MILLISECONDS);
+        }
+        assertTrue(allDone.await(5, TimeUnit.SECONDS));
+        assertEquals(4, scheduler.getPoolSize());
+    }
+
+    @Test
+    public void cancelled_scheduled_task_is_never_executed() throws InterruptedException {
+        ScheduledExecutorService executor = scheduler.newClientExecutor();
+        AtomicInteger executed = new AtomicInteger();
+        ScheduledFuture<?> future = executor.schedule(new Runnable() {
+            @Override
+            public void run() {
+                executed.incrementAndGet();
+            }
+        }, 50, TimeUnit.MILLISECONDS);
+
+        assertTrue(future.cancel(false));
+        Thread.sleep(100);
+        assertEquals(0, executed.get());
+
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+        assertFalse(scheduler.getExecutor().isShutdown());
+    }
+
+    @Test
+    public void blocking_client_tasks_do_not_delay_timers_of_other_clients() throws InterruptedException {
+        // block more clients than the pool has threads
+        int nbBlockedClients = 8;
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch allBlocked = new CountDownLatch(nbBlockedClients);
+        for (int i = 0; i < nbBlockedClients; i++) {
+            scheduler.newBlockingClientExecutor().execute(new Runnable() {
+                @Override
+                public void run() {
+                    allBlocked.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+        }
+        assertTrue(allBlocked.await(5, TimeUnit.SECONDS));
+
+        CountDownLatch timerDone = new CountDownLatch(1);
+        scheduler.newClientExecutor().schedule(new Runnable() {
+            @Override
+            public void run() {
+                timerDone.countDown();
+            }
+        }, 10, TimeUnit.MILLISECONDS);
+        assertTrue(timerDone.await(1, TimeUnit.SECONDS));
+        release.countDown();
+    }
+
+    @Test
+    public void blocking_tasks_do_not_use_more_threads_than_the_blocking_pool_size() throws InterruptedException {
+        FleetScheduler boundedScheduler = new FleetScheduler(1, 2);
+        try {
+            final CountDownLatch release = new CountDownLatch(1);
+            final AtomicInteger running = new AtomicInteger();
+            final CountDownLatch done = new CountDownLatch(3);
+            for (int i = 0; i < 3; i++) {
+                boundedScheduler.newBlockingClientExecutor().execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        running.incrementAndGet();
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        done.countDown();
+                    }
+                });
+            }
+            Thread.sleep(100);
+            // the third client waits for a free thread
+            assertEquals(2, running.get());
+
+            release.countDown();
+            assertTrue(done.await(1, TimeUnit.SECONDS));
+            assertEquals(3, running.get());
+        } finally {
+            boundedScheduler.destroy();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TimingWheelTest {
+
+    private ExecutorService executor;
+    private TimingWheel timingWheel;
+
+    @BeforeEach
+    public void start() {
+        executor = Executors.newFixedThreadPool(2);
+        // a small wheel, so tasks of these tests need several rounds
+        timingWheel = new TimingWheel(executor, 5, TimeUnit.MILLISECONDS, 8);
+    }
+
+    @AfterEach
+    public void stop() {
+        timingWheel.destroy();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void one_shot_task_is_run_once_after_its_delay() throws InterruptedException {
+        final AtomicInteger runs = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(1);
+        long start = System.nanoTime();
+        timingWheel.schedule(new Runnable() {
+            @Override
+            public void run() {
+                runs.incrementAndGet();
+                done.countDown();
+            }
+        }, 100, TimeUnit.MILLISECONDS);
+
+        assertTrue(done.await(2, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 95);
+        Thread.sleep(100);
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    public void periodic_task_is_run_until_cancelled() throws InterruptedException {
+        final AtomicInteger runs = new AtomicInteger();
+        final CountDownLatch fiveRuns = new CountDownLatch(5);
+        TimingWheel.Timeout timeout = timingWheel.scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                runs.incrementAndGet();
+                fiveRuns.countDown();
+            }
+        }, 0, 20, TimeUnit.MILLISECONDS);
+
+        assertTrue(fiveRuns.await(2, TimeUnit.SECONDS));
+        timeout.cancel();
+        Thread.sleep(50);
+        int runsAfterCancel = runs.get();
+        Thread.sleep(100);
+        assertEquals(runsAfterCancel, runs.get());
+    }
+
+    @Test
+    public void cancelled_task_is_never_run() throws InterruptedException {
+        final AtomicInteger runs = new AtomicInteger();
+        TimingWheel.Timeout timeout = timingWheel.schedule(new Runnable() {
+            @Override
+            public void run() {
+                runs.incrementAndGet();
+            }
+        }, 50, TimeUnit.MILLISECONDS);
+        timeout.cancel();
+
+        Thread.sleep(150);
+        assertEquals(0, runs.get());
+        assertTrue(timeout.isCancelled());
+    }
+
+    @Test
+    public void phases_are_spread_over_the_period() {
+        int nbDevices = 1000;
+        long period = 5000;
+        int nbSlots = 10;
+        int[] devicesBySlot = new int[nbSlots];
+        for (int i = 1; i <= nbDevices; i++) {
+            long phase = TimingWheel.phase(i, period);
+            assertTrue(phase >= 0 && phase < period);
+            assertEquals(phase, TimingWheel.phase(i, period));
+            devicesBySlot[(int) (phase * nbSlots / period)]++;
+        }
+        for (int count : devicesBySlot) {
+            assertTrue(Math.abs(count - nbDevices / nbSlots) <= 5, Arrays.toString(devicesBySlot));
+        }
+    }
+}
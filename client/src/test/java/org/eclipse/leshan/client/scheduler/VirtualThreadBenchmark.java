@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.scheduler;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Compare platform thread pool and virtual threads for N simulated registrations.
+ * <p>
+ * Each registration is a blocking task, like the ones of {@code DefaultRegistrationEngine}: it takes the client task
+ * lock then waits for a response during a simulated round trip time. Platform threads use the bounded blocking pool of
+ * the fleet.
+ * <p>
+ * Usage: {@code VirtualThreadBenchmark [nbClients] [roundTripTimeInMs]}. Virtual threads are only measured on java
+ * 21+.
+ */
+public class VirtualThreadBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        int nbClients = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        long rttInMs = args.length > 1 ? Long.parseLong(args[1]) : 100;
+
+        System.out.printf("%d registrations, round trip time %dms%n", nbClients, rttInMs);
+        run("platform", new FleetScheduler(), nbClients, rttInMs);
+        if (VirtualThreadExecutor.isSupported()) {
+            run("virtual", FleetScheduler.withVirtualThreads(), nbClients, rttInMs);
+        } else {
+            System.out.printf("virtual  : not supported by java %s%n", System.getProperty("java.version"));
+        }
+    }
+
+    private static void run(String name, FleetScheduler scheduler, int nbClients, final long rttInMs)
+            throws InterruptedException {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+        final CountDownLatch registered = new CountDownLatch(nbClients);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < nbClients; i++) {
+            // the executor the fleet gives to clients of the blocking registration engine
+            ScheduledExecutorService clientExecutor = scheduler.newBlockingClientExecutor();
+            final ReentrantLock taskLock = new ReentrantLock();
+            clientExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    taskLock.lock();
+                    try {
+                        // simulate a synchronous register request
+                        Thread.sleep(rttInMs);
+                        registered.countDown();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        taskLock.unlock();
+                    }
+                }
+            });
+        }
+        registered.await();
+        long durationInMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        scheduler.destroy();
+
+        System.out.printf("%-9s: %6dms, %8.0f registrations/s, peak platform threads %d%n", name, durationInMs,
+                nbClients * 1000d / Math.max(durationInMs, 1), threads.getPeakThreadCount());
+    }
+}
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class VirtualThreadExecutorTest {
+
+    private ExecutorService taskThreads;
+    private VirtualThreadExecutor executor;
+
+    @BeforeEach
+    public void start() {
+        // platform threads stand for virtual threads, so it runs on any JVM
+        taskThreads = Executors.newCachedThreadPool();
+        executor = new VirtualThreadExecutor(taskThreads);
+    }
+
+    @AfterEach
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void scheduled_callable_is_not_run_on_the_timer_thread() throws Exception {
+        ScheduledFuture<String> future = executor.schedule(new Callable<String>() {
+            @Override
+            public String call() {
+                return Thread.currentThread().getName();
+            }
+        }, 10, TimeUnit.MILLISECONDS);
+
+        String threadName = future.get(1, TimeUnit.SECONDS);
+        assertFalse(threadName.startsWith("Virtual Thread Timer"), "run on " + threadName);
+        assertTrue(future.isDone());
+    }
+
+    @Test
+    public void cancel_interrupts_running_callable() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        ScheduledFuture<Void> future = executor.schedule(new Callable<Void>() {
+            @Override
+            public Void call() {
+                started.countDown();
+                try {
+                    Thread.sleep(10000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return null;
+            }
+        }, 0, TimeUnit.MILLISECONDS);
+
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        assertTrue(future.cancel(true));
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+        assertTrue(future.isCancelled());
+    }
+
+    @Test
+    public void cancelled_task_never_starts() throws InterruptedException {
+        CountDownLatch run = new CountDownLatch(1);
+        ScheduledFuture<?> future = executor.schedule(new Runnable() {
+            @Override
+            public void run() {
+                run.countDown();
+            }
+        }, 50, TimeUnit.MILLISECONDS);
+
+        assertTrue(future.cancel(false));
+        assertFalse(run.await(100, TimeUnit.MILLISECONDS));
+    }
+}
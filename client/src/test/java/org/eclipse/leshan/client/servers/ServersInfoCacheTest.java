@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.servers;
+
+import static org.eclipse.leshan.core.LwM2mId.SECURITY;
+import static org.eclipse.leshan.core.LwM2mId.SEC_SERVER_URI;
+import static org.eclipse.leshan.core.LwM2mId.SERVER;
+import static org.eclipse.leshan.core.LwM2mId.SRV_LIFETIME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.eclipse.leshan.client.object.Security;
+import org.eclipse.leshan.client.object.Server;
+import org.eclipse.leshan.client.resource.LwM2mObjectTree;
+import org.eclipse.leshan.client.resource.ObjectsInitializer;
+import org.eclipse.leshan.core.request.WriteRequest;
+import org.junit.jupiter.api.Test;
+
+public class ServersInfoCacheTest {
+
+    @Test
+    public void servers_info_is_cached_until_server_object_changes() {
+        LwM2mObjectTree tree = createObjectTree();
+
+        ServersInfo info = tree.getServersInfo();
+        assertEquals(300, info.deviceManagements.get(123l).lifetime);
+        assertSame(info, tree.getServersInfo());
+
+        assertTrue(tree.getObjectEnabler(SERVER)
+                .write(ServerIdentity.SYSTEM, new WriteRequest(SERVER, 0, SRV_LIFETIME, 600l)).isSuccess());
+
+        ServersInfo updatedInfo = tree.getServersInfo();
+        assertNotSame(info, updatedInfo);
+        assertEquals(600, updatedInfo.deviceManagements.get(123l).lifetime);
+    }
+
+    @Test
+    public void servers_info_is_updated_when_security_object_changes() {
+        LwM2mObjectTree tree = createObjectTree();
+        tree.getServersInfo();
+
+        assertTrue(tree.getObjectEnabler(SECURITY)
+                .write(ServerIdentity.SYSTEM, new WriteRequest(SECURITY, 0, SEC_SERVER_URI, "coap://other:5683"))
+                .isSuccess());
+
+        assertEquals("coap://other:5683", tree.getServersInfo().deviceManagements.get(123l).serverUri.toString());
+    }
+
+    @Test
+    public void servers_info_is_null_without_server_object() {
+        LwM2mObjectTree tree = createObjectTree();
+        tree.removeObjectEnabler(SERVER);
+
+        assertNull(tree.getServersInfo());
+    }
+
+    private LwM2mObjectTree createObjectTree() {
+        ObjectsInitializer initializer = new ObjectsInitializer();
+        initializer.setInstancesForObject(SECURITY, Security.noSec("coap://localhost:5683", 123));
+        initializer.setInstancesForObject(SERVER, new Server(123, 300));
+        return new LwM2mObjectTree(null, initializer.create(SECURITY, SERVER));
+    }
+}
@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.transport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.DatagramChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SharedUdpTransportTest {
+
+    private SharedUdpTransport transport;
+
+    @BeforeEach
+    public void start() {
+        transport = new SharedUdpTransport(2, SharedUdpTransport.DEFAULT_DATAGRAM_SIZE);
+    }
+
+    @AfterEach
+    public void stop() {
+        transport.destroy();
+    }
+
+    @Test
+    public void datagrams_are_demultiplexed_by_local_port() throws IOException, InterruptedException {
+        int nbChannels = 50;
+        final Map<Integer, String> received = new ConcurrentHashMap<>();
+        final CountDownLatch allReceived = new CountDownLatch(nbChannels);
+        List<DatagramChannel> channels = new ArrayList<>();
+        InetSocketAddress loopback = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+
+        for (int i = 0; i < nbChannels; i++) {
+            final int channelId = i;
+            channels.add(transport.open(loopback, new SharedUdpTransport.DatagramHandler() {
+                @Override
+                public void onDatagram(byte[] data, InetSocketAddress peer) {
+                    received.put(channelId, new String(data, StandardCharsets.UTF_8));
+                    allReceived.countDown();
+                }
+            }));
+        }
+
+        // each channel sends its id to the next one
+        for (int i = 0; i < nbChannels; i++) {
+            DatagramChannel destination = channels.get((i + 1) % nbChannels);
+            assertTrue(transport.send(channels.get(i), ("from " + i).getBytes(StandardCharsets.UTF_8),
+                    (InetSocketAddress) destination.getLocalAddress()));
+        }
+
+        assertTrue(allReceived.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < nbChannels; i++) {
+            assertEquals("from " + ((i + nbChannels - 1) % nbChannels), received.get(i));
+        }
+        assertEquals(2, transport.getSelectorThreadCount());
+
+        for (DatagramChannel channel : channels) {
+            transport.close(channel);
+            assertFalse(channel.isOpen());
+        }
+    }
+}
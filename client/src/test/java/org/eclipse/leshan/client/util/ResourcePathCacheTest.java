@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.eclipse.leshan.core.node.LwM2mPath;
+import org.junit.jupiter.api.Test;
+
+public class ResourcePathCacheTest {
+
+    @Test
+    public void paths_are_interned() {
+        ResourcePathCache cache = new ResourcePathCache(3, 0);
+
+        LwM2mPath path = cache.getResourcePath(13);
+        assertEquals(new LwM2mPath(3, 0, 13), path);
+        assertSame(path, cache.getResourcePath(13));
+        assertSame(cache.getResourcePathAsArray(13), cache.getResourcePathAsArray(13));
+        assertSame(path, cache.getResourcePathAsArray(13)[0]);
+
+        LwM2mPath instancePath = cache.getResourceInstancePath(7, 2);
+        assertEquals(new LwM2mPath(3, 0, 7, 2), instancePath);
+        assertSame(instancePath, cache.getResourceInstancePath(7, 2));
+    }
+
+    @Test
+    public void resource_and_resource_instance_paths_do_not_collide() {
+        ResourcePathCache cache = new ResourcePathCache(3442, 1);
+
+        assertEquals(new LwM2mPath(3442, 1, 0), cache.getResourcePath(0));
+        assertEquals(new LwM2mPath(3442, 1, 0, 0), cache.getResourceInstancePath(0, 0));
+        assertEquals(new LwM2mPath(3442, 1, 0, 65535), cache.getResourceInstancePath(0, 65535));
+        assertEquals(new LwM2mPath(3442, 1, 65535), cache.getResourcePath(65535));
+        assertEquals(4, cache.size());
+    }
+
+    @Test
+    public void all_paths_are_kept_when_table_grows() {
+        ResourcePathCache cache = new ResourcePathCache(3442, 0);
+        LwM2mPath[] paths = new LwM2mPath[200];
+        for (int i = 0; i < paths.length; i++) {
+            paths[i] = cache.getResourcePath(i * 10);
+        }
+
+        for (int i = 0; i < paths.length; i++) {
+            assertSame(paths[i], cache.getResourcePath(i * 10));
+        }
+        assertEquals(200, cache.size());
+    }
+
+    @Test
+    public void size_is_bounded() {
+        ResourcePathCache cache = new ResourcePathCache(3442, 0);
+        for (int i = 0; i < ResourcePathCache.MAX_SIZE + 10; i++) {
+            cache.getResourceInstancePath(1110, i);
+        }
+
+        assertEquals(ResourcePathCache.MAX_SIZE, cache.size());
+        // paths over the limit are still valid but not interned
+        LwM2mPath notInterned = cache.getResourceInstancePath(1110, ResourcePathCache.MAX_SIZE + 1);
+        assertEquals(new LwM2mPath(3442, 0, 1110, ResourcePathCache.MAX_SIZE + 1), notInterned);
+        assertNotSame(notInterned, cache.getResourceInstancePath(1110, ResourcePathCache.MAX_SIZE + 1));
+    }
+
+    @Test
+    public void instances_with_same_ids_share_paths() {
+        LwM2mPath path = ResourcePathCache.of(3, 0).getResourcePath(13);
+
+        assertSame(path, ResourcePathCache.of(3, 0).getResourcePath(13));
+        assertEquals(new LwM2mPath(3, 1, 13), ResourcePathCache.of(3, 1).getResourcePath(13));
+        assertEquals(new LwM2mPath(4, 0, 13), ResourcePathCache.of(4, 0).getResourcePath(13));
+    }
+}
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class SortedIntListTest {
+
+    @Test
+    public void ids_are_sorted() {
+        SortedIntList ids = SortedIntList.of(new HashSet<>(Arrays.asList(42, 3, 17, 0)));
+
+        assertEquals(Arrays.asList(0, 3, 17, 42), ids);
+        assertArrayEquals(new int[] { 0, 3, 17, 42 }, ids.toIntArray());
+        assertEquals(17, ids.getInt(2));
+    }
+
+    @Test
+    public void lookup_uses_sorted_values() {
+        SortedIntList ids = SortedIntList.of(9, 1, 5);
+
+        assertTrue(ids.contains(5));
+        assertTrue(ids.contains(Integer.valueOf(9)));
+        assertFalse(ids.contains(4));
+        assertFalse(ids.contains("5"));
+        assertEquals(1, ids.indexOf(5));
+        assertEquals(-1, ids.indexOf(4));
+        assertEquals(2, ids.lastIndexOf(9));
+    }
+
+    @Test
+    public void list_is_immutable() {
+        int[] values = { 2, 1 };
+        SortedIntList ids = SortedIntList.of(values);
+        values[0] = 7;
+        ids.toIntArray()[0] = 7;
+
+        assertEquals(Arrays.asList(1, 2), ids);
+        assertThrows(UnsupportedOperationException.class, () -> ids.add(3));
+        assertThrows(UnsupportedOperationException.class, () -> ids.remove(0));
+    }
+
+    @Test
+    public void empty_ids_share_the_same_instance() {
+        assertSame(SortedIntList.EMPTY, SortedIntList.of(Collections.<Integer> emptyList()));
+        assertSame(SortedIntList.EMPTY, SortedIntList.of());
+        assertTrue(SortedIntList.EMPTY.isEmpty());
+    }
+
+    @Test
+    public void equals_other_lists() {
+        List<Integer> expected = new ArrayList<>(Arrays.asList(1, 2, 3));
+
+        assertEquals(expected, SortedIntList.of(3, 2, 1));
+        assertEquals(SortedIntList.of(3, 2, 1), expected);
+        assertEquals(expected.hashCode(), SortedIntList.of(3, 2, 1).hashCode());
+    }
+}
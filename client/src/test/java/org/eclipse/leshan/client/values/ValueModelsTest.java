@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.client.values;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.eclipse.leshan.core.LwM2mId;
+import org.junit.jupiter.api.Test;
+
+public class ValueModelsTest {
+
+    private static final long START = 1700000000000L;
+    private static final long ONE_HOUR = 3600000L;
+
+    @Test
+    public void same_seed_gives_same_values() {
+        DeviceValues first = new ValueModels(42).createDeviceValues(7, START);
+        DeviceValues second = new ValueModels(42).createDeviceValues(7, START);
+
+        assertEquals(readBatteryLevels(first), readBatteryLevels(second));
+    }
+
+    @Test
+    public void devices_have_their_own_values() {
+        ValueModels models = new ValueModels(42);
+
+        assertNotEquals(readBatteryLevels(models.createDeviceValues(1, START)),
+                readBatteryLevels(models.createDeviceValues(2, START)));
+        assertNotEquals(readBatteryLevels(models.createDeviceValues(1, START)),
+                readBatteryLevels(new ValueModels(43).createDeviceValues(1, START)));
+    }
+
+    @Test
+    public void random_walk_stays_in_bounds() {
+        RandomWalk walk = new RandomWalk(new SplittableRandom(1), 50, 10, -1, 0, 100, 1000, START);
+
+        assertEquals(50, walk.getValue(START), 0);
+        for (long t = START; t < START + ONE_HOUR; t += 1000) {
+            double value = walk.getValue(t);
+            assertTrue(value >= 0 && value <= 100, "value out of bounds: " + value);
+        }
+        // same value while the period is not elapsed
+        double value = walk.getValue(START + ONE_HOUR);
+        assertEquals(value, walk.getValue(START + ONE_HOUR + 999), 0);
+    }
+
+    @Test
+    public void random_walk_does_not_depend_on_read_times() {
+        RandomWalk readOften = new RandomWalk(new SplittableRandom(1), 50, 5, 0, 0, 100, 1000, START);
+        RandomWalk readOnce = new RandomWalk(new SplittableRandom(1), 50, 5, 0, 0, 100, 1000, START);
+        for (long t = START; t < START + ONE_HOUR; t += 333) {
+            readOften.getValue(t);
+        }
+
+        assertEquals(readOften.getValue(START + ONE_HOUR), readOnce.getValue(START + ONE_HOUR), 0);
+    }
+
+    @Test
+    public void diurnal_curve_follows_the_period() {
+        DiurnalCurve curve = new DiurnalCurve(100, 50, 24 * ONE_HOUR, 0, 0, 60000, 0);
+
+        assertEquals(100, curve.getValue(0), 1e-9);
+        assertEquals(150, curve.getValue(6 * ONE_HOUR), 1e-9);
+        assertEquals(50, curve.getValue(18 * ONE_HOUR), 1e-9);
+        assertEquals(curve.getValue(5 * ONE_HOUR), curve.getValue(29 * ONE_HOUR), 1e-9);
+    }
+
+    @Test
+    public void diurnal_noise_is_bounded_and_stable_during_its_period() {
+        DiurnalCurve curve = new DiurnalCurve(100, 0, 24 * ONE_HOUR, 0, 10, 60000, 123);
+
+        // noise periods start at the epoch
+        for (long t = 0; t < ONE_HOUR; t += 60000) {
+            double value = curve.getValue(t);
+            assertTrue(value >= 90 && value <= 110, "value out of bounds: " + value);
+            assertEquals(value, curve.getValue(t + 59999), 0);
+        }
+    }
+
+    @Test
+    public void step_events_jump_between_levels() {
+        StepEvents steps = new StepEvents(new SplittableRandom(3), 0, 1, 13, 1, 60000, START);
+
+        assertEquals(0, steps.getValue(START), 0);
+        boolean changed = false;
+        for (long t = START; t < START + 24 * ONE_HOUR; t += 60000) {
+            double value = steps.getValue(t);
+            changed |= value != 0;
+            if (t > START && value != 0) {
+                assertTrue(value >= 1 && value <= 13 && value == Math.rint(value), "unexpected level: " + value);
+            }
+        }
+        assertTrue(changed);
+    }
+
+    @Test
+    public void models_can_be_overridden() {
+        ValueModels models = new ValueModels(0);
+        models.set(LwM2mId.DEVICE + "/9=constant:value=42");
+        models.set(3442, 110, "walk:initial=5,min=5,max=5");
+
+        DeviceValues values = models.createDeviceValues(1, START);
+        assertEquals(42, values.get(LwM2mId.DEVICE, 9).getValue(START + ONE_HOUR), 0);
+        assertEquals(5, values.get(3442, 110).getValue(START + ONE_HOUR), 0);
+        assertThrows(IllegalArgumentException.class, () -> values.get(3442, 111));
+    }
+
+    @Test
+    public void invalid_models_are_rejected() {
+        ValueModels models = new ValueModels(0);
+
+        assertThrows(IllegalArgumentException.class, () -> models.set("3/9"));
+        assertThrows(IllegalArgumentException.class, () -> models.set("3=walk"));
+        assertThrows(IllegalArgumentException.class, () -> models.set("3/9=unknown"));
+        assertThrows(IllegalArgumentException.class, () -> models.set("3/9=walk:speed=1"));
+        assertThrows(IllegalArgumentException.class, () -> models.set("3/9=walk:min=ten"));
+        assertThrows(IllegalArgumentException.class, () -> models.set("3/9=walk:min=10,max=0"));
+    }
+
+    private static String readBatteryLevels(DeviceValues values) {
+        ValueModel batteryLevel = values.get(LwM2mId.DEVICE, ValueModels.DVC_BATTERY_LEVEL);
+        StringBuilder levels = new StringBuilder();
+        for (long t = START; t < START + 24 * ONE_HOUR; t += ONE_HOUR) {
+            levels.append(batteryLevel.getValue(t)).append(' ');
+        }
+        return levels.toString();
+    }
+}